@@ -0,0 +1,108 @@
+package com.kata.beer.benchmark;
+
+import com.kata.beer.dto.BatchCreateResult;
+import com.kata.beer.model.Beer;
+import com.kata.beer.model.Brewery;
+import com.kata.beer.model.Category;
+import com.kata.beer.model.Style;
+import com.kata.beer.service.BeerService;
+import com.kata.beer.support.SyntheticCatalog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Alta de {@code batchSize} cervezas con {@link BeerService#createBeers} (una transacción, una
+ * consulta de relaciones por tabla e INSERT con batching JDBC) frente a {@code batchSize}
+ * llamadas a {@link BeerService#createBeer} (una transacción y un INSERT por cerveza). Ambos
+ * incluyen la publicación de los eventos y la actualización de los índices en memoria. El
+ * tiempo es por invocación, es decir, por lote completo en los dos casos.
+ * <p>
+ * Ejecutar con {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args=BeerBatchCreateBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 8, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class BeerBatchCreateBenchmark {
+
+    @Param({"100", "1000"})
+    private int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private BeerService beerService;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDataset.start(10_000);
+        beerService = context.getBean(BeerService.class);
+        random = new SplittableRandom(42);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BatchCreateResult createBeers() {
+        return beerService.createBeers(newBeers());
+    }
+
+    @Benchmark
+    public List<Beer> createBeerOneByOne() {
+        List<Beer> created = new ArrayList<>(batchSize);
+        for (Beer beer : newBeers()) {
+            created.add(beerService.createBeer(beer));
+        }
+        return created;
+    }
+
+    private List<Beer> newBeers() {
+        List<Beer> beers = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            beers.add(newBeer());
+        }
+        return beers;
+    }
+
+    private Beer newBeer() {
+        Brewery brewery = new Brewery();
+        brewery.setId(1 + random.nextInt(SyntheticCatalog.BREWERIES));
+        Category category = new Category();
+        category.setId(1 + random.nextInt(SyntheticCatalog.CATEGORIES));
+        Style style = new Style();
+        style.setId(1 + random.nextInt(SyntheticCatalog.STYLES));
+
+        Beer beer = new Beer();
+        beer.setName("Benchmark Ale");
+        beer.setBrewery(brewery);
+        beer.setCategory(category);
+        beer.setStyle(style);
+        beer.setAbv(5.5f);
+        beer.setIbu(35f);
+        beer.setSrm(12f);
+        beer.setUpc(0);
+        beer.setFilepath("");
+        beer.setDescript("");
+        return beer;
+    }
+}
@@ -0,0 +1,92 @@
+package com.kata.beer.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.kata.beer.model.Beer;
+import com.kata.beer.model.Brewery;
+import com.kata.beer.service.BeerService;
+import jakarta.persistence.EntityGraph;
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.SpecHints;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de las descripciones TEXT en el listado completo, con la serialización a JSON incluida:
+ * {@code getAllBeers} (descripciones LAZY, no se leen) frente a la misma consulta leyendo las
+ * descripciones de cervezas y cervecerías, como se hacía antes de declararlas LAZY.
+ * <p>
+ * La memoria asignada por operación (gc.alloc.rate.norm) se obtiene con el profiler de GC:
+ * {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="... BeerDescriptionBenchmark -prof gc"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BeerDescriptionBenchmark {
+
+    @Param({"10000"})
+    private int beers;
+
+    @Param({"500"})
+    private int descriptionLength;
+
+    private ConfigurableApplicationContext context;
+    private BeerService beerService;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private ObjectWriter writer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDataset.start(beers, descriptionLength);
+        beerService = context.getBean(BeerService.class);
+        entityManager = context.getBean(EntityManager.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(true);
+        writer = context.getBean(ObjectMapper.class).writer();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] getAllBeers() throws JsonProcessingException {
+        return writer.writeValueAsBytes(beerService.getAllBeers());
+    }
+
+    @Benchmark
+    public byte[] getAllBeersWithDescriptions() throws JsonProcessingException {
+        return writer.writeValueAsBytes(transactionTemplate.execute(status -> findAllWithDescriptions()));
+    }
+
+    private List<Beer> findAllWithDescriptions() {
+        EntityGraph<Beer> graph = entityManager.createEntityGraph(Beer.class);
+        graph.addAttributeNodes(Beer.DESCRIPT, "category", "style");
+        graph.addSubgraph("brewery").addAttributeNodes(Brewery.DESCRIPT);
+        return entityManager.createQuery("SELECT b FROM Beer b", Beer.class)
+                .setHint(SpecHints.HINT_SPEC_FETCH_GRAPH, graph)
+                .getResultList();
+    }
+}
@@ -0,0 +1,101 @@
+package com.kata.beer.benchmark;
+
+import com.kata.beer.dto.BeerFilter;
+import com.kata.beer.dto.CursorPage;
+import com.kata.beer.model.Beer;
+import com.kata.beer.search.BeerColumnIndex;
+import com.kata.beer.service.BeerFilterService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara el filtro multicriterio resuelto en el índice columnar con el mismo filtro
+ * resuelto por JPA Specification sobre H2. {@code columnIndexMatch} mide solo la resolución
+ * de IDs en el índice, sin la carga de la página desde la base de datos.
+ * <p>
+ * Ejecutar con {@code mvn -Pbenchmark test-compile exec:exec}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BeerFilterBenchmark {
+
+    @Param({"100000"})
+    private int beers;
+
+    @Param({"ranges", "ranges+country", "selective"})
+    private String criteria;
+
+    private ConfigurableApplicationContext context;
+    private BeerFilterService beerFilterService;
+    private BeerColumnIndex beerColumnIndex;
+    private BeerFilter filter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDataset.start(beers);
+        beerFilterService = context.getBean(BeerFilterService.class);
+        beerColumnIndex = context.getBean(BeerColumnIndex.class);
+        filter = filter(criteria);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CursorPage<Beer> columnIndex() {
+        return beerFilterService.filterWithIndex(filter, null, CursorPage.DEFAULT_LIMIT);
+    }
+
+    @Benchmark
+    public int[] columnIndexMatch() {
+        return beerColumnIndex.match(filter);
+    }
+
+    @Benchmark
+    public CursorPage<Beer> specification() {
+        return beerFilterService.filterWithSpecification(filter, null, CursorPage.DEFAULT_LIMIT);
+    }
+
+    private static BeerFilter filter(String criteria) {
+        BeerFilter filter = new BeerFilter();
+        switch (criteria) {
+            case "ranges" -> {
+                filter.setMinAbv(6f);
+                filter.setMaxAbv(9f);
+                filter.setMinIbu(40f);
+            }
+            case "ranges+country" -> {
+                filter.setMinAbv(6f);
+                filter.setMaxSrm(20f);
+                filter.setCountry("Belgium");
+            }
+            case "selective" -> {
+                filter.setMinAbv(11f);
+                filter.setMinIbu(90f);
+                filter.setMaxSrm(5f);
+                filter.setCategoryId(3);
+            }
+            default -> throw new IllegalArgumentException("Criterio desconocido: " + criteria);
+        }
+        return filter;
+    }
+}
@@ -0,0 +1,138 @@
+package com.kata.beer.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.google.protobuf.CodedInputStream;
+import com.kata.beer.model.Beer;
+import com.kata.beer.protobuf.BeerProtobuf;
+import com.kata.beer.protobuf.BeerProtobufHttpMessageConverter;
+import com.kata.beer.service.BeerService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Tamaño y tiempo de codificación y decodificación del catálogo completo ({@code getAllBeers})
+ * en cada representación negociable: JSON, CBOR, Smile y Protobuf. Se usan los mismos
+ * {@code ObjectMapper} y conversores que la API. Los tamaños (sin comprimir y con gzip) se
+ * imprimen al preparar cada formato.
+ * <p>
+ * {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="... BeerFormatsBenchmark -prof gc"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BeerFormatsBenchmark {
+
+    @Param({"10000"})
+    private int beers;
+
+    @Param({"json", "cbor", "smile", "protobuf"})
+    private String format;
+
+    private ConfigurableApplicationContext context;
+    private List<Beer> catalog;
+    private Codec codec;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        context = BenchmarkDataset.start(beers);
+        catalog = context.getBean(BeerService.class).getAllBeers();
+        codec = switch (format) {
+            case "json" -> jackson(context.getBean(ObjectMapper.class));
+            case "cbor" -> jackson(context.getBean(MappingJackson2CborHttpMessageConverter.class).getObjectMapper());
+            case "smile" -> jackson(context.getBean(MappingJackson2SmileHttpMessageConverter.class).getObjectMapper());
+            case "protobuf" -> protobuf();
+            default -> throw new IllegalArgumentException("Formato desconocido: " + format);
+        };
+        encoded = codec.encode(catalog);
+        System.out.printf("%n%s: %d cervezas, %d bytes, %d bytes con gzip%n",
+                format, catalog.size(), encoded.length, gzipSize(encoded));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return codec.encode(catalog);
+    }
+
+    @Benchmark
+    public List<Beer> decode() throws IOException {
+        return codec.decode(encoded);
+    }
+
+    private interface Codec {
+
+        byte[] encode(List<Beer> beers) throws IOException;
+
+        List<Beer> decode(byte[] bytes) throws IOException;
+    }
+
+    private static Codec jackson(ObjectMapper objectMapper) {
+        ObjectWriter writer = objectMapper.writer();
+        ObjectReader reader = objectMapper.readerForListOf(Beer.class);
+        return new Codec() {
+            @Override
+            public byte[] encode(List<Beer> beers) throws IOException {
+                return writer.writeValueAsBytes(beers);
+            }
+
+            @Override
+            public List<Beer> decode(byte[] bytes) throws IOException {
+                return reader.readValue(bytes);
+            }
+        };
+    }
+
+    private static Codec protobuf() {
+        BeerProtobufHttpMessageConverter converter = new BeerProtobufHttpMessageConverter();
+        return new Codec() {
+            @Override
+            public byte[] encode(List<Beer> beers) throws IOException {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                converter.writeTo(beers, out);
+                return out.toByteArray();
+            }
+
+            @Override
+            public List<Beer> decode(byte[] bytes) throws IOException {
+                return BeerProtobuf.BEER.readList(CodedInputStream.newInstance(bytes));
+            }
+        };
+    }
+
+    private static int gzipSize(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.size();
+    }
+}
@@ -0,0 +1,71 @@
+package com.kata.beer.benchmark;
+
+import com.kata.beer.dto.SearchPage;
+import com.kata.beer.model.Beer;
+import com.kata.beer.repository.BeerRepository;
+import com.kata.beer.service.BeerSearchService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Búsqueda por nombre: la consulta {@code LIKE} de
+ * {@link BeerRepository#findByNameContainingIgnoreCase} frente al índice de texto completo que
+ * usa {@link BeerSearchService}.
+ * <p>
+ * Ejecutar con {@code mvn -Pbenchmark test-compile exec:exec}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BeerSearchBenchmark {
+
+    @Param({"10000"})
+    private int beers;
+
+    /** "beer 42" coincide con unas decenas de nombres; "beer" con todo el catálogo */
+    @Param({"beer 42", "beer"})
+    private String query;
+
+    private ConfigurableApplicationContext context;
+    private BeerRepository beerRepository;
+    private BeerSearchService beerSearchService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDataset.start(beers);
+        beerRepository = context.getBean(BeerRepository.class);
+        beerSearchService = context.getBean(BeerSearchService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Beer> findByNameContainingIgnoreCase() {
+        return beerRepository.findByNameContainingIgnoreCase(query);
+    }
+
+    @Benchmark
+    public SearchPage<Beer> searchIndex() {
+        return beerSearchService.searchBeers(query, 0, SearchPage.DEFAULT_SIZE);
+    }
+}
@@ -0,0 +1,84 @@
+package com.kata.beer.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.kata.beer.dto.CursorPage;
+import com.kata.beer.model.Beer;
+import com.kata.beer.service.BeerService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización con Jackson de una cerveza con su cervecería, categoría y estilo anidados, y
+ * de una página del listado. Se usa el {@link ObjectMapper} configurado por Spring y entidades
+ * cargadas de H2, igual que en los controladores.
+ * <p>
+ * Ejecutar con {@code mvn -Pbenchmark test-compile exec:exec}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BeerSerializationBenchmark {
+
+    @Param({"1000"})
+    private int beers;
+
+    private ConfigurableApplicationContext context;
+    private ObjectWriter writer;
+    private ObjectReader beerReader;
+    private Beer beer;
+    private CursorPage<Beer> page;
+    private byte[] beerJson;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        context = BenchmarkDataset.start(beers);
+        ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+        writer = objectMapper.writer();
+        beerReader = objectMapper.readerFor(Beer.class);
+
+        BeerService beerService = context.getBean(BeerService.class);
+        beer = beerService.getBeerById(1);
+        page = beerService.getBeersPage(null, CursorPage.DEFAULT_LIMIT);
+        beerJson = writer.writeValueAsBytes(beer);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] writeBeer() throws JsonProcessingException {
+        return writer.writeValueAsBytes(beer);
+    }
+
+    @Benchmark
+    public byte[] writePage() throws JsonProcessingException {
+        return writer.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public Beer readBeer() throws IOException {
+        return beerReader.readValue(beerJson);
+    }
+}
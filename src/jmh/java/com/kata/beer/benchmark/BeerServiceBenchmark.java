@@ -0,0 +1,98 @@
+package com.kata.beer.benchmark;
+
+import com.kata.beer.model.Beer;
+import com.kata.beer.model.Brewery;
+import com.kata.beer.model.Category;
+import com.kata.beer.model.Style;
+import com.kata.beer.service.BeerService;
+import com.kata.beer.support.SyntheticCatalog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Operaciones de {@link BeerService} a través del proxy transaccional, sobre H2 con el
+ * catálogo sintético. {@code createBeer} incluye la publicación del evento y la actualización
+ * de los índices en memoria al confirmar.
+ * <p>
+ * Ejecutar con {@code mvn -Pbenchmark test-compile exec:exec}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BeerServiceBenchmark {
+
+    @Param({"10000"})
+    private int beers;
+
+    private ConfigurableApplicationContext context;
+    private BeerService beerService;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDataset.start(beers);
+        beerService = context.getBean(BeerService.class);
+        random = new SplittableRandom(42);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Beer getBeerById() {
+        return beerService.getBeerById(1 + random.nextInt(beers));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Beer> getAllBeers() {
+        return beerService.getAllBeers();
+    }
+
+    @Benchmark
+    public Beer createBeer() {
+        return beerService.createBeer(newBeer());
+    }
+
+    private Beer newBeer() {
+        Brewery brewery = new Brewery();
+        brewery.setId(1 + random.nextInt(SyntheticCatalog.BREWERIES));
+        Category category = new Category();
+        category.setId(1 + random.nextInt(SyntheticCatalog.CATEGORIES));
+        Style style = new Style();
+        style.setId(1 + random.nextInt(SyntheticCatalog.STYLES));
+
+        Beer beer = new Beer();
+        beer.setName("Benchmark Ale");
+        beer.setBrewery(brewery);
+        beer.setCategory(category);
+        beer.setStyle(style);
+        beer.setAbv(5.5f);
+        beer.setIbu(35f);
+        beer.setSrm(12f);
+        beer.setUpc(0);
+        beer.setFilepath("");
+        beer.setDescript("");
+        return beer;
+    }
+}
@@ -0,0 +1,54 @@
+package com.kata.beer.benchmark;
+
+import com.kata.beer.BeerApiApplication;
+import com.kata.beer.support.SyntheticCatalog;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Arranca la aplicación sin servidor web sobre H2 en memoria (perfil de tests) y la rellena
+ * con el {@link SyntheticCatalog} para los benchmarks.
+ * <p>
+ * Con {@code -jvmArgsAppend "-Dbenchmark.jdbcUrl=jdbc:mysql://... -Dbenchmark.jdbcUser=...
+ * -Dbenchmark.jdbcPassword=..."} en {@code jmh.args} usa esa base de datos MySQL/MariaDB, cuyo
+ * esquema se crea y se borra en cada arranque.
+ */
+final class BenchmarkDataset {
+
+    private BenchmarkDataset() {
+    }
+
+    static ConfigurableApplicationContext start(int beers) {
+        return start(beers, 0);
+    }
+
+    /**
+     * Como {@link #start(int)}, con descripciones de {@code descriptionLength} caracteres
+     */
+    static ConfigurableApplicationContext start(int beers, int descriptionLength) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.jpa.properties.hibernate.generate_statistics=false",
+                "--logging.level.root=WARN"));
+        String jdbcUrl = System.getProperty("benchmark.jdbcUrl");
+        if (jdbcUrl == null) {
+            args.add("--spring.datasource.url=jdbc:h2:mem:beer-benchmark;DB_CLOSE_DELAY=-1;MODE=MySQL");
+        } else {
+            args.addAll(List.of("--spring.datasource.url=" + jdbcUrl,
+                    "--spring.datasource.username=" + System.getProperty("benchmark.jdbcUser", "root"),
+                    "--spring.datasource.password=" + System.getProperty("benchmark.jdbcPassword", ""),
+                    "--spring.datasource.driver-class-name=com.mysql.cj.jdbc.Driver",
+                    "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MariaDBDialect"));
+        }
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BeerApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                // Como argumentos y no como properties(): estas tienen menos prioridad que los
+                // ficheros application*.properties y no sobrescribirían el perfil de tests
+                .run(args.toArray(String[]::new));
+        SyntheticCatalog.seed(context, beers, descriptionLength);
+        return context;
+    }
+}
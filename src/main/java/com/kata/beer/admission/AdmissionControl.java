@@ -0,0 +1,19 @@
+package com.kata.beer.admission;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Somete el endpoint al límite de concurrencia de su clase ({@link AdmissionControlInterceptor}):
+ * por encima del límite la petición se rechaza con 503 y Retry-After sin llegar a ejecutarse
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface AdmissionControl {
+
+    EndpointClass value();
+}
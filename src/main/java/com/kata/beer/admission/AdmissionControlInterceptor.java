@@ -0,0 +1,112 @@
+package com.kata.beer.admission;
+
+import com.kata.beer.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Control de admisión de los endpoints anotados con {@link AdmissionControl}: cada clase de
+ * endpoint tiene su {@link GradientLimiter} y una petición que no consigue permiso se rechaza
+ * enseguida con 503 y Retry-After, antes de pedir conexión al pool.
+ * <p>
+ * La suma de los máximos de {@link EndpointClass#SCAN} y {@link EndpointClass#PAGE} debe quedar
+ * por debajo del tamaño del pool de conexiones, para que los recorridos y las páginas nunca lo
+ * ocupen entero y las lecturas por ID sigan encontrando conexión libre. El estado de cada limitador se publica como métricas
+ * {@code beer.admission.*} con la etiqueta {@code endpoint.class}.
+ * <p>
+ * En las respuestas asíncronas (la exportación en streaming) el primer dispatch no llama a
+ * {@code afterCompletion}: el permiso queda en la petición, el dispatch asíncrono no pide otro y
+ * se devuelve al completarse este, cuando ya se ha escrito todo el cuerpo.
+ */
+@Component
+public class AdmissionControlInterceptor implements HandlerInterceptor, MeterBinder {
+
+    private static final String PERMIT = AdmissionControlInterceptor.class.getName() + ".permit";
+
+    private final boolean enabled;
+    private final Duration retryAfter;
+    private final Map<EndpointClass, GradientLimiter> limiters = new EnumMap<>(EndpointClass.class);
+
+    @Autowired
+    public AdmissionControlInterceptor(@Value("${beer.admission.enabled:true}") boolean enabled,
+                                       @Value("${beer.admission.retry-after:PT1S}") Duration retryAfter,
+                                       @Value("${beer.admission.min-limit:1}") int minLimit,
+                                       @Value("${beer.admission.lookup.max-limit:200}") int lookupMaxLimit,
+                                       @Value("${beer.admission.page.max-limit:8}") int pageMaxLimit,
+                                       @Value("${beer.admission.scan.max-limit:8}") int scanMaxLimit) {
+        this.enabled = enabled;
+        this.retryAfter = retryAfter;
+        limiters.put(EndpointClass.LOOKUP, new GradientLimiter(minLimit, lookupMaxLimit));
+        limiters.put(EndpointClass.PAGE, new GradientLimiter(minLimit, pageMaxLimit));
+        limiters.put(EndpointClass.SCAN, new GradientLimiter(minLimit, scanMaxLimit));
+    }
+
+    public GradientLimiter limiter(EndpointClass endpointClass) {
+        return limiters.get(endpointClass);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!enabled || !(handler instanceof HandlerMethod method) || request.getAttribute(PERMIT) != null) {
+            return true;
+        }
+        AdmissionControl admission = method.getMethodAnnotation(AdmissionControl.class);
+        if (admission == null) {
+            return true;
+        }
+        GradientLimiter limiter = limiters.get(admission.value());
+        if (!limiter.tryAcquire()) {
+            throw new ServiceOverloadedException("Demasiadas peticiones de tipo " + admission.value().key()
+                    + " en curso (límite " + limiter.limit() + "); reintenta más tarde", retryAfter);
+        }
+        request.setAttribute(PERMIT, new Permit(limiter, System.nanoTime()));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (request.getAttribute(PERMIT) instanceof Permit permit) {
+            request.removeAttribute(PERMIT);
+            permit.limiter().release(System.nanoTime() - permit.startNanos());
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        limiters.forEach((endpointClass, limiter) -> {
+            String tag = endpointClass.key();
+            Gauge.builder("beer.admission.limit", limiter, GradientLimiter::limit)
+                    .description("Límite de concurrencia actual")
+                    .tag("endpoint.class", tag)
+                    .register(registry);
+            Gauge.builder("beer.admission.in.flight", limiter, GradientLimiter::inFlight)
+                    .description("Peticiones en curso")
+                    .tag("endpoint.class", tag)
+                    .register(registry);
+            FunctionCounter.builder("beer.admission.requests", limiter, GradientLimiter::accepted)
+                    .description("Peticiones admitidas o rechazadas por el límite de concurrencia")
+                    .tags("endpoint.class", tag, "outcome", "accepted")
+                    .register(registry);
+            FunctionCounter.builder("beer.admission.requests", limiter, GradientLimiter::rejected)
+                    .description("Peticiones admitidas o rechazadas por el límite de concurrencia")
+                    .tags("endpoint.class", tag, "outcome", "rejected")
+                    .register(registry);
+        });
+    }
+
+    private record Permit(GradientLimiter limiter, long startNanos) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.kata.beer.admission;
+
+import java.util.Locale;
+
+/**
+ * Clases de endpoint con límite de concurrencia propio: una avalancha de consultas caras no
+ * consume los permisos de las baratas
+ */
+public enum EndpointClass {
+
+    /** Lecturas de un recurso por ID */
+    LOOKUP,
+
+    /**
+     * Páginas por cursor: acotadas, pero de hasta {@link com.kata.beer.dto.CursorPage#MAX_LIMIT}
+     * filas con sus relaciones
+     */
+    PAGE,
+
+    /** Recorridos de tablas completas: listados sin paginar, búsqueda y filtrado */
+    SCAN;
+
+    /**
+     * Nombre en propiedades y etiquetas de métricas
+     */
+    public String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,110 @@
+package com.kata.beer.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Límite de concurrencia que se adapta a la latencia observada (algoritmo de gradiente, como
+ * Vegas en TCP): compara una media corta de la latencia con una media larga que hace de línea
+ * base. Si la corta sube por encima de la base más la tolerancia, hay cola en algún recurso
+ * compartido (el pool de conexiones, la base de datos) y el límite baja en proporción; si no,
+ * crece en la raíz cuadrada del límite por muestra, hasta {@code maxLimit}.
+ * <p>
+ * Mientras se usa menos de la mitad del límite la latencia no dice nada de él y no se ajusta.
+ * Tras una sobrecarga la media larga queda inflada: si supera el doble de la corta se acerca a
+ * ella para que el límite se recupere.
+ */
+public class GradientLimiter {
+
+    /** Latencia corta: media exponencial de unas 10 muestras */
+    private static final double SHORT_ALPHA = 0.2;
+    /** Línea base: media exponencial de unas 600 muestras */
+    private static final double LONG_ALPHA = 2.0 / 601;
+    /** Aumento de latencia tolerado sobre la base antes de reducir el límite */
+    private static final double TOLERANCE = 1.5;
+    /** Peso de cada nuevo cálculo del límite, para no reaccionar a una sola muestra */
+    private static final double SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    private volatile double limit;
+    private double shortRtt;
+    private double longRtt;
+    private boolean sampled;
+
+    public GradientLimiter(int minLimit, int maxLimit) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Límites de concurrencia inválidos: " + minLimit + ".." + maxLimit);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = maxLimit;
+    }
+
+    /**
+     * Reserva un permiso si hay menos peticiones en curso que el límite actual
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                accepted.increment();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Devuelve el permiso y ajusta el límite con la latencia de la petición
+     */
+    public void release(long rttNanos) {
+        int current = inFlight.getAndDecrement();
+        onSample(rttNanos, current);
+    }
+
+    synchronized void onSample(long rttNanos, int inFlightAtRelease) {
+        double rtt = Math.max(1, rttNanos);
+        if (!sampled) {
+            shortRtt = rtt;
+            longRtt = rtt;
+            sampled = true;
+        } else {
+            shortRtt += (rtt - shortRtt) * SHORT_ALPHA;
+            longRtt += (rtt - longRtt) * LONG_ALPHA;
+        }
+        if (longRtt > 2 * shortRtt) {
+            longRtt *= 0.95;
+        }
+        if (inFlightAtRelease < limit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRtt / shortRtt));
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - SMOOTHING) + newLimit * SMOOTHING));
+    }
+
+    public int limit() {
+        return (int) limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public long accepted() {
+        return accepted.sum();
+    }
+
+    public long rejected() {
+        return rejected.sum();
+    }
+}
@@ -0,0 +1,18 @@
+package com.kata.beer.cache;
+
+/**
+ * Cuerpo de una respuesta ya serializado a JSON (UTF-8) y, si compensa, comprimido con gzip
+ *
+ * @param json bytes JSON
+ * @param gzip los mismos bytes comprimidos, o {@code null} si la compresión no reduce el tamaño
+ */
+public record CachedBody(byte[] json, byte[] gzip) {
+
+    public boolean hasGzip() {
+        return gzip != null;
+    }
+
+    long size() {
+        return json.length + (gzip != null ? gzip.length : 0);
+    }
+}
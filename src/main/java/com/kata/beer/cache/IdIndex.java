@@ -0,0 +1,138 @@
+package com.kata.beer.cache;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Conjunto de los IDs existentes de una tabla, como bitset sobre el espacio de IDs.
+ * <p>
+ * Las consultas leen un {@code long[]} inmutable publicado en un campo volátil: no bloquean ni
+ * asignan memoria. Las altas y bajas copian el array (son raras y el array es pequeño: 1 bit
+ * por ID) y se aplican tras el commit, por lo que un ID recién insertado puede no estar todavía
+ * en el índice: un resultado negativo no es definitivo y el llamante debe confirmarlo en la
+ * base de datos.
+ */
+public class IdIndex {
+
+    /** Los IDs a partir de este valor no se indexan (el bitset ocuparía demasiado) */
+    static final int MAX_INDEXED_ID = 1 << 24;
+
+    private final Supplier<List<Integer>> loader;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile long[] words;
+
+    public IdIndex(Supplier<List<Integer>> loader) {
+        this.loader = loader;
+    }
+
+    /**
+     * Indica si el ID está en el índice; lo carga la primera vez
+     */
+    public boolean contains(int id) {
+        long[] current = words;
+        if (current == null) {
+            current = load();
+        }
+        if (id < 0) {
+            return false;
+        }
+        int word = id >>> 6;
+        return word < current.length && (current[word] & (1L << id)) != 0;
+    }
+
+    /**
+     * Número de IDs indexados, o 0 si el índice no está cargado
+     */
+    public int size() {
+        long[] current = words;
+        if (current == null) {
+            return 0;
+        }
+        int count = 0;
+        for (long word : current) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    void add(int id) {
+        update(id, true);
+    }
+
+    void remove(int id) {
+        update(id, false);
+    }
+
+    /**
+     * Vuelve a leer todos los IDs de la base de datos
+     */
+    void reload() {
+        lock.lock();
+        try {
+            words = build(loader.get());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long[] load() {
+        lock.lock();
+        try {
+            if (words == null) {
+                words = build(loader.get());
+            }
+            return words;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void update(int id, boolean present) {
+        if (id < 0 || id >= MAX_INDEXED_ID) {
+            return;
+        }
+        lock.lock();
+        try {
+            long[] current = words;
+            if (current == null) {
+                // Sin cargar: la carga leerá el estado ya confirmado
+                return;
+            }
+            int word = id >>> 6;
+            if (!present && word >= current.length) {
+                return;
+            }
+            long[] copy = Arrays.copyOf(current, Math.max(current.length, word + 1));
+            if (present) {
+                copy[word] |= 1L << id;
+            } else {
+                copy[word] &= ~(1L << id);
+            }
+            words = copy;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static long[] build(List<Integer> ids) {
+        int max = -1;
+        for (Integer id : ids) {
+            if (id != null && id >= 0 && id < MAX_INDEXED_ID) {
+                max = Math.max(max, id);
+            }
+        }
+        if (max < 0) {
+            return new long[0];
+        }
+        long[] built = new long[(max >>> 6) + 1];
+        for (Integer id : ids) {
+            if (id != null && id >= 0 && id < MAX_INDEXED_ID) {
+                built[id >>> 6] |= 1L << id;
+            }
+        }
+        return built;
+    }
+}
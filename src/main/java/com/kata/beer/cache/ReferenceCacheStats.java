@@ -0,0 +1,12 @@
+package com.kata.beer.cache;
+
+/**
+ * Estadísticas de una tabla de referencia cacheada
+ */
+public record ReferenceCacheStats(String name, int size, long hits, long misses, long loads, boolean loaded) {
+
+    public double getHitRatio() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+}
@@ -0,0 +1,109 @@
+package com.kata.beer.cache;
+
+import com.kata.beer.model.Brewery;
+import com.kata.beer.model.Category;
+import com.kata.beer.model.Style;
+import com.kata.beer.repository.BreweryRepository;
+import com.kata.beer.repository.CategoryRepository;
+import com.kata.beer.repository.StyleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import java.util.List;
+
+/**
+ * Caché en memoria de las tablas de referencia (cervecerías, categorías y estilos).
+ * Se carga al arrancar y se invalida cuando alguna de esas entidades se escribe.
+ */
+@Component
+public class ReferenceDataCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ReferenceDataCache.class);
+
+    private final ReferenceTable<Brewery> breweries;
+    private final ReferenceTable<Category> categories;
+    private final ReferenceTable<Style> styles;
+
+    @Autowired
+    public ReferenceDataCache(BreweryRepository breweryRepository,
+                              CategoryRepository categoryRepository,
+                              StyleRepository styleRepository) {
+        this.breweries = new ReferenceTable<>("breweries", breweryRepository::findAll, Brewery::getId,
+                breweryRepository::findAllIds);
+        this.categories = new ReferenceTable<>("categories", categoryRepository::findAll, Category::getId,
+                categoryRepository::findAllIds);
+        this.styles = new ReferenceTable<>("styles", styleRepository::findAll, Style::getId,
+                styleRepository::findAllIds);
+    }
+
+    public ReferenceTable<Brewery> breweries() {
+        return breweries;
+    }
+
+    public ReferenceTable<Category> categories() {
+        return categories;
+    }
+
+    public ReferenceTable<Style> styles() {
+        return styles;
+    }
+
+    /**
+     * Carga las tres tablas al arrancar la aplicación
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        long start = System.nanoTime();
+        breweries.refresh();
+        categories.refresh();
+        styles.refresh();
+        log.info("Caché de datos de referencia cargada en {} ms: {}",
+                (System.nanoTime() - start) / 1_000_000, stats());
+    }
+
+    /**
+     * Invalida la tabla a la que pertenece la entidad escrita
+     */
+    public void invalidate(Object entity) {
+        if (entity instanceof Brewery) {
+            breweries.invalidate();
+        } else if (entity instanceof Category) {
+            categories.invalidate();
+        } else if (entity instanceof Style) {
+            styles.invalidate();
+        }
+    }
+
+    /**
+     * Registra el alta de una entidad en el índice de IDs de su tabla
+     */
+    public void persisted(Object entity) {
+        if (entity instanceof Brewery brewery && brewery.getId() != null) {
+            breweries.added(brewery.getId());
+        } else if (entity instanceof Category category && category.getId() != null) {
+            categories.added(category.getId());
+        } else if (entity instanceof Style style && style.getId() != null) {
+            styles.added(style.getId());
+        }
+    }
+
+    /**
+     * Registra la baja de una entidad en el índice de IDs de su tabla
+     */
+    public void removed(Object entity) {
+        if (entity instanceof Brewery brewery && brewery.getId() != null) {
+            breweries.removed(brewery.getId());
+        } else if (entity instanceof Category category && category.getId() != null) {
+            categories.removed(category.getId());
+        } else if (entity instanceof Style style && style.getId() != null) {
+            styles.removed(style.getId());
+        }
+    }
+
+    public List<ReferenceCacheStats> stats() {
+        return List.of(breweries.stats(), categories.stats(), styles.stats());
+    }
+}
@@ -0,0 +1,55 @@
+package com.kata.beer.cache;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.util.function.Consumer;
+
+/**
+ * Listener JPA de las entidades de referencia: invalida la caché cuando se escriben y mantiene
+ * al día los índices de IDs con las altas y bajas.
+ * <p>
+ * Hibernate lo instancia a través del contenedor de Spring. La caché se resuelve de forma
+ * perezosa porque depende de los repositorios, que a su vez necesitan el EntityManagerFactory
+ * que está creando este listener.
+ */
+public class ReferenceDataCacheListener {
+
+    private final ObjectProvider<ReferenceDataCache> cache;
+
+    public ReferenceDataCacheListener(ObjectProvider<ReferenceDataCache> cache) {
+        this.cache = cache;
+    }
+
+    @PostPersist
+    public void onPersist(Object entity) {
+        afterCommit(c -> c.persisted(entity));
+    }
+
+    @PostUpdate
+    public void onUpdate(Object entity) {
+        afterCommit(c -> c.invalidate(entity));
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        afterCommit(c -> c.removed(entity));
+    }
+
+    private void afterCommit(Consumer<ReferenceDataCache> action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Aplicar tras el commit: antes, otra lectura podría recargar los datos antiguos
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.ifAvailable(action);
+                }
+            });
+        } else {
+            cache.ifAvailable(action);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.kata.beer.cache;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Copia en memoria de una tabla de referencia pequeña, indexada por ID entero.
+ * <p>
+ * Las filas se guardan en arrays ordenados por ID ({@code int[]} de claves y array paralelo
+ * de valores) y se buscan por búsqueda binaria, sin boxing ni asignaciones por consulta.
+ * La instantánea es inmutable: invalidar solo descarta la referencia y la siguiente lectura
+ * vuelve a cargar la tabla completa.
+ * <p>
+ * Aparte se mantiene un {@link IdIndex} con los IDs existentes, que no se invalida con las
+ * escrituras sino que se actualiza con cada alta y baja, para validar referencias sin cargar
+ * las filas.
+ */
+public class ReferenceTable<T> {
+
+    private final String name;
+    private final Supplier<List<T>> loader;
+    private final ToIntFunction<T> idOf;
+    private final IdIndex ids;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong generation = new AtomicLong();
+    // ReentrantLock y no synchronized: la carga consulta la base de datos y, en un hilo
+    // virtual, un bloque synchronized fijaría el hilo portador mientras dura la consulta
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    private volatile Snapshot<T> snapshot;
+
+    public ReferenceTable(String name, Supplier<List<T>> loader, ToIntFunction<T> idOf,
+                          Supplier<List<Integer>> idLoader) {
+        this.name = name;
+        this.loader = loader;
+        this.idOf = idOf;
+        this.ids = new IdIndex(idLoader);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Busca una fila por ID. Un resultado vacío cuenta como fallo: el llamante decide si
+     * consulta la base de datos (por ejemplo, filas insertadas por otro proceso).
+     */
+    public Optional<T> get(int id) {
+        Snapshot<T> current = current();
+        int index = Arrays.binarySearch(current.ids(), id);
+        if (index < 0) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(current.rows().get(index));
+    }
+
+    /**
+     * Indica si existe una fila con ese ID según el índice de IDs. Un {@code false} puede
+     * deberse a un alta aún no aplicada o hecha por otro proceso: debe confirmarse en la base
+     * de datos.
+     */
+    public boolean containsId(int id) {
+        return ids.contains(id);
+    }
+
+    /**
+     * Todas las filas, ordenadas por ID. La lista es inmutable y compartida.
+     */
+    public List<T> getAll() {
+        hits.increment();
+        return current().rows();
+    }
+
+    /**
+     * Indica si la tabla está cargada en memoria
+     */
+    public boolean isLoaded() {
+        return snapshot != null;
+    }
+
+    /**
+     * Descarta la copia en memoria; la siguiente lectura la recarga
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        snapshot = null;
+    }
+
+    /**
+     * Registra un alta (o una fila que existe y no estaba en el índice) y descarta la copia
+     */
+    public void added(int id) {
+        ids.add(id);
+        invalidate();
+    }
+
+    /**
+     * Registra una baja y descarta la copia
+     */
+    public void removed(int id) {
+        ids.remove(id);
+        invalidate();
+    }
+
+    /**
+     * Recarga la tabla y el índice de IDs inmediatamente
+     */
+    public void refresh() {
+        invalidate();
+        ids.reload();
+        current();
+    }
+
+    public ReferenceCacheStats stats() {
+        Snapshot<T> current = snapshot;
+        return new ReferenceCacheStats(name, current == null ? 0 : current.ids().length,
+                hits.sum(), misses.sum(), loads.get(), current != null);
+    }
+
+    private Snapshot<T> current() {
+        Snapshot<T> current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        loadLock.lock();
+        try {
+            current = snapshot;
+            if (current != null) {
+                return current;
+            }
+            long loadGeneration = generation.get();
+            current = load();
+            // Si hubo una invalidación durante la carga, los datos pueden ser anteriores a la
+            // escritura: se devuelven a este llamante pero no se publican.
+            if (generation.get() == loadGeneration) {
+                snapshot = current;
+            }
+            return current;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private Snapshot<T> load() {
+        misses.increment();
+        loads.incrementAndGet();
+        List<T> rows = loader.get().stream()
+                .sorted(Comparator.comparingInt(idOf))
+                .toList();
+        int[] ids = new int[rows.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = idOf.applyAsInt(rows.get(i));
+        }
+        return new Snapshot<>(ids, rows);
+    }
+
+    private record Snapshot<T>(int[] ids, List<T> rows) {
+    }
+}
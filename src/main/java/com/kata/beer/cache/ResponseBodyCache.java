@@ -0,0 +1,112 @@
+package com.kata.beer.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kata.beer.dto.ResourceVersion;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Caché LRU de cuerpos de respuesta ya serializados y comprimidos, acotada por bytes.
+ * <p>
+ * La clave es el ETag de la versión del recurso ({@link ResourceVersion}), que cambia con
+ * cualquier escritura de una fila incluida en la respuesta: un cambio no invalida nada
+ * explícitamente, simplemente la siguiente petición busca una clave nueva y la entrada antigua
+ * deja de usarse hasta que la expulsa el LRU.
+ */
+@Component
+public class ResponseBodyCache {
+
+    private final ObjectMapper objectMapper;
+    private final long maxBytes;
+
+    private final Map<String, CachedBody> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long bytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @Autowired
+    public ResponseBodyCache(ObjectMapper objectMapper,
+                             @Value("${beer.response-cache.max-size:16MB}") DataSize maxSize) {
+        this.objectMapper = objectMapper;
+        this.maxBytes = maxSize.toBytes();
+    }
+
+    /**
+     * Devuelve el cuerpo cacheado para esa versión o lo construye con {@code body}, lo serializa
+     * y lo guarda. La serialización se hace fuera del bloqueo.
+     */
+    public CachedBody get(ResourceVersion version, Supplier<?> body) {
+        String key = version.eTag();
+        synchronized (this) {
+            CachedBody cached = entries.get(key);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+        }
+        misses.increment();
+        CachedBody built = serialize(body.get());
+        put(key, built);
+        return built;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        bytes = 0;
+    }
+
+    public synchronized ResponseCacheStats stats() {
+        return new ResponseCacheStats(entries.size(), bytes, maxBytes, hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    private synchronized void put(String key, CachedBody body) {
+        if (body.size() > maxBytes) {
+            return;
+        }
+        CachedBody previous = entries.put(key, body);
+        if (previous != null) {
+            bytes -= previous.size();
+        }
+        bytes += body.size();
+        Iterator<CachedBody> eldest = entries.values().iterator();
+        while (bytes > maxBytes && eldest.hasNext()) {
+            bytes -= eldest.next().size();
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    private CachedBody serialize(Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            byte[] gzip = gzip(json);
+            return new CachedBody(json, gzip.length < json.length ? gzip : null);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar la respuesta", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,12 @@
+package com.kata.beer.cache;
+
+/**
+ * Estadísticas de la caché de respuestas serializadas
+ */
+public record ResponseCacheStats(int entries, long bytes, long maxBytes, long hits, long misses, long evictions) {
+
+    public double getHitRatio() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+}
@@ -0,0 +1,71 @@
+package com.kata.beer.config;
+
+import com.kata.beer.datasource.ReplicaBalancing;
+import com.kata.beer.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Separación de lecturas y escrituras: si se configuran réplicas en
+ * {@code beer.datasource.replicas}, el {@link DataSource} de la aplicación envía las
+ * transacciones de solo lectura a ellas y el resto a {@code spring.datasource.*}. Sin réplicas
+ * se usa el {@link DataSource} autoconfigurado de siempre.
+ * <p>
+ * Cada réplica tiene su propio pool Hikari con la misma configuración que el principal.
+ */
+@Configuration
+@ConditionalOnProperty(name = "beer.datasource.replicas")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+        return primary;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource routingDataSource(HikariDataSource primaryDataSource,
+                                                      DataSourceProperties properties,
+                                                      @Value("${beer.datasource.replicas}") List<String> replicaUrls,
+                                                      @Value("${beer.datasource.replica-username:}") String username,
+                                                      @Value("${beer.datasource.replica-password:}") String password,
+                                                      @Value("${beer.datasource.balancing:round-robin}") ReplicaBalancing balancing,
+                                                      @Value("${beer.datasource.read-your-writes-window:PT1S}") Duration readYourWritesWindow) {
+        List<HikariDataSource> replicas = new ArrayList<>(replicaUrls.size());
+        for (String url : replicaUrls) {
+            // Como el principal, el pool no se arranca hasta la primera conexión
+            HikariDataSource replica = new HikariDataSource();
+            primaryDataSource.copyStateTo(replica);
+            replica.setJdbcUrl(url.trim());
+            replica.setUsername(username.isEmpty() ? properties.determineUsername() : username);
+            replica.setPassword(username.isEmpty() ? properties.determinePassword() : password);
+            replica.setPoolName("replica-" + (replicas.size() + 1));
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, balancing, readYourWritesWindow);
+    }
+
+    /**
+     * {@link DataSource} de la aplicación (JPA, JdbcTemplate): retrasa la conexión física hasta
+     * la primera sentencia, cuando ya se sabe si la transacción es de solo lectura
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
@@ -0,0 +1,46 @@
+package com.kata.beer.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.kata.beer.protobuf.BeerProtobufHttpMessageConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import java.util.List;
+
+/**
+ * Representaciones binarias negociadas con la cabecera Accept: CBOR ({@code application/cbor}),
+ * Smile ({@code application/x-jackson-smile}) y Protobuf ({@code application/x-protobuf}).
+ * JSON sigue siendo la representación por defecto: va primero en la lista de conversores y es
+ * la que se elige sin Accept o con {@code *}{@code /*}.
+ */
+@Configuration
+public class MessageConvertersConfig implements WebMvcConfigurer {
+
+    /**
+     * CBOR y Smile con la misma configuración de Jackson que el JSON (fechas, módulos); Spring Boot
+     * los coloca en el lugar de los conversores por defecto del mismo tipo, detrás del de JSON
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    /**
+     * Protobuf al final de la lista: con {@code *}{@code /*} se elige el primer conversor
+     * que puede escribir la respuesta
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new BeerProtobufHttpMessageConverter());
+    }
+}
@@ -1,16 +1,41 @@
 package com.kata.beer.controller;
 
+import com.kata.beer.admission.AdmissionControl;
+import com.kata.beer.admission.EndpointClass;
+import com.kata.beer.cache.ResponseBodyCache;
+import com.kata.beer.dto.BatchCreateResult;
+import com.kata.beer.dto.BeerBulkUpdate;
+import com.kata.beer.dto.BeerChanges;
+import com.kata.beer.dto.BeerDescription;
+import com.kata.beer.dto.BeerFilter;
+import com.kata.beer.dto.BulkResult;
+import com.kata.beer.dto.CursorPage;
+import com.kata.beer.dto.FieldSet;
+import com.kata.beer.dto.ResourceVersion;
+import com.kata.beer.dto.SearchPage;
+import com.kata.beer.exception.ResourceNotFoundException;
 import com.kata.beer.model.Beer;
+import com.kata.beer.service.BeerChangesService;
+import com.kata.beer.service.BeerExportService;
+import com.kata.beer.service.BeerFilterService;
+import com.kata.beer.service.BeerSearchService;
 import com.kata.beer.service.BeerService;
+import com.kata.beer.service.ResourceVersionService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.util.List;
 
 @RestController
@@ -19,34 +44,221 @@ import java.util.List;
 @CrossOrigin(origins = "*")
 public class BeerController {
 
+    /** Cabeceras de RFC 7240 con las que el cliente pide una respuesta sin cuerpo */
+    static final String PREFER = "Prefer";
+    static final String PREFERENCE_APPLIED = "Preference-Applied";
+    static final String RETURN_MINIMAL = "return=minimal";
+
+    /** Variante del ETag de una cerveza para su descripción sola */
+    private static final String DESCRIPTION = "description";
+
     private final BeerService beerService;
+    private final BeerExportService beerExportService;
+    private final BeerSearchService beerSearchService;
+    private final BeerFilterService beerFilterService;
+    private final BeerChangesService beerChangesService;
+    private final ResourceVersionService resourceVersionService;
+    private final ResponseBodyCache responseBodyCache;
 
     @Autowired
-    public BeerController(BeerService beerService) {
+    public BeerController(BeerService beerService,
+                          BeerExportService beerExportService,
+                          BeerSearchService beerSearchService,
+                          BeerFilterService beerFilterService,
+                          BeerChangesService beerChangesService,
+                          ResourceVersionService resourceVersionService,
+                          ResponseBodyCache responseBodyCache) {
         this.beerService = beerService;
+        this.beerExportService = beerExportService;
+        this.beerSearchService = beerSearchService;
+        this.beerFilterService = beerFilterService;
+        this.beerChangesService = beerChangesService;
+        this.resourceVersionService = resourceVersionService;
+        this.responseBodyCache = responseBodyCache;
     }
 
     @GetMapping("/beers")
+    @AdmissionControl(EndpointClass.SCAN)
     @Operation(summary = "Obtener todas las cervezas", description = "Retorna una lista de todas las cervezas disponibles")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Lista de cervezas obtenida correctamente"),
+        @ApiResponse(responseCode = "304", description = "La lista no ha cambiado desde la versión del cliente"),
+        @ApiResponse(responseCode = "503", description = "Demasiadas peticiones en curso; reintentar tras Retry-After"),
         @ApiResponse(responseCode = "500", description = "Error interno del servidor")
     })
-    public ResponseEntity<List<Beer>> getAllBeers() {
-        List<Beer> beers = beerService.getAllBeers();
+    public ResponseEntity<List<?>> getAllBeers(
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        FieldSet fieldSet = FieldSet.parse(fields);
+        if (ConditionalRequests.notModified(request, resourceVersionService.beers().withVariant(fieldSet))) {
+            return null;
+        }
+        List<?> beers = fieldSet == null ? beerService.getAllBeers() : beerService.getAllBeers(fieldSet);
         return ResponseEntity.ok(beers);
     }
 
+    @GetMapping(value = "/beers", params = "limit")
+    @AdmissionControl(EndpointClass.PAGE)
+    @Operation(summary = "Obtener cervezas paginadas por cursor",
+            description = "Retorna hasta 'limit' cervezas con ID mayor que 'after'. Usa 'nextCursor' como 'after' para pedir la siguiente página")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página de cervezas obtenida correctamente"),
+        @ApiResponse(responseCode = "304", description = "La página no ha cambiado desde la versión del cliente"),
+        @ApiResponse(responseCode = "400", description = "Parámetros de paginación inválidos"),
+        @ApiResponse(responseCode = "503", description = "Demasiadas peticiones en curso; reintentar tras Retry-After"),
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    public ResponseEntity<CursorPage<?>> getBeersPage(
+            @RequestParam int limit,
+            @RequestParam(required = false) Integer after,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        FieldSet fieldSet = FieldSet.parse(fields);
+        if (ConditionalRequests.notModified(request, resourceVersionService.beers().withVariant(fieldSet))) {
+            return null;
+        }
+        CursorPage<?> page = fieldSet == null
+                ? beerService.getBeersPage(after, limit)
+                : beerService.getBeersPage(after, limit, fieldSet);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping(value = "/beers/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @AdmissionControl(EndpointClass.SCAN)
+    @Operation(summary = "Exportar todas las cervezas",
+            description = "Exporta el catálogo completo en streaming como NDJSON (una cerveza por línea). El permiso de admisión se mantiene hasta terminar de escribir")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Exportación iniciada correctamente"),
+        @ApiResponse(responseCode = "304", description = "El catálogo no ha cambiado desde la versión del cliente"),
+        @ApiResponse(responseCode = "503", description = "Demasiadas peticiones en curso; reintentar tras Retry-After"),
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    public ResponseEntity<StreamingResponseBody> exportBeers(WebRequest request) {
+        if (ConditionalRequests.notModified(request, resourceVersionService.beers())) {
+            return null;
+        }
+        StreamingResponseBody body = beerExportService::exportNdjson;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"beers.ndjson\"")
+                .body(body);
+    }
+
+    @GetMapping("/beers/search")
+    @AdmissionControl(EndpointClass.SCAN)
+    @Operation(summary = "Buscar cervezas",
+            description = "Busca por nombre, descripción y nombre de la cervecería. Los resultados se ordenan por relevancia y se paginan con 'page' (desde 0) y 'size'")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Resultados obtenidos correctamente"),
+        @ApiResponse(responseCode = "304", description = "Los resultados no han cambiado desde la versión del cliente"),
+        @ApiResponse(responseCode = "400", description = "Consulta o parámetros de paginación inválidos"),
+        @ApiResponse(responseCode = "503", description = "Demasiadas peticiones en curso; reintentar tras Retry-After"),
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    public ResponseEntity<SearchPage<Beer>> searchBeers(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "" + SearchPage.DEFAULT_SIZE) int size,
+            WebRequest request) {
+        if (ConditionalRequests.notModified(request, resourceVersionService.beers())) {
+            return null;
+        }
+        SearchPage<Beer> results = beerSearchService.searchBeers(query, page, size);
+        return ResponseEntity.ok(results);
+    }
+
+    @GetMapping("/beers/filter")
+    @AdmissionControl(EndpointClass.SCAN)
+    @Operation(summary = "Filtrar cervezas",
+            description = "Filtra por rangos de ABV/IBU/SRM, cervecería, categoría, estilo y país de la cervecería. Los criterios se combinan con AND y el resultado se pagina por cursor con 'after' y 'limit'")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página de cervezas obtenida correctamente"),
+        @ApiResponse(responseCode = "304", description = "La página no ha cambiado desde la versión del cliente"),
+        @ApiResponse(responseCode = "400", description = "Rangos o parámetros de paginación inválidos"),
+        @ApiResponse(responseCode = "503", description = "Demasiadas peticiones en curso; reintentar tras Retry-After"),
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    public ResponseEntity<CursorPage<?>> filterBeers(
+            @ModelAttribute BeerFilter filter,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit,
+            @RequestParam(required = false) Integer after,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        FieldSet fieldSet = FieldSet.parse(fields);
+        if (ConditionalRequests.notModified(request, resourceVersionService.beers().withVariant(fieldSet))) {
+            return null;
+        }
+        CursorPage<?> page = fieldSet == null
+                ? beerFilterService.filterBeers(filter, after, limit)
+                : beerFilterService.filterBeers(filter, after, limit, fieldSet);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/beers/changes")
+    @AdmissionControl(EndpointClass.SCAN)
+    @Operation(summary = "Obtener cambios de cervezas",
+            description = "Retorna las cervezas creadas o modificadas y los IDs de las borradas desde el token 'since', junto con el token para la siguiente llamada. Sin 'since' retorna el catálogo completo por páginas")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Cambios obtenidos correctamente"),
+        @ApiResponse(responseCode = "400", description = "Token o parámetro limit inválido"),
+        @ApiResponse(responseCode = "410", description = "Token caducado: hay que volver a sincronizar sin 'since'"),
+        @ApiResponse(responseCode = "503", description = "Demasiadas peticiones en curso; reintentar tras Retry-After"),
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    public ResponseEntity<BeerChanges> getBeerChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "" + CursorPage.MAX_LIMIT) int limit) {
+        BeerChanges changes = beerChangesService.getChanges(since, limit);
+        return ResponseEntity.ok(changes);
+    }
+
     @GetMapping("/beer/{id}")
-    @Operation(summary = "Obtener cerveza por ID", description = "Retorna una cerveza específica por su ID")
+    @AdmissionControl(EndpointClass.LOOKUP)
+    @Operation(summary = "Obtener cerveza por ID",
+            description = "Retorna una cerveza específica por su ID, incluida su descripción. Con 'fields' solo se devuelven los campos pedidos; 'expand=descript' añade la descripción a esa proyección")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Cerveza encontrada"),
+        @ApiResponse(responseCode = "200", description = "Cerveza encontrada",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = Beer.class))),
+        @ApiResponse(responseCode = "304", description = "La cerveza no ha cambiado desde la versión del cliente"),
         @ApiResponse(responseCode = "404", description = "Cerveza no encontrada"),
+        @ApiResponse(responseCode = "503", description = "Demasiadas peticiones en curso; reintentar tras Retry-After"),
         @ApiResponse(responseCode = "500", description = "Error interno del servidor")
     })
-    public ResponseEntity<Beer> getBeerById(@PathVariable Integer id) {
-        Beer beer = beerService.getBeerById(id);
-        return ResponseEntity.ok(beer);
+    public ResponseEntity<?> getBeerById(
+            @PathVariable Integer id,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String expand,
+            WebRequest request) {
+        boolean withDescription = expandsDescription(expand);
+        FieldSet fieldSet = FieldSet.parse(fields);
+        // La representación completa ya incluye la descripción: expand solo la añade a una proyección
+        FieldSet projection = withDescription && fieldSet != null ? FieldSet.parse(fields + "," + Beer.DESCRIPT) : fieldSet;
+        ResourceVersion version = beerVersion(id).withVariant(projection);
+        if (ConditionalRequests.notModified(request, version)) {
+            return null;
+        }
+        return CachedResponses.ok(request, responseBodyCache, version, () -> projection != null
+                ? beerService.getBeerById(id, projection)
+                : beerService.getBeerWithDescription(id));
+    }
+
+    @GetMapping("/beer/{id}/description")
+    @AdmissionControl(EndpointClass.LOOKUP)
+    @Operation(summary = "Obtener la descripción de una cerveza",
+            description = "Retorna la descripción completa, que no se incluye en los listados de cervezas")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Descripción obtenida correctamente"),
+        @ApiResponse(responseCode = "304", description = "La cerveza no ha cambiado desde la versión del cliente"),
+        @ApiResponse(responseCode = "404", description = "Cerveza no encontrada"),
+        @ApiResponse(responseCode = "503", description = "Demasiadas peticiones en curso; reintentar tras Retry-After"),
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    public ResponseEntity<BeerDescription> getBeerDescription(@PathVariable Integer id, WebRequest request) {
+        if (ConditionalRequests.notModified(request, beerVersion(id).withVariant(DESCRIPTION))) {
+            return null;
+        }
+        BeerDescription description = beerService.getBeerDescription(id);
+        return ResponseEntity.ok(description);
     }
 
     @PostMapping("/beer")
@@ -61,6 +273,20 @@ public class BeerController {
         return ResponseEntity.status(HttpStatus.CREATED).body(newBeer);
     }
 
+    @PostMapping("/beers/batch")
+    @Operation(summary = "Crear cervezas por lotes",
+            description = "Crea hasta 5000 cervezas en una sola petición y retorna el resultado de cada elemento. Los elementos inválidos se rechazan sin impedir el alta del resto")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Al menos una cerveza creada; el detalle indica las rechazadas"),
+        @ApiResponse(responseCode = "400", description = "Lote vacío, demasiado grande o sin ningún elemento válido"),
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    public ResponseEntity<BatchCreateResult> createBeers(@RequestBody List<Beer> beers) {
+        BatchCreateResult result = beerService.createBeers(beers);
+        HttpStatus status = result.getCreated() > 0 ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST;
+        return ResponseEntity.status(status).body(result);
+    }
+
     @PutMapping("/beer/{id}")
     @Operation(summary = "Actualizar cerveza", description = "Actualiza completamente una cerveza existente")
     @ApiResponses(value = {
@@ -77,18 +303,66 @@ public class BeerController {
     }
 
     @PatchMapping("/beer/{id}")
-    @Operation(summary = "Actualizar parcialmente cerveza", description = "Actualiza parcialmente una cerveza existente")
+    @Operation(summary = "Actualizar parcialmente cerveza",
+            description = "Actualiza solo los campos enviados. Con If-Match la actualización solo se aplica si la cerveza sigue en esa versión (vale el ETag de cualquier representación); la respuesta 200 incluye el ETag de la nueva versión. Con 'Prefer: return=minimal' responde 204 sin cuerpo")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Cerveza actualizada correctamente"),
+        @ApiResponse(responseCode = "204", description = "Cerveza actualizada (Prefer: return=minimal)"),
         @ApiResponse(responseCode = "400", description = "Datos de entrada inválidos"),
         @ApiResponse(responseCode = "404", description = "Cerveza no encontrada"),
+        @ApiResponse(responseCode = "412", description = "La cerveza no está en la versión indicada en If-Match"),
         @ApiResponse(responseCode = "500", description = "Error interno del servidor")
     })
     public ResponseEntity<Beer> partialUpdateBeer(
             @PathVariable Integer id,
-            @RequestBody Beer beerDetails) {
-        Beer updatedBeer = beerService.partialUpdateBeer(id, beerDetails);
-        return ResponseEntity.ok(updatedBeer);
+            @RequestBody Beer beerDetails,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(value = PREFER, required = false) String prefer,
+            WebRequest request) {
+        if (prefer != null && prefer.contains(RETURN_MINIMAL)) {
+            beerService.patchBeer(id, beerDetails, ifMatch);
+            return ResponseEntity.noContent().header(PREFERENCE_APPLIED, RETURN_MINIMAL).build();
+        }
+        Beer updatedBeer = beerService.partialUpdateBeer(id, beerDetails, ifMatch);
+        ResourceVersion version = ConditionalRequests.negotiated(request, ResourceVersionService.beer(updatedBeer));
+        return ResponseEntity.ok().eTag(version.eTag()).body(updatedBeer);
+    }
+
+    @PatchMapping("/beers/bulk")
+    @Operation(summary = "Modificar cervezas en bloque",
+            description = "Asigna los campos de 'set' a todas las cervezas que cumplen 'filter'. El filtro no puede estar vacío y no se pueden asignar el nombre ni la descripción")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Cervezas modificadas; 'affected' indica cuántas"),
+        @ApiResponse(responseCode = "400", description = "Filtro vacío o campos inválidos"),
+        @ApiResponse(responseCode = "404", description = "Cervecería, categoría o estilo no encontrado"),
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    public ResponseEntity<BulkResult> updateBeers(@RequestBody BeerBulkUpdate update) {
+        int affected = beerService.updateMatchingBeers(update.getFilter(), update.getSet());
+        return ResponseEntity.ok(new BulkResult(affected));
+    }
+
+    @DeleteMapping("/beers")
+    @Operation(summary = "Eliminar cervezas en bloque",
+            description = "Elimina las cervezas de 'ids' o, sin 'ids', las que cumplen los criterios de filtrado (los mismos que /beers/filter). El filtro no puede estar vacío")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Cervezas eliminadas; 'affected' indica cuántas"),
+        @ApiResponse(responseCode = "400", description = "Sin IDs ni filtro, o con ambos"),
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    public ResponseEntity<BulkResult> deleteBeers(
+            @RequestParam(required = false) List<Integer> ids,
+            @ModelAttribute BeerFilter filter) {
+        int affected;
+        if (ids != null) {
+            if (!filter.isEmpty()) {
+                throw new IllegalArgumentException("Indica los IDs o un filtro, no ambos");
+            }
+            affected = beerService.deleteBeers(ids);
+        } else {
+            affected = beerService.deleteMatchingBeers(filter);
+        }
+        return ResponseEntity.ok(new BulkResult(affected));
     }
 
     @DeleteMapping("/beer/{id}")
@@ -102,5 +376,22 @@ public class BeerController {
         beerService.deleteBeer(id);
         return ResponseEntity.noContent().build();
     }
-}
 
+    private ResourceVersion beerVersion(Integer id) {
+        return resourceVersionService.beer(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Cerveza no encontrada con id: " + id));
+    }
+
+    /**
+     * Valida el parámetro expand; solo admite {@code descript}
+     */
+    private static boolean expandsDescription(String expand) {
+        if (expand == null || expand.isBlank()) {
+            return false;
+        }
+        if (!expand.trim().equals(Beer.DESCRIPT)) {
+            throw new IllegalArgumentException("Valor de expand no soportado: " + expand);
+        }
+        return true;
+    }
+}
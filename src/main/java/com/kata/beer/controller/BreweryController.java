@@ -1,7 +1,13 @@
 package com.kata.beer.controller;
 
+import com.kata.beer.admission.AdmissionControl;
+import com.kata.beer.admission.EndpointClass;
+import com.kata.beer.dto.CursorPage;
+import com.kata.beer.dto.FieldSet;
+import com.kata.beer.dto.ResourceVersion;
 import com.kata.beer.model.Brewery;
 import com.kata.beer.service.BreweryService;
+import com.kata.beer.service.ResourceVersionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -9,6 +15,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import java.util.List;
 
 @RestController
@@ -18,33 +25,85 @@ import java.util.List;
 public class BreweryController {
 
     private final BreweryService breweryService;
+    private final ResourceVersionService resourceVersionService;
 
     @Autowired
-    public BreweryController(BreweryService breweryService) {
+    public BreweryController(BreweryService breweryService, ResourceVersionService resourceVersionService) {
         this.breweryService = breweryService;
+        this.resourceVersionService = resourceVersionService;
     }
 
     @GetMapping("/breweries")
+    @AdmissionControl(EndpointClass.SCAN)
     @Operation(summary = "Obtener todas las cervecerías", description = "Retorna una lista de todas las cervecerías")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Lista de cervecerías obtenida correctamente"),
+        @ApiResponse(responseCode = "304", description = "La lista no ha cambiado desde la versión del cliente"),
+        @ApiResponse(responseCode = "503", description = "Demasiadas peticiones en curso; reintentar tras Retry-After"),
         @ApiResponse(responseCode = "500", description = "Error interno del servidor")
     })
-    public ResponseEntity<List<Brewery>> getAllBreweries() {
-        List<Brewery> breweries = breweryService.getAllBreweries();
+    public ResponseEntity<List<?>> getAllBreweries(
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        FieldSet fieldSet = FieldSet.parse(fields);
+        if (ConditionalRequests.notModified(request, resourceVersionService.breweries().withVariant(fieldSet))) {
+            return null;
+        }
+        List<?> breweries = fieldSet == null ? breweryService.getAllBreweries() : breweryService.getAllBreweries(fieldSet);
         return ResponseEntity.ok(breweries);
     }
 
+    @GetMapping(value = "/breweries", params = "limit")
+    @AdmissionControl(EndpointClass.PAGE)
+    @Operation(summary = "Obtener cervecerías paginadas por cursor",
+            description = "Retorna hasta 'limit' cervecerías con ID mayor que 'after'. Usa 'nextCursor' como 'after' para pedir la siguiente página")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página de cervecerías obtenida correctamente"),
+        @ApiResponse(responseCode = "304", description = "La página no ha cambiado desde la versión del cliente"),
+        @ApiResponse(responseCode = "400", description = "Parámetros de paginación inválidos"),
+        @ApiResponse(responseCode = "503", description = "Demasiadas peticiones en curso; reintentar tras Retry-After"),
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    public ResponseEntity<CursorPage<?>> getBreweriesPage(
+            @RequestParam int limit,
+            @RequestParam(required = false) Integer after,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        FieldSet fieldSet = FieldSet.parse(fields);
+        if (ConditionalRequests.notModified(request, resourceVersionService.breweries().withVariant(fieldSet))) {
+            return null;
+        }
+        CursorPage<?> page = fieldSet == null
+                ? breweryService.getBreweriesPage(after, limit)
+                : breweryService.getBreweriesPage(after, limit, fieldSet);
+        return ResponseEntity.ok(page);
+    }
+
     @GetMapping("/brewerie/{id}")
-    @Operation(summary = "Obtener cervecería por ID", description = "Retorna una cervecería específica por su ID")
+    @AdmissionControl(EndpointClass.LOOKUP)
+    @Operation(summary = "Obtener cervecería por ID",
+            description = "Retorna una cervecería específica por su ID, con su descripción salvo que 'fields' no la pida")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Cervecería encontrada"),
+        @ApiResponse(responseCode = "304", description = "La cervecería no ha cambiado desde la versión del cliente"),
         @ApiResponse(responseCode = "404", description = "Cervecería no encontrada"),
+        @ApiResponse(responseCode = "503", description = "Demasiadas peticiones en curso; reintentar tras Retry-After"),
         @ApiResponse(responseCode = "500", description = "Error interno del servidor")
     })
-    public ResponseEntity<Brewery> getBreweryById(@PathVariable Integer id) {
+    public ResponseEntity<Object> getBreweryById(
+            @PathVariable Integer id,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        FieldSet fieldSet = FieldSet.parse(fields);
         Brewery brewery = breweryService.getBreweryById(id);
-        return ResponseEntity.ok(brewery);
+        if (ConditionalRequests.notModified(request,
+                ResourceVersion.of("brewery-" + id, brewery.getLastMod()).withVariant(fieldSet))) {
+            return null;
+        }
+        // La versión sale de la caché; el cuerpo completo necesita además la descripción
+        return ResponseEntity.ok(fieldSet == null
+                ? breweryService.getBreweryWithDescription(id)
+                : breweryService.getBreweryById(id, fieldSet));
     }
 }
 
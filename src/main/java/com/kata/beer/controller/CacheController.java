@@ -0,0 +1,53 @@
+package com.kata.beer.controller;
+
+import com.kata.beer.cache.ReferenceCacheStats;
+import com.kata.beer.cache.ReferenceDataCache;
+import com.kata.beer.cache.ResponseBodyCache;
+import com.kata.beer.cache.ResponseCacheStats;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api")
+@Tag(name = "Cache", description = "API de consulta del estado de las cachés")
+@CrossOrigin(origins = "*")
+public class CacheController {
+
+    private final ReferenceDataCache referenceDataCache;
+    private final ResponseBodyCache responseBodyCache;
+
+    @Autowired
+    public CacheController(ReferenceDataCache referenceDataCache, ResponseBodyCache responseBodyCache) {
+        this.referenceDataCache = referenceDataCache;
+        this.responseBodyCache = responseBodyCache;
+    }
+
+    @GetMapping("/cache/stats")
+    @Operation(summary = "Obtener estadísticas de caché", description = "Retorna aciertos, fallos, recargas y tamaño de cada tabla de referencia cacheada")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Estadísticas obtenidas correctamente"),
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    public ResponseEntity<List<ReferenceCacheStats>> getCacheStats() {
+        List<ReferenceCacheStats> stats = referenceDataCache.stats();
+        return ResponseEntity.ok(stats);
+    }
+
+    @GetMapping("/cache/responses/stats")
+    @Operation(summary = "Obtener estadísticas de la caché de respuestas",
+            description = "Retorna entradas, bytes ocupados, límite, aciertos, fallos y expulsiones de la caché de respuestas serializadas")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Estadísticas obtenidas correctamente"),
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    public ResponseEntity<ResponseCacheStats> getResponseCacheStats() {
+        ResponseCacheStats stats = responseBodyCache.stats();
+        return ResponseEntity.ok(stats);
+    }
+}
@@ -0,0 +1,72 @@
+package com.kata.beer.controller;
+
+import com.kata.beer.cache.CachedBody;
+import com.kata.beer.cache.ResponseBodyCache;
+import com.kata.beer.dto.ResourceVersion;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Respuestas construidas a partir de cuerpos ya serializados de la {@code ResponseBodyCache}
+ */
+final class CachedResponses {
+
+    private CachedResponses() {
+    }
+
+    /**
+     * Responde 200 con el JSON de {@code body} cacheado para esa versión. Si el cliente prefiere
+     * una representación binaria, el cuerpo se construye sin caché y lo escribe su conversor.
+     */
+    static ResponseEntity<?> ok(WebRequest request, ResponseBodyCache cache, ResourceVersion version,
+                                Supplier<?> body) {
+        if (Representations.preferredBinary(request) != null) {
+            return ResponseEntity.ok(body.get());
+        }
+        return ok(request, cache.get(version, body));
+    }
+
+    /**
+     * Responde 200 con el JSON cacheado, comprimido si el cliente acepta gzip
+     */
+    static ResponseEntity<byte[]> ok(WebRequest request, CachedBody body) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (body.hasGzip() && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(body.gzip());
+        }
+        return response.body(body.json());
+    }
+
+    /**
+     * Indica si la cabecera Accept-Encoding admite gzip (directamente o con {@code *}) con q > 0
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (!name.equals("gzip") && !name.equals("x-gzip") && !name.equals("*")) {
+                continue;
+            }
+            boolean rejected = false;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim().toLowerCase(Locale.ROOT);
+                if (parameter.startsWith("q=")) {
+                    rejected = parameter.substring(2).trim().matches("0(\\.0*)?");
+                }
+            }
+            if (!rejected) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,15 +1,22 @@
 package com.kata.beer.controller;
 
+import com.kata.beer.cache.ResponseBodyCache;
+import com.kata.beer.dto.CursorPage;
+import com.kata.beer.dto.ResourceVersion;
 import com.kata.beer.model.Category;
 import com.kata.beer.service.CategoryService;
+import com.kata.beer.service.ResourceVersionService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api")
@@ -18,32 +25,67 @@ import java.util.List;
 public class CategoryController {
 
     private final CategoryService categoryService;
+    private final ResourceVersionService resourceVersionService;
+    private final ResponseBodyCache responseBodyCache;
 
     @Autowired
-    public CategoryController(CategoryService categoryService) {
+    public CategoryController(CategoryService categoryService,
+                              ResourceVersionService resourceVersionService,
+                              ResponseBodyCache responseBodyCache) {
         this.categoryService = categoryService;
+        this.resourceVersionService = resourceVersionService;
+        this.responseBodyCache = responseBodyCache;
     }
 
     @GetMapping("/categories")
     @Operation(summary = "Obtener todas las categorías", description = "Retorna una lista de todas las categorías")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Lista de categorías obtenida correctamente"),
+        @ApiResponse(responseCode = "200", description = "Lista de categorías obtenida correctamente",
+                content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = Category.class)))),
+        @ApiResponse(responseCode = "304", description = "La lista no ha cambiado desde la versión del cliente"),
         @ApiResponse(responseCode = "500", description = "Error interno del servidor")
     })
-    public ResponseEntity<List<Category>> getAllCategories() {
-        List<Category> categories = categoryService.getAllCategories();
-        return ResponseEntity.ok(categories);
+    public ResponseEntity<?> getAllCategories(WebRequest request) {
+        ResourceVersion version = resourceVersionService.categories();
+        if (ConditionalRequests.notModified(request, version)) {
+            return null;
+        }
+        return CachedResponses.ok(request, responseBodyCache, version, categoryService::getAllCategories);
+    }
+
+    @GetMapping(value = "/categories", params = "limit")
+    @Operation(summary = "Obtener categorías paginadas por cursor",
+            description = "Retorna hasta 'limit' categorías con ID mayor que 'after'. Usa 'nextCursor' como 'after' para pedir la siguiente página")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página de categorías obtenida correctamente"),
+        @ApiResponse(responseCode = "304", description = "La página no ha cambiado desde la versión del cliente"),
+        @ApiResponse(responseCode = "400", description = "Parámetros de paginación inválidos"),
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    public ResponseEntity<CursorPage<Category>> getCategoriesPage(
+            @RequestParam int limit,
+            @RequestParam(required = false) Integer after,
+            WebRequest request) {
+        if (ConditionalRequests.notModified(request, resourceVersionService.categories())) {
+            return null;
+        }
+        CursorPage<Category> page = categoryService.getCategoriesPage(after, limit);
+        return ResponseEntity.ok(page);
     }
 
     @GetMapping("/categorie/{id}")
     @Operation(summary = "Obtener categoría por ID", description = "Retorna una categoría específica por su ID")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Categoría encontrada"),
+        @ApiResponse(responseCode = "304", description = "La categoría no ha cambiado desde la versión del cliente"),
         @ApiResponse(responseCode = "404", description = "Categoría no encontrada"),
         @ApiResponse(responseCode = "500", description = "Error interno del servidor")
     })
-    public ResponseEntity<Category> getCategoryById(@PathVariable Integer id) {
+    public ResponseEntity<Category> getCategoryById(@PathVariable Integer id, WebRequest request) {
         Category category = categoryService.getCategoryById(id);
+        if (ConditionalRequests.notModified(request, ResourceVersion.of("category-" + id, category.getLastMod()))) {
+            return null;
+        }
         return ResponseEntity.ok(category);
     }
 }
@@ -0,0 +1,54 @@
+package com.kata.beer.controller;
+
+import com.kata.beer.dto.ResourceVersion;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * GET condicionales (If-None-Match / If-Modified-Since) evaluados antes de cargar el cuerpo
+ * de la respuesta
+ */
+final class ConditionalRequests {
+
+    private ConditionalRequests() {
+    }
+
+    /**
+     * Añade ETag, Last-Modified y {@code Cache-Control: no-cache} (el cliente guarda la respuesta
+     * pero revalida siempre) y comprueba las cabeceras condicionales de la petición. Cada
+     * representación negociada con Accept tiene su propio ETag ({@code Vary: Accept}). Si devuelve
+     * {@code true} la respuesta ya es un 304 y el handler debe devolver {@code null}.
+     * <p>
+     * La versión se calcula antes de leer los datos: si cambian entre medias, el cliente recibe
+     * datos nuevos con un ETag antiguo y en la siguiente petición descarga de nuevo, nunca al revés.
+     */
+    static boolean notModified(WebRequest request, ResourceVersion version) {
+        if (request instanceof NativeWebRequest nativeRequest) {
+            HttpServletResponse response = nativeRequest.getNativeResponse(HttpServletResponse.class);
+            if (response != null) {
+                response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+            }
+        }
+        ResourceVersion negotiated = negotiated(request, version);
+        return request.checkNotModified(negotiated.eTag(), negotiated.lastModified());
+    }
+
+    /**
+     * Versión de la representación negociada con Accept, para las respuestas que llevan ETag sin
+     * ser un GET condicional (p. ej. el 200 de un PATCH). Añade {@code Vary: Accept}.
+     */
+    static ResourceVersion negotiated(WebRequest request, ResourceVersion version) {
+        if (request instanceof NativeWebRequest nativeRequest) {
+            HttpServletResponse response = nativeRequest.getNativeResponse(HttpServletResponse.class);
+            if (response != null) {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+            }
+        }
+        MediaType binary = Representations.preferredBinary(request);
+        return binary == null ? version : version.withVariant(binary.getSubtype());
+    }
+}
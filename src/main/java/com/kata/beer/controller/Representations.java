@@ -0,0 +1,76 @@
+package com.kata.beer.controller;
+
+import com.kata.beer.protobuf.BeerProtobufHttpMessageConverter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.web.context.request.WebRequest;
+import java.util.List;
+
+/**
+ * Representación que el cliente prefiere según la cabecera Accept, antes de construir la
+ * respuesta: hace falta para el ETag (cada representación tiene el suyo) y para no servir el
+ * JSON cacheado a quien pide un formato binario
+ */
+final class Representations {
+
+    static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
+    /**
+     * En el orden de los conversores: en caso de empate gana el primero (JSON)
+     */
+    private static final List<MediaType> PRODUCIBLE = List.of(MediaType.APPLICATION_JSON,
+            MediaType.APPLICATION_CBOR, SMILE, BeerProtobufHttpMessageConverter.PROTOBUF);
+
+    private Representations() {
+    }
+
+    /**
+     * Formato binario preferido, o {@code null} si es JSON (también sin Accept, con
+     * {@code *}{@code /*} o con una cabecera inválida, que se deja a la negociación de Spring).
+     * Gana la calidad más alta; a igual calidad, el tipo nombrado de forma más concreta.
+     */
+    static MediaType preferredBinary(WebRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null) {
+            return null;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return null;
+        }
+        MediaType best = null;
+        double bestQuality = 0;
+        int bestSpecificity = -1;
+        for (MediaType producible : PRODUCIBLE) {
+            MediaType range = mostSpecificRange(accepted, producible);
+            if (range == null || range.getQualityValue() == 0) {
+                continue;
+            }
+            int specificity = specificity(range);
+            if (range.getQualityValue() > bestQuality
+                    || (range.getQualityValue() == bestQuality && specificity > bestSpecificity)) {
+                best = producible;
+                bestQuality = range.getQualityValue();
+                bestSpecificity = specificity;
+            }
+        }
+        return best == null || best.equals(MediaType.APPLICATION_JSON) ? null : best;
+    }
+
+    private static MediaType mostSpecificRange(List<MediaType> accepted, MediaType producible) {
+        MediaType match = null;
+        for (MediaType range : accepted) {
+            if (range.includes(producible) && (match == null || specificity(range) > specificity(match))) {
+                match = range;
+            }
+        }
+        return match;
+    }
+
+    private static int specificity(MediaType range) {
+        return range.isWildcardType() ? 0 : range.isWildcardSubtype() ? 1 : 2;
+    }
+}
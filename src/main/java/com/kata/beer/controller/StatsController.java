@@ -0,0 +1,88 @@
+package com.kata.beer.controller;
+
+import com.kata.beer.dto.CountryCount;
+import com.kata.beer.dto.GroupCount;
+import com.kata.beer.dto.StyleStats;
+import com.kata.beer.service.BeerStatsService;
+import com.kata.beer.stats.StatsConsistencyReport;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api")
+@Tag(name = "Stats", description = "API de estadísticas agregadas del catálogo")
+@CrossOrigin(origins = "*")
+public class StatsController {
+
+    private final BeerStatsService beerStatsService;
+
+    @Autowired
+    public StatsController(BeerStatsService beerStatsService) {
+        this.beerStatsService = beerStatsService;
+    }
+
+    @GetMapping("/stats/breweries")
+    @Operation(summary = "Cervezas por cervecería", description = "Retorna el número de cervezas de cada cervecería, de más a menos; limit restringe el número de cervecerías")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Estadísticas obtenidas correctamente"),
+        @ApiResponse(responseCode = "400", description = "Parámetro limit no válido")
+    })
+    public ResponseEntity<List<GroupCount>> getBeersByBrewery(@RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(beerStatsService.beersByBrewery(limit));
+    }
+
+    @GetMapping("/stats/categories")
+    @Operation(summary = "Cervezas por categoría", description = "Retorna el número de cervezas de cada categoría, de más a menos")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Estadísticas obtenidas correctamente")
+    })
+    public ResponseEntity<List<GroupCount>> getBeersByCategory() {
+        return ResponseEntity.ok(beerStatsService.beersByCategory());
+    }
+
+    @GetMapping("/stats/styles")
+    @Operation(summary = "Estadísticas por estilo", description = "Retorna el número de cervezas y el ABV/IBU medio, mínimo y máximo de cada estilo")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Estadísticas obtenidas correctamente")
+    })
+    public ResponseEntity<List<StyleStats>> getStyleStats() {
+        return ResponseEntity.ok(beerStatsService.styleStats());
+    }
+
+    @GetMapping("/stats/countries")
+    @Operation(summary = "Países con más cervecerías", description = "Retorna los países ordenados por número de cervecerías")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Estadísticas obtenidas correctamente"),
+        @ApiResponse(responseCode = "400", description = "Parámetro limit no válido")
+    })
+    public ResponseEntity<List<CountryCount>> getTopCountries(
+            @RequestParam(defaultValue = "" + BeerStatsService.DEFAULT_COUNTRIES) int limit) {
+        return ResponseEntity.ok(beerStatsService.topCountries(limit));
+    }
+
+    @PostMapping("/stats/consistency-check")
+    @Operation(summary = "Comprobar consistencia", description = "Recalcula las estadísticas en la base de datos, las compara con las de memoria y las reconstruye si difieren")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Comprobación realizada")
+    })
+    public ResponseEntity<StatsConsistencyReport> checkConsistency() {
+        return ResponseEntity.ok(beerStatsService.checkConsistency());
+    }
+
+    @GetMapping("/stats/consistency")
+    @Operation(summary = "Última comprobación de consistencia", description = "Retorna el resultado de la última comprobación de consistencia de las estadísticas")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Resultado obtenido correctamente"),
+        @ApiResponse(responseCode = "204", description = "Aún no se ha realizado ninguna comprobación")
+    })
+    public ResponseEntity<StatsConsistencyReport> getLastConsistencyReport() {
+        StatsConsistencyReport report = beerStatsService.lastConsistencyReport();
+        return report != null ? ResponseEntity.ok(report) : ResponseEntity.noContent().build();
+    }
+}
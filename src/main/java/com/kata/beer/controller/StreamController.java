@@ -0,0 +1,42 @@
+package com.kata.beer.controller;
+
+import com.kata.beer.stream.ChangeStreamBroker;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/stream")
+@Tag(name = "Stream", description = "Cambios del catálogo en tiempo real")
+@CrossOrigin(origins = "*")
+public class StreamController {
+
+    static final String LAST_EVENT_ID = "Last-Event-ID";
+
+    private final ChangeStreamBroker changeStreamBroker;
+
+    @Autowired
+    public StreamController(ChangeStreamBroker changeStreamBroker) {
+        this.changeStreamBroker = changeStreamBroker;
+    }
+
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Suscribirse a los cambios de cervezas",
+            description = "Stream SSE con un evento 'created', 'updated', 'patched' o 'deleted' por cada cambio confirmado. Al reconectar con Last-Event-ID se reenvían los eventos perdidos; si ya no es posible se recibe un evento 'reset' y hay que resincronizar con /api/beers/changes")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Suscripción abierta"),
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    public SseEmitter streamChanges(@RequestHeader(value = LAST_EVENT_ID, required = false) String lastEventId) {
+        return changeStreamBroker.subscribe(lastEventId);
+    }
+}
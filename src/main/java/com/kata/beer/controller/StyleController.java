@@ -1,15 +1,22 @@
 package com.kata.beer.controller;
 
+import com.kata.beer.cache.ResponseBodyCache;
+import com.kata.beer.dto.CursorPage;
+import com.kata.beer.dto.ResourceVersion;
 import com.kata.beer.model.Style;
+import com.kata.beer.service.ResourceVersionService;
 import com.kata.beer.service.StyleService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api")
@@ -18,32 +25,67 @@ import java.util.List;
 public class StyleController {
 
     private final StyleService styleService;
+    private final ResourceVersionService resourceVersionService;
+    private final ResponseBodyCache responseBodyCache;
 
     @Autowired
-    public StyleController(StyleService styleService) {
+    public StyleController(StyleService styleService,
+                           ResourceVersionService resourceVersionService,
+                           ResponseBodyCache responseBodyCache) {
         this.styleService = styleService;
+        this.resourceVersionService = resourceVersionService;
+        this.responseBodyCache = responseBodyCache;
     }
 
     @GetMapping("/styles")
     @Operation(summary = "Obtener todos los estilos", description = "Retorna una lista de todos los estilos")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Lista de estilos obtenida correctamente"),
+        @ApiResponse(responseCode = "200", description = "Lista de estilos obtenida correctamente",
+                content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = Style.class)))),
+        @ApiResponse(responseCode = "304", description = "La lista no ha cambiado desde la versión del cliente"),
         @ApiResponse(responseCode = "500", description = "Error interno del servidor")
     })
-    public ResponseEntity<List<Style>> getAllStyles() {
-        List<Style> styles = styleService.getAllStyles();
-        return ResponseEntity.ok(styles);
+    public ResponseEntity<?> getAllStyles(WebRequest request) {
+        ResourceVersion version = resourceVersionService.styles();
+        if (ConditionalRequests.notModified(request, version)) {
+            return null;
+        }
+        return CachedResponses.ok(request, responseBodyCache, version, styleService::getAllStyles);
+    }
+
+    @GetMapping(value = "/styles", params = "limit")
+    @Operation(summary = "Obtener estilos paginados por cursor",
+            description = "Retorna hasta 'limit' estilos con ID mayor que 'after'. Usa 'nextCursor' como 'after' para pedir la siguiente página")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página de estilos obtenida correctamente"),
+        @ApiResponse(responseCode = "304", description = "La página no ha cambiado desde la versión del cliente"),
+        @ApiResponse(responseCode = "400", description = "Parámetros de paginación inválidos"),
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    public ResponseEntity<CursorPage<Style>> getStylesPage(
+            @RequestParam int limit,
+            @RequestParam(required = false) Integer after,
+            WebRequest request) {
+        if (ConditionalRequests.notModified(request, resourceVersionService.styles())) {
+            return null;
+        }
+        CursorPage<Style> page = styleService.getStylesPage(after, limit);
+        return ResponseEntity.ok(page);
     }
 
     @GetMapping("/style/{id}")
     @Operation(summary = "Obtener estilo por ID", description = "Retorna un estilo específico por su ID")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Estilo encontrado"),
+        @ApiResponse(responseCode = "304", description = "El estilo no ha cambiado desde la versión del cliente"),
         @ApiResponse(responseCode = "404", description = "Estilo no encontrado"),
         @ApiResponse(responseCode = "500", description = "Error interno del servidor")
     })
-    public ResponseEntity<Style> getStyleById(@PathVariable Integer id) {
+    public ResponseEntity<Style> getStyleById(@PathVariable Integer id, WebRequest request) {
         Style style = styleService.getStyleById(id);
+        if (ConditionalRequests.notModified(request, ResourceVersion.of("style-" + id, style.getLastMod()))) {
+            return null;
+        }
         return ResponseEntity.ok(style);
     }
 }
@@ -0,0 +1,254 @@
+package com.kata.beer.dataset;
+
+import com.kata.beer.cache.ReferenceDataCache;
+import com.kata.beer.model.DatasetLoad;
+import com.kata.beer.repository.DatasetLoadRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Carga inicial del dataset de OpenBeerDB a partir de los volcados de {@code initSQL/}.
+ * <p>
+ * Sustituye a {@code spring.sql.init}: cada volcado se carga solo si su tabla está vacía o si
+ * el fichero ha cambiado desde la última carga (SHA-256 registrado en {@link DatasetLoad}).
+ * Los volcados se leen en streaming con {@link SqlDumpReader} y se insertan en paralelo, uno
+ * por conexión, con sentencias preparadas en batch (que {@code rewriteBatchedStatements}
+ * convierte en INSERT multi-fila en MySQL). Cada tabla se carga en su propia transacción y
+ * cualquier error detiene el arranque.
+ * <p>
+ * Se ejecuta al terminar de crear los singletons, antes de arrancar el servidor web y de que
+ * los índices en memoria se construyan.
+ */
+@Component
+@ConditionalOnProperty(name = "beer.dataset.enabled", havingValue = "true")
+public class DatasetLoader implements SmartInitializingSingleton {
+
+    static final int BATCH_SIZE = 1000;
+
+    private static final Logger log = LoggerFactory.getLogger(DatasetLoader.class);
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final DatasetLoadRepository datasetLoadRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final ResourceLoader resourceLoader;
+    private final String location;
+    private final List<String> files;
+
+    @Autowired
+    public DatasetLoader(DataSource dataSource,
+                         JdbcTemplate jdbcTemplate,
+                         DatasetLoadRepository datasetLoadRepository,
+                         ReferenceDataCache referenceDataCache,
+                         ResourceLoader resourceLoader,
+                         @Value("${beer.dataset.location:file:./initSQL/}") String location,
+                         @Value("${beer.dataset.files:styles.sql,categories.sql,breweries.sql,beers.sql}") List<String> files) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.datasetLoadRepository = datasetLoadRepository;
+        this.referenceDataCache = referenceDataCache;
+        this.resourceLoader = resourceLoader;
+        this.location = location.endsWith("/") ? location : location + "/";
+        this.files = files;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        load();
+    }
+
+    /**
+     * Carga en paralelo los volcados que lo necesiten y devuelve el resultado de cada uno
+     */
+    public List<DumpLoad> load() {
+        long start = System.nanoTime();
+        List<DumpLoad> loads = new ArrayList<>(files.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<DumpLoad>> futures = new ArrayList<>(files.size());
+            for (String file : files) {
+                Resource dump = resourceLoader.getResource(location + file.trim());
+                futures.add(executor.submit(() -> load(dump)));
+            }
+            for (Future<DumpLoad> future : futures) {
+                loads.add(future.get());
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("No se pudo cargar el dataset inicial", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Carga del dataset inicial interrumpida", e);
+        }
+
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        long rows = loads.stream().filter(DumpLoad::loaded).mapToLong(DumpLoad::rows).sum();
+        if (rows > 0) {
+            referenceDataCache.breweries().refresh();
+            referenceDataCache.categories().refresh();
+            referenceDataCache.styles().refresh();
+            log.info("Dataset inicial cargado: {} filas en {} ms ({} filas/s)", rows, millis, rate(rows, millis));
+        } else {
+            log.info("Dataset inicial sin cambios, comprobado en {} ms", millis);
+        }
+        return Collections.unmodifiableList(loads);
+    }
+
+    private DumpLoad load(Resource dump) throws IOException, SQLException {
+        String file = dump.getFilename();
+        if (!dump.exists()) {
+            throw new IllegalStateException("No existe el volcado " + dump.getDescription());
+        }
+        String checksum = checksum(dump);
+        try (SqlDumpReader reader = open(dump)) {
+            List<String> first = reader.nextRow();
+            if (first == null) {
+                log.warn("El volcado {} no contiene filas", file);
+                return DumpLoad.skipped(file, null);
+            }
+            String table = reader.table();
+            long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+            Optional<DatasetLoad> previous = datasetLoadRepository.findById(file);
+            if (existing > 0 && previous.isEmpty()) {
+                // Tabla cargada por otra vía (p. ej. el initdb del contenedor): se adopta tal cual
+                record(file, checksum, existing);
+                log.info("La tabla {} ya tiene {} filas: se registra {} sin recargarlo", table, existing, file);
+                return DumpLoad.skipped(file, table);
+            }
+            if (existing > 0 && previous.get().getChecksum().equals(checksum)) {
+                return DumpLoad.skipped(file, table);
+            }
+
+            long start = System.nanoTime();
+            long rows = insert(reader, first, table, existing > 0);
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            record(file, checksum, rows);
+            log.info("Volcado {} cargado en {}{}: {} filas en {} ms ({} filas/s)", file, table,
+                    existing > 0 ? " (había cambiado)" : "", rows, millis, rate(rows, millis));
+            return new DumpLoad(file, table, true, rows, millis);
+        }
+    }
+
+    /**
+     * Inserta las filas del volcado en una transacción, vaciando antes la tabla si se recarga
+     */
+    private long insert(SqlDumpReader reader, List<String> first, String table, boolean replace)
+            throws IOException, SQLException {
+        List<String> columns = reader.columns();
+        String sql = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ("
+                + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                if (replace) {
+                    try (Statement statement = connection.createStatement()) {
+                        statement.executeUpdate("DELETE FROM " + table);
+                    }
+                }
+                long rows = 0;
+                try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                    for (List<String> row = first; row != null; row = reader.nextRow()) {
+                        if (!table.equals(reader.table()) || row.size() != columns.size()) {
+                            throw new IllegalStateException("Fila " + (rows + 1) + " de la tabla " + table
+                                    + " no coincide con sus columnas");
+                        }
+                        bind(ps, row);
+                        ps.addBatch();
+                        if (++rows % BATCH_SIZE == 0) {
+                            ps.executeBatch();
+                        }
+                    }
+                    ps.executeBatch();
+                }
+                connection.commit();
+                return rows;
+            } catch (SQLException | IOException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    private static void bind(PreparedStatement ps, List<String> row) throws SQLException {
+        for (int i = 0; i < row.size(); i++) {
+            String value = row.get(i);
+            if (value == null) {
+                ps.setNull(i + 1, Types.VARCHAR);
+            } else {
+                ps.setString(i + 1, value);
+            }
+        }
+    }
+
+    private void record(String file, String checksum, long rows) {
+        datasetLoadRepository.save(new DatasetLoad(file, checksum, rows, LocalDateTime.now()));
+    }
+
+    private static SqlDumpReader open(Resource dump) throws IOException {
+        return new SqlDumpReader(new BufferedReader(
+                new InputStreamReader(dump.getInputStream(), StandardCharsets.UTF_8), 64 * 1024));
+    }
+
+    private static String checksum(Resource dump) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (InputStream in = new DigestInputStream(dump.getInputStream(), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static long rate(long rows, long millis) {
+        return rows * 1000 / Math.max(millis, 1);
+    }
+
+    /**
+     * Resultado de la carga de un volcado
+     *
+     * @param loaded {@code false} si la tabla ya estaba al día y no se insertó nada
+     */
+    public record DumpLoad(String file, String table, boolean loaded, long rows, long millis) {
+
+        static DumpLoad skipped(String file, String table) {
+            return new DumpLoad(file, table, false, 0, 0);
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.kata.beer.dataset;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Lector en streaming de volcados de {@code mysqldump}: recorre el fichero carácter a carácter
+ * y devuelve las filas de las sentencias {@code INSERT ... VALUES (...),(...);} una a una, sin
+ * cargar el volcado ni las sentencias completas en memoria.
+ * <p>
+ * Las columnas de cada tabla se toman de la lista explícita del {@code INSERT} o, si no la
+ * tiene, del {@code CREATE TABLE} previo del mismo volcado. El resto de sentencias y los
+ * comentarios ({@code --}, {@code #}, {@code /* *}{@code /}) se ignoran.
+ */
+final class SqlDumpReader implements Closeable {
+
+    private static final Pattern INSERT_HEADER = Pattern.compile(
+            "(?is)INSERT\\s+(?:IGNORE\\s+)?INTO\\s+`?([\\w$]+)`?\\s*(?:\\((.*)\\))?\\s*VALUES");
+    private static final Pattern CREATE_TABLE = Pattern.compile("(?is)CREATE\\s+TABLE\\s+(?:IF\\s+NOT\\s+EXISTS\\s+)?`?([\\w$]+)`?");
+    private static final Pattern COLUMN_DEFINITION = Pattern.compile("(?m)^\\s*`([\\w$]+)`\\s");
+
+    private final Reader reader;
+    private final Map<String, List<String>> tableColumns = new HashMap<>();
+    private final StringBuilder value = new StringBuilder();
+    private int pushedBack = -1;
+
+    private boolean inValues;
+    private String table;
+    private List<String> columns;
+
+    SqlDumpReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Tabla del último {@code INSERT} leído
+     */
+    String table() {
+        return table;
+    }
+
+    /**
+     * Columnas del último {@code INSERT} leído
+     */
+    List<String> columns() {
+        return columns;
+    }
+
+    /**
+     * Devuelve la siguiente fila, con cada valor como texto ({@code null} para {@code NULL}),
+     * o {@code null} al llegar al final del volcado
+     */
+    List<String> nextRow() throws IOException {
+        while (!inValues) {
+            if (!nextInsert()) {
+                return null;
+            }
+        }
+        if (skipWhitespace() != '(') {
+            throw error("se esperaba '(' al inicio de una fila");
+        }
+        List<String> row = readTuple();
+        int separator = skipWhitespace();
+        if (separator == ';' || separator == -1) {
+            inValues = false;
+        } else if (separator != ',') {
+            throw error("se esperaba ',' o ';' tras una fila");
+        }
+        return row;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Avanza hasta la cabecera del siguiente {@code INSERT}, procesando por el camino los
+     * {@code CREATE TABLE}. Devuelve {@code false} al llegar al final.
+     */
+    private boolean nextInsert() throws IOException {
+        StringBuilder statement = new StringBuilder();
+        int c;
+        while ((c = read()) != -1) {
+            if (statement.isEmpty() && Character.isWhitespace(c)) {
+                continue;
+            }
+            if (c == '-' && peek() == '-' || c == '#') {
+                skipLine();
+                continue;
+            }
+            if (c == '/' && peek() == '*') {
+                skipBlockComment();
+                continue;
+            }
+            if (c == '\'' || c == '"' || c == '`') {
+                statement.append((char) c);
+                copyQuoted(c, statement);
+                continue;
+            }
+            if (c == ';') {
+                onStatement(statement.toString());
+                statement.setLength(0);
+                continue;
+            }
+            statement.append((char) c);
+            if ((c == 'S' || c == 's') && isInsertHeader(statement)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isInsertHeader(StringBuilder statement) {
+        int length = statement.length();
+        if (length < 6 || !statement.substring(length - 6).equalsIgnoreCase("VALUES")
+                || !statement.substring(0, 6).equalsIgnoreCase("INSERT")) {
+            return false;
+        }
+        Matcher matcher = INSERT_HEADER.matcher(statement);
+        if (!matcher.matches()) {
+            return false;
+        }
+        table = matcher.group(1);
+        if (matcher.group(2) != null) {
+            columns = new ArrayList<>();
+            for (String column : matcher.group(2).split(",")) {
+                columns.add(column.trim().replace("`", ""));
+            }
+        } else {
+            columns = tableColumns.get(table.toLowerCase(Locale.ROOT));
+            if (columns == null) {
+                throw error("INSERT sin columnas ni CREATE TABLE previo para la tabla " + table);
+            }
+        }
+        inValues = true;
+        return true;
+    }
+
+    private void onStatement(String statement) {
+        Matcher create = CREATE_TABLE.matcher(statement);
+        if (!create.lookingAt()) {
+            return;
+        }
+        List<String> definition = new ArrayList<>();
+        Matcher column = COLUMN_DEFINITION.matcher(statement);
+        while (column.find()) {
+            definition.add(column.group(1));
+        }
+        tableColumns.put(create.group(1).toLowerCase(Locale.ROOT), definition);
+    }
+
+    private List<String> readTuple() throws IOException {
+        List<String> row = new ArrayList<>(columns.size());
+        while (true) {
+            int c = skipWhitespace();
+            if (c == '\'' || c == '"') {
+                row.add(readQuoted(c));
+            } else {
+                value.setLength(0);
+                while (c != ',' && c != ')') {
+                    if (c == -1) {
+                        throw error("fila sin cerrar");
+                    }
+                    value.append((char) c);
+                    c = read();
+                }
+                pushedBack = c;
+                String literal = value.toString().trim();
+                row.add(literal.equalsIgnoreCase("NULL") ? null : literal);
+            }
+            int separator = skipWhitespace();
+            if (separator == ')') {
+                return row;
+            }
+            if (separator != ',') {
+                throw error("se esperaba ',' o ')' entre valores");
+            }
+        }
+    }
+
+    /**
+     * Lee una cadena entre comillas deshaciendo los escapes de MySQL
+     */
+    private String readQuoted(int quote) throws IOException {
+        value.setLength(0);
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                throw error("cadena sin cerrar");
+            }
+            if (c == '\\') {
+                int escaped = read();
+                switch (escaped) {
+                    case '0' -> value.append('\0');
+                    case 'b' -> value.append('\b');
+                    case 'n' -> value.append('\n');
+                    case 'r' -> value.append('\r');
+                    case 't' -> value.append('\t');
+                    case 'Z' -> value.append('\u001A');
+                    // \% y \_ conservan la barra (solo tienen sentido en patrones LIKE)
+                    case '%', '_' -> value.append('\\').append((char) escaped);
+                    case -1 -> throw error("cadena sin cerrar");
+                    default -> value.append((char) escaped);
+                }
+            } else if (c == quote) {
+                if (peek() != quote) {
+                    return value.toString();
+                }
+                value.append((char) read());
+            } else {
+                value.append((char) c);
+            }
+        }
+    }
+
+    private void copyQuoted(int quote, StringBuilder target) throws IOException {
+        int c;
+        while ((c = read()) != -1) {
+            target.append((char) c);
+            if (c == '\\' && quote != '`') {
+                int escaped = read();
+                if (escaped != -1) {
+                    target.append((char) escaped);
+                }
+            } else if (c == quote) {
+                return;
+            }
+        }
+    }
+
+    private void skipLine() throws IOException {
+        int c;
+        while ((c = read()) != -1 && c != '\n') {
+            // descartar
+        }
+    }
+
+    private void skipBlockComment() throws IOException {
+        read();
+        int previous = 0;
+        int c;
+        while ((c = read()) != -1) {
+            if (previous == '*' && c == '/') {
+                return;
+            }
+            previous = c;
+        }
+    }
+
+    private int skipWhitespace() throws IOException {
+        int c;
+        do {
+            c = read();
+        } while (c != -1 && Character.isWhitespace(c));
+        return c;
+    }
+
+    private int peek() throws IOException {
+        if (pushedBack == -1) {
+            pushedBack = reader.read();
+        }
+        return pushedBack;
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != -1) {
+            int c = pushedBack;
+            pushedBack = -1;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private IllegalStateException error(String message) {
+        return new IllegalStateException("Volcado SQL no válido: " + message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.kata.beer.datasource;
+
+/**
+ * Criterio para repartir las lecturas entre las réplicas
+ */
+public enum ReplicaBalancing {
+    /** Cada transacción de lectura va a la siguiente réplica */
+    ROUND_ROBIN,
+    /** La réplica con menos conexiones en uso; a igualdad, la siguiente en turno */
+    LEAST_CONNECTIONS
+}
@@ -0,0 +1,187 @@
+package com.kata.beer.datasource;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Enruta las transacciones de solo lectura a las réplicas y todo lo demás (escrituras y
+ * accesos sin transacción) a la base de datos principal.
+ * <p>
+ * La decisión se toma al pedir la conexión física, así que debe envolverse en un
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: con JPA la conexión
+ * se pide al empezar la transacción, antes de que se sepa si es de solo lectura.
+ * <p>
+ * Tras confirmar una escritura, durante {@code readYourWritesWindow} todas las lecturas van a
+ * la principal, para no leer de una réplica que aún no ha recibido el cambio. La ventana es
+ * global, no por cliente: cubre el retraso de replicación a costa de no usar las réplicas
+ * mientras haya escrituras continuas.
+ * <p>
+ * Como bean, Spring llama a {@link #afterPropertiesSet()}, que registra los destinos; creado a
+ * mano hay que llamarlo antes de usarlo.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final List<CountingDataSource> replicas;
+    private final ReplicaBalancing balancing;
+    private final long readYourWritesNanos;
+
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    /** {@link System#nanoTime()} de la última escritura confirmada; 0 si no ha habido ninguna */
+    private volatile long lastWrite;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<? extends DataSource> replicas,
+                                    ReplicaBalancing balancing, Duration readYourWritesWindow) {
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("Se necesita al menos una réplica");
+        }
+        this.primary = primary;
+        this.balancing = balancing;
+        this.readYourWritesNanos = readYourWritesWindow.toNanos();
+        this.replicas = new ArrayList<>(replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            this.replicas.add(new CountingDataSource(replicaKey(i), replicas.get(i)));
+        }
+    }
+
+    /**
+     * Registra la principal y las réplicas como destinos del enrutado
+     */
+    @Override
+    public void afterPropertiesSet() {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (CountingDataSource replica : replicas) {
+            targets.put(replica.key, replica);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        super.afterPropertiesSet();
+    }
+
+    /**
+     * Conexiones de cada réplica en uso ahora mismo, en el orden de configuración
+     */
+    public List<Integer> activeReplicaConnections() {
+        return replicas.stream().map(replica -> replica.active.get()).toList();
+    }
+
+    /**
+     * Cierra los pools de las réplicas; el principal lo gestiona quien lo creó
+     */
+    @Override
+    public void destroy() throws Exception {
+        for (CountingDataSource replica : replicas) {
+            if (replica.getTargetDataSource() instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            long written = lastWrite;
+            if (written != 0 && System.nanoTime() - written < readYourWritesNanos) {
+                return PRIMARY;
+            }
+            return selectReplica().key;
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    lastWrite = Math.max(System.nanoTime(), 1);
+                }
+            });
+        }
+        return PRIMARY;
+    }
+
+    private CountingDataSource selectReplica() {
+        int start = Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+        if (balancing == ReplicaBalancing.ROUND_ROBIN) {
+            return replicas.get(start);
+        }
+        // Menos conexiones en uso; los empates se reparten empezando por la siguiente en turno
+        CountingDataSource selected = replicas.get(start);
+        for (int i = 1; i < replicas.size(); i++) {
+            CountingDataSource candidate = replicas.get((start + i) % replicas.size());
+            if (candidate.active.get() < selected.active.get()) {
+                selected = candidate;
+            }
+        }
+        return selected;
+    }
+
+    static String replicaKey(int index) {
+        return "replica-" + (index + 1);
+    }
+
+    /**
+     * Réplica que lleva la cuenta de sus conexiones abiertas para el balanceo por menos
+     * conexiones
+     */
+    private static final class CountingDataSource extends DelegatingDataSource {
+
+        private final String key;
+        private final AtomicInteger active = new AtomicInteger();
+
+        CountingDataSource(String key, DataSource target) {
+            super(target);
+            this.key = key;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return track(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return track(super.getConnection(username, password));
+        }
+
+        private Connection track(Connection connection) {
+            active.incrementAndGet();
+            AtomicBoolean closed = new AtomicBoolean();
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                        String name = method.getName();
+                        if (name.equals("equals")) {
+                            return proxy == args[0];
+                        }
+                        if (name.equals("hashCode")) {
+                            return System.identityHashCode(proxy);
+                        }
+                        if (name.equals("close") && closed.compareAndSet(false, true)) {
+                            active.decrementAndGet();
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        }
+                    });
+        }
+    }
+}
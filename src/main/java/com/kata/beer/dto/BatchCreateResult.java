@@ -0,0 +1,21 @@
+package com.kata.beer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import java.util.List;
+
+/**
+ * Resultado de un alta por lotes: totales y resultado de cada elemento en el orden recibido
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchCreateResult {
+
+    private int created;
+    private int rejected;
+    private List<BatchItemResult> results;
+}
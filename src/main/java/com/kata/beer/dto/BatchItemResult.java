@@ -0,0 +1,31 @@
+package com.kata.beer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Resultado de un elemento dentro de una operación por lotes
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchItemResult {
+
+    public enum Status { CREATED, REJECTED }
+
+    private int index;
+    private Status status;
+    private Integer id;
+    private String error;
+
+    public static BatchItemResult created(int index, Integer id) {
+        return new BatchItemResult(index, Status.CREATED, id, null);
+    }
+
+    public static BatchItemResult rejected(int index, String error) {
+        return new BatchItemResult(index, Status.REJECTED, null, error);
+    }
+}
@@ -0,0 +1,21 @@
+package com.kata.beer.dto;
+
+import com.kata.beer.model.Beer;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Modificación masiva: los campos no nulos de {@code set} se asignan a todas las cervezas que
+ * cumplen {@code filter}
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BeerBulkUpdate {
+
+    private BeerFilter filter;
+    private Beer set;
+}
@@ -0,0 +1,13 @@
+package com.kata.beer.dto;
+
+import com.kata.beer.event.BeerChangedEvent;
+import com.kata.beer.model.Beer;
+
+/**
+ * Cambio de una cerveza enviado por el stream de cambios
+ *
+ * @param beer estado tras el cambio; {@code null} en los borrados y, en {@code PATCHED}, solo
+ *             los campos modificados
+ */
+public record BeerChangeNotification(BeerChangedEvent.ChangeType type, Integer beerId, Beer beer) {
+}
@@ -0,0 +1,25 @@
+package com.kata.beer.dto;
+
+import com.kata.beer.model.Beer;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import java.util.List;
+
+/**
+ * Cambios del catálogo desde un token: cervezas creadas o modificadas (estado actual) e IDs de
+ * las borradas. El cliente pide los siguientes pasando {@code token} como {@code since}; si
+ * {@code hasMore} es {@code true} hay más cambios pendientes y puede pedirlos sin esperar.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BeerChanges {
+
+    private List<Beer> changed;
+    private List<Integer> deleted;
+    private String token;
+    private boolean hasMore;
+}
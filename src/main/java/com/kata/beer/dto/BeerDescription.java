@@ -0,0 +1,10 @@
+package com.kata.beer.dto;
+
+/**
+ * Descripción de una cerveza, que los listados no incluyen
+ *
+ * @param id       ID de la cerveza
+ * @param descript descripción completa
+ */
+public record BeerDescription(Integer id, String descript) {
+}
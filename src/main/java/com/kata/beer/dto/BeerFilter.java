@@ -0,0 +1,57 @@
+package com.kata.beer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Criterios de filtrado de cervezas. Todos son opcionales y se combinan con AND;
+ * los rangos son inclusivos.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BeerFilter {
+
+    private Float minAbv;
+    private Float maxAbv;
+    private Float minIbu;
+    private Float maxIbu;
+    private Float minSrm;
+    private Float maxSrm;
+    private Integer breweryId;
+    private Integer categoryId;
+    private Integer styleId;
+    private String country;
+
+    /**
+     * Valida que cada rango tenga el mínimo por debajo del máximo
+     */
+    public void validate() {
+        checkRange("abv", minAbv, maxAbv);
+        checkRange("ibu", minIbu, maxIbu);
+        checkRange("srm", minSrm, maxSrm);
+    }
+
+    /**
+     * Indica si no hay ningún criterio, es decir, si el filtro selecciona todas las cervezas
+     */
+    public boolean isEmpty() {
+        return minAbv == null && maxAbv == null && minIbu == null && maxIbu == null
+                && minSrm == null && maxSrm == null && breweryId == null && categoryId == null
+                && styleId == null && !hasCountry();
+    }
+
+    public boolean hasCountry() {
+        return country != null && !country.isBlank();
+    }
+
+    private static void checkRange(String name, Float min, Float max) {
+        if (min != null && max != null && min > max) {
+            throw new IllegalArgumentException(
+                    "El mínimo de " + name + " no puede ser mayor que el máximo");
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.kata.beer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Resultado de una operación masiva: número de cervezas afectadas
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkResult {
+
+    private int affected;
+}
@@ -0,0 +1,7 @@
+package com.kata.beer.dto;
+
+/**
+ * Número de cervecerías de un país
+ */
+public record CountryCount(String country, long breweries) {
+}
@@ -0,0 +1,56 @@
+package com.kata.beer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de resultados paginada por cursor (keyset) sobre el ID.
+ * El cliente pide la siguiente página pasando {@code nextCursor} como parámetro {@code after}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 1000;
+
+    private List<T> items;
+    private int limit;
+    private Integer nextCursor;
+
+    /**
+     * Valida el tamaño de página solicitado
+     */
+    public static int checkLimit(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException(
+                    "El parámetro limit debe estar entre 1 y " + MAX_LIMIT);
+        }
+        return limit;
+    }
+
+    /**
+     * Normaliza el cursor: sin cursor se empieza desde el principio
+     */
+    public static int startAfter(Integer after) {
+        return after == null ? 0 : after;
+    }
+
+    /**
+     * Construye la página a partir de una consulta que pidió {@code limit + 1} filas:
+     * la fila sobrante solo indica que existe una página siguiente.
+     */
+    public static <T> CursorPage<T> of(List<T> fetched, int limit, Function<T, Integer> idOf) {
+        if (fetched.size() <= limit) {
+            return new CursorPage<>(fetched, limit, null);
+        }
+        List<T> items = fetched.subList(0, limit);
+        return new CursorPage<>(items, limit, idOf.apply(items.get(limit - 1)));
+    }
+}
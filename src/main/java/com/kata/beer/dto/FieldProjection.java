@@ -0,0 +1,21 @@
+package com.kata.beer.dto;
+
+import java.util.LinkedHashMap;
+
+/**
+ * Fila de una proyección de {@code fields}: los campos pedidos por nombre (las relaciones, como
+ * mapas anidados) y la entidad de la que proceden. En JSON se serializa como un mapa; el tipo
+ * sirve a las representaciones con esquema (Protobuf).
+ */
+public class FieldProjection extends LinkedHashMap<String, Object> {
+
+    private final Class<?> type;
+
+    public FieldProjection(Class<?> type) {
+        this.type = type;
+    }
+
+    public Class<?> type() {
+        return type;
+    }
+}
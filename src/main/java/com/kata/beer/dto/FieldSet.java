@@ -0,0 +1,64 @@
+package com.kata.beer.dto;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Campos pedidos con el parámetro {@code fields} (p. ej. {@code id,name,abv,brewery.name}). Un
+ * campo de una relación se indica con su ruta; la relación sola ({@code brewery}) pide todos sus
+ * campos. El ID siempre se incluye.
+ */
+public final class FieldSet {
+
+    private final Set<String> paths;
+
+    private FieldSet(Set<String> paths) {
+        this.paths = Collections.unmodifiableSet(paths);
+    }
+
+    /**
+     * Interpreta el parámetro; {@code null} si no se indica, es decir, todos los campos
+     */
+    public static FieldSet parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<String> paths = Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(path -> !path.isEmpty())
+                .collect(Collectors.toCollection(TreeSet::new));
+        if (paths.isEmpty()) {
+            throw new IllegalArgumentException("El parámetro fields no puede estar vacío");
+        }
+        return new FieldSet(paths);
+    }
+
+    /**
+     * Rutas pedidas, ordenadas
+     */
+    public Set<String> paths() {
+        return paths;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof FieldSet fieldSet && paths.equals(fieldSet.paths);
+    }
+
+    @Override
+    public int hashCode() {
+        return paths.hashCode();
+    }
+
+    /**
+     * Forma canónica (rutas ordenadas separadas por comas): dos peticiones con los mismos campos
+     * en distinto orden dan la misma
+     */
+    @Override
+    public String toString() {
+        return String.join(",", paths);
+    }
+}
@@ -0,0 +1,10 @@
+package com.kata.beer.dto;
+
+/**
+ * Número de cervezas de una cervecería o categoría
+ *
+ * @param id   ID de la cervecería o categoría, o -1 para las cervezas sin relación conocida
+ * @param name nombre, o {@code null} si no existe
+ */
+public record GroupCount(int id, String name, long beers) {
+}
@@ -0,0 +1,53 @@
+package com.kata.beer.dto;
+
+import org.springframework.http.ETag;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Versión de un recurso para las peticiones condicionales: ETag fuerte y fecha de última
+ * modificación en milisegundos ({@code -1} si no se conoce).
+ *
+ * @param eTag         ETag entrecomillado, listo para la cabecera
+ * @param lastModified máximo de los {@code lastMod} que componen el recurso
+ */
+public record ResourceVersion(String eTag, long lastModified) {
+
+    /**
+     * Construye la versión a partir de una clave (tipo, ID o número de filas) y de los
+     * {@code lastMod} de las filas que aparecen en la respuesta
+     */
+    public static ResourceVersion of(String key, LocalDateTime... timestamps) {
+        long lastModified = -1;
+        long hash = 1125899906842597L;
+        for (LocalDateTime timestamp : timestamps) {
+            long millis = timestamp != null ? timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : 0;
+            lastModified = Math.max(lastModified, millis);
+            hash = 31 * hash + millis;
+        }
+        return new ResourceVersion("\"" + key + "-" + Long.toHexString(hash) + "\"", lastModified);
+    }
+
+    /**
+     * Versión de otra representación del mismo recurso (p. ej. con solo algunos campos): mismo
+     * Last-Modified y un ETag distinto para cada variante
+     */
+    public ResourceVersion withVariant(Object variant) {
+        if (variant == null) {
+            return this;
+        }
+        return new ResourceVersion(eTag.substring(0, eTag.length() - 1) + "-"
+                + Integer.toHexString(variant.toString().hashCode()) + "\"", lastModified);
+    }
+
+    /**
+     * Indica si la cabecera If-Match incluye algún ETag construido con esta clave ({@code *}
+     * incluye cualquiera): el base o el de cualquiera de sus variantes, ya que todas son la misma
+     * versión del recurso. La comparación es fuerte: un ETag débil ({@code W/"..."}) nunca coincide.
+     */
+    public static boolean matchesKey(String ifMatch, String key) {
+        String prefix = key + "-";
+        return ETag.parse(ifMatch).stream()
+                .anyMatch(tag -> tag.isWildcard() || !tag.weak() && tag.tag().startsWith(prefix));
+    }
+}
@@ -0,0 +1,12 @@
+package com.kata.beer.dto;
+
+/**
+ * Número de cervezas de un estilo y media, mínimo y máximo de su ABV e IBU
+ *
+ * @param id   ID del estilo, o -1 para las cervezas sin estilo conocido
+ * @param name nombre del estilo, o {@code null} si no existe
+ */
+public record StyleStats(int id, String name, long beers,
+                         double avgAbv, float minAbv, float maxAbv,
+                         double avgIbu, float minIbu, float maxIbu) {
+}
@@ -0,0 +1,40 @@
+package com.kata.beer.event;
+
+import com.kata.beer.model.Beer;
+
+/**
+ * Evento publicado por {@code BeerService} en cada alta, modificación o borrado de una cerveza.
+ * Los índices en memoria lo escuchan con {@code @TransactionalEventListener}, de modo que solo
+ * se aplica si la transacción llega a confirmarse.
+ *
+ * @param type   tipo de cambio
+ * @param beerId ID de la cerveza afectada
+ * @param beer   estado de la cerveza tras el cambio; {@code null} en los borrados y, en las
+ *               modificaciones parciales ({@link ChangeType#PATCHED}), solo los campos
+ *               modificados
+ */
+public record BeerChangedEvent(ChangeType type, Integer beerId, Beer beer) {
+
+    /**
+     * {@code PATCHED} es una modificación parcial que no se ha releído de la base de datos: nunca
+     * cambia el nombre, la cervecería ni la descripción (esas se publican como {@code UPDATED}
+     * con la cerveza completa), así que los índices pueden aplicarla sobre su propio estado.
+     */
+    public enum ChangeType { CREATED, UPDATED, PATCHED, DELETED }
+
+    public static BeerChangedEvent created(Beer beer) {
+        return new BeerChangedEvent(ChangeType.CREATED, beer.getId(), beer);
+    }
+
+    public static BeerChangedEvent updated(Beer beer) {
+        return new BeerChangedEvent(ChangeType.UPDATED, beer.getId(), beer);
+    }
+
+    public static BeerChangedEvent patched(Integer beerId, Beer changes) {
+        return new BeerChangedEvent(ChangeType.PATCHED, beerId, changes);
+    }
+
+    public static BeerChangedEvent deleted(Integer beerId) {
+        return new BeerChangedEvent(ChangeType.DELETED, beerId, null);
+    }
+}
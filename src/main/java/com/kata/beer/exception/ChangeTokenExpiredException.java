@@ -0,0 +1,11 @@
+package com.kata.beer.exception;
+
+/**
+ * El token del feed de cambios es anterior a la retención de las marcas de borrado: el cliente
+ * debe volver a sincronizar desde el principio
+ */
+public class ChangeTokenExpiredException extends RuntimeException {
+    public ChangeTokenExpiredException(String message) {
+        super(message);
+    }
+}
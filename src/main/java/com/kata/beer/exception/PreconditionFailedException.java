@@ -0,0 +1,10 @@
+package com.kata.beer.exception;
+
+/**
+ * La versión del recurso no coincide con la indicada en If-Match
+ */
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
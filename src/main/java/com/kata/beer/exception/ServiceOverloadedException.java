@@ -0,0 +1,21 @@
+package com.kata.beer.exception;
+
+import java.time.Duration;
+
+/**
+ * La petición se rechaza sin ejecutarla porque su clase de endpoint ha alcanzado el límite de
+ * concurrencia; el cliente puede reintentar pasado {@code retryAfter}
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public ServiceOverloadedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -6,14 +6,34 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import com.fasterxml.jackson.annotation.JsonGetter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonSetter;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.NotFound;
 import org.hibernate.annotations.NotFoundAction;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "beers")
+@Table(name = "beers", indexes = {
+    // Feed de cambios: cervezas modificadas desde un instante, en orden (last_mod, id)
+    @Index(name = "idx_beers_last_mod", columnList = "last_mod, id")
+})
+@NamedEntityGraph(name = Beer.WITH_RELATIONS, attributeNodes = {
+    @NamedAttributeNode("brewery"),
+    @NamedAttributeNode("category"),
+    @NamedAttributeNode("style")
+})
+@NamedEntityGraph(name = Beer.WITH_DESCRIPTION, attributeNodes = {
+    @NamedAttributeNode("brewery"),
+    @NamedAttributeNode("category"),
+    @NamedAttributeNode("style"),
+    @NamedAttributeNode(Beer.DESCRIPT)
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -21,6 +41,20 @@ import java.time.LocalDateTime;
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Beer {
 
+    /**
+     * Grafo que carga cervecería, categoría y estilo en la misma consulta (JOIN) en lugar
+     * de una SELECT adicional por cada relación distinta
+     */
+    public static final String WITH_RELATIONS = "Beer.withRelations";
+
+    /**
+     * Como {@link #WITH_RELATIONS}, pero leyendo también la descripción en la misma consulta:
+     * para quien la necesita de todas las cervezas (índice de búsqueda, exportación, cambios)
+     */
+    public static final String WITH_DESCRIPTION = "Beer.withDescription";
+
+    public static final String DESCRIPT = "descript";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
@@ -69,7 +103,13 @@ public class Beer {
     @Column(name = "filepath", nullable = false)
     private String filepath;
 
+    /**
+     * Se carga solo al leerla (mejora de bytecode de Hibernate): las consultas de la entidad no
+     * traen la columna TEXT
+     */
+    @Basic(fetch = FetchType.LAZY)
     @Column(name = "descript", columnDefinition = "TEXT", nullable = false)
+    @JsonIgnore
     private String descript;
 
     @Column(name = "add_user", nullable = false)
@@ -78,6 +118,30 @@ public class Beer {
     @Column(name = "last_mod", nullable = false)
     private LocalDateTime lastMod;
 
+    /**
+     * Número de escrituras de la fila: cambia en cada una, también en las que caen en el mismo
+     * segundo de {@code last_mod}. Los UPDATE por JDBC lo incrementan igual que Hibernate.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    @JsonIgnore
+    private Long version;
+
+    /**
+     * En JSON la descripción solo aparece si ya está cargada; serializar no lanza consultas
+     */
+    @JsonGetter(DESCRIPT)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public String loadedDescript() {
+        return Hibernate.isPropertyInitialized(this, DESCRIPT) ? descript : null;
+    }
+
+    @JsonSetter(DESCRIPT)
+    public void setDescript(String descript) {
+        this.descript = descript;
+    }
+
     @PrePersist
     @PreUpdate
     protected void onUpdate() {
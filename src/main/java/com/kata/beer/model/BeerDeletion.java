@@ -0,0 +1,39 @@
+package com.kata.beer.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import java.time.LocalDateTime;
+
+/**
+ * Marca de borrado de una cerveza: permite que el feed de cambios informe de los borrados a
+ * quien replica el catálogo. Se purgan pasado el periodo de retención.
+ */
+@Entity
+@Table(name = "beer_deletions", indexes = {
+    @Index(name = "idx_beer_deletions_deleted_at", columnList = "deleted_at, id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BeerDeletion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "beer_id", nullable = false)
+    private Integer beerId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+}
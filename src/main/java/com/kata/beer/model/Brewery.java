@@ -1,5 +1,10 @@
 package com.kata.beer.model;
 
+import com.fasterxml.jackson.annotation.JsonGetter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.kata.beer.cache.ReferenceDataCacheListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -7,6 +12,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.Hibernate;
 import java.time.LocalDateTime;
 
 @Entity
@@ -15,8 +21,11 @@ import java.time.LocalDateTime;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
+@EntityListeners(ReferenceDataCacheListener.class)
 public class Brewery {
 
+    public static final String DESCRIPT = "descript";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
@@ -62,7 +71,13 @@ public class Brewery {
     @Column(name = "filepath", nullable = false)
     private String filepath;
 
+    /**
+     * Se carga solo al leerla (mejora de bytecode de Hibernate): las consultas de la entidad no
+     * traen la columna TEXT
+     */
+    @Basic(fetch = FetchType.LAZY)
     @Column(name = "descript", columnDefinition = "TEXT", nullable = false)
+    @JsonIgnore
     private String descript;
 
     @Column(name = "add_user", nullable = false)
@@ -71,6 +86,20 @@ public class Brewery {
     @Column(name = "last_mod", nullable = false)
     private LocalDateTime lastMod;
 
+    /**
+     * En JSON la descripción solo aparece si ya está cargada; serializar no lanza consultas
+     */
+    @JsonGetter(DESCRIPT)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public String loadedDescript() {
+        return Hibernate.isPropertyInitialized(this, DESCRIPT) ? descript : null;
+    }
+
+    @JsonSetter(DESCRIPT)
+    public void setDescript(String descript) {
+        this.descript = descript;
+    }
+
     @PrePersist
     @PreUpdate
     protected void onUpdate() {
@@ -1,5 +1,6 @@
 package com.kata.beer.model;
 
+import com.kata.beer.cache.ReferenceDataCacheListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -15,6 +16,7 @@ import java.time.LocalDateTime;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
+@EntityListeners(ReferenceDataCacheListener.class)
 public class Category {
 
     @Id
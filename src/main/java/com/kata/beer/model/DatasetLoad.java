@@ -0,0 +1,37 @@
+package com.kata.beer.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import java.time.LocalDateTime;
+
+/**
+ * Registro de la última carga de cada volcado del dataset inicial: permite saber en el
+ * siguiente arranque si el fichero ha cambiado
+ */
+@Entity
+@Table(name = "dataset_loads")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DatasetLoad {
+
+    @Id
+    @Column(name = "file_name", length = 100)
+    private String fileName;
+
+    @Column(name = "checksum", length = 64, nullable = false)
+    private String checksum;
+
+    @Column(name = "row_count", nullable = false)
+    private long rowCount;
+
+    @Column(name = "loaded_at", nullable = false)
+    private LocalDateTime loadedAt;
+}
@@ -0,0 +1,80 @@
+package com.kata.beer.protobuf;
+
+import com.kata.beer.model.Beer;
+import com.kata.beer.model.Brewery;
+import com.kata.beer.model.Category;
+import com.kata.beer.model.Style;
+import java.util.Map;
+
+/**
+ * Mensajes de {@code proto/beer.proto} para las entidades de la API. Los números de campo deben
+ * coincidir con los del fichero; los nombres son los de las propiedades Java (las claves de las
+ * filas de {@code fields}).
+ */
+public final class BeerProtobuf {
+
+    public static final ProtobufMessage<Brewery> BREWERY = new ProtobufMessage<>(Brewery.class, Brewery::new)
+            .int32(1, "id", Brewery::getId, Brewery::setId)
+            .string(2, "name", Brewery::getName, Brewery::setName)
+            .string(3, "address1", Brewery::getAddress1, Brewery::setAddress1)
+            .string(4, "address2", Brewery::getAddress2, Brewery::setAddress2)
+            .string(5, "city", Brewery::getCity, Brewery::setCity)
+            .string(6, "state", Brewery::getState, Brewery::setState)
+            .string(7, "code", Brewery::getCode, Brewery::setCode)
+            .string(8, "country", Brewery::getCountry, Brewery::setCountry)
+            .string(9, "phone", Brewery::getPhone, Brewery::setPhone)
+            .string(10, "website", Brewery::getWebsite, Brewery::setWebsite)
+            .string(11, "filepath", Brewery::getFilepath, Brewery::setFilepath)
+            .string(12, Brewery.DESCRIPT, Brewery::loadedDescript, Brewery::setDescript)
+            .int32(13, "addUser", Brewery::getAddUser, Brewery::setAddUser)
+            .timestamp(14, "lastMod", Brewery::getLastMod, Brewery::setLastMod);
+
+    public static final ProtobufMessage<Category> CATEGORY = new ProtobufMessage<>(Category.class, Category::new)
+            .int32(1, "id", Category::getId, Category::setId)
+            .string(2, "catName", Category::getCatName, Category::setCatName)
+            .timestamp(3, "lastMod", Category::getLastMod, Category::setLastMod);
+
+    public static final ProtobufMessage<Style> STYLE = new ProtobufMessage<>(Style.class, Style::new)
+            .int32(1, "id", Style::getId, Style::setId)
+            .int32(2, "catId", Style::getCatId, Style::setCatId)
+            .string(3, "styleName", Style::getStyleName, Style::setStyleName)
+            .timestamp(4, "lastMod", Style::getLastMod, Style::setLastMod);
+
+    public static final ProtobufMessage<Beer> BEER = new ProtobufMessage<>(Beer.class, Beer::new)
+            .int32(1, "id", Beer::getId, Beer::setId)
+            .message(2, "brewery", BREWERY, Beer::getBrewery, Beer::setBrewery)
+            .string(3, "name", Beer::getName, Beer::setName)
+            .message(4, "category", CATEGORY, Beer::getCategory, Beer::setCategory)
+            .message(5, "style", STYLE, Beer::getStyle, Beer::setStyle)
+            .float32(6, "abv", Beer::getAbv, Beer::setAbv)
+            .float32(7, "ibu", Beer::getIbu, Beer::setIbu)
+            .float32(8, "srm", Beer::getSrm, Beer::setSrm)
+            .int32(9, "upc", Beer::getUpc, Beer::setUpc)
+            .string(10, "filepath", Beer::getFilepath, Beer::setFilepath)
+            .string(11, Beer.DESCRIPT, Beer::loadedDescript, Beer::setDescript)
+            .int32(12, "addUser", Beer::getAddUser, Beer::setAddUser)
+            .timestamp(13, "lastMod", Beer::getLastMod, Beer::setLastMod);
+
+    private static final Map<Class<?>, ProtobufMessage<?>> BY_TYPE = Map.of(
+            Brewery.class, BREWERY,
+            Category.class, CATEGORY,
+            Style.class, STYLE,
+            Beer.class, BEER);
+
+    private BeerProtobuf() {
+    }
+
+    /**
+     * Mensaje de la entidad (o de la entidad de la que es proxy), o {@code null} si no tiene
+     * representación Protobuf
+     */
+    public static ProtobufMessage<?> forType(Class<?> type) {
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            ProtobufMessage<?> message = BY_TYPE.get(current);
+            if (message != null) {
+                return message;
+            }
+        }
+        return null;
+    }
+}
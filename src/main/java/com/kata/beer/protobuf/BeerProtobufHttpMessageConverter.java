@@ -0,0 +1,138 @@
+package com.kata.beer.protobuf;
+
+import com.google.protobuf.CodedOutputStream;
+import com.kata.beer.dto.CursorPage;
+import com.kata.beer.dto.FieldProjection;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Escribe las entidades de la API con los mensajes de {@code proto/beer.proto}
+ * ({@code application/x-protobuf}): una entidad o una fila de {@code fields} como su mensaje,
+ * una lista como el mensaje {@code *List} de su tipo y una página por cursor igual, con
+ * {@code limit} y {@code next_cursor}.
+ * <p>
+ * Solo escritura: las peticiones con cuerpo siguen siendo JSON. Con otros tipos de respuesta no
+ * se ofrece Protobuf y la negociación responde 406 si el cliente no acepta otra representación.
+ */
+public class BeerProtobufHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final MediaType PROTOBUF = new MediaType("application", "x-protobuf");
+
+    public BeerProtobufHttpMessageConverter() {
+        super(PROTOBUF);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return true;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return canWrite(null, clazz, mediaType);
+    }
+
+    /**
+     * Una lista o página cuyo tipo de elemento no se conoce ({@code List<?>}, o {@code Map} en las
+     * proyecciones de {@code fields}) se acepta y se comprueba elemento a elemento al escribir
+     */
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        if (!canWrite(mediaType)) {
+            return false;
+        }
+        ResolvableType resolvable = type != null ? ResolvableType.forType(type) : ResolvableType.NONE;
+        Class<?> raw = resolvable.resolve(Object.class);
+        if (raw == Object.class) {
+            if (clazz == null) {
+                return false;
+            }
+            resolvable = ResolvableType.forClass(clazz);
+            raw = clazz;
+        }
+        if (List.class.isAssignableFrom(raw) || CursorPage.class.isAssignableFrom(raw)) {
+            Class<?> element = resolvable.as(List.class.isAssignableFrom(raw) ? Collection.class : CursorPage.class)
+                    .getGeneric(0).resolve(Object.class);
+            return element == Object.class || element == Map.class || writable(element);
+        }
+        return writable(raw) || (clazz != null && writable(clazz));
+    }
+
+    private static boolean writable(Class<?> type) {
+        return FieldProjection.class.isAssignableFrom(type) || BeerProtobuf.forType(type) != null;
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw notReadable(inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw notReadable(inputMessage);
+    }
+
+    private static HttpMessageNotReadableException notReadable(HttpInputMessage inputMessage) {
+        return new HttpMessageNotReadableException("Protobuf solo se admite en las respuestas", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object value, Type type, HttpOutputMessage outputMessage) throws IOException {
+        writeTo(value, outputMessage.getBody());
+    }
+
+    /**
+     * Codifica {@code value} (entidad, fila de {@code fields}, lista o página) en {@code out}
+     */
+    public void writeTo(Object value, OutputStream out) throws IOException {
+        CodedOutputStream coded = CodedOutputStream.newInstance(out);
+        if (value instanceof CursorPage<?> page) {
+            writeItems(page.getItems(), coded);
+            ProtobufMessage.writePage(page.getLimit(), page.getNextCursor(), coded);
+        } else if (value instanceof List<?> items) {
+            writeItems(items, coded);
+        } else {
+            messageFor(value).write(value, coded);
+        }
+        coded.flush();
+    }
+
+    private static void writeItems(List<?> items, CodedOutputStream out) throws IOException {
+        for (Object item : items) {
+            messageFor(item).writeItem(item, out);
+        }
+    }
+
+    private static ProtobufMessage<?> messageFor(Object value) {
+        ProtobufMessage<?> message = value instanceof FieldProjection projection
+                ? BeerProtobuf.forType(projection.type())
+                : value == null ? null : BeerProtobuf.forType(value.getClass());
+        if (message == null) {
+            throw new HttpMessageNotWritableException("Sin representación Protobuf para "
+                    + (value == null ? "null" : value.getClass().getSimpleName()));
+        }
+        return message;
+    }
+}
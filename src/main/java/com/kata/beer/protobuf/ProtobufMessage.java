@@ -0,0 +1,225 @@
+package com.kata.beer.protobuf;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Mensaje de {@code proto/beer.proto} ligado a una clase Java: número, nombre y tipo de cada
+ * campo y cómo leerlo y asignarlo en el objeto. Codifica y decodifica el formato binario de
+ * Protobuf con {@link CodedOutputStream} y {@link CodedInputStream}, sin clases generadas.
+ * <p>
+ * Los campos nulos no se escriben. Además de objetos de la clase, acepta mapas con los campos
+ * por nombre (las filas de {@code fields}), con las relaciones también como mapas.
+ */
+public final class ProtobufMessage<T> {
+
+    private static final int ITEMS = 1;
+    private static final int LIMIT = 2;
+    private static final int NEXT_CURSOR = 3;
+
+    private enum Kind { INT32, FLOAT, STRING, TIMESTAMP, MESSAGE }
+
+    private record Field(int number, String name, Kind kind, ProtobufMessage<?> message,
+                         Function<Object, Object> getter, BiConsumer<Object, Object> setter) {
+
+        Object get(Object value) {
+            return value instanceof Map<?, ?> row ? row.get(name) : getter.apply(value);
+        }
+    }
+
+    private final Class<T> type;
+    private final Supplier<T> factory;
+    private final List<Field> fields = new ArrayList<>();
+    private Field[] byNumber = new Field[0];
+
+    ProtobufMessage(Class<T> type, Supplier<T> factory) {
+        this.type = type;
+        this.factory = factory;
+    }
+
+    public Class<T> type() {
+        return type;
+    }
+
+    ProtobufMessage<T> int32(int number, String name, Function<T, Integer> getter, BiConsumer<T, Integer> setter) {
+        return add(number, name, Kind.INT32, null, getter, setter);
+    }
+
+    ProtobufMessage<T> float32(int number, String name, Function<T, Float> getter, BiConsumer<T, Float> setter) {
+        return add(number, name, Kind.FLOAT, null, getter, setter);
+    }
+
+    ProtobufMessage<T> string(int number, String name, Function<T, String> getter, BiConsumer<T, String> setter) {
+        return add(number, name, Kind.STRING, null, getter, setter);
+    }
+
+    /**
+     * Fecha como {@code int64} en milisegundos desde epoch, en la zona del servidor
+     */
+    ProtobufMessage<T> timestamp(int number, String name, Function<T, LocalDateTime> getter,
+                                 BiConsumer<T, LocalDateTime> setter) {
+        return add(number, name, Kind.TIMESTAMP, null, getter, setter);
+    }
+
+    <M> ProtobufMessage<T> message(int number, String name, ProtobufMessage<M> message, Function<T, M> getter,
+                                   BiConsumer<T, M> setter) {
+        return add(number, name, Kind.MESSAGE, message, getter, setter);
+    }
+
+    @SuppressWarnings("unchecked")
+    private ProtobufMessage<T> add(int number, String name, Kind kind, ProtobufMessage<?> message,
+                                   Function<T, ?> getter, BiConsumer<T, ?> setter) {
+        Field field = new Field(number, name, kind, message,
+                (Function<Object, Object>) getter, (BiConsumer<Object, Object>) setter);
+        fields.add(field);
+        if (number >= byNumber.length) {
+            byNumber = Arrays.copyOf(byNumber, number + 1);
+        }
+        byNumber[number] = field;
+        return this;
+    }
+
+    /**
+     * Tamaño en bytes del mensaje codificado
+     */
+    public int size(Object value) {
+        int size = 0;
+        for (Field field : fields) {
+            Object fieldValue = field.get(value);
+            if (fieldValue != null) {
+                size += size(field, fieldValue);
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Escribe el mensaje sin prefijo de longitud (como mensaje raíz)
+     */
+    public void write(Object value, CodedOutputStream out) throws IOException {
+        for (Field field : fields) {
+            Object fieldValue = field.get(value);
+            if (fieldValue != null) {
+                write(field, fieldValue, out);
+            }
+        }
+    }
+
+    /**
+     * Escribe {@code value} como un elemento ({@code items}) del mensaje de listado de este tipo
+     */
+    public void writeItem(Object value, CodedOutputStream out) throws IOException {
+        out.writeTag(ITEMS, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+        out.writeUInt32NoTag(size(value));
+        write(value, out);
+    }
+
+    /**
+     * Escribe {@code limit} y {@code next_cursor} de un mensaje de listado (solo en las páginas)
+     */
+    public static void writePage(Integer limit, Integer nextCursor, CodedOutputStream out) throws IOException {
+        if (limit != null) {
+            out.writeInt32(LIMIT, limit);
+        }
+        if (nextCursor != null) {
+            out.writeInt32(NEXT_CURSOR, nextCursor);
+        }
+    }
+
+    /**
+     * Lee un mensaje raíz; los campos desconocidos se ignoran
+     */
+    public T read(CodedInputStream in) throws IOException {
+        T value = factory.get();
+        int tag;
+        while ((tag = in.readTag()) != 0) {
+            int number = WireFormat.getTagFieldNumber(tag);
+            Field field = number < byNumber.length ? byNumber[number] : null;
+            if (field == null) {
+                in.skipField(tag);
+            } else {
+                field.setter().accept(value, read(field, in));
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Lee los {@code items} de un mensaje de listado de este tipo
+     */
+    public List<T> readList(CodedInputStream in) throws IOException {
+        List<T> items = new ArrayList<>();
+        int tag;
+        while ((tag = in.readTag()) != 0) {
+            if (WireFormat.getTagFieldNumber(tag) == ITEMS) {
+                int limit = in.pushLimit(in.readRawVarint32());
+                items.add(read(in));
+                in.popLimit(limit);
+            } else {
+                in.skipField(tag);
+            }
+        }
+        return items;
+    }
+
+    private static int size(Field field, Object value) {
+        int number = field.number();
+        return switch (field.kind()) {
+            case INT32 -> CodedOutputStream.computeInt32Size(number, (Integer) value);
+            case FLOAT -> CodedOutputStream.computeFloatSize(number, (Float) value);
+            case STRING -> CodedOutputStream.computeStringSize(number, (String) value);
+            case TIMESTAMP -> CodedOutputStream.computeInt64Size(number, toMillis((LocalDateTime) value));
+            case MESSAGE -> {
+                int length = field.message().size(value);
+                yield CodedOutputStream.computeTagSize(number) + CodedOutputStream.computeUInt32SizeNoTag(length)
+                        + length;
+            }
+        };
+    }
+
+    private static void write(Field field, Object value, CodedOutputStream out) throws IOException {
+        int number = field.number();
+        switch (field.kind()) {
+            case INT32 -> out.writeInt32(number, (Integer) value);
+            case FLOAT -> out.writeFloat(number, (Float) value);
+            case STRING -> out.writeString(number, (String) value);
+            case TIMESTAMP -> out.writeInt64(number, toMillis((LocalDateTime) value));
+            case MESSAGE -> {
+                out.writeTag(number, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+                out.writeUInt32NoTag(field.message().size(value));
+                field.message().write(value, out);
+            }
+        }
+    }
+
+    private static Object read(Field field, CodedInputStream in) throws IOException {
+        return switch (field.kind()) {
+            case INT32 -> in.readInt32();
+            case FLOAT -> in.readFloat();
+            case STRING -> in.readStringRequireUtf8();
+            case TIMESTAMP -> LocalDateTime.ofInstant(Instant.ofEpochMilli(in.readInt64()), ZoneId.systemDefault());
+            case MESSAGE -> {
+                int limit = in.pushLimit(in.readRawVarint32());
+                Object message = field.message().read(in);
+                in.popLimit(limit);
+                yield message;
+            }
+        };
+    }
+
+    private static long toMillis(LocalDateTime timestamp) {
+        return timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
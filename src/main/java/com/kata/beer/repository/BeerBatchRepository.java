@@ -0,0 +1,93 @@
+package com.kata.beer.repository;
+
+import com.kata.beer.model.Beer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Inserción masiva de cervezas con batching JDBC real.
+ * <p>
+ * Hibernate desactiva el batching de INSERT con {@code GenerationType.IDENTITY}, así que el
+ * alta masiva va directamente por JDBC: un {@code executeBatch} por bloque de filas, que con
+ * {@code rewriteBatchedStatements=true} MySQL convierte en INSERT multi-fila. Los IDs
+ * generados se leen de {@code getGeneratedKeys()}. Se ejecuta en la conexión de la
+ * transacción JPA en curso.
+ */
+@Repository
+public class BeerBatchRepository {
+
+    public static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL = "INSERT INTO beers "
+            + "(brewery_id, name, cat_id, style_id, abv, ibu, srm, upc, filepath, descript, add_user, last_mod, version) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public BeerBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inserta las cervezas y asigna a cada una el ID generado y la fecha de modificación
+     */
+    public void insertAll(List<Beer> beers) {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (int from = 0; from < beers.size(); from += BATCH_SIZE) {
+                    List<Beer> chunk = beers.subList(from, Math.min(from + BATCH_SIZE, beers.size()));
+                    for (Beer beer : chunk) {
+                        beer.setLastMod(now);
+                        beer.setVersion(0L);
+                        bind(ps, beer);
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                    readGeneratedIds(ps, chunk);
+                }
+            }
+            return null;
+        });
+    }
+
+    private void bind(PreparedStatement ps, Beer beer) throws SQLException {
+        // Las columnas son NOT NULL: los valores ausentes toman los mismos valores por
+        // defecto que el volcado original de OpenBeerDB
+        ps.setInt(1, beer.getBrewery().getId());
+        ps.setString(2, beer.getName());
+        ps.setInt(3, beer.getCategory().getId());
+        ps.setInt(4, beer.getStyle().getId());
+        ps.setFloat(5, beer.getAbv() != null ? beer.getAbv() : 0f);
+        ps.setFloat(6, beer.getIbu() != null ? beer.getIbu() : 0f);
+        ps.setFloat(7, beer.getSrm() != null ? beer.getSrm() : 0f);
+        ps.setInt(8, beer.getUpc() != null ? beer.getUpc() : 0);
+        ps.setString(9, beer.getFilepath() != null ? beer.getFilepath() : "");
+        ps.setString(10, beer.getDescript() != null ? beer.getDescript() : "");
+        ps.setInt(11, beer.getAddUser() != null ? beer.getAddUser() : 0);
+        ps.setTimestamp(12, Timestamp.valueOf(beer.getLastMod()));
+    }
+
+    private void readGeneratedIds(PreparedStatement ps, List<Beer> chunk) throws SQLException {
+        try (ResultSet keys = ps.getGeneratedKeys()) {
+            int i = 0;
+            while (keys.next() && i < chunk.size()) {
+                chunk.get(i++).setId(keys.getInt(1));
+            }
+            if (i != chunk.size()) {
+                throw new SQLException("El driver devolvió " + i + " IDs generados para "
+                        + chunk.size() + " filas insertadas");
+            }
+        }
+    }
+}
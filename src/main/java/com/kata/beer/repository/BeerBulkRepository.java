@@ -0,0 +1,155 @@
+package com.kata.beer.repository;
+
+import com.kata.beer.dto.BeerFilter;
+import com.kata.beer.model.Beer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Borrado y modificación masiva de cervezas.
+ * <p>
+ * El filtro se traduce a la misma cláusula WHERE que {@link BeerSpecifications#matching}, pero
+ * en SQL, y solo se evalúa una vez: al leer y bloquear los IDs de las cervezas afectadas. Las
+ * sentencias posteriores (la marca por cerveza en {@code beer_deletions} para el feed de
+ * cambios, el DELETE y el UPDATE) trabajan sobre esa lista, en bloques de
+ * {@value #IDS_PER_STATEMENT} IDs, para que afecten exactamente a las filas bloqueadas y los
+ * eventos coincidan con ellas. Se ejecuta en la conexión de la transacción JPA en curso.
+ */
+@Repository
+public class BeerBulkRepository {
+
+    /** IDs por sentencia: mantiene cada IN (...) lejos del límite de parámetros de MySQL */
+    static final int IDS_PER_STATEMENT = 1_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public BeerBulkRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * IDs de las cervezas que cumplen el filtro, bloqueando sus filas hasta el final de la
+     * transacción; es la lista que se pasa después a {@link #deleteByIds} o {@link #updateByIds}
+     */
+    public List<Integer> lockMatchingIds(BeerFilter filter) {
+        Where where = where(filter);
+        return jdbcTemplate.queryForList("SELECT id FROM beers" + where.sql() + " ORDER BY id FOR UPDATE",
+                Integer.class, where.args().toArray());
+    }
+
+    /**
+     * De los IDs indicados, los de cervezas que existen, bloqueando sus filas hasta el final de
+     * la transacción como {@link #lockMatchingIds}
+     */
+    public List<Integer> lockExistingIds(Collection<Integer> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.queryForList("SELECT id FROM beers WHERE id IN (" + placeholders(ids.size()) + ") ORDER BY id FOR UPDATE",
+                Integer.class, ids.toArray());
+    }
+
+    /**
+     * Borra las cervezas con esos IDs y deja una marca por cada una que existía
+     *
+     * @return cervezas borradas
+     */
+    public int deleteByIds(Collection<Integer> ids) {
+        Timestamp deletedAt = Timestamp.valueOf(LocalDateTime.now());
+        int deleted = 0;
+        for (List<Integer> chunk : chunks(ids)) {
+            String in = " WHERE id IN (" + placeholders(chunk.size()) + ")";
+            List<Object> args = new ArrayList<>(chunk.size() + 1);
+            args.add(deletedAt);
+            args.addAll(chunk);
+            jdbcTemplate.update("INSERT INTO beer_deletions (beer_id, deleted_at) SELECT id, ? FROM beers" + in,
+                    args.toArray());
+            deleted += jdbcTemplate.update("DELETE FROM beers" + in, chunk.toArray());
+        }
+        return deleted;
+    }
+
+    /**
+     * Escribe los campos no nulos de {@code changes} (las relaciones, por su ID) y actualiza
+     * {@code last_mod} y {@code version} en las cervezas con esos IDs
+     *
+     * @return cervezas modificadas
+     */
+    public int updateByIds(Collection<Integer> ids, Beer changes) {
+        List<String> assignments = new ArrayList<>();
+        List<Object> assignmentArgs = new ArrayList<>();
+        BeerPatchRepository.addAssignments(changes, assignments, assignmentArgs);
+        if (assignments.isEmpty()) {
+            throw new IllegalArgumentException("No hay ningún campo que asignar");
+        }
+        BeerPatchRepository.touch(assignments, assignmentArgs);
+        String set = "UPDATE beers SET " + String.join(", ", assignments);
+        int updated = 0;
+        for (List<Integer> chunk : chunks(ids)) {
+            List<Object> args = new ArrayList<>(assignmentArgs.size() + chunk.size());
+            args.addAll(assignmentArgs);
+            args.addAll(chunk);
+            updated += jdbcTemplate.update(set + " WHERE id IN (" + placeholders(chunk.size()) + ")", args.toArray());
+        }
+        return updated;
+    }
+
+    private static List<List<Integer>> chunks(Collection<Integer> ids) {
+        List<Integer> list = List.copyOf(ids);
+        List<List<Integer>> chunks = new ArrayList<>((list.size() + IDS_PER_STATEMENT - 1) / IDS_PER_STATEMENT);
+        for (int from = 0; from < list.size(); from += IDS_PER_STATEMENT) {
+            chunks.add(list.subList(from, Math.min(from + IDS_PER_STATEMENT, list.size())));
+        }
+        return chunks;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private static Where where(BeerFilter filter) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        addRange(conditions, args, "abv", filter.getMinAbv(), filter.getMaxAbv());
+        addRange(conditions, args, "ibu", filter.getMinIbu(), filter.getMaxIbu());
+        addRange(conditions, args, "srm", filter.getMinSrm(), filter.getMaxSrm());
+        addEqual(conditions, args, "brewery_id", filter.getBreweryId());
+        addEqual(conditions, args, "cat_id", filter.getCategoryId());
+        addEqual(conditions, args, "style_id", filter.getStyleId());
+        if (filter.hasCountry()) {
+            conditions.add("brewery_id IN (SELECT id FROM breweries WHERE LOWER(country) = ?)");
+            args.add(filter.getCountry().trim().toLowerCase(Locale.ROOT));
+        }
+        return new Where(conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions), args);
+    }
+
+    private static void addRange(List<String> conditions, List<Object> args, String column, Float min, Float max) {
+        if (min != null) {
+            conditions.add(column + " >= ?");
+            args.add(min);
+        }
+        if (max != null) {
+            conditions.add(column + " <= ?");
+            args.add(max);
+        }
+    }
+
+    private static void addEqual(List<String> conditions, List<Object> args, String column, Integer value) {
+        if (value != null) {
+            conditions.add(column + " = ?");
+            args.add(value);
+        }
+    }
+
+    private record Where(String sql, List<Object> args) {
+    }
+}
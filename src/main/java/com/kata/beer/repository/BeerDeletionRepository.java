@@ -0,0 +1,33 @@
+package com.kata.beer.repository;
+
+import com.kata.beer.model.BeerDeletion;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface BeerDeletionRepository extends JpaRepository<BeerDeletion, Long> {
+
+    /**
+     * Borrados posteriores al cursor ({@code deletedAt}, {@code id}) y no posteriores a
+     * {@code until}, en orden; usa el índice sobre (deleted_at, id)
+     */
+    @Query("SELECT d FROM BeerDeletion d WHERE (d.deletedAt > :after OR (d.deletedAt = :after AND d.id > :afterId)) "
+            + "AND d.deletedAt <= :until ORDER BY d.deletedAt, d.id")
+    List<BeerDeletion> findDeletedAfter(@Param("after") LocalDateTime after,
+                                        @Param("afterId") long afterId,
+                                        @Param("until") LocalDateTime until,
+                                        Limit limit);
+
+    /**
+     * Purga las marcas de borrado anteriores a {@code before}
+     */
+    @Modifying
+    @Query("DELETE FROM BeerDeletion d WHERE d.deletedAt < :before")
+    int deleteOlderThan(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,89 @@
+package com.kata.beer.repository;
+
+import com.kata.beer.model.Beer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Modificación parcial de una cerveza con un único UPDATE de las columnas recibidas.
+ * <p>
+ * A diferencia de {@code save}, no necesita cargar antes la entidad (con sus relaciones y la
+ * descripción) ni escribe las columnas que no cambian. Se ejecuta en la conexión de la
+ * transacción JPA en curso.
+ */
+@Repository
+public class BeerPatchRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public BeerPatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Escribe los campos no nulos de {@code changes} (las relaciones, por su ID) y actualiza
+     * {@code last_mod} y {@code version}. Si no hay ningún campo solo comprueba que la fila exista.
+     *
+     * @param expectedVersion si no es {@code null}, la fila solo se modifica si su
+     *                        {@code version} sigue siendo esa
+     * @return filas afectadas: 0 si la cerveza no existe o ha cambiado
+     */
+    public int patch(Integer id, Beer changes, Long expectedVersion) {
+        List<String> assignments = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        addAssignments(changes, assignments, args);
+
+        String where = " WHERE id = ?" + (expectedVersion != null ? " AND version = ?" : "");
+        List<Object> whereArgs = new ArrayList<>(2);
+        whereArgs.add(id);
+        if (expectedVersion != null) {
+            whereArgs.add(expectedVersion);
+        }
+        if (assignments.isEmpty()) {
+            Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM beers" + where, Integer.class,
+                    whereArgs.toArray());
+            return count != null ? count : 0;
+        }
+        touch(assignments, args);
+        args.addAll(whereArgs);
+        return jdbcTemplate.update("UPDATE beers SET " + String.join(", ", assignments) + where, args.toArray());
+    }
+
+    /**
+     * Añade una asignación {@code columna = ?} por cada campo no nulo de {@code changes}
+     */
+    static void addAssignments(Beer changes, List<String> assignments, List<Object> args) {
+        set(assignments, args, "name", changes.getName());
+        set(assignments, args, "brewery_id", changes.getBrewery() != null ? changes.getBrewery().getId() : null);
+        set(assignments, args, "cat_id", changes.getCategory() != null ? changes.getCategory().getId() : null);
+        set(assignments, args, "style_id", changes.getStyle() != null ? changes.getStyle().getId() : null);
+        set(assignments, args, "abv", changes.getAbv());
+        set(assignments, args, "ibu", changes.getIbu());
+        set(assignments, args, "srm", changes.getSrm());
+        set(assignments, args, "upc", changes.getUpc());
+        set(assignments, args, "filepath", changes.getFilepath());
+        set(assignments, args, "descript", changes.getDescript());
+    }
+
+    /**
+     * Marca la fila como modificada: {@code last_mod} a ahora e incrementa {@code version}, como
+     * haría Hibernate con {@code @Version}
+     */
+    static void touch(List<String> assignments, List<Object> args) {
+        set(assignments, args, "last_mod", Timestamp.valueOf(LocalDateTime.now()));
+        assignments.add("version = version + 1");
+    }
+
+    static void set(List<String> assignments, List<Object> args, String column, Object value) {
+        if (value != null) {
+            assignments.add(column + " = ?");
+            args.add(value);
+        }
+    }
+}
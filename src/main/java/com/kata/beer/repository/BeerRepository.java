@@ -1,15 +1,118 @@
 package com.kata.beer.repository;
 
 import com.kata.beer.model.Beer;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface BeerRepository extends JpaRepository<Beer, Integer> {
+public interface BeerRepository extends JpaRepository<Beer, Integer>, JpaSpecificationExecutor<Beer> {
+
+    // Los listados usan el grafo WITH_RELATIONS: una sola SELECT con JOIN a las tres
+    // relaciones, sin importar cuántas cervezas o relaciones distintas haya (evita el N+1)
+
+    @Override
+    @EntityGraph(Beer.WITH_RELATIONS)
+    List<Beer> findAll();
+
+    @Override
+    @EntityGraph(Beer.WITH_RELATIONS)
+    List<Beer> findAllById(Iterable<Integer> ids);
+
+    @EntityGraph(Beer.WITH_RELATIONS)
     List<Beer> findByNameContainingIgnoreCase(String name);
+
+    @EntityGraph(Beer.WITH_RELATIONS)
     List<Beer> findByBreweryId(Integer breweryId);
+
+    @EntityGraph(Beer.WITH_RELATIONS)
     List<Beer> findByCategoryId(Integer categoryId);
+
+    @EntityGraph(Beer.WITH_RELATIONS)
     List<Beer> findByStyleId(Integer styleId);
-}
 
+    @EntityGraph(Beer.WITH_RELATIONS)
+    List<Beer> findByIdGreaterThanOrderByIdAsc(Integer id, Limit limit);
+
+    /**
+     * Carga por ID las cervezas resueltas en un índice en memoria. A diferencia de findAllById
+     * (Criteria API), la consulta JPQL se compila una vez y queda en la caché de planes.
+     */
+    @Query("SELECT b FROM Beer b LEFT JOIN FETCH b.brewery LEFT JOIN FETCH b.category "
+            + "LEFT JOIN FETCH b.style WHERE b.id IN :ids")
+    List<Beer> findWithRelationsByIdIn(@Param("ids") Collection<Integer> ids);
+
+    // La descripción (TEXT) es LAZY: solo la leen las consultas con el grafo WITH_DESCRIPTION
+
+    @EntityGraph(Beer.WITH_DESCRIPTION)
+    Optional<Beer> findWithDescriptionById(Integer id);
+
+    @EntityGraph(Beer.WITH_DESCRIPTION)
+    List<Beer> findWithDescriptionByIdIn(Collection<Integer> ids);
+
+    /**
+     * Solo la descripción de una cerveza, sin cargar la entidad
+     */
+    @Query("SELECT b.descript FROM Beer b WHERE b.id = :id")
+    Optional<String> findDescriptById(@Param("id") Integer id);
+
+    /**
+     * Cervezas modificadas después del cursor ({@code lastMod}, {@code id}) y no después de
+     * {@code until}, en orden; usa el índice sobre (last_mod, id)
+     */
+    @EntityGraph(Beer.WITH_DESCRIPTION)
+    @Query("SELECT b FROM Beer b "
+            + "WHERE (b.lastMod > :after OR (b.lastMod = :after AND b.id > :afterId)) AND b.lastMod <= :until "
+            + "ORDER BY b.lastMod, b.id")
+    List<Beer> findModifiedAfter(@Param("after") LocalDateTime after,
+                                 @Param("afterId") int afterId,
+                                 @Param("until") LocalDateTime until,
+                                 Limit limit);
+
+    /**
+     * Comprueba en una sola consulta si existen la cervecería, la categoría y el estilo
+     * indicados; un ID nulo cuenta 0
+     */
+    @Query(value = "SELECT (SELECT COUNT(*) FROM breweries WHERE id = :breweryId) AS breweries, "
+            + "(SELECT COUNT(*) FROM categories WHERE id = :categoryId) AS categories, "
+            + "(SELECT COUNT(*) FROM styles WHERE id = :styleId) AS styles", nativeQuery = true)
+    RelationCounts countRelations(@Param("breweryId") Integer breweryId,
+                                  @Param("categoryId") Integer categoryId,
+                                  @Param("styleId") Integer styleId);
+
+    /**
+     * Versión de una cerveza sin cargar la entidad: su {@code version} (la que comprueban las
+     * actualizaciones condicionales con If-Match) y la fecha de la última modificación de la
+     * cerveza o de cualquiera de sus relaciones
+     */
+    @Query("SELECT b.version AS version, greatest(b.lastMod, coalesce(br.lastMod, b.lastMod), "
+            + "coalesce(c.lastMod, b.lastMod), coalesce(s.lastMod, b.lastMod)) AS lastModified "
+            + "FROM Beer b LEFT JOIN b.brewery br LEFT JOIN b.category c LEFT JOIN b.style s WHERE b.id = :id")
+    Optional<BeerVersion> findVersionById(@Param("id") Integer id);
+
+    /**
+     * Recorre toda la tabla con un cursor de solo avance. Debe consumirse dentro de una
+     * transacción y cerrarse al terminar; con MySQL requiere useCursorFetch=true en la URL
+     * para que el fetch size se respete en lugar de cargar el resultado completo.
+     */
+    @EntityGraph(Beer.WITH_DESCRIPTION)
+    @Query("SELECT b FROM Beer b ORDER BY b.id")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    Stream<Beer> streamAll();
+}
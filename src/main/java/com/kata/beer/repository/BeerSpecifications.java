@@ -0,0 +1,65 @@
+package com.kata.beer.repository;
+
+import com.kata.beer.dto.BeerFilter;
+import com.kata.beer.model.Beer;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Especificaciones JPA para filtrar cervezas en base de datos
+ */
+public final class BeerSpecifications {
+
+    private BeerSpecifications() {
+    }
+
+    /**
+     * Traduce un {@link BeerFilter} a una única cláusula WHERE
+     */
+    public static Specification<Beer> matching(BeerFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            addRange(predicates, cb, root.get("abv"), filter.getMinAbv(), filter.getMaxAbv());
+            addRange(predicates, cb, root.get("ibu"), filter.getMinIbu(), filter.getMaxIbu());
+            addRange(predicates, cb, root.get("srm"), filter.getMinSrm(), filter.getMaxSrm());
+            if (filter.getBreweryId() != null) {
+                predicates.add(cb.equal(root.get("brewery").get("id"), filter.getBreweryId()));
+            }
+            if (filter.getCategoryId() != null) {
+                predicates.add(cb.equal(root.get("category").get("id"), filter.getCategoryId()));
+            }
+            if (filter.getStyleId() != null) {
+                predicates.add(cb.equal(root.get("style").get("id"), filter.getStyleId()));
+            }
+            if (filter.hasCountry()) {
+                predicates.add(cb.equal(
+                        cb.lower(root.join("brewery", JoinType.INNER).get("country")),
+                        filter.getCountry().trim().toLowerCase(Locale.ROOT)));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * Cervezas con ID mayor que el cursor (paginación keyset)
+     */
+    public static Specification<Beer> idGreaterThan(int after) {
+        return (root, query, cb) -> cb.greaterThan(root.get("id"), after);
+    }
+
+    private static void addRange(List<Predicate> predicates, CriteriaBuilder cb,
+                                 Path<Float> path, Float min, Float max) {
+        if (min != null) {
+            predicates.add(cb.greaterThanOrEqualTo(path, min));
+        }
+        if (max != null) {
+            predicates.add(cb.lessThanOrEqualTo(path, max));
+        }
+    }
+}
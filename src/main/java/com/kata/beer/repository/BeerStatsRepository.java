@@ -0,0 +1,59 @@
+package com.kata.beer.repository;
+
+import com.kata.beer.stats.BeerStatsSnapshot;
+import com.kata.beer.stats.StyleAggregate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Estadísticas de cervezas calculadas desde cero con GROUP BY. Las cervezas cuya relación no
+ * existe se agrupan con la clave {@link BeerStatsSnapshot#UNKNOWN}, igual que en memoria.
+ */
+@Repository
+public class BeerStatsRepository {
+
+    private static final String COUNT_BY_BREWERY = "SELECT COALESCE(br.id, -1) AS group_id, COUNT(*) AS beers "
+            + "FROM beers b LEFT JOIN breweries br ON br.id = b.brewery_id GROUP BY COALESCE(br.id, -1)";
+
+    private static final String COUNT_BY_CATEGORY = "SELECT COALESCE(c.id, -1) AS group_id, COUNT(*) AS beers "
+            + "FROM beers b LEFT JOIN categories c ON c.id = b.cat_id GROUP BY COALESCE(c.id, -1)";
+
+    private static final String AGGREGATE_BY_STYLE = "SELECT COALESCE(s.id, -1) AS group_id, COUNT(*) AS beers, "
+            + "AVG(b.abv) AS avg_abv, MIN(b.abv) AS min_abv, MAX(b.abv) AS max_abv, "
+            + "AVG(b.ibu) AS avg_ibu, MIN(b.ibu) AS min_ibu, MAX(b.ibu) AS max_ibu "
+            + "FROM beers b LEFT JOIN styles s ON s.id = b.style_id GROUP BY COALESCE(s.id, -1)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public BeerStatsRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Map<Integer, Long> countBeersByBrewery() {
+        return counts(COUNT_BY_BREWERY);
+    }
+
+    public Map<Integer, Long> countBeersByCategory() {
+        return counts(COUNT_BY_CATEGORY);
+    }
+
+    public List<StyleAggregate> aggregateByStyle() {
+        return jdbcTemplate.query(AGGREGATE_BY_STYLE, (rs, row) -> new StyleAggregate(
+                rs.getInt("group_id"), rs.getLong("beers"),
+                rs.getDouble("avg_abv"), rs.getFloat("min_abv"), rs.getFloat("max_abv"),
+                rs.getDouble("avg_ibu"), rs.getFloat("min_ibu"), rs.getFloat("max_ibu")));
+    }
+
+    private Map<Integer, Long> counts(String sql) {
+        Map<Integer, Long> counts = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            counts.put(rs.getInt("group_id"), rs.getLong("beers"));
+        });
+        return counts;
+    }
+}
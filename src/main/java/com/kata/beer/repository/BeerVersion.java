@@ -0,0 +1,14 @@
+package com.kata.beer.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Proyección con la versión de la fila de una cerveza y la fecha de modificación de su versión
+ * completa, que incluye las de su cervecería, categoría y estilo
+ */
+public interface BeerVersion {
+
+    long getVersion();
+
+    LocalDateTime getLastModified();
+}
@@ -1,14 +1,40 @@
 package com.kata.beer.repository;
 
 import com.kata.beer.model.Brewery;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface BreweryRepository extends JpaRepository<Brewery, Integer> {
     List<Brewery> findByNameContainingIgnoreCase(String name);
     List<Brewery> findByCity(String city);
     List<Brewery> findByCountry(String country);
-}
 
+    List<Brewery> findByIdGreaterThanOrderByIdAsc(Integer id, Limit limit);
+
+    /**
+     * Cervecería con la descripción (LAZY) leída en la misma consulta
+     */
+    @EntityGraph(attributePaths = Brewery.DESCRIPT)
+    Optional<Brewery> findWithDescriptionById(Integer id);
+
+    /**
+     * Devuelve cuáles de los IDs indicados existen, en una sola consulta
+     */
+    @Query("SELECT e.id FROM Brewery e WHERE e.id IN :ids")
+    Set<Integer> findExistingIds(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Devuelve todos los IDs, sin cargar las filas
+     */
+    @Query("SELECT e.id FROM Brewery e")
+    List<Integer> findAllIds();
+}
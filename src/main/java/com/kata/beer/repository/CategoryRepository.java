@@ -1,12 +1,30 @@
 package com.kata.beer.repository;
 
 import com.kata.beer.model.Category;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Integer> {
     List<Category> findByCatNameContainingIgnoreCase(String catName);
-}
 
+    List<Category> findByIdGreaterThanOrderByIdAsc(Integer id, Limit limit);
+
+    /**
+     * Devuelve cuáles de los IDs indicados existen, en una sola consulta
+     */
+    @Query("SELECT e.id FROM Category e WHERE e.id IN :ids")
+    Set<Integer> findExistingIds(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Devuelve todos los IDs, sin cargar las filas
+     */
+    @Query("SELECT e.id FROM Category e")
+    List<Integer> findAllIds();
+}
@@ -0,0 +1,186 @@
+package com.kata.beer.repository;
+
+import com.kata.beer.dto.FieldProjection;
+import com.kata.beer.dto.FieldSet;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.ManagedType;
+import jakarta.persistence.metamodel.SingularAttribute;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Repository;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Consultas que seleccionan solo los campos pedidos con {@code fields}: la SELECT incluye esas
+ * columnas y hace JOIN únicamente con las relaciones de las que se pide algún campo.
+ * <p>
+ * Cada fila se devuelve como un {@link FieldProjection} (con mapas anidados para las relaciones)
+ * que se serializa tal cual, sin los campos que no se han pedido. Las rutas se validan contra el metamodelo JPA.
+ */
+@Repository
+public class FieldProjectionRepository {
+
+    private static final String ID = "id";
+
+    private final EntityManager entityManager;
+
+    @Autowired
+    public FieldProjectionRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Filas de {@code type} que cumplen {@code where} (todas si es {@code null}), ordenadas por ID
+     */
+    public <T> List<Map<String, Object>> find(Class<T> type, FieldSet fields, Specification<T> where, Limit limit) {
+        List<String> paths = resolve(type, fields);
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(type);
+        Map<String, From<?, ?>> joins = new HashMap<>();
+        List<Selection<?>> selections = new ArrayList<>(paths.size());
+        for (String path : paths) {
+            int dot = path.indexOf('.');
+            From<?, ?> from = dot < 0 ? root
+                    : joins.computeIfAbsent(path.substring(0, dot), relation -> root.join(relation, JoinType.LEFT));
+            selections.add(from.get(path.substring(dot + 1)));
+        }
+        query.multiselect(selections).orderBy(cb.asc(root.get(ID)));
+        if (where != null) {
+            query.where(where.toPredicate(root, query, cb));
+        }
+        TypedQuery<Tuple> typed = entityManager.createQuery(query);
+        if (limit.isLimited()) {
+            typed.setMaxResults(limit.max());
+        }
+        List<Tuple> tuples = typed.getResultList();
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new FieldProjection(type);
+            for (int i = 0; i < paths.size(); i++) {
+                put(row, paths.get(i), tuple.get(i));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    /**
+     * Proyecta en memoria una entidad ya cargada (p. ej. de la caché de referencia)
+     */
+    public <T> Map<String, Object> project(Class<T> type, FieldSet fields, T entity) {
+        BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(entity);
+        wrapper.setAutoGrowNestedPaths(false);
+        Map<String, Object> row = new FieldProjection(type);
+        for (String path : resolve(type, fields)) {
+            int dot = path.indexOf('.');
+            Object value = dot < 0 || wrapper.getPropertyValue(path.substring(0, dot)) != null
+                    ? wrapper.getPropertyValue(path) : null;
+            put(row, path, value);
+        }
+        return row;
+    }
+
+    /**
+     * Filas cuyo ID está en {@code ids}
+     */
+    public static <T> Specification<T> idIn(Collection<Integer> ids) {
+        return (root, query, cb) -> root.get(ID).in(ids);
+    }
+
+    /**
+     * Filas con ID mayor que el cursor (paginación keyset)
+     */
+    public static <T> Specification<T> idGreaterThan(int after) {
+        return (root, query, cb) -> cb.greaterThan(root.get(ID), after);
+    }
+
+    /**
+     * Rutas a seleccionar: el ID, los campos pedidos y, de cada relación pedida, su ID (para
+     * distinguir una relación ausente) o todos sus campos si se pide la relación entera
+     */
+    private List<String> resolve(Class<?> type, FieldSet fields) {
+        EntityType<?> entity = entityManager.getMetamodel().entity(type);
+        Set<String> paths = new LinkedHashSet<>();
+        paths.add(ID);
+        for (String path : fields.paths()) {
+            String[] parts = path.split("\\.", -1);
+            Attribute<?, ?> attribute = attribute(entity, parts[0], path);
+            if (!attribute.isAssociation()) {
+                if (parts.length > 1) {
+                    throw unknownField(path);
+                }
+                paths.add(path);
+                continue;
+            }
+            if (!(attribute instanceof SingularAttribute<?, ?> relation) || parts.length > 2) {
+                throw unknownField(path);
+            }
+            ManagedType<?> related = entityManager.getMetamodel().managedType(relation.getJavaType());
+            paths.add(parts[0] + "." + ID);
+            if (parts.length == 1) {
+                related.getSingularAttributes().stream()
+                        .filter(nested -> !nested.isAssociation())
+                        .map(nested -> parts[0] + "." + nested.getName())
+                        .sorted()
+                        .forEach(paths::add);
+            } else if (attribute(related, parts[1], path).isAssociation()) {
+                throw unknownField(path);
+            } else {
+                paths.add(path);
+            }
+        }
+        return new ArrayList<>(paths);
+    }
+
+    private static Attribute<?, ?> attribute(ManagedType<?> type, String name, String path) {
+        try {
+            return type.getAttribute(name);
+        } catch (IllegalArgumentException e) {
+            throw unknownField(path);
+        }
+    }
+
+    private static IllegalArgumentException unknownField(String path) {
+        return new IllegalArgumentException("Campo desconocido en fields: " + path);
+    }
+
+    /**
+     * Coloca el valor en su ruta; una relación cuyo ID es nulo (no existe) queda como {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    private static void put(Map<String, Object> row, String path, Object value) {
+        int dot = path.indexOf('.');
+        if (dot < 0) {
+            row.put(path, value);
+            return;
+        }
+        String relation = path.substring(0, dot);
+        String field = path.substring(dot + 1);
+        if (field.equals(ID)) {
+            row.put(relation, value == null ? null : new LinkedHashMap<>(Map.of(ID, value)));
+        } else if (row.get(relation) instanceof Map<?, ?> nested) {
+            ((Map<String, Object>) nested).put(field, value);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.kata.beer.repository;
+
+/**
+ * Proyección con el número de filas (0 o 1) que existen de la cervecería, la categoría y el
+ * estilo de una cerveza
+ */
+public interface RelationCounts {
+
+    long getBreweries();
+
+    long getCategories();
+
+    long getStyles();
+}
@@ -1,13 +1,31 @@
 package com.kata.beer.repository;
 
 import com.kata.beer.model.Style;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 @Repository
 public interface StyleRepository extends JpaRepository<Style, Integer> {
     List<Style> findByStyleNameContainingIgnoreCase(String styleName);
     List<Style> findByCatId(Integer catId);
-}
 
+    List<Style> findByIdGreaterThanOrderByIdAsc(Integer id, Limit limit);
+
+    /**
+     * Devuelve cuáles de los IDs indicados existen, en una sola consulta
+     */
+    @Query("SELECT e.id FROM Style e WHERE e.id IN :ids")
+    Set<Integer> findExistingIds(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Devuelve todos los IDs, sin cargar las filas
+     */
+    @Query("SELECT e.id FROM Style e")
+    List<Integer> findAllIds();
+}
@@ -0,0 +1,150 @@
+package com.kata.beer.search;
+
+import com.kata.beer.event.BeerChangedEvent;
+import com.kata.beer.model.Beer;
+import com.kata.beer.service.BeerExportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Base de los índices en memoria sobre la tabla de cervezas.
+ * <p>
+ * El índice se construye en segundo plano al arrancar recorriendo el catálogo con
+ * {@link BeerExportService} y se mantiene al día con los {@link BeerChangedEvent} confirmados.
+ * Los cambios que llegan durante la construcción se encolan y se aplican sobre el índice nuevo
+ * antes de publicarlo, para que una fila leída del cursor no pise una modificación posterior.
+ *
+ * @param <S> estructura de datos del índice, que no necesita ser thread-safe
+ */
+public abstract class AbstractBeerIndex<S> {
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    private final BeerExportService beerExportService;
+    private final String name;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    /** Serializa las reconstrucciones: comparten la cola de cambios pendientes */
+    private final Lock rebuildLock = new ReentrantLock();
+    /** {@code null} hasta la primera escritura o consulta, que crean el estado vacío */
+    private S state;
+    private boolean ready;
+    private List<BeerChangedEvent> pending;
+
+    protected AbstractBeerIndex(BeerExportService beerExportService, String name) {
+        this.beerExportService = beerExportService;
+        this.name = name;
+    }
+
+    protected abstract S emptyState();
+
+    /**
+     * Añade una cerveza leída de la base de datos durante la construcción
+     */
+    protected abstract void add(S state, Beer beer);
+
+    /**
+     * Termina de preparar el estado cuando ya se han añadido todas las cervezas, antes de
+     * aplicarle los cambios pendientes y publicarlo; se ejecuta fuera del bloqueo
+     */
+    protected void loaded(S state) {
+    }
+
+    /**
+     * Aplica un cambio confirmado
+     */
+    protected abstract void apply(S state, BeerChangedEvent event);
+
+    /**
+     * Indica si el índice está construido y puede responder consultas
+     */
+    public boolean isReady() {
+        return read(s -> ready);
+    }
+
+    protected <R> R read(Function<S, R> query) {
+        lock.readLock().lock();
+        try {
+            if (state != null) {
+                return query.apply(state);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        // Consulta antes de cualquier escritura: el estado vacío se crea con el bloqueo de escritura
+        return write(query);
+    }
+
+    protected <R> R write(Function<S, R> update) {
+        lock.writeLock().lock();
+        try {
+            if (state == null) {
+                state = emptyState();
+            }
+            return update.apply(state);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        Thread.ofVirtual().name(name).start(this::rebuild);
+    }
+
+    /**
+     * Reconstruye el índice desde la base de datos sin bloquear las consultas en curso; si ya hay
+     * una reconstrucción en marcha, espera a que termine
+     */
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            write(s -> pending = new ArrayList<>());
+
+            long start = System.nanoTime();
+            S built = emptyState();
+            long count;
+            try {
+                count = beerExportService.forEachBeer(beer -> add(built, beer));
+                loaded(built);
+            } catch (RuntimeException e) {
+                log.error("No se pudo construir el índice {}", name, e);
+                write(s -> pending = null);
+                return;
+            }
+
+            write(s -> {
+                pending.forEach(event -> apply(built, event));
+                pending = null;
+                state = built;
+                ready = true;
+                return null;
+            });
+            log.info("Índice {} construido en {} ms con {} cervezas",
+                    name, (System.nanoTime() - start) / 1_000_000, count);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onBeerChanged(BeerChangedEvent event) {
+        write(s -> {
+            if (pending != null) {
+                pending.add(event);
+            }
+            apply(s, event);
+            return null;
+        });
+    }
+}
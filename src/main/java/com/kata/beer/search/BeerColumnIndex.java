@@ -0,0 +1,80 @@
+package com.kata.beer.search;
+
+import com.kata.beer.cache.ReferenceDataCache;
+import com.kata.beer.dto.BeerFilter;
+import com.kata.beer.event.BeerChangedEvent;
+import com.kata.beer.model.Beer;
+import com.kata.beer.model.Brewery;
+import com.kata.beer.service.BeerExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import java.util.BitSet;
+
+/**
+ * Índice columnar en memoria para filtrar cervezas por rangos de ABV/IBU/SRM combinados con
+ * cervecería, categoría, estilo y país de la cervecería.
+ */
+@Component
+public class BeerColumnIndex extends AbstractBeerIndex<BeerColumns> {
+
+    private final ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    public BeerColumnIndex(BeerExportService beerExportService, ReferenceDataCache referenceDataCache) {
+        super(beerExportService, "beer-column-index");
+        this.referenceDataCache = referenceDataCache;
+    }
+
+    public int size() {
+        return read(BeerColumns::size);
+    }
+
+    /**
+     * Devuelve, ordenados, los IDs de las cervezas que cumplen el filtro
+     */
+    public int[] match(BeerFilter filter) {
+        BitSet breweries = filter.hasCountry() ? breweriesIn(filter.getCountry().trim()) : null;
+        return read(columns -> columns.match(filter, breweries));
+    }
+
+    @Override
+    protected BeerColumns emptyState() {
+        return new BeerColumns();
+    }
+
+    @Override
+    protected void add(BeerColumns columns, Beer beer) {
+        columns.load(beer);
+    }
+
+    /**
+     * Los órdenes por columna se calculan una sola vez al terminar la carga, en el hilo de la
+     * reconstrucción; después cada cambio los mantiene
+     */
+    @Override
+    protected void loaded(BeerColumns columns) {
+        columns.sort();
+    }
+
+    @Override
+    protected void apply(BeerColumns columns, BeerChangedEvent event) {
+        switch (event.type()) {
+            case DELETED -> columns.remove(event.beerId());
+            case PATCHED -> columns.patch(event.beerId(), event.beer());
+            default -> columns.put(event.beer());
+        }
+    }
+
+    /**
+     * IDs de las cervecerías de un país, resueltos en la caché de referencia
+     */
+    private BitSet breweriesIn(String country) {
+        BitSet breweries = new BitSet();
+        for (Brewery brewery : referenceDataCache.breweries().getAll()) {
+            if (brewery.getId() != null && brewery.getId() >= 0 && country.equalsIgnoreCase(brewery.getCountry())) {
+                breweries.set(brewery.getId());
+            }
+        }
+        return breweries;
+    }
+}
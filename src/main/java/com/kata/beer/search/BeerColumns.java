@@ -0,0 +1,297 @@
+package com.kata.beer.search;
+
+import com.kata.beer.dto.BeerFilter;
+import com.kata.beer.model.Beer;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Almacén columnar de los atributos filtrables de las cervezas: un array primitivo por
+ * columna y una posición (slot) por cerveza.
+ * <p>
+ * Para cada columna numérica se mantiene además un orden de slots por valor, empaquetado en
+ * un {@code long[]} (valor ordenable en los 32 bits altos, slot en los bajos), de modo que un
+ * rango se resuelve con dos búsquedas binarias. Cada escritura recoloca en los órdenes solo los
+ * valores que cambian, desplazando las posiciones entre la antigua y la nueva; la carga inicial
+ * ({@link #load}) escribe sin ordenar y {@link #sort()} ordena todo de una vez al final.
+ * <p>
+ * No es thread-safe: {@link BeerColumnIndex} se encarga de la sincronización.
+ */
+final class BeerColumns {
+
+    private static final int NONE = Integer.MIN_VALUE;
+
+    private int size;
+    private int[] ids = new int[16];
+    private float[] abv = new float[16];
+    private float[] ibu = new float[16];
+    private float[] srm = new float[16];
+    private int[] brewery = new int[16];
+    private int[] category = new int[16];
+    private int[] style = new int[16];
+    private final Map<Integer, Integer> slots = new HashMap<>();
+
+    private long[] abvOrder = new long[16];
+    private long[] ibuOrder = new long[16];
+    private long[] srmOrder = new long[16];
+    private boolean sorted = true;
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Añade una cerveza en la carga inicial sin mantener los órdenes: hay que llamar a
+     * {@link #sort()} antes de consultar
+     */
+    void load(Beer beer) {
+        sorted = false;
+        put(beer);
+    }
+
+    void put(Beer beer) {
+        Integer slot = slots.get(beer.getId());
+        if (slot == null) {
+            ensureCapacity(size + 1);
+            slot = size;
+            slots.put(beer.getId(), slot);
+            ids[slot] = beer.getId();
+            abv[slot] = value(beer.getAbv());
+            ibu[slot] = value(beer.getIbu());
+            srm[slot] = value(beer.getSrm());
+            if (sorted) {
+                insert(abvOrder, size, key(abv[slot], slot));
+                insert(ibuOrder, size, key(ibu[slot], slot));
+                insert(srmOrder, size, key(srm[slot], slot));
+            }
+            size++;
+        } else {
+            set(abv, abvOrder, slot, value(beer.getAbv()));
+            set(ibu, ibuOrder, slot, value(beer.getIbu()));
+            set(srm, srmOrder, slot, value(beer.getSrm()));
+        }
+        brewery[slot] = beer.getBrewery() != null && beer.getBrewery().getId() != null ? beer.getBrewery().getId() : NONE;
+        category[slot] = beer.getCategory() != null && beer.getCategory().getId() != null ? beer.getCategory().getId() : NONE;
+        style[slot] = beer.getStyle() != null && beer.getStyle().getId() != null ? beer.getStyle().getId() : NONE;
+    }
+
+    /**
+     * Aplica los campos no nulos de una modificación parcial; si la cerveza no está, no hace nada
+     */
+    void patch(int id, Beer changes) {
+        Integer slot = slots.get(id);
+        if (slot == null) {
+            return;
+        }
+        if (changes.getAbv() != null) {
+            set(abv, abvOrder, slot, changes.getAbv());
+        }
+        if (changes.getIbu() != null) {
+            set(ibu, ibuOrder, slot, changes.getIbu());
+        }
+        if (changes.getSrm() != null) {
+            set(srm, srmOrder, slot, changes.getSrm());
+        }
+        if (changes.getBrewery() != null && changes.getBrewery().getId() != null) {
+            brewery[slot] = changes.getBrewery().getId();
+        }
+        if (changes.getCategory() != null && changes.getCategory().getId() != null) {
+            category[slot] = changes.getCategory().getId();
+        }
+        if (changes.getStyle() != null && changes.getStyle().getId() != null) {
+            style[slot] = changes.getStyle().getId();
+        }
+    }
+
+    /**
+     * Elimina una cerveza moviendo la última posición al hueco que deja
+     */
+    void remove(int id) {
+        Integer slot = slots.remove(id);
+        if (slot == null) {
+            return;
+        }
+        int last = size - 1;
+        if (sorted) {
+            delete(abvOrder, size, key(abv[slot], slot));
+            delete(ibuOrder, size, key(ibu[slot], slot));
+            delete(srmOrder, size, key(srm[slot], slot));
+            if (slot != last) {
+                move(abvOrder, last, key(abv[last], last), key(abv[last], slot));
+                move(ibuOrder, last, key(ibu[last], last), key(ibu[last], slot));
+                move(srmOrder, last, key(srm[last], last), key(srm[last], slot));
+            }
+        }
+        size = last;
+        if (slot != last) {
+            ids[slot] = ids[last];
+            abv[slot] = abv[last];
+            ibu[slot] = ibu[last];
+            srm[slot] = srm[last];
+            brewery[slot] = brewery[last];
+            category[slot] = category[last];
+            style[slot] = style[last];
+            slots.put(ids[slot], slot);
+        }
+    }
+
+    /**
+     * Calcula desde cero el orden por valor de cada columna numérica
+     */
+    void sort() {
+        order(abv, abvOrder);
+        order(ibu, ibuOrder);
+        order(srm, srmOrder);
+        sorted = true;
+    }
+
+    /**
+     * Devuelve, ordenados, los IDs de las cervezas que cumplen el filtro. Cada rango se
+     * convierte en un bitset de slots a partir de su orden y los bitsets se intersectan; las
+     * igualdades se comprueban después solo sobre los slots supervivientes.
+     *
+     * @param breweries cervecerías permitidas por el filtro de país, o {@code null} si no hay
+     */
+    int[] match(BeerFilter filter, BitSet breweries) {
+        if (!sorted) {
+            throw new IllegalStateException("Las columnas deben ordenarse antes de consultar");
+        }
+        BitSet candidates = new BitSet(size);
+        candidates.set(0, size);
+        intersect(candidates, abvOrder, filter.getMinAbv(), filter.getMaxAbv());
+        intersect(candidates, ibuOrder, filter.getMinIbu(), filter.getMaxIbu());
+        intersect(candidates, srmOrder, filter.getMinSrm(), filter.getMaxSrm());
+
+        int breweryId = filter.getBreweryId() != null ? filter.getBreweryId() : NONE;
+        int categoryId = filter.getCategoryId() != null ? filter.getCategoryId() : NONE;
+        int styleId = filter.getStyleId() != null ? filter.getStyleId() : NONE;
+
+        int[] result = new int[candidates.cardinality()];
+        int count = 0;
+        for (int slot = candidates.nextSetBit(0); slot >= 0; slot = candidates.nextSetBit(slot + 1)) {
+            if ((breweryId == NONE || brewery[slot] == breweryId)
+                    && (categoryId == NONE || category[slot] == categoryId)
+                    && (styleId == NONE || style[slot] == styleId)
+                    && (breweries == null || (brewery[slot] >= 0 && breweries.get(brewery[slot])))) {
+                result[count++] = ids[slot];
+            }
+        }
+        int[] matched = Arrays.copyOf(result, count);
+        Arrays.sort(matched);
+        return matched;
+    }
+
+    private void intersect(BitSet candidates, long[] order, Float min, Float max) {
+        if (min == null && max == null) {
+            return;
+        }
+        int from = min == null ? 0 : lowerBound(order, size, (long) sortable(min) << 32);
+        int to = max == null ? size : lowerBound(order, size, ((long) sortable(max) + 1) << 32);
+        BitSet range = new BitSet(size);
+        for (int i = from; i < to; i++) {
+            range.set((int) order[i]);
+        }
+        candidates.and(range);
+    }
+
+    private void order(float[] column, long[] order) {
+        for (int slot = 0; slot < size; slot++) {
+            order[slot] = key(column[slot], slot);
+        }
+        Arrays.sort(order, 0, size);
+    }
+
+    /**
+     * Cambia el valor de una columna numérica y, si los órdenes están al día, lo recoloca en el suyo
+     */
+    private void set(float[] column, long[] order, int slot, float value) {
+        if (sorted) {
+            move(order, size, key(column[slot], slot), key(value, slot));
+        }
+        column[slot] = value;
+    }
+
+    private static long key(float value, int slot) {
+        return ((long) sortable(value) << 32) | slot;
+    }
+
+    /**
+     * Inserta {@code key} en las {@code count} primeras posiciones (ordenadas) de {@code order}
+     */
+    private static void insert(long[] order, int count, long key) {
+        int at = -Arrays.binarySearch(order, 0, count, key) - 1;
+        System.arraycopy(order, at, order, at + 1, count - at);
+        order[at] = key;
+    }
+
+    private static void delete(long[] order, int count, long key) {
+        int at = Arrays.binarySearch(order, 0, count, key);
+        System.arraycopy(order, at + 1, order, at, count - at - 1);
+    }
+
+    /**
+     * Sustituye {@code oldKey} por {@code newKey} desplazando solo las posiciones entre ambas
+     */
+    private static void move(long[] order, int count, long oldKey, long newKey) {
+        if (oldKey == newKey) {
+            return;
+        }
+        int from = Arrays.binarySearch(order, 0, count, oldKey);
+        int to = -Arrays.binarySearch(order, 0, count, newKey) - 1;
+        if (to > from) {
+            System.arraycopy(order, from + 1, order, from, to - from - 1);
+            order[to - 1] = newKey;
+        } else {
+            System.arraycopy(order, to, order, to + 1, from - to);
+            order[to] = newKey;
+        }
+    }
+
+    /**
+     * Primera de las {@code count} primeras posiciones cuyo valor es mayor o igual que {@code key}
+     */
+    private static int lowerBound(long[] order, int count, long key) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (order[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Transforma los bits de un float en un int cuyo orden con signo coincide con el del float
+     */
+    private static int sortable(float value) {
+        int bits = Float.floatToIntBits(value + 0.0f);
+        return bits ^ ((bits >> 31) & 0x7FFFFFFF);
+    }
+
+    private static float value(Float value) {
+        return value != null ? value : 0f;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) {
+            return;
+        }
+        int newLength = Math.max(capacity, ids.length * 2);
+        ids = Arrays.copyOf(ids, newLength);
+        abv = Arrays.copyOf(abv, newLength);
+        ibu = Arrays.copyOf(ibu, newLength);
+        srm = Arrays.copyOf(srm, newLength);
+        brewery = Arrays.copyOf(brewery, newLength);
+        category = Arrays.copyOf(category, newLength);
+        style = Arrays.copyOf(style, newLength);
+        abvOrder = Arrays.copyOf(abvOrder, newLength);
+        ibuOrder = Arrays.copyOf(ibuOrder, newLength);
+        srmOrder = Arrays.copyOf(srmOrder, newLength);
+    }
+}
@@ -0,0 +1,84 @@
+package com.kata.beer.search;
+
+import com.kata.beer.cache.ReferenceDataCache;
+import com.kata.beer.event.BeerChangedEvent;
+import com.kata.beer.model.Beer;
+import com.kata.beer.model.Brewery;
+import com.kata.beer.service.BeerExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Índice de búsqueda de texto completo sobre el nombre, la descripción y la cervecería de
+ * cada cerveza.
+ */
+@Component
+public class BeerSearchIndex extends AbstractBeerIndex<InvertedIndex> {
+
+    static final float NAME_WEIGHT = 3.0f;
+    static final float BREWERY_WEIGHT = 1.5f;
+    static final float DESCRIPTION_WEIGHT = 1.0f;
+
+    private final ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    public BeerSearchIndex(BeerExportService beerExportService, ReferenceDataCache referenceDataCache) {
+        super(beerExportService, "beer-search-index");
+        this.referenceDataCache = referenceDataCache;
+    }
+
+    public int size() {
+        return read(InvertedIndex::size);
+    }
+
+    /**
+     * Devuelve los IDs de una página de resultados por relevancia
+     */
+    public SearchHits search(String query, int offset, int limit) {
+        return read(index -> index.search(query, offset, limit));
+    }
+
+    @Override
+    protected InvertedIndex emptyState() {
+        return new InvertedIndex();
+    }
+
+    @Override
+    protected void add(InvertedIndex index, Beer beer) {
+        index.put(beer.getId(), termWeights(beer));
+    }
+
+    @Override
+    protected void apply(InvertedIndex index, BeerChangedEvent event) {
+        switch (event.type()) {
+            case DELETED -> index.remove(event.beerId());
+            // Una modificación parcial no toca ningún campo indexado
+            case PATCHED -> { }
+            default -> index.put(event.beerId(), termWeights(event.beer()));
+        }
+    }
+
+    private Map<String, Float> termWeights(Beer beer) {
+        Map<String, Float> weights = new HashMap<>();
+        InvertedIndex.addField(weights, beer.getName(), NAME_WEIGHT);
+        InvertedIndex.addField(weights, breweryName(beer), BREWERY_WEIGHT);
+        InvertedIndex.addField(weights, beer.getDescript(), DESCRIPTION_WEIGHT);
+        return weights;
+    }
+
+    /**
+     * En altas y modificaciones la cervecería llega tal como la envió el cliente (normalmente
+     * solo con el ID), así que el nombre se resuelve en la caché de referencia
+     */
+    private String breweryName(Beer beer) {
+        Brewery brewery = beer.getBrewery();
+        if (brewery == null || brewery.getId() == null) {
+            return null;
+        }
+        return referenceDataCache.breweries().get(brewery.getId())
+                .map(Brewery::getName)
+                .orElse(brewery.getName());
+    }
+}
@@ -0,0 +1,288 @@
+package com.kata.beer.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido término → documentos, con listas de postings en arrays primitivos
+ * ordenados por ID de documento.
+ * <p>
+ * No es thread-safe: {@link BeerSearchIndex} se encarga de la sincronización.
+ */
+final class InvertedIndex {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    /** Saturación de la frecuencia del término (como k1 en BM25) */
+    private static final float TF_SATURATION = 1.2f;
+
+    private final Map<String, Postings> terms = new HashMap<>();
+    private final Map<Integer, String[]> documentTerms = new HashMap<>();
+
+    /**
+     * Normaliza un texto a términos: minúsculas, sin tildes y separado por cualquier carácter
+     * que no sea letra o dígito. Se descartan los términos de una sola letra.
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(normalized)) {
+            if (token.length() > 1 || (!token.isEmpty() && Character.isDigit(token.charAt(0)))) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Acumula el peso de los términos de un campo, con la frecuencia saturada
+     * para que un texto largo y repetitivo no domine el ranking
+     */
+    static void addField(Map<String, Float> weights, String text, float fieldWeight) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String token : tokenize(text)) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+        frequencies.forEach((term, tf) -> weights.merge(term,
+                fieldWeight * tf * (TF_SATURATION + 1) / (tf + TF_SATURATION), Float::sum));
+    }
+
+    /**
+     * Añade o reemplaza un documento
+     */
+    void put(int docId, Map<String, Float> termWeights) {
+        remove(docId);
+        String[] docTerms = termWeights.keySet().toArray(String[]::new);
+        for (String term : docTerms) {
+            terms.computeIfAbsent(term, t -> new Postings()).add(docId, termWeights.get(term));
+        }
+        documentTerms.put(docId, docTerms);
+    }
+
+    void remove(int docId) {
+        String[] docTerms = documentTerms.remove(docId);
+        if (docTerms == null) {
+            return;
+        }
+        for (String term : docTerms) {
+            Postings postings = terms.get(term);
+            if (postings != null && postings.remove(docId) && postings.size == 0) {
+                terms.remove(term);
+            }
+        }
+    }
+
+    int size() {
+        return documentTerms.size();
+    }
+
+    /**
+     * Busca los documentos que contienen alguno de los términos. Se ordenan primero por número
+     * de términos de la consulta que contienen y después por puntuación (peso × IDF).
+     */
+    SearchHits search(String query, int offset, int limit) {
+        Set<String> queryTerms = new LinkedHashSet<>(tokenize(query));
+        List<Postings> lists = new ArrayList<>(queryTerms.size());
+        List<Float> idfs = new ArrayList<>(queryTerms.size());
+        int documents = documentTerms.size();
+        for (String term : queryTerms) {
+            Postings postings = terms.get(term);
+            if (postings != null) {
+                lists.add(postings);
+                idfs.add((float) Math.log(1 + (documents - postings.size + 0.5) / (postings.size + 0.5)));
+            }
+        }
+        if (lists.isEmpty()) {
+            return SearchHits.EMPTY;
+        }
+
+        Candidates candidates = merge(lists, idfs);
+        if (offset >= candidates.count) {
+            return new SearchHits(new int[0], candidates.count);
+        }
+        int[] top = candidates.top((int) Math.min((long) offset + limit, candidates.count));
+        int from = offset;
+        int[] ids = new int[top.length - from];
+        for (int i = from; i < top.length; i++) {
+            ids[i - from] = candidates.docs[top[i]];
+        }
+        return new SearchHits(ids, candidates.count);
+    }
+
+    /**
+     * Mezcla las listas de postings (ordenadas por documento) acumulando puntuación y número
+     * de términos coincidentes por documento
+     */
+    private static Candidates merge(List<Postings> lists, List<Float> idfs) {
+        int capacity = 0;
+        for (Postings postings : lists) {
+            capacity += postings.size;
+        }
+        Candidates candidates = new Candidates(capacity);
+        int[] cursors = new int[lists.size()];
+        while (true) {
+            int doc = Integer.MAX_VALUE;
+            for (int i = 0; i < lists.size(); i++) {
+                Postings postings = lists.get(i);
+                if (cursors[i] < postings.size && postings.docs[cursors[i]] < doc) {
+                    doc = postings.docs[cursors[i]];
+                }
+            }
+            if (doc == Integer.MAX_VALUE) {
+                return candidates;
+            }
+            float score = 0;
+            int matched = 0;
+            for (int i = 0; i < lists.size(); i++) {
+                Postings postings = lists.get(i);
+                if (cursors[i] < postings.size && postings.docs[cursors[i]] == doc) {
+                    score += postings.weights[cursors[i]] * idfs.get(i);
+                    matched++;
+                    cursors[i]++;
+                }
+            }
+            candidates.add(doc, matched * 1_000_000.0 + score);
+        }
+    }
+
+    /**
+     * Lista de postings de un término: IDs de documento ordenados y su peso
+     */
+    private static final class Postings {
+        int[] docs = new int[4];
+        float[] weights = new float[4];
+        int size;
+
+        void add(int doc, float weight) {
+            int index = Arrays.binarySearch(docs, 0, size, doc);
+            if (index >= 0) {
+                weights[index] = weight;
+                return;
+            }
+            index = -index - 1;
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            System.arraycopy(docs, index, docs, index + 1, size - index);
+            System.arraycopy(weights, index, weights, index + 1, size - index);
+            docs[index] = doc;
+            weights[index] = weight;
+            size++;
+        }
+
+        boolean remove(int doc) {
+            int index = Arrays.binarySearch(docs, 0, size, doc);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(docs, index + 1, docs, index, size - index - 1);
+            System.arraycopy(weights, index + 1, weights, index, size - index - 1);
+            size--;
+            return true;
+        }
+    }
+
+    /**
+     * Documentos candidatos de una consulta con su puntuación, y selección de los mejores
+     * con un montículo acotado (sin ordenar todos los candidatos)
+     */
+    private static final class Candidates {
+        final int[] docs;
+        final double[] ranks;
+        int count;
+
+        Candidates(int capacity) {
+            docs = new int[capacity];
+            ranks = new double[capacity];
+        }
+
+        void add(int doc, double rank) {
+            docs[count] = doc;
+            ranks[count] = rank;
+            count++;
+        }
+
+        /**
+         * Índices de los {@code k} mejores candidatos, de mejor a peor
+         */
+        int[] top(int k) {
+            int size = Math.min(k, count);
+            int[] heap = new int[size];
+            int heapSize = 0;
+            for (int i = 0; i < count; i++) {
+                if (heapSize < size) {
+                    heap[heapSize] = i;
+                    siftUp(heap, heapSize++);
+                } else if (size > 0 && better(i, heap[0])) {
+                    heap[0] = i;
+                    siftDown(heap, heapSize);
+                }
+            }
+            // Extraer repetidamente el peor lo lleva al final: queda ordenado de mejor a peor
+            for (int end = heapSize - 1; end > 0; end--) {
+                int tmp = heap[0];
+                heap[0] = heap[end];
+                heap[end] = tmp;
+                siftDown(heap, end);
+            }
+            return heap;
+        }
+
+        private boolean better(int a, int b) {
+            if (ranks[a] != ranks[b]) {
+                return ranks[a] > ranks[b];
+            }
+            return docs[a] < docs[b];
+        }
+
+        private void siftUp(int[] heap, int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (!better(heap[parent], heap[index])) {
+                    return;
+                }
+                int tmp = heap[parent];
+                heap[parent] = heap[index];
+                heap[index] = tmp;
+                index = parent;
+            }
+        }
+
+        private void siftDown(int[] heap, int size) {
+            int index = 0;
+            while (true) {
+                int left = 2 * index + 1;
+                if (left >= size) {
+                    return;
+                }
+                int worst = left;
+                int right = left + 1;
+                if (right < size && better(heap[left], heap[right])) {
+                    worst = right;
+                }
+                if (!better(heap[index], heap[worst])) {
+                    return;
+                }
+                int tmp = heap[index];
+                heap[index] = heap[worst];
+                heap[worst] = tmp;
+                index = worst;
+            }
+        }
+    }
+}
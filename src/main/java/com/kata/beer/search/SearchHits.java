@@ -0,0 +1,13 @@
+package com.kata.beer.search;
+
+/**
+ * Resultado de una búsqueda en el índice: IDs de la página pedida, por relevancia,
+ * y número total de documentos que coinciden
+ *
+ * @param ids   IDs de cerveza de la página, de más a menos relevante
+ * @param total número total de coincidencias
+ */
+public record SearchHits(int[] ids, long total) {
+
+    public static final SearchHits EMPTY = new SearchHits(new int[0], 0);
+}
@@ -0,0 +1,144 @@
+package com.kata.beer.service;
+
+import com.kata.beer.dto.BeerChanges;
+import com.kata.beer.dto.CursorPage;
+import com.kata.beer.exception.ChangeTokenExpiredException;
+import com.kata.beer.model.Beer;
+import com.kata.beer.model.BeerDeletion;
+import com.kata.beer.repository.BeerDeletionRepository;
+import com.kata.beer.repository.BeerRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Feed de cambios del catálogo para quien lo replica: en lugar de descargar todas las cervezas
+ * en cada sondeo, el cliente pide las modificadas y borradas desde su último token.
+ * <p>
+ * Las cervezas modificadas salen de {@code last_mod} y las borradas de las marcas de
+ * {@code beer_deletions}, cada una con su propio cursor (instante, ID) dentro del token. Solo se
+ * devuelven cambios de hace al menos {@code settleWindow}: {@code last_mod} se asigna al
+ * escribir y la transacción se confirma después, así que un cambio más reciente podría hacerse
+ * visible con un instante que el cursor ya ha dejado atrás.
+ */
+@Service
+@Transactional(readOnly = true)
+public class BeerChangesService {
+
+    /** Anterior a cualquier {@code last_mod} (es el mínimo de DATETIME en MySQL) */
+    static final LocalDateTime ORIGIN = LocalDateTime.of(1000, 1, 1, 0, 0);
+
+    private final BeerRepository beerRepository;
+    private final BeerDeletionRepository beerDeletionRepository;
+    private final Duration settleWindow;
+    private final Duration tombstoneRetention;
+
+    @Autowired
+    public BeerChangesService(BeerRepository beerRepository,
+                              BeerDeletionRepository beerDeletionRepository,
+                              @Value("${beer.changes.settle-window:PT5S}") Duration settleWindow,
+                              @Value("${beer.changes.tombstone-retention:P30D}") Duration tombstoneRetention) {
+        this.beerRepository = beerRepository;
+        this.beerDeletionRepository = beerDeletionRepository;
+        this.settleWindow = settleWindow;
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    /**
+     * Cambios posteriores al token {@code since}. Sin token devuelve el catálogo completo (por
+     * páginas) y ningún borrado: es la sincronización inicial.
+     *
+     * @param limit máximo de cervezas modificadas y, por separado, de borrados por respuesta
+     * @throws ChangeTokenExpiredException si las marcas de borrado posteriores al token ya se
+     *                                     han purgado
+     */
+    public BeerChanges getChanges(String since, int limit) {
+        CursorPage.checkLimit(limit);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.minus(settleWindow);
+        Token token = since == null ? new Token(ORIGIN, 0, until, Long.MAX_VALUE) : Token.decode(since);
+        if (token.deletionsAfter().isBefore(now.minus(tombstoneRetention))) {
+            throw new ChangeTokenExpiredException(
+                    "El token de cambios ha caducado: vuelve a sincronizar sin 'since'");
+        }
+
+        List<Beer> changed = beerRepository.findModifiedAfter(
+                token.beersAfter(), token.beerId(), until, Limit.of(limit + 1));
+        List<BeerDeletion> deletions = beerDeletionRepository.findDeletedAfter(
+                token.deletionsAfter(), token.deletionId(), until, Limit.of(limit + 1));
+
+        boolean hasMore = changed.size() > limit || deletions.size() > limit;
+        LocalDateTime beersAfter = token.beersAfter();
+        int beerId = token.beerId();
+        if (changed.size() > limit) {
+            changed = changed.subList(0, limit);
+            Beer last = changed.get(limit - 1);
+            beersAfter = last.getLastMod();
+            beerId = last.getId();
+        } else if (until.isAfter(beersAfter)) {
+            beersAfter = until;
+            beerId = Integer.MAX_VALUE;
+        }
+        LocalDateTime deletionsAfter = token.deletionsAfter();
+        long deletionId = token.deletionId();
+        if (deletions.size() > limit) {
+            deletions = deletions.subList(0, limit);
+            BeerDeletion last = deletions.get(limit - 1);
+            deletionsAfter = last.getDeletedAt();
+            deletionId = last.getId();
+        } else if (until.isAfter(deletionsAfter)) {
+            deletionsAfter = until;
+            deletionId = Long.MAX_VALUE;
+        }
+
+        return new BeerChanges(changed,
+                deletions.stream().map(BeerDeletion::getBeerId).toList(),
+                new Token(beersAfter, beerId, deletionsAfter, deletionId).encode(),
+                hasMore);
+    }
+
+    /**
+     * Purga las marcas de borrado que han superado la retención
+     *
+     * @return marcas purgadas
+     */
+    @Transactional
+    public int purgeDeletions() {
+        return beerDeletionRepository.deleteOlderThan(LocalDateTime.now().minus(tombstoneRetention));
+    }
+
+    /**
+     * Posición del cliente en el feed: último cambio entregado de cada tabla
+     */
+    private record Token(LocalDateTime beersAfter, int beerId, LocalDateTime deletionsAfter, long deletionId) {
+
+        private static final String VERSION = "1";
+
+        String encode() {
+            String raw = String.join("|", VERSION, beersAfter.toString(), Integer.toString(beerId),
+                    deletionsAfter.toString(), Long.toString(deletionId));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Token decode(String token) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|");
+                if (parts.length != 5 || !parts[0].equals(VERSION)) {
+                    throw new IllegalArgumentException("Token de cambios inválido");
+                }
+                return new Token(LocalDateTime.parse(parts[1]), Integer.parseInt(parts[2]),
+                        LocalDateTime.parse(parts[3]), Long.parseLong(parts[4]));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                throw new IllegalArgumentException("Token de cambios inválido");
+            }
+        }
+    }
+}
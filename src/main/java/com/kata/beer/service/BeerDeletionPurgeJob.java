@@ -0,0 +1,32 @@
+package com.kata.beer.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Purga periódicamente las marcas de borrado del feed de cambios que han superado la retención
+ */
+@Component
+public class BeerDeletionPurgeJob {
+
+    private static final Logger log = LoggerFactory.getLogger(BeerDeletionPurgeJob.class);
+
+    private final BeerChangesService beerChangesService;
+
+    @Autowired
+    public BeerDeletionPurgeJob(BeerChangesService beerChangesService) {
+        this.beerChangesService = beerChangesService;
+    }
+
+    @Scheduled(initialDelayString = "${beer.changes.purge-interval:PT1H}",
+            fixedDelayString = "${beer.changes.purge-interval:PT1H}")
+    public void run() {
+        int purged = beerChangesService.purgeDeletions();
+        if (purged > 0) {
+            log.info("Purgadas {} marcas de borrado del feed de cambios", purged);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.kata.beer.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kata.beer.model.Beer;
+import com.kata.beer.repository.BeerRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Recorrido completo del catálogo de cervezas en streaming, con memoria constante
+ * independientemente del tamaño de la tabla.
+ */
+@Service
+@Transactional(readOnly = true)
+public class BeerExportService {
+
+    private static final int FLUSH_EVERY = 500;
+
+    /**
+     * Igual al fetch size de {@link BeerRepository#streamAll()}: se vacía el contexto de
+     * persistencia una vez por cada bloque leído del cursor
+     */
+    static final int CLEAR_EVERY = 1000;
+
+    private final BeerRepository beerRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public BeerExportService(BeerRepository beerRepository,
+                             EntityManager entityManager,
+                             ObjectMapper objectMapper) {
+        this.beerRepository = beerRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Aplica la acción a cada cerveza según llega del cursor. Cada {@link #CLEAR_EVERY} filas se
+     * vacía el contexto de persistencia, para que ni las cervezas ni sus cerveceras, categorías
+     * y estilos se acumulen en memoria. La acción no debe guardar referencias a entidades
+     * gestionadas esperando que sigan enlazadas a la sesión.
+     */
+    public long forEachBeer(Consumer<Beer> action) {
+        long count = 0;
+        try (Stream<Beer> beers = beerRepository.streamAll()) {
+            for (Beer beer : (Iterable<Beer>) beers::iterator) {
+                action.accept(beer);
+                if (++count % CLEAR_EVERY == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Escribe todas las cervezas como NDJSON (un objeto JSON por línea).
+     * No cierra el stream de salida.
+     */
+    public long exportNdjson(OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            long[] written = {0};
+            forEachBeer(beer -> {
+                try {
+                    generator.writeObject(beer);
+                    generator.writeRaw('\n');
+                    if (++written[0] % FLUSH_EVERY == 0) {
+                        generator.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.flush();
+            return written[0];
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
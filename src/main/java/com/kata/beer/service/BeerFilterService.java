@@ -0,0 +1,119 @@
+package com.kata.beer.service;
+
+import com.kata.beer.dto.BeerFilter;
+import com.kata.beer.dto.CursorPage;
+import com.kata.beer.dto.FieldSet;
+import com.kata.beer.model.Beer;
+import com.kata.beer.repository.BeerRepository;
+import com.kata.beer.repository.BeerSpecifications;
+import com.kata.beer.repository.FieldProjectionRepository;
+import com.kata.beer.search.BeerColumnIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional(readOnly = true)
+public class BeerFilterService {
+
+    private final BeerColumnIndex beerColumnIndex;
+    private final BeerRepository beerRepository;
+    private final FieldProjectionRepository fieldProjectionRepository;
+
+    @Autowired
+    public BeerFilterService(BeerColumnIndex beerColumnIndex, BeerRepository beerRepository,
+                             FieldProjectionRepository fieldProjectionRepository) {
+        this.beerColumnIndex = beerColumnIndex;
+        this.beerRepository = beerRepository;
+        this.fieldProjectionRepository = fieldProjectionRepository;
+    }
+
+    /**
+     * Filtra cervezas por cualquier combinación de criterios, paginando por cursor sobre el ID.
+     * Se responde desde el índice columnar y, mientras se construye, con una consulta JPA.
+     */
+    public CursorPage<Beer> filterBeers(BeerFilter filter, Integer after, int limit) {
+        filter.validate();
+        CursorPage.checkLimit(limit);
+        if (beerColumnIndex.isReady()) {
+            return filterWithIndex(filter, after, limit);
+        }
+        return filterWithSpecification(filter, after, limit);
+    }
+
+    /**
+     * Como {@link #filterBeers(BeerFilter, Integer, int)}, pero leyendo de la base de datos solo
+     * los campos indicados
+     */
+    public CursorPage<Map<String, Object>> filterBeers(BeerFilter filter, Integer after, int limit, FieldSet fields) {
+        filter.validate();
+        CursorPage.checkLimit(limit);
+        List<Map<String, Object>> fetched;
+        if (beerColumnIndex.isReady()) {
+            int[] ids = pageIds(filter, after, limit);
+            fetched = ids.length == 0 ? List.of() : fieldProjectionRepository.find(Beer.class, fields,
+                    FieldProjectionRepository.idIn(Arrays.stream(ids).boxed().toList()), Limit.unlimited());
+        } else {
+            fetched = fieldProjectionRepository.find(Beer.class, fields,
+                    BeerSpecifications.matching(filter).and(BeerSpecifications.idGreaterThan(CursorPage.startAfter(after))),
+                    Limit.of(limit + 1));
+        }
+        return CursorPage.of(fetched, limit, row -> (Integer) row.get("id"));
+    }
+
+    /**
+     * Resuelve el filtro en el índice columnar y carga solo las cervezas de la página
+     */
+    public CursorPage<Beer> filterWithIndex(BeerFilter filter, Integer after, int limit) {
+        return CursorPage.of(loadInOrder(pageIds(filter, after, limit)), limit, Beer::getId);
+    }
+
+    /**
+     * IDs de la página (más uno, para saber si hay otra) según el índice columnar, en orden
+     */
+    private int[] pageIds(BeerFilter filter, Integer after, int limit) {
+        int[] ids = beerColumnIndex.match(filter);
+        int start = CursorPage.startAfter(after);
+        int from = Arrays.binarySearch(ids, start);
+        from = from >= 0 ? from + 1 : -from - 1;
+        int to = Math.min(ids.length, from + limit + 1);
+        return Arrays.copyOfRange(ids, from, to);
+    }
+
+    /**
+     * Resuelve el filtro en base de datos con una única consulta (WHERE + ORDER BY id + LIMIT)
+     */
+    public CursorPage<Beer> filterWithSpecification(BeerFilter filter, Integer after, int limit) {
+        List<Beer> fetched = beerRepository.findBy(
+                BeerSpecifications.matching(filter).and(BeerSpecifications.idGreaterThan(CursorPage.startAfter(after))),
+                query -> query.sortBy(Sort.by("id"))
+                        .limit(limit + 1)
+                        .project("brewery", "category", "style")
+                        .all());
+        return CursorPage.of(fetched, limit, Beer::getId);
+    }
+
+    private List<Beer> loadInOrder(int[] ids) {
+        if (ids.length == 0) {
+            return List.of();
+        }
+        Map<Integer, Beer> byId = beerRepository.findWithRelationsByIdIn(Arrays.stream(ids).boxed().toList()).stream()
+                .collect(Collectors.toMap(Beer::getId, Function.identity()));
+        List<Beer> beers = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            Beer beer = byId.get(id);
+            if (beer != null) {
+                beers.add(beer);
+            }
+        }
+        return beers;
+    }
+}
@@ -0,0 +1,80 @@
+package com.kata.beer.service;
+
+import com.kata.beer.dto.SearchPage;
+import com.kata.beer.model.Beer;
+import com.kata.beer.repository.BeerRepository;
+import com.kata.beer.search.BeerSearchIndex;
+import com.kata.beer.search.SearchHits;
+import com.kata.beer.singleflight.SingleFlight;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional(readOnly = true)
+public class BeerSearchService {
+
+    private final BeerSearchIndex beerSearchIndex;
+    private final BeerRepository beerRepository;
+
+    @Autowired
+    public BeerSearchService(BeerSearchIndex beerSearchIndex, BeerRepository beerRepository) {
+        this.beerSearchIndex = beerSearchIndex;
+        this.beerRepository = beerRepository;
+    }
+
+    /**
+     * Busca cervezas por nombre, descripción y cervecería, ordenadas por relevancia.
+     * Mientras el índice se está construyendo se recurre a la búsqueda por nombre en base de datos.
+     */
+    @SingleFlight
+    public SearchPage<Beer> searchBeers(String query, int page, int size) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("El parámetro q no puede estar vacío");
+        }
+        if (page < 0) {
+            throw new IllegalArgumentException("El parámetro page debe ser mayor o igual a 0");
+        }
+        if (size < 1 || size > SearchPage.MAX_SIZE) {
+            throw new IllegalArgumentException(
+                    "El parámetro size debe estar entre 1 y " + SearchPage.MAX_SIZE);
+        }
+
+        if (!beerSearchIndex.isReady()) {
+            return searchByName(query, page, size);
+        }
+        // Más allá de Integer.MAX_VALUE no hay resultados: se recorta para no desbordar el offset
+        int offset = (int) Math.min((long) page * size, Integer.MAX_VALUE - size);
+        SearchHits hits = beerSearchIndex.search(query, offset, size);
+        return new SearchPage<>(query, hits.total(), page, size, loadInOrder(hits.ids()));
+    }
+
+    private SearchPage<Beer> searchByName(String query, int page, int size) {
+        List<Beer> matches = beerRepository.findByNameContainingIgnoreCase(query.trim());
+        int from = (int) Math.min((long) page * size, matches.size());
+        int to = Math.min(from + size, matches.size());
+        return new SearchPage<>(query, matches.size(), page, size, new ArrayList<>(matches.subList(from, to)));
+    }
+
+    private List<Beer> loadInOrder(int[] ids) {
+        if (ids.length == 0) {
+            return List.of();
+        }
+        Map<Integer, Beer> byId = beerRepository.findAllById(Arrays.stream(ids).boxed().toList()).stream()
+                .collect(Collectors.toMap(Beer::getId, Function.identity()));
+        List<Beer> beers = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            Beer beer = byId.get(id);
+            if (beer != null) {
+                beers.add(beer);
+            }
+        }
+        return beers;
+    }
+}
@@ -1,47 +1,121 @@
 package com.kata.beer.service;
 
+import com.kata.beer.cache.ReferenceDataCache;
+import com.kata.beer.cache.ReferenceTable;
+import com.kata.beer.dto.BatchCreateResult;
+import com.kata.beer.dto.BatchItemResult;
+import com.kata.beer.dto.BeerDescription;
+import com.kata.beer.dto.BeerFilter;
+import com.kata.beer.dto.CursorPage;
+import com.kata.beer.dto.FieldSet;
+import com.kata.beer.dto.ResourceVersion;
+import com.kata.beer.event.BeerChangedEvent;
+import com.kata.beer.exception.PreconditionFailedException;
 import com.kata.beer.exception.ResourceNotFoundException;
 import com.kata.beer.model.Beer;
+import com.kata.beer.model.Brewery;
+import com.kata.beer.model.Category;
+import com.kata.beer.model.Style;
+import com.kata.beer.repository.BeerBatchRepository;
+import com.kata.beer.repository.BeerBulkRepository;
+import com.kata.beer.repository.BeerPatchRepository;
 import com.kata.beer.repository.BeerRepository;
+import com.kata.beer.repository.BeerVersion;
 import com.kata.beer.repository.BreweryRepository;
 import com.kata.beer.repository.CategoryRepository;
+import com.kata.beer.repository.FieldProjectionRepository;
+import com.kata.beer.repository.RelationCounts;
 import com.kata.beer.repository.StyleRepository;
+import com.kata.beer.singleflight.SingleFlight;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
+@Timed("service.method")
 public class BeerService {
 
+    public static final int MAX_BATCH_SIZE = 5000;
+
     private final BeerRepository beerRepository;
     private final BreweryRepository breweryRepository;
     private final CategoryRepository categoryRepository;
     private final StyleRepository styleRepository;
+    private final BeerBatchRepository beerBatchRepository;
+    private final BeerPatchRepository beerPatchRepository;
+    private final BeerBulkRepository beerBulkRepository;
+    private final FieldProjectionRepository fieldProjectionRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
     public BeerService(BeerRepository beerRepository,
                       BreweryRepository breweryRepository,
                       CategoryRepository categoryRepository,
-                      StyleRepository styleRepository) {
+                      StyleRepository styleRepository,
+                      BeerBatchRepository beerBatchRepository,
+                      BeerPatchRepository beerPatchRepository,
+                      BeerBulkRepository beerBulkRepository,
+                      FieldProjectionRepository fieldProjectionRepository,
+                      ReferenceDataCache referenceDataCache,
+                      Validator validator,
+                      ApplicationEventPublisher eventPublisher) {
         this.beerRepository = beerRepository;
         this.breweryRepository = breweryRepository;
         this.categoryRepository = categoryRepository;
         this.styleRepository = styleRepository;
+        this.beerBatchRepository = beerBatchRepository;
+        this.beerPatchRepository = beerPatchRepository;
+        this.beerBulkRepository = beerBulkRepository;
+        this.fieldProjectionRepository = fieldProjectionRepository;
+        this.referenceDataCache = referenceDataCache;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
      * Obtiene todas las cervezas
      */
+    @SingleFlight
     @Transactional(readOnly = true)
     public List<Beer> getAllBeers() {
         return beerRepository.findAll();
     }
 
+    /**
+     * Obtiene una página de cervezas ordenada por ID, a partir del cursor {@code after}
+     */
+    @SingleFlight
+    @Transactional(readOnly = true)
+    public CursorPage<Beer> getBeersPage(Integer after, int limit) {
+        CursorPage.checkLimit(limit);
+        List<Beer> fetched = beerRepository.findByIdGreaterThanOrderByIdAsc(
+                CursorPage.startAfter(after), Limit.of(limit + 1));
+        return CursorPage.of(fetched, limit, Beer::getId);
+    }
+
     /**
      * Obtiene una cerveza por su ID
      */
+    @SingleFlight
     @Transactional(readOnly = true)
     public Beer getBeerById(Integer id) {
         return beerRepository.findById(id)
@@ -49,12 +123,117 @@ public class BeerService {
                         "Cerveza no encontrada con id: " + id));
     }
 
+    /**
+     * Obtiene una cerveza por su ID incluida la descripción, que {@link #getBeerById} no lee
+     */
+    @SingleFlight
+    @Transactional(readOnly = true)
+    public Beer getBeerWithDescription(Integer id) {
+        return beerRepository.findWithDescriptionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Cerveza no encontrada con id: " + id));
+    }
+
+    /**
+     * Obtiene solo la descripción de una cerveza
+     */
+    @SingleFlight
+    @Transactional(readOnly = true)
+    public BeerDescription getBeerDescription(Integer id) {
+        return beerRepository.findDescriptById(id)
+                .map(descript -> new BeerDescription(id, descript))
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Cerveza no encontrada con id: " + id));
+    }
+
+    /**
+     * Obtiene todas las cervezas con solo los campos indicados
+     */
+    @SingleFlight
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllBeers(FieldSet fields) {
+        return fieldProjectionRepository.find(Beer.class, fields, null, Limit.unlimited());
+    }
+
+    /**
+     * Obtiene una página de cervezas con solo los campos indicados
+     */
+    @SingleFlight
+    @Transactional(readOnly = true)
+    public CursorPage<Map<String, Object>> getBeersPage(Integer after, int limit, FieldSet fields) {
+        CursorPage.checkLimit(limit);
+        List<Map<String, Object>> fetched = fieldProjectionRepository.find(Beer.class, fields,
+                FieldProjectionRepository.idGreaterThan(CursorPage.startAfter(after)), Limit.of(limit + 1));
+        return CursorPage.of(fetched, limit, row -> (Integer) row.get("id"));
+    }
+
+    /**
+     * Obtiene una cerveza por su ID con solo los campos indicados
+     */
+    @SingleFlight
+    @Transactional(readOnly = true)
+    public Map<String, Object> getBeerById(Integer id, FieldSet fields) {
+        return fieldProjectionRepository.find(Beer.class, fields, FieldProjectionRepository.idIn(List.of(id)), Limit.of(1))
+                .stream()
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Cerveza no encontrada con id: " + id));
+    }
+
     /**
      * Crea una nueva cerveza
      */
     public Beer createBeer(Beer beer) {
         validateBeerRelationships(beer);
-        return beerRepository.save(beer);
+        Beer saved = beerRepository.save(beer);
+        eventPublisher.publishEvent(BeerChangedEvent.created(saved));
+        return saved;
+    }
+
+    /**
+     * Crea varias cervezas en una sola transacción. Cada elemento se valida por separado y
+     * los inválidos se rechazan sin impedir el alta del resto; las relaciones se comprueban
+     * con una consulta por tabla para todo el lote y las filas válidas se insertan con
+     * batching JDBC.
+     */
+    public BatchCreateResult createBeers(List<Beer> beers) {
+        if (beers == null || beers.isEmpty()) {
+            throw new IllegalArgumentException("El lote de cervezas no puede estar vacío");
+        }
+        if (beers.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException(
+                    "El lote no puede superar " + MAX_BATCH_SIZE + " cervezas");
+        }
+
+        Set<Integer> breweryIds = existingIds(relationIds(beers, Beer::getBrewery, Brewery::getId),
+                referenceDataCache.breweries(), breweryRepository::findExistingIds);
+        Set<Integer> categoryIds = existingIds(relationIds(beers, Beer::getCategory, Category::getId),
+                referenceDataCache.categories(), categoryRepository::findExistingIds);
+        Set<Integer> styleIds = existingIds(relationIds(beers, Beer::getStyle, Style::getId),
+                referenceDataCache.styles(), styleRepository::findExistingIds);
+
+        BatchItemResult[] results = new BatchItemResult[beers.size()];
+        List<Beer> valid = new ArrayList<>(beers.size());
+        List<Integer> validIndexes = new ArrayList<>(beers.size());
+        for (int i = 0; i < beers.size(); i++) {
+            Beer beer = beers.get(i);
+            String error = validateBatchItem(beer, breweryIds, categoryIds, styleIds);
+            if (error != null) {
+                results[i] = BatchItemResult.rejected(i, error);
+            } else {
+                valid.add(beer);
+                validIndexes.add(i);
+            }
+        }
+
+        if (!valid.isEmpty()) {
+            beerBatchRepository.insertAll(valid);
+            valid.forEach(beer -> eventPublisher.publishEvent(BeerChangedEvent.created(beer)));
+        }
+        for (int i = 0; i < valid.size(); i++) {
+            int index = validIndexes.get(i);
+            results[index] = BatchItemResult.created(index, valid.get(i).getId());
+        }
+        return new BatchCreateResult(valid.size(), beers.size() - valid.size(), List.of(results));
     }
 
     /**
@@ -76,67 +255,177 @@ public class BeerService {
         beer.setFilepath(beerDetails.getFilepath());
         beer.setDescript(beerDetails.getDescript());
 
-        return beerRepository.save(beer);
+        Beer saved = beerRepository.save(beer);
+        eventPublisher.publishEvent(BeerChangedEvent.updated(saved));
+        return saved;
     }
 
     /**
-     * Actualiza parcialmente una cerveza existente
+     * Actualiza parcialmente una cerveza existente y la devuelve completa: un UPDATE de los
+     * campos recibidos (los nulos no cambian) y la lectura de la cerveza resultante
+     *
+     * @param ifMatch cabecera If-Match, o {@code null} para actualizar sin condición
      */
-    public Beer partialUpdateBeer(Integer id, Beer beerDetails) {
-        Beer beer = getBeerById(id);
+    public Beer partialUpdateBeer(Integer id, Beer beerDetails, String ifMatch) {
+        patch(id, beerDetails, ifMatch);
+        Beer saved = getBeerWithDescription(id);
+        eventPublisher.publishEvent(BeerChangedEvent.updated(saved));
+        return saved;
+    }
 
-        if (beerDetails.getName() != null) {
-            beer.setName(beerDetails.getName());
+    /**
+     * Actualiza parcialmente una cerveza sin devolverla. Si no cambia el nombre, la cervecería
+     * ni la descripción (lo que necesita el índice de búsqueda), basta con un único UPDATE y
+     * los demás índices aplican el cambio sobre su propio estado.
+     *
+     * @param ifMatch cabecera If-Match, o {@code null} para actualizar sin condición
+     */
+    public void patchBeer(Integer id, Beer beerDetails, String ifMatch) {
+        patch(id, beerDetails, ifMatch);
+        if (beerDetails.getName() != null || beerDetails.getBrewery() != null || beerDetails.getDescript() != null) {
+            eventPublisher.publishEvent(BeerChangedEvent.updated(getBeerWithDescription(id)));
+        } else {
+            eventPublisher.publishEvent(BeerChangedEvent.patched(id, beerDetails));
         }
+    }
 
-        if (beerDetails.getBrewery() != null) {
-            validateBreweryExists(beerDetails.getBrewery().getId());
-            beer.setBrewery(beerDetails.getBrewery());
+    /**
+     * Valida los campos recibidos y las relaciones (en memoria) y escribe solo esas columnas.
+     * Con If-Match se lee antes la versión de la cerveza y el UPDATE exige que la fila no haya
+     * cambiado desde esa lectura.
+     */
+    private void patch(Integer id, Beer beerDetails, String ifMatch) {
+        validatePatch(beerDetails);
+        validateRelationsExist(
+                relationId(beerDetails.getBrewery(), Brewery::getId, "La cerveza debe tener una cervecería asociada"),
+                relationId(beerDetails.getCategory(), Category::getId, "La cerveza debe tener una categoría asociada"),
+                relationId(beerDetails.getStyle(), Style::getId, "La cerveza debe tener un estilo asociado"));
+
+        Long expectedVersion = null;
+        if (ifMatch != null) {
+            BeerVersion version = beerRepository.findVersionById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Cerveza no encontrada con id: " + id));
+            if (!ResourceVersion.matchesKey(ifMatch, ResourceVersionService.beerKey(id, version.getVersion()))) {
+                throw new PreconditionFailedException("La cerveza " + id + " no coincide con la versión de If-Match");
+            }
+            expectedVersion = version.getVersion();
         }
 
-        if (beerDetails.getCategory() != null) {
-            validateCategoryExists(beerDetails.getCategory().getId());
-            beer.setCategory(beerDetails.getCategory());
+        if (beerPatchRepository.patch(id, beerDetails, expectedVersion) == 0) {
+            if (expectedVersion != null && beerRepository.existsById(id)) {
+                throw new PreconditionFailedException("La cerveza " + id + " ha cambiado durante la actualización");
+            }
+            throw new ResourceNotFoundException("Cerveza no encontrada con id: " + id);
         }
+    }
 
-        if (beerDetails.getStyle() != null) {
-            validateStyleExists(beerDetails.getStyle().getId());
-            beer.setStyle(beerDetails.getStyle());
+    /**
+     * Valida con las restricciones de {@link Beer} solo los campos presentes en la petición
+     */
+    private void validatePatch(Beer beerDetails) {
+        Map<String, String> errors = new TreeMap<>();
+        for (ConstraintViolation<Beer> violation : validator.validate(beerDetails)) {
+            if (violation.getInvalidValue() != null) {
+                errors.put(violation.getPropertyPath().toString(), violation.getMessage());
+            }
         }
-
-        if (beerDetails.getAbv() != null) {
-            beer.setAbv(beerDetails.getAbv());
+        if (!errors.isEmpty()) {
+            throw new IllegalArgumentException("Error de validación: " + errors);
         }
+    }
 
-        if (beerDetails.getIbu() != null) {
-            beer.setIbu(beerDetails.getIbu());
+    /**
+     * Elimina una cerveza con un único DELETE, sin cargarla antes
+     */
+    public void deleteBeer(Integer id) {
+        if (beerBulkRepository.deleteByIds(List.of(id)) == 0) {
+            throw new ResourceNotFoundException("Cerveza no encontrada con id: " + id);
         }
+        eventPublisher.publishEvent(BeerChangedEvent.deleted(id));
+    }
 
-        if (beerDetails.getSrm() != null) {
-            beer.setSrm(beerDetails.getSrm());
+    /**
+     * Elimina las cervezas con esos IDs en un único DELETE; los que no existen se ignoran. Antes
+     * se leen (y bloquean) los que existen, para notificar solo el borrado de esos.
+     *
+     * @return cervezas eliminadas
+     */
+    public int deleteBeers(List<Integer> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("La lista de IDs no puede estar vacía");
         }
-
-        if (beerDetails.getUpc() != null) {
-            beer.setUpc(beerDetails.getUpc());
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("No se pueden eliminar más de " + MAX_BATCH_SIZE + " cervezas por ID");
         }
-
-        if (beerDetails.getFilepath() != null) {
-            beer.setFilepath(beerDetails.getFilepath());
+        Set<Integer> distinct = ids.stream().filter(Objects::nonNull).collect(Collectors.toCollection(TreeSet::new));
+        List<Integer> existing = beerBulkRepository.lockExistingIds(distinct);
+        if (existing.isEmpty()) {
+            return 0;
         }
+        int deleted = beerBulkRepository.deleteByIds(existing);
+        existing.forEach(id -> eventPublisher.publishEvent(BeerChangedEvent.deleted(id)));
+        return deleted;
+    }
 
-        if (beerDetails.getDescript() != null) {
-            beer.setDescript(beerDetails.getDescript());
+    /**
+     * Elimina todas las cervezas que cumplen el filtro. Se leen (y bloquean) antes sus IDs y el
+     * borrado se hace sobre esa lista, así que los eventos coinciden con las filas borradas.
+     *
+     * @return cervezas eliminadas
+     */
+    public int deleteMatchingBeers(BeerFilter filter) {
+        checkBulkFilter(filter);
+        List<Integer> ids = beerBulkRepository.lockMatchingIds(filter);
+        if (ids.isEmpty()) {
+            return 0;
         }
-
-        return beerRepository.save(beer);
+        int deleted = beerBulkRepository.deleteByIds(ids);
+        ids.forEach(id -> eventPublisher.publishEvent(BeerChangedEvent.deleted(id)));
+        return deleted;
     }
 
     /**
-     * Elimina una cerveza
+     * Asigna los campos no nulos de {@code changes} a todas las cervezas que cumplen el filtro,
+     * con UPDATE sobre la lista de IDs leída (y bloqueada) antes. El nombre y la descripción no se pueden asignar en bloque. Si cambia
+     * la cervecería se releen las cervezas afectadas para el índice de búsqueda.
+     *
+     * @return cervezas modificadas
      */
-    public void deleteBeer(Integer id) {
-        Beer beer = getBeerById(id);
-        beerRepository.delete(beer);
+    public int updateMatchingBeers(BeerFilter filter, Beer changes) {
+        checkBulkFilter(filter);
+        if (changes == null) {
+            throw new IllegalArgumentException("No hay ningún campo que asignar");
+        }
+        if (changes.getName() != null || changes.getDescript() != null) {
+            throw new IllegalArgumentException("El nombre y la descripción no se pueden asignar en bloque");
+        }
+        validatePatch(changes);
+        validateRelationsExist(
+                relationId(changes.getBrewery(), Brewery::getId, "La cerveza debe tener una cervecería asociada"),
+                relationId(changes.getCategory(), Category::getId, "La cerveza debe tener una categoría asociada"),
+                relationId(changes.getStyle(), Style::getId, "La cerveza debe tener un estilo asociado"));
+
+        List<Integer> ids = beerBulkRepository.lockMatchingIds(filter);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int updated = beerBulkRepository.updateByIds(ids, changes);
+        if (changes.getBrewery() != null) {
+            for (int from = 0; from < ids.size(); from += MAX_BATCH_SIZE) {
+                beerRepository.findWithDescriptionByIdIn(ids.subList(from, Math.min(from + MAX_BATCH_SIZE, ids.size())))
+                        .forEach(beer -> eventPublisher.publishEvent(BeerChangedEvent.updated(beer)));
+            }
+        } else {
+            ids.forEach(id -> eventPublisher.publishEvent(BeerChangedEvent.patched(id, changes)));
+        }
+        return updated;
+    }
+
+    private static void checkBulkFilter(BeerFilter filter) {
+        if (filter == null || filter.isEmpty()) {
+            throw new IllegalArgumentException("La operación masiva necesita al menos un criterio de filtrado");
+        }
+        filter.validate();
     }
 
     /**
@@ -155,27 +444,117 @@ public class BeerService {
             throw new IllegalArgumentException("La cerveza debe tener un estilo asociado");
         }
 
-        validateBreweryExists(beer.getBrewery().getId());
-        validateCategoryExists(beer.getCategory().getId());
-        validateStyleExists(beer.getStyle().getId());
+        validateRelationsExist(beer.getBrewery().getId(), beer.getCategory().getId(), beer.getStyle().getId());
     }
 
-    private void validateBreweryExists(Integer breweryId) {
-        breweryRepository.findById(breweryId)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "Cervecería no encontrada con id: " + breweryId));
+    /**
+     * Comprueba que existan las relaciones indicadas (las nulas no se comprueban). Se consultan
+     * primero los índices de IDs en memoria y, solo si alguna no aparece (alta reciente o hecha
+     * por otra instancia), una única consulta a la base de datos para las tres.
+     */
+    private void validateRelationsExist(Integer breweryId, Integer categoryId, Integer styleId) {
+        boolean breweryIndexed = breweryId == null || referenceDataCache.breweries().containsId(breweryId);
+        boolean categoryIndexed = categoryId == null || referenceDataCache.categories().containsId(categoryId);
+        boolean styleIndexed = styleId == null || referenceDataCache.styles().containsId(styleId);
+        if (breweryIndexed && categoryIndexed && styleIndexed) {
+            return;
+        }
+
+        RelationCounts counts = beerRepository.countRelations(
+                breweryIndexed ? null : breweryId,
+                categoryIndexed ? null : categoryId,
+                styleIndexed ? null : styleId);
+        confirmExists(breweryIndexed, counts.getBreweries(), breweryId, referenceDataCache.breweries(),
+                "Cervecería no encontrada con id: ");
+        confirmExists(categoryIndexed, counts.getCategories(), categoryId, referenceDataCache.categories(),
+                "Categoría no encontrada con id: ");
+        confirmExists(styleIndexed, counts.getStyles(), styleId, referenceDataCache.styles(),
+                "Estilo no encontrado con id: ");
     }
 
-    private void validateCategoryExists(Integer categoryId) {
-        categoryRepository.findById(categoryId)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "Categoría no encontrada con id: " + categoryId));
+    private static void confirmExists(boolean indexed, long count, Integer id, ReferenceTable<?> table,
+                                      String notFoundMessage) {
+        if (indexed) {
+            return;
+        }
+        if (count == 0) {
+            throw new ResourceNotFoundException(notFoundMessage + id);
+        }
+        table.added(id);
     }
 
-    private void validateStyleExists(Integer styleId) {
-        styleRepository.findById(styleId)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "Estilo no encontrado con id: " + styleId));
+    private static <R> Integer relationId(R relation, Function<R, Integer> idOf, String missingIdMessage) {
+        if (relation == null) {
+            return null;
+        }
+        Integer id = idOf.apply(relation);
+        if (id == null) {
+            throw new IllegalArgumentException(missingIdMessage);
+        }
+        return id;
+    }
+
+    private String validateBatchItem(Beer beer, Set<Integer> breweryIds,
+                                     Set<Integer> categoryIds, Set<Integer> styleIds) {
+        if (beer == null) {
+            return "La cerveza no puede ser nula";
+        }
+        Set<ConstraintViolation<Beer>> violations = validator.validate(beer);
+        if (!violations.isEmpty()) {
+            Map<String, String> errors = new TreeMap<>();
+            violations.forEach(v -> errors.put(v.getPropertyPath().toString(), v.getMessage()));
+            return "Error de validación: " + errors;
+        }
+        if (beer.getBrewery() == null || beer.getBrewery().getId() == null) {
+            return "La cerveza debe tener una cervecería asociada";
+        }
+        if (beer.getCategory() == null || beer.getCategory().getId() == null) {
+            return "La cerveza debe tener una categoría asociada";
+        }
+        if (beer.getStyle() == null || beer.getStyle().getId() == null) {
+            return "La cerveza debe tener un estilo asociado";
+        }
+        if (!breweryIds.contains(beer.getBrewery().getId())) {
+            return "Cervecería no encontrada con id: " + beer.getBrewery().getId();
+        }
+        if (!categoryIds.contains(beer.getCategory().getId())) {
+            return "Categoría no encontrada con id: " + beer.getCategory().getId();
+        }
+        if (!styleIds.contains(beer.getStyle().getId())) {
+            return "Estilo no encontrado con id: " + beer.getStyle().getId();
+        }
+        return null;
+    }
+
+    /**
+     * IDs que existen: los presentes en el índice en memoria y, de los demás, los que
+     * encuentre una única consulta
+     */
+    private static Set<Integer> existingIds(Collection<Integer> ids, ReferenceTable<?> table,
+                                            Function<Collection<Integer>, Set<Integer>> lookup) {
+        Set<Integer> existing = new HashSet<>(ids.size());
+        List<Integer> unknown = new ArrayList<>();
+        for (Integer id : ids) {
+            if (table.containsId(id)) {
+                existing.add(id);
+            } else {
+                unknown.add(id);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            existing.addAll(lookup.apply(unknown));
+        }
+        return existing;
     }
-}
 
+    private static <R> Collection<Integer> relationIds(List<Beer> beers, Function<Beer, R> relation,
+                                                       Function<R, Integer> idOf) {
+        return beers.stream()
+                .filter(Objects::nonNull)
+                .map(relation)
+                .filter(Objects::nonNull)
+                .map(idOf)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+}
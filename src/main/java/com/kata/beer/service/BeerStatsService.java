@@ -0,0 +1,216 @@
+package com.kata.beer.service;
+
+import com.kata.beer.cache.ReferenceDataCache;
+import com.kata.beer.dto.CountryCount;
+import com.kata.beer.dto.GroupCount;
+import com.kata.beer.dto.StyleStats;
+import com.kata.beer.model.Brewery;
+import com.kata.beer.model.Category;
+import com.kata.beer.model.Style;
+import com.kata.beer.repository.BeerStatsRepository;
+import com.kata.beer.stats.BeerStatsIndex;
+import com.kata.beer.stats.BeerStatsSnapshot;
+import com.kata.beer.stats.StatsConsistencyReport;
+import com.kata.beer.stats.StyleAggregate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Estadísticas agregadas de cervezas y cervecerías, servidas desde memoria.
+ * <p>
+ * Los agregados de cervezas salen de {@link BeerStatsIndex}; mientras se construye, se calculan
+ * con GROUP BY en la base de datos. Los países se calculan sobre la caché de cervecerías y se
+ * reutilizan mientras esta no cambie.
+ */
+@Service
+public class BeerStatsService {
+
+    public static final int DEFAULT_COUNTRIES = 10;
+
+    /** Diferencias que se incluyen como máximo en un informe de consistencia */
+    static final int MAX_REPORTED_DIFFERENCES = 50;
+
+    private static final Logger log = LoggerFactory.getLogger(BeerStatsService.class);
+
+    private final BeerStatsIndex beerStatsIndex;
+    private final BeerStatsRepository beerStatsRepository;
+    private final ReferenceDataCache referenceDataCache;
+
+    private volatile CountryCounts countryCounts;
+    private volatile StatsConsistencyReport lastReport;
+
+    @Autowired
+    public BeerStatsService(BeerStatsIndex beerStatsIndex,
+                            BeerStatsRepository beerStatsRepository,
+                            ReferenceDataCache referenceDataCache) {
+        this.beerStatsIndex = beerStatsIndex;
+        this.beerStatsRepository = beerStatsRepository;
+        this.referenceDataCache = referenceDataCache;
+    }
+
+    /**
+     * Número de cervezas por cervecería, de más a menos
+     */
+    public List<GroupCount> beersByBrewery(Integer limit) {
+        checkLimit(limit);
+        return groupCounts(snapshot().beersByBrewery(), id -> referenceDataCache.breweries().get(id).map(Brewery::getName), limit);
+    }
+
+    /**
+     * Número de cervezas por categoría, de más a menos
+     */
+    public List<GroupCount> beersByCategory() {
+        return groupCounts(snapshot().beersByCategory(), id -> referenceDataCache.categories().get(id).map(Category::getCatName), null);
+    }
+
+    /**
+     * Número de cervezas y ABV/IBU medio, mínimo y máximo por estilo, de más a menos cervezas
+     */
+    public List<StyleStats> styleStats() {
+        return snapshot().styles().values().stream()
+                .sorted(Comparator.comparingLong(StyleAggregate::beers).reversed()
+                        .thenComparingInt(StyleAggregate::styleId))
+                .map(style -> new StyleStats(style.styleId(),
+                        style.styleId() < 0 ? null : referenceDataCache.styles().get(style.styleId()).map(Style::getStyleName).orElse(null),
+                        style.beers(), style.avgAbv(), style.minAbv(), style.maxAbv(),
+                        style.avgIbu(), style.minIbu(), style.maxIbu()))
+                .toList();
+    }
+
+    /**
+     * Países con más cervecerías
+     */
+    public List<CountryCount> topCountries(int limit) {
+        checkLimit(limit);
+        List<Brewery> breweries = referenceDataCache.breweries().getAll();
+        CountryCounts current = countryCounts;
+        if (current == null || current.source() != breweries) {
+            current = new CountryCounts(breweries, countBreweriesByCountry(breweries));
+            countryCounts = current;
+        }
+        return current.counts().subList(0, Math.min(limit, current.counts().size()));
+    }
+
+    /**
+     * Agregados actuales: del índice si está construido y, si no, de la base de datos
+     */
+    public BeerStatsSnapshot snapshot() {
+        return beerStatsIndex.isReady() ? beerStatsIndex.snapshot() : databaseSnapshot();
+    }
+
+    /**
+     * Recalcula los agregados desde cero con las tres consultas GROUP BY en paralelo
+     */
+    public BeerStatsSnapshot databaseSnapshot() {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletableFuture<Map<Integer, Long>> byBrewery =
+                    CompletableFuture.supplyAsync(beerStatsRepository::countBeersByBrewery, executor);
+            CompletableFuture<Map<Integer, Long>> byCategory =
+                    CompletableFuture.supplyAsync(beerStatsRepository::countBeersByCategory, executor);
+            CompletableFuture<List<StyleAggregate>> byStyle =
+                    CompletableFuture.supplyAsync(beerStatsRepository::aggregateByStyle, executor);
+            return new BeerStatsSnapshot(byBrewery.join(), byCategory.join(),
+                    byStyle.join().stream().collect(Collectors.toMap(StyleAggregate::styleId, Function.identity())));
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    /**
+     * Compara los agregados en memoria con los recalculados en la base de datos y, si no
+     * coinciden, reconstruye el índice. Una diferencia se confirma con una segunda comparación
+     * para descartar escrituras que se cruzan con la primera.
+     */
+    public StatsConsistencyReport checkConsistency() {
+        long start = System.nanoTime();
+        StatsConsistencyReport.Status status;
+        List<String> differences = List.of();
+        if (!beerStatsIndex.isReady()) {
+            status = StatsConsistencyReport.Status.SKIPPED;
+        } else {
+            differences = compare();
+            if (!differences.isEmpty()) {
+                differences = compare();
+            }
+            if (differences.isEmpty()) {
+                status = StatsConsistencyReport.Status.CONSISTENT;
+            } else {
+                log.warn("Estadísticas en memoria inconsistentes ({} diferencias, p. ej. {}): se reconstruyen",
+                        differences.size(), differences.get(0));
+                beerStatsIndex.rebuild();
+                status = StatsConsistencyReport.Status.REBUILT;
+            }
+        }
+        StatsConsistencyReport report = new StatsConsistencyReport(LocalDateTime.now(), status,
+                (System.nanoTime() - start) / 1_000_000,
+                differences.subList(0, Math.min(differences.size(), MAX_REPORTED_DIFFERENCES)));
+        lastReport = report;
+        return report;
+    }
+
+    /**
+     * Último informe de consistencia, o {@code null} si aún no se ha comprobado
+     */
+    public StatsConsistencyReport lastConsistencyReport() {
+        return lastReport;
+    }
+
+    private List<String> compare() {
+        BeerStatsSnapshot database = databaseSnapshot();
+        return beerStatsIndex.snapshot().differences(database);
+    }
+
+    private static List<GroupCount> groupCounts(Map<Integer, Long> counts,
+                                                Function<Integer, Optional<String>> nameOf,
+                                                Integer limit) {
+        return counts.entrySet().stream()
+                .sorted(Map.Entry.<Integer, Long>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit != null ? limit : Long.MAX_VALUE)
+                .map(entry -> new GroupCount(entry.getKey(),
+                        entry.getKey() < 0 ? null : nameOf.apply(entry.getKey()).orElse(null),
+                        entry.getValue()))
+                .toList();
+    }
+
+    private static List<CountryCount> countBreweriesByCountry(List<Brewery> breweries) {
+        Map<String, Long> counts = new HashMap<>();
+        for (Brewery brewery : breweries) {
+            String country = brewery.getCountry() != null ? brewery.getCountry().trim() : "";
+            if (!country.isEmpty()) {
+                counts.merge(country, 1L, Long::sum);
+            }
+        }
+        return counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .map(entry -> new CountryCount(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    private static void checkLimit(Integer limit) {
+        if (limit != null && limit < 1) {
+            throw new IllegalArgumentException("El parámetro limit debe ser mayor que 0");
+        }
+    }
+
+    /**
+     * Recuento por país junto con la lista de cervecerías de la que se calculó
+     */
+    private record CountryCounts(List<Brewery> source, List<CountryCount> counts) {
+    }
+}
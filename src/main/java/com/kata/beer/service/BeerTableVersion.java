@@ -0,0 +1,52 @@
+package com.kata.beer.service;
+
+import com.kata.beer.event.BeerChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Versión de la tabla de cervezas mantenida en memoria: un contador que avanza con cada
+ * {@link BeerChangedEvent} confirmado, para versionar los listados sin recorrer la tabla.
+ * <p>
+ * El contador empieza en cero en cada arranque, así que la versión incluye el instante de
+ * arranque: un ETag de otro arranque nunca coincide. Como los índices en memoria, solo ve las
+ * escrituras hechas a través de esta instancia.
+ */
+@Component
+public class BeerTableVersion {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicReference<Snapshot> current =
+            new AtomicReference<>(new Snapshot(0, LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS)));
+
+    /**
+     * Versión actual: identifica el arranque y el número de cambios confirmados desde entonces
+     */
+    public String version() {
+        return epoch + "-" + Long.toHexString(current.get().changes());
+    }
+
+    /**
+     * Fecha del último cambio confirmado, o del arranque si todavía no ha habido ninguno
+     */
+    public LocalDateTime lastModified() {
+        return current.get().lastModified();
+    }
+
+    /**
+     * Se ejecuta tras el commit: si avanzara antes, una lectura entre medias podría guardar
+     * datos antiguos con la versión nueva
+     */
+    @TransactionalEventListener
+    public void onBeerChanged(BeerChangedEvent event) {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        current.updateAndGet(snapshot -> new Snapshot(snapshot.changes() + 1,
+                now.isAfter(snapshot.lastModified()) ? now : snapshot.lastModified()));
+    }
+
+    private record Snapshot(long changes, LocalDateTime lastModified) {
+    }
+}
@@ -1,40 +1,120 @@
 package com.kata.beer.service;
 
+import com.kata.beer.cache.ReferenceDataCache;
+import com.kata.beer.dto.CursorPage;
+import com.kata.beer.dto.FieldSet;
 import com.kata.beer.exception.ResourceNotFoundException;
 import com.kata.beer.model.Brewery;
 import com.kata.beer.repository.BreweryRepository;
+import com.kata.beer.repository.FieldProjectionRepository;
+import com.kata.beer.singleflight.SingleFlight;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @Transactional
+@Timed("service.method")
 public class BreweryService {
 
     private final BreweryRepository breweryRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final FieldProjectionRepository fieldProjectionRepository;
 
     @Autowired
-    public BreweryService(BreweryRepository breweryRepository) {
+    public BreweryService(BreweryRepository breweryRepository, ReferenceDataCache referenceDataCache,
+                          FieldProjectionRepository fieldProjectionRepository) {
         this.breweryRepository = breweryRepository;
+        this.referenceDataCache = referenceDataCache;
+        this.fieldProjectionRepository = fieldProjectionRepository;
     }
 
     /**
-     * Obtiene todas las cervecerías
+     * Obtiene todas las cervecerías desde la caché de referencia, sin abrir transacción ni conexión
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<Brewery> getAllBreweries() {
-        return breweryRepository.findAll();
+        return referenceDataCache.breweries().getAll();
     }
 
     /**
-     * Obtiene una cervecería por su ID
+     * Obtiene una página de cervecerías ordenada por ID, a partir del cursor {@code after}
      */
+    @SingleFlight
     @Transactional(readOnly = true)
+    public CursorPage<Brewery> getBreweriesPage(Integer after, int limit) {
+        CursorPage.checkLimit(limit);
+        List<Brewery> fetched = breweryRepository.findByIdGreaterThanOrderByIdAsc(
+                CursorPage.startAfter(after), Limit.of(limit + 1));
+        return CursorPage.of(fetched, limit, Brewery::getId);
+    }
+
+    /**
+     * Obtiene una cervecería por su ID; solo consulta la base de datos si no está en la caché
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Brewery getBreweryById(Integer id) {
-        return breweryRepository.findById(id)
+        return referenceDataCache.breweries().get(id)
+                .or(() -> breweryRepository.findById(id))
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Cervecería no encontrada con id: " + id));
+    }
+
+    /**
+     * Obtiene una cervecería completa, con su descripción, que la caché de referencia no guarda
+     */
+    @SingleFlight
+    @Transactional(readOnly = true)
+    public Brewery getBreweryWithDescription(Integer id) {
+        return breweryRepository.findWithDescriptionById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Cervecería no encontrada con id: " + id));
     }
-}
 
+    /**
+     * Obtiene todas las cervecerías con solo los campos indicados, proyectadas desde la caché.
+     * La caché no guarda las descripciones: si se piden, se leen de la base de datos.
+     */
+    @SingleFlight
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<Map<String, Object>> getAllBreweries(FieldSet fields) {
+        if (fields.paths().contains(Brewery.DESCRIPT)) {
+            return fieldProjectionRepository.find(Brewery.class, fields, null, Limit.unlimited());
+        }
+        return getAllBreweries().stream()
+                .map(brewery -> fieldProjectionRepository.project(Brewery.class, fields, brewery))
+                .toList();
+    }
+
+    /**
+     * Obtiene una página de cervecerías leyendo de la base de datos solo los campos indicados
+     */
+    @SingleFlight
+    @Transactional(readOnly = true)
+    public CursorPage<Map<String, Object>> getBreweriesPage(Integer after, int limit, FieldSet fields) {
+        CursorPage.checkLimit(limit);
+        List<Map<String, Object>> fetched = fieldProjectionRepository.find(Brewery.class, fields,
+                FieldProjectionRepository.idGreaterThan(CursorPage.startAfter(after)), Limit.of(limit + 1));
+        return CursorPage.of(fetched, limit, row -> (Integer) row.get("id"));
+    }
+
+    /**
+     * Obtiene una cervecería por su ID con solo los campos indicados
+     */
+    @SingleFlight
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Map<String, Object> getBreweryById(Integer id, FieldSet fields) {
+        if (fields.paths().contains(Brewery.DESCRIPT)) {
+            return fieldProjectionRepository.find(Brewery.class, fields, FieldProjectionRepository.idIn(List.of(id)),
+                            Limit.of(1)).stream()
+                    .findFirst()
+                    .orElseThrow(() -> new ResourceNotFoundException("Cervecería no encontrada con id: " + id));
+        }
+        return fieldProjectionRepository.project(Brewery.class, fields, getBreweryById(id));
+    }
+}
@@ -1,38 +1,60 @@
 package com.kata.beer.service;
 
+import com.kata.beer.cache.ReferenceDataCache;
+import com.kata.beer.dto.CursorPage;
 import com.kata.beer.exception.ResourceNotFoundException;
 import com.kata.beer.model.Category;
 import com.kata.beer.repository.CategoryRepository;
+import com.kata.beer.singleflight.SingleFlight;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 
 @Service
 @Transactional
+@Timed("service.method")
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final ReferenceDataCache referenceDataCache;
 
     @Autowired
-    public CategoryService(CategoryRepository categoryRepository) {
+    public CategoryService(CategoryRepository categoryRepository, ReferenceDataCache referenceDataCache) {
         this.categoryRepository = categoryRepository;
+        this.referenceDataCache = referenceDataCache;
     }
 
     /**
-     * Obtiene todas las categorías
+     * Obtiene todas las categorías desde la caché de referencia, sin abrir transacción ni conexión
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<Category> getAllCategories() {
-        return categoryRepository.findAll();
+        return referenceDataCache.categories().getAll();
     }
 
     /**
-     * Obtiene una categoría por su ID
+     * Obtiene una página de categorías ordenada por ID, a partir del cursor {@code after}
      */
+    @SingleFlight
     @Transactional(readOnly = true)
+    public CursorPage<Category> getCategoriesPage(Integer after, int limit) {
+        CursorPage.checkLimit(limit);
+        List<Category> fetched = categoryRepository.findByIdGreaterThanOrderByIdAsc(
+                CursorPage.startAfter(after), Limit.of(limit + 1));
+        return CursorPage.of(fetched, limit, Category::getId);
+    }
+
+    /**
+     * Obtiene una categoría por su ID; solo consulta la base de datos si no está en la caché
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Category getCategoryById(Integer id) {
-        return categoryRepository.findById(id)
+        return referenceDataCache.categories().get(id)
+                .or(() -> categoryRepository.findById(id))
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Categoría no encontrada con id: " + id));
     }
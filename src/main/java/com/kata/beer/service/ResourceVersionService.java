@@ -0,0 +1,135 @@
+package com.kata.beer.service;
+
+import com.kata.beer.cache.ReferenceDataCache;
+import com.kata.beer.dto.ResourceVersion;
+import com.kata.beer.model.Beer;
+import com.kata.beer.model.Brewery;
+import com.kata.beer.model.Category;
+import com.kata.beer.model.Style;
+import com.kata.beer.repository.BeerRepository;
+import com.kata.beer.repository.BeerVersion;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Calcula la versión de los recursos expuestos por la API para responder 304 a las peticiones
+ * condicionales sin cargar ni serializar las entidades.
+ * <p>
+ * La versión de una colección es el número de filas y el {@code lastMod} más reciente de cada
+ * tabla que aparece en la respuesta (el número de filas detecta los borrados). Las tablas de
+ * referencia se versionan sobre la caché en memoria; la de cervezas, con el contador de
+ * {@link BeerTableVersion}, para no recorrer la tabla en cada petición.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ResourceVersionService {
+
+    private final BeerRepository beerRepository;
+    private final BeerTableVersion beerTableVersion;
+    private final ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    public ResourceVersionService(BeerRepository beerRepository, BeerTableVersion beerTableVersion,
+                                  ReferenceDataCache referenceDataCache) {
+        this.beerRepository = beerRepository;
+        this.beerTableVersion = beerTableVersion;
+        this.referenceDataCache = referenceDataCache;
+    }
+
+    /**
+     * Versión de cualquier listado de cervezas, que incluye sus cervecerías, categorías y estilos
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public ResourceVersion beers() {
+        TableSnapshot breweries = snapshot(referenceDataCache.breweries().getAll(), Brewery::getLastMod);
+        TableSnapshot categories = snapshot(referenceDataCache.categories().getAll(), Category::getLastMod);
+        TableSnapshot styles = snapshot(referenceDataCache.styles().getAll(), Style::getLastMod);
+        return ResourceVersion.of(
+                "beers-" + beerTableVersion.version() + "-" + breweries.count() + "-" + categories.count() + "-" + styles.count(),
+                beerTableVersion.lastModified(), breweries.lastModified(), categories.lastModified(), styles.lastModified());
+    }
+
+    /**
+     * Versión de una cerveza, o vacío si no existe
+     */
+    public Optional<ResourceVersion> beer(Integer id) {
+        return beerRepository.findVersionById(id)
+                .map(version -> beer(id, version));
+    }
+
+    /**
+     * Versión de una cerveza a partir de la {@code version} de su fila y de la última
+     * modificación de la cerveza o de sus relaciones
+     */
+    public static ResourceVersion beer(Integer id, BeerVersion version) {
+        return ResourceVersion.of(beerKey(id, version.getVersion()), version.getLastModified());
+    }
+
+    /**
+     * Versión de una cerveza ya cargada con sus relaciones; coincide con la que se calcula a
+     * partir de {@link BeerRepository#findVersionById(Integer)}
+     */
+    public static ResourceVersion beer(Beer beer) {
+        LocalDateTime lastModified = beer.getLastMod();
+        for (LocalDateTime relation : new LocalDateTime[]{
+                beer.getBrewery() != null ? beer.getBrewery().getLastMod() : null,
+                beer.getCategory() != null ? beer.getCategory().getLastMod() : null,
+                beer.getStyle() != null ? beer.getStyle().getLastMod() : null}) {
+            if (relation != null && (lastModified == null || relation.isAfter(lastModified))) {
+                lastModified = relation;
+            }
+        }
+        long version = beer.getVersion() != null ? beer.getVersion() : 0;
+        return ResourceVersion.of(beerKey(beer.getId(), version), lastModified);
+    }
+
+    /**
+     * Clave de la versión de una cerveza, común a todas sus representaciones: es lo que se
+     * compara con If-Match
+     */
+    public static String beerKey(Integer id, long version) {
+        return "beer-" + id + "-" + version;
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public ResourceVersion breweries() {
+        return snapshot(referenceDataCache.breweries().getAll(), Brewery::getLastMod).version("breweries");
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public ResourceVersion categories() {
+        return snapshot(referenceDataCache.categories().getAll(), Category::getLastMod).version("categories");
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public ResourceVersion styles() {
+        return snapshot(referenceDataCache.styles().getAll(), Style::getLastMod).version("styles");
+    }
+
+    private static <T> TableSnapshot snapshot(List<T> rows, Function<T, LocalDateTime> lastModOf) {
+        LocalDateTime max = null;
+        for (T row : rows) {
+            LocalDateTime lastMod = lastModOf.apply(row);
+            if (lastMod != null && (max == null || lastMod.isAfter(max))) {
+                max = lastMod;
+            }
+        }
+        return new TableSnapshot(rows.size(), max);
+    }
+
+    /**
+     * Número de filas y último {@code lastMod} de una tabla de referencia en caché
+     */
+    private record TableSnapshot(long count, LocalDateTime lastModified) {
+
+        ResourceVersion version(String name) {
+            return ResourceVersion.of(name + "-" + count, lastModified);
+        }
+    }
+}
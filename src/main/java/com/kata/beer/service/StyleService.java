@@ -1,38 +1,60 @@
 package com.kata.beer.service;
 
+import com.kata.beer.cache.ReferenceDataCache;
+import com.kata.beer.dto.CursorPage;
 import com.kata.beer.exception.ResourceNotFoundException;
 import com.kata.beer.model.Style;
 import com.kata.beer.repository.StyleRepository;
+import com.kata.beer.singleflight.SingleFlight;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 
 @Service
 @Transactional
+@Timed("service.method")
 public class StyleService {
 
     private final StyleRepository styleRepository;
+    private final ReferenceDataCache referenceDataCache;
 
     @Autowired
-    public StyleService(StyleRepository styleRepository) {
+    public StyleService(StyleRepository styleRepository, ReferenceDataCache referenceDataCache) {
         this.styleRepository = styleRepository;
+        this.referenceDataCache = referenceDataCache;
     }
 
     /**
-     * Obtiene todos los estilos
+     * Obtiene todos los estilos desde la caché de referencia, sin abrir transacción ni conexión
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<Style> getAllStyles() {
-        return styleRepository.findAll();
+        return referenceDataCache.styles().getAll();
     }
 
     /**
-     * Obtiene un estilo por su ID
+     * Obtiene una página de estilos ordenada por ID, a partir del cursor {@code after}
      */
+    @SingleFlight
     @Transactional(readOnly = true)
+    public CursorPage<Style> getStylesPage(Integer after, int limit) {
+        CursorPage.checkLimit(limit);
+        List<Style> fetched = styleRepository.findByIdGreaterThanOrderByIdAsc(
+                CursorPage.startAfter(after), Limit.of(limit + 1));
+        return CursorPage.of(fetched, limit, Style::getId);
+    }
+
+    /**
+     * Obtiene un estilo por su ID; solo consulta la base de datos si no está en la caché
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Style getStyleById(Integer id) {
-        return styleRepository.findById(id)
+        return referenceDataCache.styles().get(id)
+                .or(() -> styleRepository.findById(id))
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Estilo no encontrado con id: " + id));
     }
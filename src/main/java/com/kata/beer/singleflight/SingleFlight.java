@@ -0,0 +1,18 @@
+package com.kata.beer.singleflight;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Las llamadas concurrentes a este método con los mismos argumentos comparten una sola
+ * ejecución y su resultado ({@link SingleFlightAspect}). Solo para lecturas cuyos argumentos
+ * tengan {@code equals} por valor y cuyo resultado no modifique quien lo recibe.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface SingleFlight {
+}
@@ -0,0 +1,157 @@
+package com.kata.beer.singleflight;
+
+import com.kata.beer.event.BeerChangedEvent;
+import com.kata.beer.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Agrupa las llamadas concurrentes e idénticas (mismo método, mismos argumentos) a los métodos
+ * {@link SingleFlight}: la primera ejecuta la consulta y las que llegan mientras está en curso
+ * esperan y reciben su mismo resultado o su misma excepción, sin pedir otra conexión.
+ * <p>
+ * Va por delante de {@code @Transactional} (máxima precedencia): lo que se comparte es la
+ * transacción completa, y quien espera no abre ninguna. Si la llamada ya está dentro de una
+ * transacción no se agrupa, porque su resultado puede depender de escrituras aún sin confirmar.
+ * Al confirmarse un cambio de cervezas se olvidan las ejecuciones en curso: una petición que
+ * llega después de la escritura nunca recibe una lectura empezada antes.
+ * <p>
+ * Quien espera más de {@code timeout} recibe un 503 con Retry-After. Por método se publican
+ * {@code beer.singleflight.calls} (outcome {@code executed}, {@code shared} o {@code timeout})
+ * y {@code beer.singleflight.ratio}, la fracción de llamadas que compartieron resultado.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SingleFlightAspect {
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Duration timeout;
+
+    private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<Method, Stats> stats = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SingleFlightAspect(MeterRegistry meterRegistry,
+                              @Value("${beer.single-flight.enabled:true}") boolean enabled,
+                              @Value("${beer.single-flight.timeout:PT5S}") Duration timeout) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.timeout = timeout;
+    }
+
+    @Around("@annotation(com.kata.beer.singleflight.SingleFlight)")
+    public Object coalesce(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!enabled || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Stats methodStats = stats.computeIfAbsent(method, this::register);
+        Key key = new Key(method, Arrays.asList(joinPoint.getArgs()));
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> current = inFlight.putIfAbsent(key, flight);
+        if (current != null) {
+            return await(current, methodStats);
+        }
+        methodStats.executed.increment();
+        try {
+            Object result = joinPoint.proceed();
+            flight.complete(result);
+            return result;
+        } catch (Throwable e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * Un cambio confirmado invalida las lecturas en curso para quien llegue a partir de ahora;
+     * las que ya esperan reciben el resultado de la suya
+     */
+    @TransactionalEventListener
+    public void onBeerChanged(BeerChangedEvent event) {
+        inFlight.clear();
+    }
+
+    private Object await(CompletableFuture<Object> flight, Stats methodStats) throws Throwable {
+        try {
+            Object result = flight.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+            methodStats.shared.increment();
+            return result;
+        } catch (ExecutionException e) {
+            methodStats.shared.increment();
+            throw e.getCause();
+        } catch (TimeoutException e) {
+            methodStats.timedOut.increment();
+            throw new ServiceOverloadedException(
+                    "La consulta en curso no ha terminado en " + timeout.toMillis() + " ms; reintenta más tarde",
+                    timeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+    }
+
+    private Stats register(Method method) {
+        Stats methodStats = new Stats();
+        String className = method.getDeclaringClass().getSimpleName();
+        String methodName = method.getName();
+        registerCounter(methodStats.executed, className, methodName, "executed");
+        registerCounter(methodStats.shared, className, methodName, "shared");
+        registerCounter(methodStats.timedOut, className, methodName, "timeout");
+        Gauge.builder("beer.singleflight.ratio", methodStats, Stats::sharedRatio)
+                .description("Fracción de llamadas que recibieron el resultado de otra en curso")
+                .tags("class", className, "method", methodName)
+                .register(meterRegistry);
+        return methodStats;
+    }
+
+    private void registerCounter(LongAdder counter, String className, String methodName, String outcome) {
+        FunctionCounter.builder("beer.singleflight.calls", counter, LongAdder::sum)
+                .description("Llamadas a métodos @SingleFlight según se ejecutaron o compartieron resultado")
+                .tags("class", className, "method", methodName, "outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private record Key(Method method, List<Object> args) {
+    }
+
+    private static final class Stats {
+
+        private final LongAdder executed = new LongAdder();
+        private final LongAdder shared = new LongAdder();
+        private final LongAdder timedOut = new LongAdder();
+
+        double sharedRatio() {
+            long sharedCalls = shared.sum();
+            long total = executed.sum() + sharedCalls;
+            return total == 0 ? 0 : (double) sharedCalls / total;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.kata.beer.stats;
+
+import com.kata.beer.model.Beer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Agregados de cervezas mantenidos de forma incremental: recuentos por cervecería, categoría y
+ * estilo, y suma, mínimo y máximo de ABV/IBU por estilo.
+ * <p>
+ * Se guarda una ficha por cerveza para poder restar su contribución al modificarla o borrarla,
+ * y los valores de ABV/IBU de cada estilo en un multiconjunto ordenado para que el mínimo y el
+ * máximo sigan siendo correctos tras un borrado.
+ * <p>
+ * No es thread-safe: {@link BeerStatsIndex} se encarga de la sincronización.
+ */
+final class BeerAggregates {
+
+    private final Map<Integer, Facts> beers = new HashMap<>();
+    private final Map<Integer, Long> byBrewery = new HashMap<>();
+    private final Map<Integer, Long> byCategory = new HashMap<>();
+    private final Map<Integer, StyleAccumulator> byStyle = new HashMap<>();
+
+    int size() {
+        return beers.size();
+    }
+
+    void put(Beer beer) {
+        remove(beer.getId());
+        insert(beer.getId(), new Facts(
+                relationId(beer.getBrewery() != null ? beer.getBrewery().getId() : null, BeerStatsSnapshot.UNKNOWN),
+                relationId(beer.getCategory() != null ? beer.getCategory().getId() : null, BeerStatsSnapshot.UNKNOWN),
+                relationId(beer.getStyle() != null ? beer.getStyle().getId() : null, BeerStatsSnapshot.UNKNOWN),
+                beer.getAbv() != null ? beer.getAbv() : 0f,
+                beer.getIbu() != null ? beer.getIbu() : 0f));
+    }
+
+    /**
+     * Aplica los campos no nulos de una modificación parcial; si la cerveza no está, no hace nada
+     */
+    void patch(int id, Beer changes) {
+        Facts current = beers.get(id);
+        if (current == null) {
+            return;
+        }
+        remove(id);
+        insert(id, new Facts(
+                relationId(changes.getBrewery() != null ? changes.getBrewery().getId() : null, current.brewery()),
+                relationId(changes.getCategory() != null ? changes.getCategory().getId() : null, current.category()),
+                relationId(changes.getStyle() != null ? changes.getStyle().getId() : null, current.style()),
+                changes.getAbv() != null ? changes.getAbv() : current.abv(),
+                changes.getIbu() != null ? changes.getIbu() : current.ibu()));
+    }
+
+    void remove(int id) {
+        Facts facts = beers.remove(id);
+        if (facts == null) {
+            return;
+        }
+        decrement(byBrewery, facts.brewery());
+        decrement(byCategory, facts.category());
+        StyleAccumulator style = byStyle.get(facts.style());
+        style.remove(facts);
+        if (style.count == 0) {
+            byStyle.remove(facts.style());
+        }
+    }
+
+    BeerStatsSnapshot snapshot() {
+        Map<Integer, StyleAggregate> styles = new HashMap<>();
+        byStyle.forEach((id, style) -> styles.put(id, style.aggregate(id)));
+        return new BeerStatsSnapshot(Map.copyOf(byBrewery), Map.copyOf(byCategory), Map.copyOf(styles));
+    }
+
+    private void insert(int id, Facts facts) {
+        beers.put(id, facts);
+        byBrewery.merge(facts.brewery(), 1L, Long::sum);
+        byCategory.merge(facts.category(), 1L, Long::sum);
+        byStyle.computeIfAbsent(facts.style(), style -> new StyleAccumulator()).add(facts);
+    }
+
+    private static int relationId(Integer id, int otherwise) {
+        return id != null ? id : otherwise;
+    }
+
+    private static void decrement(Map<Integer, Long> counts, int key) {
+        counts.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private record Facts(int brewery, int category, int style, float abv, float ibu) {
+    }
+
+    private static final class StyleAccumulator {
+        long count;
+        double abvSum;
+        double ibuSum;
+        final TreeMap<Float, Integer> abvValues = new TreeMap<>();
+        final TreeMap<Float, Integer> ibuValues = new TreeMap<>();
+
+        void add(Facts facts) {
+            count++;
+            abvSum += facts.abv();
+            ibuSum += facts.ibu();
+            abvValues.merge(facts.abv(), 1, Integer::sum);
+            ibuValues.merge(facts.ibu(), 1, Integer::sum);
+        }
+
+        void remove(Facts facts) {
+            count--;
+            abvSum -= facts.abv();
+            ibuSum -= facts.ibu();
+            abvValues.computeIfPresent(facts.abv(), (v, n) -> n > 1 ? n - 1 : null);
+            ibuValues.computeIfPresent(facts.ibu(), (v, n) -> n > 1 ? n - 1 : null);
+        }
+
+        StyleAggregate aggregate(int styleId) {
+            return new StyleAggregate(styleId, count,
+                    abvSum / count, abvValues.firstKey(), abvValues.lastKey(),
+                    ibuSum / count, ibuValues.firstKey(), ibuValues.lastKey());
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.kata.beer.stats;
+
+import com.kata.beer.service.BeerStatsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Comprueba periódicamente que las estadísticas mantenidas en memoria coinciden con las
+ * recalculadas en la base de datos
+ */
+@Component
+public class BeerStatsConsistencyJob {
+
+    private static final Logger log = LoggerFactory.getLogger(BeerStatsConsistencyJob.class);
+
+    private final BeerStatsService beerStatsService;
+
+    @Autowired
+    public BeerStatsConsistencyJob(BeerStatsService beerStatsService) {
+        this.beerStatsService = beerStatsService;
+    }
+
+    @Scheduled(initialDelayString = "${beer.stats.consistency-check.interval:PT1H}",
+            fixedDelayString = "${beer.stats.consistency-check.interval:PT1H}")
+    public void run() {
+        StatsConsistencyReport report = beerStatsService.checkConsistency();
+        log.info("Comprobación de consistencia de estadísticas: {} en {} ms", report.status(), report.millis());
+    }
+}
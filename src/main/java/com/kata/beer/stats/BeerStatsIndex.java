@@ -0,0 +1,51 @@
+package com.kata.beer.stats;
+
+import com.kata.beer.event.BeerChangedEvent;
+import com.kata.beer.model.Beer;
+import com.kata.beer.search.AbstractBeerIndex;
+import com.kata.beer.service.BeerExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Estadísticas agregadas de las cervezas, calculadas una vez al arrancar y actualizadas con
+ * cada alta, modificación o borrado confirmado
+ */
+@Component
+public class BeerStatsIndex extends AbstractBeerIndex<BeerAggregates> {
+
+    @Autowired
+    public BeerStatsIndex(BeerExportService beerExportService) {
+        super(beerExportService, "beer-stats-index");
+    }
+
+    public int size() {
+        return read(BeerAggregates::size);
+    }
+
+    /**
+     * Copia inmutable de los agregados actuales
+     */
+    public BeerStatsSnapshot snapshot() {
+        return read(BeerAggregates::snapshot);
+    }
+
+    @Override
+    protected BeerAggregates emptyState() {
+        return new BeerAggregates();
+    }
+
+    @Override
+    protected void add(BeerAggregates aggregates, Beer beer) {
+        aggregates.put(beer);
+    }
+
+    @Override
+    protected void apply(BeerAggregates aggregates, BeerChangedEvent event) {
+        switch (event.type()) {
+            case DELETED -> aggregates.remove(event.beerId());
+            case PATCHED -> aggregates.patch(event.beerId(), event.beer());
+            default -> aggregates.put(event.beer());
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.kata.beer.stats;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+
+/**
+ * Foto de las estadísticas de cervezas, calculada en memoria o con GROUP BY en la base de
+ * datos. Las claves son IDs de cervecería, categoría y estilo; -1 agrupa las cervezas cuya
+ * relación no existe.
+ */
+public record BeerStatsSnapshot(Map<Integer, Long> beersByBrewery,
+                                Map<Integer, Long> beersByCategory,
+                                Map<Integer, StyleAggregate> styles) {
+
+    public static final int UNKNOWN = -1;
+
+    /** Tolerancia de las medias: la base de datos y la memoria suman en distinto orden */
+    private static final double AVG_TOLERANCE = 1e-3;
+
+    /**
+     * Describe las diferencias con otra foto; vacía si coinciden
+     */
+    public List<String> differences(BeerStatsSnapshot other) {
+        List<String> differences = new ArrayList<>();
+        compareCounts("cervecería", beersByBrewery, other.beersByBrewery, differences);
+        compareCounts("categoría", beersByCategory, other.beersByCategory, differences);
+        for (Integer id : union(styles, other.styles)) {
+            StyleAggregate mine = styles.get(id);
+            StyleAggregate theirs = other.styles.get(id);
+            if (mine == null || theirs == null || !sameAggregate(mine, theirs)) {
+                differences.add("estilo " + id + ": " + mine + " != " + theirs);
+            }
+        }
+        return differences;
+    }
+
+    private static void compareCounts(String label, Map<Integer, Long> mine, Map<Integer, Long> theirs,
+                                      List<String> differences) {
+        for (Integer id : union(mine, theirs)) {
+            Long a = mine.getOrDefault(id, 0L);
+            Long b = theirs.getOrDefault(id, 0L);
+            if (!a.equals(b)) {
+                differences.add(label + " " + id + ": " + a + " != " + b);
+            }
+        }
+    }
+
+    private static boolean sameAggregate(StyleAggregate a, StyleAggregate b) {
+        return a.beers() == b.beers()
+                && a.minAbv() == b.minAbv() && a.maxAbv() == b.maxAbv()
+                && a.minIbu() == b.minIbu() && a.maxIbu() == b.maxIbu()
+                && Math.abs(a.avgAbv() - b.avgAbv()) < AVG_TOLERANCE
+                && Math.abs(a.avgIbu() - b.avgIbu()) < AVG_TOLERANCE;
+    }
+
+    private static TreeSet<Integer> union(Map<Integer, ?> a, Map<Integer, ?> b) {
+        TreeSet<Integer> keys = new TreeSet<>(a.keySet());
+        keys.addAll(b.keySet());
+        keys.removeIf(Objects::isNull);
+        return keys;
+    }
+}
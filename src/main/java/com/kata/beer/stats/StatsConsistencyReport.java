@@ -0,0 +1,21 @@
+package com.kata.beer.stats;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Resultado de comparar las estadísticas en memoria con las recalculadas en la base de datos
+ *
+ * @param differences primeras diferencias encontradas (vacía si coinciden)
+ */
+public record StatsConsistencyReport(LocalDateTime checkedAt, Status status, long millis, List<String> differences) {
+
+    public enum Status {
+        /** Las estadísticas en memoria coinciden con la base de datos */
+        CONSISTENT,
+        /** Había diferencias y se reconstruyeron las estadísticas en memoria */
+        REBUILT,
+        /** El índice aún se estaba construyendo y no se comparó */
+        SKIPPED
+    }
+}
@@ -0,0 +1,11 @@
+package com.kata.beer.stats;
+
+/**
+ * Agregados de las cervezas de un estilo
+ *
+ * @param styleId ID del estilo, o -1 para las cervezas sin estilo conocido
+ */
+public record StyleAggregate(int styleId, long beers,
+                             double avgAbv, float minAbv, float maxAbv,
+                             double avgIbu, float minIbu, float maxIbu) {
+}
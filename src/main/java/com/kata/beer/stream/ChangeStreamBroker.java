@@ -0,0 +1,248 @@
+package com.kata.beer.stream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kata.beer.dto.BeerChangeNotification;
+import com.kata.beer.event.BeerChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Difunde por Server-Sent Events los cambios de cervezas confirmados.
+ * <p>
+ * Cada evento se serializa una sola vez y se ofrece a la cola acotada de cada suscriptor sin
+ * bloquear al que confirma la transacción. Un suscriptor no tiene hilo propio: cuando su cola
+ * pasa a tener eventos se lanza un hilo virtual que la vacía escribiendo en la conexión y
+ * termina al quedar vacía. Si la cola se llena (el cliente no lee al ritmo de los cambios) se
+ * cierra su conexión; al reconectar con {@code Last-Event-ID} recibe lo que se perdió.
+ * <p>
+ * Los últimos {@code replaySize} eventos se guardan para reanudar. Si el ID recibido es de otro
+ * arranque o ya no está en el historial se envía un evento {@code reset}: el cliente debe
+ * resincronizar con {@code /api/beers/changes}.
+ */
+@Component
+public class ChangeStreamBroker {
+
+    static final String RESET = "reset";
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeStreamBroker.class);
+
+    private final ObjectMapper objectMapper;
+    private final int replaySize;
+    private final int subscriberBuffer;
+    private final long timeoutMillis;
+
+    /** Los IDs de evento son {@code epoch-secuencia}: un ID de otro arranque no se confunde */
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final ArrayDeque<StreamEvent> history = new ArrayDeque<>();
+    private long sequence;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService writers = Executors.newVirtualThreadPerTaskExecutor();
+    private final LongAdder dropped = new LongAdder();
+
+    @Autowired
+    public ChangeStreamBroker(ObjectMapper objectMapper,
+                              @Value("${beer.stream.replay-size:4096}") int replaySize,
+                              @Value("${beer.stream.subscriber-buffer:1024}") int subscriberBuffer,
+                              @Value("${beer.stream.timeout:PT30M}") Duration timeout) {
+        this.objectMapper = objectMapper;
+        this.replaySize = replaySize;
+        this.subscriberBuffer = subscriberBuffer;
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    /**
+     * Abre una suscripción; con {@code lastEventId} reenvía antes los eventos posteriores a ese
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        return subscribe(lastEventId, new SseEmitter(timeoutMillis));
+    }
+
+    SseEmitter subscribe(String lastEventId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+
+        // Con el historial bloqueado no se publica nada entre la copia y el alta: no hay huecos
+        synchronized (history) {
+            List<StreamEvent> replay = lastEventId == null || lastEventId.isBlank() ? List.of() : replayAfter(lastEventId);
+            if (replay == null || replay.size() > subscriberBuffer) {
+                subscriber.offer(StreamEvent.reset());
+            } else {
+                replay.forEach(subscriber::offer);
+            }
+            subscribers.add(subscriber);
+        }
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void onBeerChanged(BeerChangedEvent event) {
+        String data;
+        try {
+            data = objectMapper.writeValueAsString(
+                    new BeerChangeNotification(event.type(), event.beerId(), event.beer()));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        String name = event.type().name().toLowerCase(Locale.ROOT);
+        synchronized (history) {
+            StreamEvent streamEvent = new StreamEvent(epoch + "-" + ++sequence, name, data);
+            history.addLast(streamEvent);
+            if (history.size() > replaySize) {
+                history.removeFirst();
+            }
+            publish(streamEvent);
+        }
+    }
+
+    /**
+     * Comentario periódico para que los proxies no cierren las conexiones inactivas y para
+     * detectar las que ya están cerradas
+     */
+    @Scheduled(fixedDelayString = "${beer.stream.heartbeat:PT15S}")
+    public void heartbeat() {
+        publish(StreamEvent.HEARTBEAT);
+    }
+
+    /**
+     * Suscriptores conectados
+     */
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Suscriptores desconectados hasta ahora por no leer a tiempo
+     */
+    public long droppedCount() {
+        return dropped.sum();
+    }
+
+    private void publish(StreamEvent event) {
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.offer(event)) {
+                dropped.increment();
+                subscribers.remove(subscriber);
+                subscriber.emitter.complete();
+            }
+        }
+    }
+
+    /**
+     * Eventos posteriores a {@code lastEventId}, o {@code null} si no se puede reanudar desde él
+     */
+    private List<StreamEvent> replayAfter(String lastEventId) {
+        int dash = lastEventId.lastIndexOf('-');
+        if (dash < 0 || !lastEventId.substring(0, dash).equals(epoch)) {
+            return null;
+        }
+        long last;
+        try {
+            last = Long.parseLong(lastEventId.substring(dash + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        long oldest = sequence - history.size() + 1;
+        if (last > sequence || last < oldest - 1) {
+            return null;
+        }
+        List<StreamEvent> replay = new ArrayList<>((int) (sequence - last));
+        long position = oldest;
+        for (StreamEvent event : history) {
+            if (position++ > last) {
+                replay.add(event);
+            }
+        }
+        return replay;
+    }
+
+    /**
+     * Evento ya serializado; {@code id} nulo en los que no se pueden reanudar
+     */
+    record StreamEvent(String id, String name, String data) {
+
+        static final StreamEvent HEARTBEAT = new StreamEvent(null, null, null);
+
+        static StreamEvent reset() {
+            return new StreamEvent(null, RESET, "{}");
+        }
+
+        SseEmitter.SseEventBuilder toSse() {
+            if (name == null) {
+                return SseEmitter.event().comment("heartbeat");
+            }
+            SseEmitter.SseEventBuilder builder = SseEmitter.event().name(name).data(data);
+            return id != null ? builder.id(id) : builder;
+        }
+    }
+
+    /**
+     * Conexión suscrita con su cola de eventos pendientes de escribir
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<StreamEvent> queue = new LinkedBlockingQueue<>(subscriberBuffer);
+        private final AtomicBoolean writing = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        /**
+         * Encola el evento sin bloquear; {@code false} si la cola está llena
+         */
+        boolean offer(StreamEvent event) {
+            if (!queue.offer(event)) {
+                return false;
+            }
+            if (writing.compareAndSet(false, true)) {
+                writers.execute(this::drain);
+            }
+            return true;
+        }
+
+        private void drain() {
+            do {
+                StreamEvent event;
+                while ((event = queue.poll()) != null) {
+                    try {
+                        emitter.send(event.toSse());
+                    } catch (IOException | IllegalStateException e) {
+                        // Conexión cerrada por el cliente o ya completada
+                        log.debug("Suscriptor desconectado: {}", e.getMessage());
+                        subscribers.remove(this);
+                        queue.clear();
+                        return;
+                    }
+                }
+                writing.set(false);
+                // Un evento encolado justo después de vaciar la cola no ha lanzado escritor
+            } while (!queue.isEmpty() && writing.compareAndSet(false, true));
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.kata.beer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void prometheus_ShouldExposeEndpointServiceHibernateAndPoolMetrics() throws Exception {
+        mockMvc.perform(get("/api/beers")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(allOf(
+                        containsString("http_server_requests_seconds_bucket{error=\"none\",exception=\"none\",method=\"GET\""),
+                        containsString("uri=\"/api/beers\""),
+                        containsString("service_method_seconds_count{class=\"com.kata.beer.service.BeerService\",exception=\"none\",method=\"getAllBeers\"} 1"),
+                        containsString("hibernate_query_executions_total"),
+                        containsString("hibernate_entities_loads_total"),
+                        containsString("hikaricp_connections_acquire_seconds_bucket"))));
+    }
+}
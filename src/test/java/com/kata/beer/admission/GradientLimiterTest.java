@@ -0,0 +1,58 @@
+package com.kata.beer.admission;
+
+import org.junit.jupiter.api.Test;
+import java.util.concurrent.TimeUnit;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GradientLimiterTest {
+
+    private static final long BASE_RTT = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Test
+    void tryAcquire_ShouldRejectAboveLimitUntilAPermitIsReleased() {
+        GradientLimiter limiter = new GradientLimiter(1, 2);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        limiter.release(BASE_RTT);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.accepted()).isEqualTo(3);
+        assertThat(limiter.rejected()).isEqualTo(1);
+        assertThat(limiter.inFlight()).isEqualTo(2);
+    }
+
+    @Test
+    void onSample_ShouldShrinkWhenLatencyRisesAndRecoverWhenItSettles() {
+        GradientLimiter limiter = new GradientLimiter(1, 40);
+        for (int i = 0; i < 200; i++) {
+            limiter.onSample(BASE_RTT, limiter.limit());
+        }
+        assertThat(limiter.limit()).isEqualTo(40);
+
+        for (int i = 0; i < 30; i++) {
+            limiter.onSample(BASE_RTT * 5, limiter.limit());
+        }
+        int shed = limiter.limit();
+        assertThat(shed).isLessThan(25);
+
+        for (int i = 0; i < 200; i++) {
+            limiter.onSample(BASE_RTT, limiter.limit());
+        }
+        assertThat(limiter.limit()).isEqualTo(40);
+    }
+
+    @Test
+    void onSample_ShouldNotChangeLimitWhileMostOfItIsUnused() {
+        GradientLimiter limiter = new GradientLimiter(1, 40);
+        limiter.onSample(BASE_RTT, 40);
+
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(BASE_RTT * 10, 2);
+        }
+
+        assertThat(limiter.limit()).isEqualTo(40);
+    }
+}
@@ -0,0 +1,79 @@
+package com.kata.beer.cache;
+
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdIndexTest {
+
+    @Test
+    void contains_ShouldLoadOnceAndAnswerFromBitset() {
+        AtomicInteger loads = new AtomicInteger();
+        IdIndex index = new IdIndex(() -> {
+            loads.incrementAndGet();
+            return List.of(1, 3, 64, 1000);
+        });
+
+        assertThat(index.contains(1)).isTrue();
+        assertThat(index.contains(64)).isTrue();
+        assertThat(index.contains(1000)).isTrue();
+        assertThat(index.contains(2)).isFalse();
+        assertThat(index.contains(65)).isFalse();
+        assertThat(index.contains(5000)).isFalse();
+        assertThat(index.contains(-1)).isFalse();
+        assertThat(index.size()).isEqualTo(4);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void addAndRemove_ShouldUpdateLoadedIndex() {
+        IdIndex index = new IdIndex(() -> List.of(1, 2));
+        index.contains(1);
+
+        index.add(500);
+        index.remove(2);
+        index.remove(10_000);
+
+        assertThat(index.contains(500)).isTrue();
+        assertThat(index.contains(2)).isFalse();
+        assertThat(index.contains(1)).isTrue();
+    }
+
+    @Test
+    void add_ShouldBeIgnoredUntilLoadedAndForOutOfRangeIds() {
+        List<Integer> ids = new ArrayList<>(List.of(1));
+        IdIndex index = new IdIndex(() -> ids);
+
+        index.add(7);
+        ids.add(9);
+        index.add(IdIndex.MAX_INDEXED_ID);
+
+        assertThat(index.contains(7)).isFalse();
+        assertThat(index.contains(9)).isTrue();
+        assertThat(index.contains(IdIndex.MAX_INDEXED_ID)).isFalse();
+    }
+
+    @Test
+    void reload_ShouldReplaceIndexedIds() {
+        List<Integer> ids = new ArrayList<>(List.of(1));
+        IdIndex index = new IdIndex(() -> ids);
+        index.contains(1);
+
+        ids.clear();
+        ids.add(2);
+        index.reload();
+
+        assertThat(index.contains(1)).isFalse();
+        assertThat(index.contains(2)).isTrue();
+    }
+
+    @Test
+    void contains_ShouldHandleEmptyTable() {
+        IdIndex index = new IdIndex(List::of);
+
+        assertThat(index.contains(0)).isFalse();
+        assertThat(index.size()).isZero();
+    }
+}
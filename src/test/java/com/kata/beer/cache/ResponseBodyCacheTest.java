@@ -0,0 +1,95 @@
+package com.kata.beer.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kata.beer.dto.ResourceVersion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseBodyCacheTest {
+
+    private static final LocalDateTime LAST_MOD = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+    private ResponseBodyCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ResponseBodyCache(new ObjectMapper(), DataSize.ofBytes(200));
+    }
+
+    @Test
+    void get_ShouldBuildOncePerVersion() {
+        ResourceVersion version = ResourceVersion.of("styles-1", LAST_MOD);
+        int[] builds = new int[1];
+
+        CachedBody first = cache.get(version, () -> {
+            builds[0]++;
+            return List.of("a");
+        });
+        CachedBody second = cache.get(version, () -> {
+            builds[0]++;
+            return List.of("b");
+        });
+
+        assertThat(builds[0]).isEqualTo(1);
+        assertThat(second).isSameAs(first);
+        assertThat(new String(first.json())).isEqualTo("[\"a\"]");
+        assertThat(cache.stats().hits()).isEqualTo(1);
+        assertThat(cache.stats().misses()).isEqualTo(1);
+    }
+
+    @Test
+    void get_ShouldCompressOnlyWhenSmaller() throws IOException {
+        CachedBody small = cache.get(ResourceVersion.of("small", LAST_MOD), () -> List.of(1));
+        CachedBody repetitive = cache.get(ResourceVersion.of("large", LAST_MOD), () -> Map.of("text", "x".repeat(150)));
+
+        assertThat(small.hasGzip()).isFalse();
+        assertThat(repetitive.hasGzip()).isTrue();
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(repetitive.gzip()))) {
+            assertThat(in.readAllBytes()).isEqualTo(repetitive.json());
+        }
+    }
+
+    @Test
+    void get_ShouldEvictLeastRecentlyUsedWhenOverMaxBytes() {
+        ResourceVersion a = ResourceVersion.of("a", LAST_MOD);
+        ResourceVersion b = ResourceVersion.of("b", LAST_MOD);
+        ResourceVersion c = ResourceVersion.of("c", LAST_MOD);
+        cache.get(a, () -> "a".repeat(60));
+        cache.get(b, () -> "b".repeat(60));
+        cache.get(a, () -> "unused");
+        cache.get(c, () -> "c".repeat(60));
+
+        ResponseCacheStats stats = cache.stats();
+        assertThat(stats.evictions()).isEqualTo(1);
+        assertThat(stats.bytes()).isLessThanOrEqualTo(200);
+
+        int[] rebuilds = new int[1];
+        cache.get(a, () -> {
+            rebuilds[0]++;
+            return "a";
+        });
+        cache.get(b, () -> {
+            rebuilds[0]++;
+            return "b";
+        });
+        assertThat(rebuilds[0]).isEqualTo(1);
+    }
+
+    @Test
+    void get_ShouldNotStoreBodiesLargerThanTheCache() {
+        ResourceVersion version = ResourceVersion.of("huge", LAST_MOD);
+        cache.get(version, () -> "z".repeat(500));
+
+        assertThat(cache.stats().entries()).isZero();
+        assertThat(cache.stats().bytes()).isZero();
+    }
+}
@@ -1,29 +1,65 @@
 package com.kata.beer.controller;
 
+import com.kata.beer.admission.AdmissionControlInterceptor;
+import com.kata.beer.admission.EndpointClass;
+import com.kata.beer.admission.GradientLimiter;
+import com.kata.beer.cache.ResponseBodyCache;
+import com.kata.beer.dto.BatchCreateResult;
+import com.kata.beer.dto.BatchItemResult;
+import com.kata.beer.dto.BeerChanges;
+import com.kata.beer.dto.BeerDescription;
+import com.kata.beer.dto.BeerFilter;
+import com.kata.beer.dto.CursorPage;
+import com.kata.beer.dto.FieldSet;
+import com.kata.beer.dto.ResourceVersion;
+import com.kata.beer.dto.SearchPage;
+import com.kata.beer.exception.ChangeTokenExpiredException;
+import com.kata.beer.exception.PreconditionFailedException;
 import com.kata.beer.model.Beer;
 import com.kata.beer.model.Brewery;
 import com.kata.beer.model.Category;
 import com.kata.beer.model.Style;
+import com.kata.beer.protobuf.BeerProtobuf;
+import com.kata.beer.protobuf.BeerProtobufHttpMessageConverter;
+import com.kata.beer.service.BeerChangesService;
+import com.kata.beer.service.BeerExportService;
+import com.kata.beer.service.BeerFilterService;
+import com.kata.beer.service.BeerSearchService;
 import com.kata.beer.service.BeerService;
+import com.kata.beer.service.ResourceVersionService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.google.protobuf.CodedInputStream;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentMatchers;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.hamcrest.Matchers.*;
+import static org.assertj.core.api.Assertions.assertThat;
 
 @WebMvcTest(BeerController.class)
+@Import(ResponseBodyCache.class)
 class BeerControllerTest {
 
     @Autowired
@@ -32,9 +68,30 @@ class BeerControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private ResponseBodyCache responseBodyCache;
+
+    @Autowired
+    private AdmissionControlInterceptor admissionControlInterceptor;
+
     @MockBean
     private BeerService beerService;
 
+    @MockBean
+    private BeerExportService beerExportService;
+
+    @MockBean
+    private BeerSearchService beerSearchService;
+
+    @MockBean
+    private BeerFilterService beerFilterService;
+
+    @MockBean
+    private BeerChangesService beerChangesService;
+
+    @MockBean
+    private ResourceVersionService resourceVersionService;
+
     private Beer testBeer;
     private Brewery testBrewery;
     private Category testCategory;
@@ -42,6 +99,8 @@ class BeerControllerTest {
 
     @BeforeEach
     void setUp() {
+        responseBodyCache.clear();
+
         testBrewery = new Brewery();
         testBrewery.setId(1);
         testBrewery.setName("Test Brewery");
@@ -69,6 +128,9 @@ class BeerControllerTest {
         testBeer.setDescript("Test Description");
         testBeer.setAddUser(0);
         testBeer.setLastMod(LocalDateTime.now());
+
+        when(resourceVersionService.beers()).thenReturn(ResourceVersion.of("beers-1-1-1-1", testBeer.getLastMod()));
+        when(resourceVersionService.beer(1)).thenReturn(Optional.of(ResourceVersion.of("beer-1", testBeer.getLastMod())));
     }
 
     @Test
@@ -87,17 +149,344 @@ class BeerControllerTest {
     }
 
     @Test
-    void getBeerById_WhenBeerExists_ShouldReturnBeer() throws Exception {
-        when(beerService.getBeerById(1)).thenReturn(testBeer);
+    void getBeersPage_ShouldReturnItemsAndNextCursor() throws Exception {
+        CursorPage<Beer> page = new CursorPage<>(Collections.singletonList(testBeer), 1, 1);
+        when(beerService.getBeersPage(null, 1)).thenReturn(page);
+
+        mockMvc.perform(get("/api/beers").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].id", is(1)))
+                .andExpect(jsonPath("$.limit", is(1)))
+                .andExpect(jsonPath("$.nextCursor", is(1)));
+
+        verify(beerService, times(1)).getBeersPage(null, 1);
+        verify(beerService, never()).getAllBeers();
+    }
+
+    @Test
+    void exportBeers_ShouldStreamNdjson() throws Exception {
+        when(beerExportService.exportNdjson(ArgumentMatchers.any(OutputStream.class))).thenAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+            return 2L;
+        });
+
+        MvcResult result = mockMvc.perform(get("/api/beers/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+
+        verify(beerExportService, times(1)).exportNdjson(ArgumentMatchers.any(OutputStream.class));
+    }
+
+    @Test
+    void searchBeers_ShouldReturnRankedPage() throws Exception {
+        SearchPage<Beer> results = new SearchPage<>("test", 1, 0, 20, List.of(testBeer));
+        when(beerSearchService.searchBeers("test", 0, 20)).thenReturn(results);
+
+        mockMvc.perform(get("/api/beers/search").param("q", "test"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.query", is("test")))
+                .andExpect(jsonPath("$.total", is(1)))
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].name", is("Test Beer")));
+
+        verify(beerSearchService, times(1)).searchBeers("test", 0, 20);
+    }
+
+    @Test
+    void filterBeers_ShouldBindCriteriaAndReturnPage() throws Exception {
+        CursorPage<Beer> page = new CursorPage<>(List.of(testBeer), 100, null);
+        when(beerFilterService.filterBeers(ArgumentMatchers.any(BeerFilter.class), isNull(), eq(100))).thenReturn(page);
+
+        mockMvc.perform(get("/api/beers/filter")
+                        .param("minAbv", "5")
+                        .param("maxIbu", "40")
+                        .param("country", "Belgium"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].name", is("Test Beer")));
+
+        verify(beerFilterService, times(1)).filterBeers(argThat(filter ->
+                filter.getMinAbv() == 5f && filter.getMaxIbu() == 40f && "Belgium".equals(filter.getCountry())
+                        && filter.getMaxAbv() == null), isNull(), eq(100));
+    }
+
+    @Test
+    void getBeerById_WhenBeerExists_ShouldReturnBeerWithDescription() throws Exception {
+        testBeer.setDescript("Full description");
+        when(beerService.getBeerWithDescription(1)).thenReturn(testBeer);
 
         mockMvc.perform(get("/api/beer/1"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.id", is(1)))
                 .andExpect(jsonPath("$.name", is("Test Beer")))
-                .andExpect(jsonPath("$.abv", is(5.5)));
+                .andExpect(jsonPath("$.abv", is(5.5)))
+                .andExpect(jsonPath("$.descript", is("Full description")));
 
-        verify(beerService, times(1)).getBeerById(1);
+        verify(beerService, times(1)).getBeerWithDescription(1);
+        verify(beerService, never()).getBeerById(anyInt());
+    }
+
+    @Test
+    void getBeerById_WithFields_ShouldReturnProjectionWithItsOwnETag() throws Exception {
+        when(beerService.getBeerById(eq(1), ArgumentMatchers.any(FieldSet.class)))
+                .thenReturn(Map.of("id", 1, "name", "Test Beer"));
+        ResourceVersion variant = ResourceVersion.of("beer-1", testBeer.getLastMod()).withVariant(FieldSet.parse("name"));
+
+        mockMvc.perform(get("/api/beer/1").param("fields", "name"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, variant.eTag()))
+                .andExpect(jsonPath("$.name", is("Test Beer")))
+                .andExpect(jsonPath("$.abv").doesNotExist());
+
+        verify(beerService, times(1)).getBeerById(1, FieldSet.parse("name"));
+        verify(beerService, never()).getBeerById(1);
+        assertThat(variant.eTag()).isNotEqualTo(resourceVersionService.beer(1).orElseThrow().eTag());
+    }
+
+    @Test
+    void getBeerById_WithExpandDescript_ShouldAddDescriptionOnlyToProjections() throws Exception {
+        testBeer.setDescript("Full description");
+        when(beerService.getBeerWithDescription(1)).thenReturn(testBeer);
+        when(beerService.getBeerById(eq(1), ArgumentMatchers.any(FieldSet.class)))
+                .thenReturn(Map.of("id", 1, "name", "Test Beer", "descript", "Full description"));
+        ResourceVersion full = resourceVersionService.beer(1).orElseThrow();
+
+        mockMvc.perform(get("/api/beer/1").param("expand", "descript"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, full.eTag()))
+                .andExpect(jsonPath("$.descript", is("Full description")));
+        mockMvc.perform(get("/api/beer/1").param("fields", "name").param("expand", "descript"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, full.withVariant(FieldSet.parse("name,descript")).eTag()))
+                .andExpect(jsonPath("$.descript", is("Full description")));
+
+        verify(beerService, times(1)).getBeerById(1, FieldSet.parse("name,descript"));
+
+        mockMvc.perform(get("/api/beer/1").param("expand", "brewery"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Valor de expand no soportado: brewery")));
+    }
+
+    @Test
+    void getBeerDescription_ShouldReturnOnlyTheDescription() throws Exception {
+        when(beerService.getBeerDescription(1)).thenReturn(new BeerDescription(1, "Full description"));
+
+        mockMvc.perform(get("/api/beer/1/description"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.id", is(1)))
+                .andExpect(jsonPath("$.descript", is("Full description")));
+
+        mockMvc.perform(get("/api/beer/99/description"))
+                .andExpect(status().isNotFound());
+        verify(beerService, never()).getBeerDescription(99);
+    }
+
+    @Test
+    void getBeersPage_WithFields_ShouldReturnProjectedItems() throws Exception {
+        CursorPage<Map<String, Object>> page = new CursorPage<>(List.of(Map.of("id", 1, "abv", 5.5)), 1, 1);
+        when(beerService.getBeersPage(isNull(), eq(1), ArgumentMatchers.any(FieldSet.class))).thenReturn(page);
+
+        mockMvc.perform(get("/api/beers").param("limit", "1").param("fields", "abv"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].abv", is(5.5)))
+                .andExpect(jsonPath("$.items[0].name").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor", is(1)));
+
+        verify(beerService, never()).getBeersPage(any(), anyInt());
+    }
+
+    @Test
+    void getAllBeers_WhenETagMatches_ShouldReturnNotModifiedWithoutLoading() throws Exception {
+        String eTag = resourceVersionService.beers().eTag();
+
+        mockMvc.perform(get("/api/beers").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+
+        verify(beerService, never()).getAllBeers();
+    }
+
+    @Test
+    void getAllBeers_WhenETagIsStale_ShouldReturnListWithCurrentETag() throws Exception {
+        when(beerService.getAllBeers()).thenReturn(Collections.singletonList(testBeer));
+
+        mockMvc.perform(get("/api/beers").header(HttpHeaders.IF_NONE_MATCH, "\"beers-0-0-0-0-1\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, resourceVersionService.beers().eTag()))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    void getBeerById_WhenBeerDoesNotExist_ShouldReturnNotFound() throws Exception {
+        mockMvc.perform(get("/api/beer/99"))
+                .andExpect(status().isNotFound());
+
+        verify(beerService, never()).getBeerWithDescription(anyInt());
+    }
+
+    @Test
+    void getBeerById_ShouldServeCachedBytesAndGzipWhenAccepted() throws Exception {
+        testBeer.setDescript("A long description that repeats itself. ".repeat(20));
+        when(beerService.getBeerWithDescription(1)).thenReturn(testBeer);
+
+        mockMvc.perform(get("/api/beer/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(jsonPath("$.name", is("Test Beer")));
+
+        byte[] gzipped = mockMvc.perform(get("/api/beer/1").header(HttpHeaders.ACCEPT_ENCODING, "br;q=1.0, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            Beer beer = objectMapper.readValue(in, Beer.class);
+            assertThat(beer.getName()).isEqualTo("Test Beer");
+        }
+        verify(beerService, times(1)).getBeerWithDescription(1);
+        assertThat(responseBodyCache.stats().hits()).isEqualTo(1);
+    }
+
+    @Test
+    void getBeerById_WhenETagMatches_ShouldReturnNotModifiedWithoutLoading() throws Exception {
+        ResourceVersion version = ResourceVersion.of("beer-1", testBeer.getLastMod());
+        when(resourceVersionService.beer(1)).thenReturn(Optional.of(version));
+
+        mockMvc.perform(get("/api/beer/1").header(HttpHeaders.IF_NONE_MATCH, version.eTag()))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, version.eTag()));
+
+        verify(beerService, never()).getBeerWithDescription(anyInt());
+    }
+
+    @Test
+    void getBeerById_WithCborAccept_ShouldReturnCborWithItsOwnETag() throws Exception {
+        when(beerService.getBeerWithDescription(1)).thenReturn(testBeer);
+        String jsonETag = resourceVersionService.beer(1).orElseThrow().eTag();
+
+        mockMvc.perform(get("/api/beer/1").accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(HttpHeaders.ETAG, jsonETag));
+
+        MvcResult result = mockMvc.perform(get("/api/beer/1")
+                        .header(HttpHeaders.ACCEPT, "application/json;q=0.9, application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+                .andReturn();
+
+        Beer beer = new ObjectMapper(new CBORFactory()).findAndRegisterModules()
+                .readValue(result.getResponse().getContentAsByteArray(), Beer.class);
+        assertThat(beer.getName()).isEqualTo("Test Beer");
+        assertThat(beer.getBrewery().getName()).isEqualTo("Test Brewery");
+        assertThat(result.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(jsonETag);
+    }
+
+    @Test
+    void getAllBeers_WithProtobufAccept_ShouldReturnBeerList() throws Exception {
+        when(beerService.getAllBeers()).thenReturn(Collections.singletonList(testBeer));
+
+        byte[] body = mockMvc.perform(get("/api/beers").accept(BeerProtobufHttpMessageConverter.PROTOBUF))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(BeerProtobufHttpMessageConverter.PROTOBUF))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        List<Beer> beers = BeerProtobuf.BEER.readList(CodedInputStream.newInstance(body));
+        assertThat(beers).hasSize(1);
+        assertThat(beers.get(0).getName()).isEqualTo("Test Beer");
+        assertThat(beers.get(0).getAbv()).isEqualTo(5.5f);
+        assertThat(beers.get(0).getStyle().getStyleName()).isEqualTo("Test Style");
+
+        when(beerChangesService.getChanges(any(), anyInt())).thenReturn(new BeerChanges(List.of(), List.of(), "t", false));
+        mockMvc.perform(get("/api/beers/changes").accept(BeerProtobufHttpMessageConverter.PROTOBUF))
+                .andExpect(status().isNotAcceptable());
+    }
+
+    @Test
+    void exportBeers_ShouldHoldScanPermitUntilTheAsyncDispatchCompletes() throws Exception {
+        GradientLimiter scans = admissionControlInterceptor.limiter(EndpointClass.SCAN);
+        int before = scans.inFlight();
+        when(beerExportService.exportNdjson(ArgumentMatchers.any(OutputStream.class))).thenReturn(0L);
+
+        MvcResult result = mockMvc.perform(get("/api/beers/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThat(scans.inFlight()).isEqualTo(before + 1);
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+        assertThat(scans.inFlight()).isEqualTo(before);
+    }
+
+    @Test
+    void getAllBeers_WhenScanLimitIsReached_ShouldShedWithRetryAfterButServeLookups() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        admissionControlInterceptor.bindTo(registry);
+        GradientLimiter scans = admissionControlInterceptor.limiter(EndpointClass.SCAN);
+        int held = 0;
+        while (scans.tryAcquire()) {
+            held++;
+        }
+        when(beerService.getBeerWithDescription(1)).thenReturn(testBeer);
+
+        try {
+            mockMvc.perform(get("/api/beers"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                    .andExpect(jsonPath("$.status", is(503)));
+            mockMvc.perform(get("/api/beer/1"))
+                    .andExpect(status().isOk());
+        } finally {
+            for (int i = 0; i < held; i++) {
+                scans.release(0);
+            }
+        }
+
+        verify(beerService, never()).getAllBeers();
+        assertThat(registry.get("beer.admission.requests").tags("endpoint.class", "scan", "outcome", "rejected")
+                .functionCounter().count()).isEqualTo(2);
+        assertThat(registry.get("beer.admission.in.flight").tag("endpoint.class", "lookup").gauge().value()).isZero();
+    }
+
+    @Test
+    void getBeersPage_WhenPageLimitIsReached_ShouldShedPagesButServeLookups() throws Exception {
+        GradientLimiter pages = admissionControlInterceptor.limiter(EndpointClass.PAGE);
+        int held = 0;
+        while (pages.tryAcquire()) {
+            held++;
+        }
+        when(beerService.getBeerWithDescription(1)).thenReturn(testBeer);
+
+        try {
+            mockMvc.perform(get("/api/beers").param("limit", "1000"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+            mockMvc.perform(get("/api/beer/1"))
+                    .andExpect(status().isOk());
+        } finally {
+            for (int i = 0; i < held; i++) {
+                pages.release(0);
+            }
+        }
+
+        verify(beerService, never()).getBeersPage(any(), anyInt());
     }
 
     @Test
@@ -115,6 +504,40 @@ class BeerControllerTest {
         verify(beerService, times(1)).createBeer(ArgumentMatchers.any(Beer.class));
     }
 
+    @Test
+    void createBeers_ShouldReturnPerItemResults() throws Exception {
+        BatchCreateResult result = new BatchCreateResult(1, 1, List.of(
+                BatchItemResult.created(0, 10),
+                BatchItemResult.rejected(1, "Cervecería no encontrada con id: 99")));
+        when(beerService.createBeers(ArgumentMatchers.anyList())).thenReturn(result);
+
+        mockMvc.perform(post("/api/beers/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(testBeer, testBeer))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.created", is(1)))
+                .andExpect(jsonPath("$.rejected", is(1)))
+                .andExpect(jsonPath("$.results[0].status", is("CREATED")))
+                .andExpect(jsonPath("$.results[0].id", is(10)))
+                .andExpect(jsonPath("$.results[1].status", is("REJECTED")))
+                .andExpect(jsonPath("$.results[1].error", is("Cervecería no encontrada con id: 99")));
+
+        verify(beerService, times(1)).createBeers(ArgumentMatchers.anyList());
+    }
+
+    @Test
+    void createBeers_WhenNoItemIsValid_ShouldReturnBadRequest() throws Exception {
+        BatchCreateResult result = new BatchCreateResult(0, 1, List.of(
+                BatchItemResult.rejected(0, "La cerveza debe tener un estilo asociado")));
+        when(beerService.createBeers(ArgumentMatchers.anyList())).thenReturn(result);
+
+        mockMvc.perform(post("/api/beers/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(testBeer))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.results[0].status", is("REJECTED")));
+    }
+
     @Test
     void updateBeer_WithValidData_ShouldReturnUpdatedBeer() throws Exception {
         Beer updatedBeer = new Beer();
@@ -147,17 +570,50 @@ class BeerControllerTest {
         updatedBeer.setBrewery(testBrewery);
         updatedBeer.setCategory(testCategory);
         updatedBeer.setStyle(testStyle);
+        updatedBeer.setVersion(3L);
 
-        when(beerService.partialUpdateBeer(eq(1), ArgumentMatchers.any(Beer.class))).thenReturn(updatedBeer);
+        when(beerService.partialUpdateBeer(eq(1), ArgumentMatchers.any(Beer.class), isNull())).thenReturn(updatedBeer);
 
         mockMvc.perform(patch("/api/beer/1")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(partialBeer)))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$.name", is("Partially Updated Beer")));
+                .andExpect(jsonPath("$.name", is("Partially Updated Beer")))
+                .andExpect(header().string(HttpHeaders.ETAG, ResourceVersionService.beer(updatedBeer).eTag()))
+                .andExpect(header().string(HttpHeaders.ETAG, containsString("\"beer-1-3-")));
+
+        verify(beerService, times(1)).partialUpdateBeer(eq(1), ArgumentMatchers.any(Beer.class), isNull());
+    }
+
+    @Test
+    void partialUpdateBeer_WithReturnMinimal_ShouldReturnNoContentWithoutReloading() throws Exception {
+        Beer partialBeer = new Beer();
+        partialBeer.setAbv(6.5f);
+
+        mockMvc.perform(patch("/api/beer/1")
+                        .header("Prefer", "return=minimal")
+                        .header(HttpHeaders.IF_MATCH, "\"beer-1-abc\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(partialBeer)))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string("Preference-Applied", "return=minimal"));
 
-        verify(beerService, times(1)).partialUpdateBeer(eq(1), ArgumentMatchers.any(Beer.class));
+        verify(beerService, times(1)).patchBeer(eq(1), ArgumentMatchers.any(Beer.class), eq("\"beer-1-abc\""));
+        verify(beerService, never()).partialUpdateBeer(anyInt(), ArgumentMatchers.any(Beer.class), any());
+    }
+
+    @Test
+    void partialUpdateBeer_WhenIfMatchIsStale_ShouldReturnPreconditionFailed() throws Exception {
+        when(beerService.partialUpdateBeer(eq(1), ArgumentMatchers.any(Beer.class), eq("\"beer-1-old\"")))
+                .thenThrow(new PreconditionFailedException("La cerveza 1 no coincide con la versión de If-Match"));
+
+        mockMvc.perform(patch("/api/beer/1")
+                        .header(HttpHeaders.IF_MATCH, "\"beer-1-old\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"abv\": 6.5}"))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.status", is(412)));
     }
 
     @Test
@@ -169,5 +625,73 @@ class BeerControllerTest {
 
         verify(beerService, times(1)).deleteBeer(1);
     }
-}
 
+    @Test
+    void deleteBeers_WithIds_ShouldReturnAffectedCount() throws Exception {
+        when(beerService.deleteBeers(List.of(1, 2, 3))).thenReturn(2);
+
+        mockMvc.perform(delete("/api/beers").param("ids", "1,2,3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected", is(2)));
+
+        verify(beerService, never()).deleteMatchingBeers(ArgumentMatchers.any());
+    }
+
+    @Test
+    void deleteBeers_WithFilter_ShouldDeleteMatchingBeers() throws Exception {
+        when(beerService.deleteMatchingBeers(ArgumentMatchers.any(BeerFilter.class))).thenReturn(7);
+
+        mockMvc.perform(delete("/api/beers").param("breweryId", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected", is(7)));
+
+        verify(beerService).deleteMatchingBeers(argThat(filter -> filter.getBreweryId() == 5));
+    }
+
+    @Test
+    void deleteBeers_WithIdsAndFilter_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(delete("/api/beers").param("ids", "1").param("breweryId", "5"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(beerService);
+    }
+
+    @Test
+    void updateBeers_ShouldApplyAssignmentToMatchingBeers() throws Exception {
+        when(beerService.updateMatchingBeers(ArgumentMatchers.any(BeerFilter.class), ArgumentMatchers.any(Beer.class)))
+                .thenReturn(12);
+
+        mockMvc.perform(patch("/api/beers/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"filter\": {\"categoryId\": 3}, \"set\": {\"style\": {\"id\": 9}}}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected", is(12)));
+
+        verify(beerService).updateMatchingBeers(argThat(filter -> filter.getCategoryId() == 3),
+                argThat(changes -> changes.getStyle().getId() == 9 && changes.getAbv() == null));
+    }
+
+    @Test
+    void getBeerChanges_ShouldReturnChangesAndNextToken() throws Exception {
+        when(beerChangesService.getChanges("abc", 50))
+                .thenReturn(new BeerChanges(List.of(testBeer), List.of(7, 9), "def", false));
+
+        mockMvc.perform(get("/api/beers/changes").param("since", "abc").param("limit", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changed", hasSize(1)))
+                .andExpect(jsonPath("$.changed[0].id", is(1)))
+                .andExpect(jsonPath("$.deleted", contains(7, 9)))
+                .andExpect(jsonPath("$.token", is("def")))
+                .andExpect(jsonPath("$.hasMore", is(false)));
+    }
+
+    @Test
+    void getBeerChanges_WhenTokenExpired_ShouldReturnGone() throws Exception {
+        when(beerChangesService.getChanges(eq("old"), anyInt()))
+                .thenThrow(new ChangeTokenExpiredException("El token de cambios ha caducado"));
+
+        mockMvc.perform(get("/api/beers/changes").param("since", "old"))
+                .andExpect(status().isGone())
+                .andExpect(jsonPath("$.status", is(410)));
+    }
+}
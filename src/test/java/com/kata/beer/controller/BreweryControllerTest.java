@@ -1,16 +1,24 @@
 package com.kata.beer.controller;
 
+import com.kata.beer.dto.CursorPage;
+import com.kata.beer.dto.FieldSet;
+import com.kata.beer.dto.ResourceVersion;
 import com.kata.beer.model.Brewery;
 import com.kata.beer.service.BreweryService;
+import com.kata.beer.service.ResourceVersionService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -25,6 +33,9 @@ class BreweryControllerTest {
     @MockBean
     private BreweryService breweryService;
 
+    @MockBean
+    private ResourceVersionService resourceVersionService;
+
     private Brewery testBrewery;
 
     @BeforeEach
@@ -34,6 +45,9 @@ class BreweryControllerTest {
         testBrewery.setName("Test Brewery");
         testBrewery.setCity("Test City");
         testBrewery.setCountry("Test Country");
+        testBrewery.setLastMod(LocalDateTime.of(2024, 5, 1, 12, 0));
+
+        when(resourceVersionService.breweries()).thenReturn(ResourceVersion.of("breweries-1", testBrewery.getLastMod()));
     }
 
     @Test
@@ -52,17 +66,91 @@ class BreweryControllerTest {
     }
 
     @Test
-    void getBreweryById_WhenBreweryExists_ShouldReturnBrewery() throws Exception {
+    void getBreweriesPage_ShouldReturnItemsAndNextCursor() throws Exception {
+        CursorPage<Brewery> page = new CursorPage<>(Collections.singletonList(testBrewery), 1, 1);
+        when(breweryService.getBreweriesPage(null, 1)).thenReturn(page);
+
+        mockMvc.perform(get("/api/breweries").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].id", is(1)))
+                .andExpect(jsonPath("$.limit", is(1)))
+                .andExpect(jsonPath("$.nextCursor", is(1)));
+
+        verify(breweryService, times(1)).getBreweriesPage(null, 1);
+        verify(breweryService, never()).getAllBreweries();
+    }
+
+    @Test
+    void getBreweryById_WhenBreweryExists_ShouldReturnBreweryWithDescription() throws Exception {
         when(breweryService.getBreweryById(1)).thenReturn(testBrewery);
+        testBrewery.setDescript("Test description");
+        when(breweryService.getBreweryWithDescription(1)).thenReturn(testBrewery);
 
         mockMvc.perform(get("/api/brewerie/1"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.id", is(1)))
                 .andExpect(jsonPath("$.name", is("Test Brewery")))
-                .andExpect(jsonPath("$.country", is("Test Country")));
+                .andExpect(jsonPath("$.country", is("Test Country")))
+                .andExpect(jsonPath("$.descript", is("Test description")));
 
         verify(breweryService, times(1)).getBreweryById(1);
+        verify(breweryService, times(1)).getBreweryWithDescription(1);
+    }
+
+    @Test
+    void getAllBreweries_WithFields_ShouldReturnProjectedBreweries() throws Exception {
+        when(breweryService.getAllBreweries(ArgumentMatchers.any(FieldSet.class)))
+                .thenReturn(List.of(Map.of("id", 1, "country", "Test Country")));
+
+        mockMvc.perform(get("/api/breweries").param("fields", "country"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].country", is("Test Country")))
+                .andExpect(jsonPath("$[0].name").doesNotExist());
+
+        verify(breweryService, never()).getAllBreweries();
     }
-}
 
+    @Test
+    void getAllBreweries_WithUnknownField_ShouldReturnBadRequest() throws Exception {
+        when(breweryService.getAllBreweries(ArgumentMatchers.any(FieldSet.class)))
+                .thenThrow(new IllegalArgumentException("Campo desconocido en fields: colour"));
+
+        mockMvc.perform(get("/api/breweries").param("fields", "colour"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Campo desconocido en fields: colour")));
+    }
+
+    @Test
+    void getAllBreweries_WhenETagMatches_ShouldReturnNotModifiedWithoutLoading() throws Exception {
+        String eTag = resourceVersionService.breweries().eTag();
+
+        mockMvc.perform(get("/api/breweries").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+
+        verify(breweryService, never()).getAllBreweries();
+    }
+
+    @Test
+    void getBreweryById_WhenNotModifiedSince_ShouldReturnNotModified() throws Exception {
+        when(breweryService.getBreweryById(1)).thenReturn(testBrewery);
+        when(breweryService.getBreweryWithDescription(1)).thenReturn(testBrewery);
+        long lastModified = ResourceVersion.of("brewery-1", testBrewery.getLastMod()).lastModified();
+        HttpHeaders conditional = new HttpHeaders();
+        conditional.setIfModifiedSince(lastModified);
+
+        mockMvc.perform(get("/api/brewerie/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(header().dateValue(HttpHeaders.LAST_MODIFIED, lastModified));
+
+        mockMvc.perform(get("/api/brewerie/1").headers(conditional))
+                .andExpect(status().isNotModified());
+        verify(breweryService, times(1)).getBreweryWithDescription(1);
+    }
+}
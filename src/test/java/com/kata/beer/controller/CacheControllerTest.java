@@ -0,0 +1,61 @@
+package com.kata.beer.controller;
+
+import com.kata.beer.cache.ReferenceCacheStats;
+import com.kata.beer.cache.ReferenceDataCache;
+import com.kata.beer.cache.ResponseBodyCache;
+import com.kata.beer.cache.ResponseCacheStats;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import java.util.List;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static org.hamcrest.Matchers.*;
+
+@WebMvcTest(CacheController.class)
+class CacheControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ReferenceDataCache referenceDataCache;
+
+    @MockBean
+    private ResponseBodyCache responseBodyCache;
+
+    @Test
+    void getCacheStats_ShouldReturnStatsPerTable() throws Exception {
+        when(referenceDataCache.stats()).thenReturn(List.of(
+                new ReferenceCacheStats("categories", 11, 30, 10, 1, true)));
+
+        mockMvc.perform(get("/api/cache/stats"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name", is("categories")))
+                .andExpect(jsonPath("$[0].size", is(11)))
+                .andExpect(jsonPath("$[0].hits", is(30)))
+                .andExpect(jsonPath("$[0].misses", is(10)))
+                .andExpect(jsonPath("$[0].hitRatio", is(0.75)));
+
+        verify(referenceDataCache, times(1)).stats();
+    }
+
+    @Test
+    void getResponseCacheStats_ShouldReturnSizeAndHitRatio() throws Exception {
+        when(responseBodyCache.stats()).thenReturn(new ResponseCacheStats(2, 4096, 16384, 9, 1, 0));
+
+        mockMvc.perform(get("/api/cache/responses/stats"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.entries", is(2)))
+                .andExpect(jsonPath("$.bytes", is(4096)))
+                .andExpect(jsonPath("$.maxBytes", is(16384)))
+                .andExpect(jsonPath("$.hitRatio", is(0.9)));
+    }
+}
@@ -1,14 +1,21 @@
 package com.kata.beer.controller;
 
+import com.kata.beer.cache.ResponseBodyCache;
+import com.kata.beer.dto.CursorPage;
+import com.kata.beer.dto.ResourceVersion;
 import com.kata.beer.model.Category;
 import com.kata.beer.service.CategoryService;
+import com.kata.beer.service.ResourceVersionService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import static org.mockito.Mockito.*;
@@ -17,22 +24,34 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.hamcrest.Matchers.*;
 
 @WebMvcTest(CategoryController.class)
+@Import(ResponseBodyCache.class)
 class CategoryControllerTest {
 
     @Autowired
     private MockMvc mockMvc;
 
 
+    @Autowired
+    private ResponseBodyCache responseBodyCache;
+
     @MockBean
     private CategoryService categoryService;
 
+    @MockBean
+    private ResourceVersionService resourceVersionService;
+
     private Category testCategory;
 
     @BeforeEach
     void setUp() {
+        responseBodyCache.clear();
+
         testCategory = new Category();
         testCategory.setId(1);
         testCategory.setCatName("Test Category");
+        testCategory.setLastMod(LocalDateTime.of(2024, 5, 1, 12, 0));
+
+        when(resourceVersionService.categories()).thenReturn(ResourceVersion.of("categories-1", testCategory.getLastMod()));
     }
 
     @Test
@@ -49,6 +68,23 @@ class CategoryControllerTest {
         verify(categoryService, times(1)).getAllCategories();
     }
 
+    @Test
+    void getCategoriesPage_ShouldReturnItemsAndNextCursor() throws Exception {
+        CursorPage<Category> page = new CursorPage<>(Collections.singletonList(testCategory), 1, 1);
+        when(categoryService.getCategoriesPage(null, 1)).thenReturn(page);
+
+        mockMvc.perform(get("/api/categories").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].id", is(1)))
+                .andExpect(jsonPath("$.limit", is(1)))
+                .andExpect(jsonPath("$.nextCursor", is(1)));
+
+        verify(categoryService, times(1)).getCategoriesPage(null, 1);
+        verify(categoryService, never()).getAllCategories();
+    }
+
     @Test
     void getCategoryById_WhenCategoryExists_ShouldReturnCategory() throws Exception {
         when(categoryService.getCategoryById(1)).thenReturn(testCategory);
@@ -61,5 +97,50 @@ class CategoryControllerTest {
 
         verify(categoryService, times(1)).getCategoryById(1);
     }
-}
 
+    @Test
+    void getAllCategories_WhenETagMatches_ShouldReturnNotModifiedWithoutLoading() throws Exception {
+        String eTag = resourceVersionService.categories().eTag();
+
+        mockMvc.perform(get("/api/categories").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+
+        verify(categoryService, never()).getAllCategories();
+    }
+
+    @Test
+    void getCategoryById_WhenNotModifiedSince_ShouldReturnNotModified() throws Exception {
+        when(categoryService.getCategoryById(1)).thenReturn(testCategory);
+        long lastModified = ResourceVersion.of("category-1", testCategory.getLastMod()).lastModified();
+        HttpHeaders conditional = new HttpHeaders();
+        conditional.setIfModifiedSince(lastModified);
+
+        mockMvc.perform(get("/api/categorie/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(header().dateValue(HttpHeaders.LAST_MODIFIED, lastModified));
+
+        mockMvc.perform(get("/api/categorie/1").headers(conditional))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getAllCategories_ShouldSerializeOncePerVersion() throws Exception {
+        when(categoryService.getAllCategories()).thenReturn(Collections.singletonList(testCategory));
+
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/api/categories"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].catName", is("Test Category")));
+        }
+        verify(categoryService, times(1)).getAllCategories();
+
+        testCategory.setLastMod(testCategory.getLastMod().plusSeconds(1));
+        when(resourceVersionService.categories()).thenReturn(ResourceVersion.of("categories-1", testCategory.getLastMod()));
+        mockMvc.perform(get("/api/categories")).andExpect(status().isOk());
+        verify(categoryService, times(2)).getAllCategories();
+    }
+}
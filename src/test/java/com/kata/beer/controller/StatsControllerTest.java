@@ -0,0 +1,97 @@
+package com.kata.beer.controller;
+
+import com.kata.beer.dto.CountryCount;
+import com.kata.beer.dto.GroupCount;
+import com.kata.beer.dto.StyleStats;
+import com.kata.beer.service.BeerStatsService;
+import com.kata.beer.stats.StatsConsistencyReport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import java.time.LocalDateTime;
+import java.util.List;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static org.hamcrest.Matchers.*;
+
+@WebMvcTest(StatsController.class)
+class StatsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private BeerStatsService beerStatsService;
+
+    @Test
+    void getBeersByBrewery_ShouldReturnCountsWithLimit() throws Exception {
+        when(beerStatsService.beersByBrewery(5)).thenReturn(List.of(
+                new GroupCount(1, "Brewery 1", 12), new GroupCount(-1, null, 3)));
+
+        mockMvc.perform(get("/api/stats/breweries").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id", is(1)))
+                .andExpect(jsonPath("$[0].name", is("Brewery 1")))
+                .andExpect(jsonPath("$[0].beers", is(12)))
+                .andExpect(jsonPath("$[1].id", is(-1)));
+
+        verify(beerStatsService, times(1)).beersByBrewery(5);
+    }
+
+    @Test
+    void getBeersByBrewery_WithInvalidLimit_ShouldReturnBadRequest() throws Exception {
+        when(beerStatsService.beersByBrewery(0))
+                .thenThrow(new IllegalArgumentException("El parámetro limit debe ser mayor que 0"));
+
+        mockMvc.perform(get("/api/stats/breweries").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getStyleStats_ShouldReturnAbvAndIbuAggregates() throws Exception {
+        when(beerStatsService.styleStats()).thenReturn(List.of(
+                new StyleStats(3, "Pale Ale", 2, 5.0, 4.0f, 6.0f, 30.0, 20f, 40f)));
+
+        mockMvc.perform(get("/api/stats/styles"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name", is("Pale Ale")))
+                .andExpect(jsonPath("$[0].avgAbv", is(5.0)))
+                .andExpect(jsonPath("$[0].maxIbu", is(40.0)));
+    }
+
+    @Test
+    void getTopCountries_ShouldUseDefaultLimit() throws Exception {
+        when(beerStatsService.topCountries(BeerStatsService.DEFAULT_COUNTRIES))
+                .thenReturn(List.of(new CountryCount("United States", 800)));
+
+        mockMvc.perform(get("/api/stats/countries"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].country", is("United States")))
+                .andExpect(jsonPath("$[0].breweries", is(800)));
+    }
+
+    @Test
+    void checkConsistency_ShouldReturnReport() throws Exception {
+        when(beerStatsService.checkConsistency()).thenReturn(new StatsConsistencyReport(
+                LocalDateTime.now(), StatsConsistencyReport.Status.CONSISTENT, 12, List.of()));
+
+        mockMvc.perform(post("/api/stats/consistency-check"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("CONSISTENT")))
+                .andExpect(jsonPath("$.differences", hasSize(0)));
+    }
+
+    @Test
+    void getLastConsistencyReport_BeforeAnyCheck_ShouldReturnNoContent() throws Exception {
+        when(beerStatsService.lastConsistencyReport()).thenReturn(null);
+
+        mockMvc.perform(get("/api/stats/consistency"))
+                .andExpect(status().isNoContent());
+    }
+}
@@ -0,0 +1,42 @@
+package com.kata.beer.controller;
+
+import com.kata.beer.stream.ChangeStreamBroker;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(StreamController.class)
+class StreamControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ChangeStreamBroker changeStreamBroker;
+
+    @Test
+    void streamChanges_ShouldOpenEventStream() throws Exception {
+        when(changeStreamBroker.subscribe(null)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/stream/changes").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void streamChanges_WithLastEventId_ShouldResumeFromIt() throws Exception {
+        when(changeStreamBroker.subscribe("abc-42")).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/stream/changes").header(StreamController.LAST_EVENT_ID, "abc-42"))
+                .andExpect(request().asyncStarted());
+
+        verify(changeStreamBroker).subscribe("abc-42");
+    }
+}
@@ -1,14 +1,21 @@
 package com.kata.beer.controller;
 
+import com.kata.beer.cache.ResponseBodyCache;
+import com.kata.beer.dto.CursorPage;
+import com.kata.beer.dto.ResourceVersion;
 import com.kata.beer.model.Style;
+import com.kata.beer.service.ResourceVersionService;
 import com.kata.beer.service.StyleService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import static org.mockito.Mockito.*;
@@ -17,23 +24,35 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.hamcrest.Matchers.*;
 
 @WebMvcTest(StyleController.class)
+@Import(ResponseBodyCache.class)
 class StyleControllerTest {
 
     @Autowired
     private MockMvc mockMvc;
 
 
+    @Autowired
+    private ResponseBodyCache responseBodyCache;
+
     @MockBean
     private StyleService styleService;
 
+    @MockBean
+    private ResourceVersionService resourceVersionService;
+
     private Style testStyle;
 
     @BeforeEach
     void setUp() {
+        responseBodyCache.clear();
+
         testStyle = new Style();
         testStyle.setId(1);
         testStyle.setStyleName("Test Style");
         testStyle.setCatId(1);
+        testStyle.setLastMod(LocalDateTime.of(2024, 5, 1, 12, 0));
+
+        when(resourceVersionService.styles()).thenReturn(ResourceVersion.of("styles-1", testStyle.getLastMod()));
     }
 
     @Test
@@ -50,6 +69,23 @@ class StyleControllerTest {
         verify(styleService, times(1)).getAllStyles();
     }
 
+    @Test
+    void getStylesPage_ShouldReturnItemsAndNextCursor() throws Exception {
+        CursorPage<Style> page = new CursorPage<>(Collections.singletonList(testStyle), 1, 1);
+        when(styleService.getStylesPage(null, 1)).thenReturn(page);
+
+        mockMvc.perform(get("/api/styles").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].id", is(1)))
+                .andExpect(jsonPath("$.limit", is(1)))
+                .andExpect(jsonPath("$.nextCursor", is(1)));
+
+        verify(styleService, times(1)).getStylesPage(null, 1);
+        verify(styleService, never()).getAllStyles();
+    }
+
     @Test
     void getStyleById_WhenStyleExists_ShouldReturnStyle() throws Exception {
         when(styleService.getStyleById(1)).thenReturn(testStyle);
@@ -63,5 +99,33 @@ class StyleControllerTest {
 
         verify(styleService, times(1)).getStyleById(1);
     }
-}
 
+    @Test
+    void getAllStyles_WhenETagMatches_ShouldReturnNotModifiedWithoutLoading() throws Exception {
+        String eTag = resourceVersionService.styles().eTag();
+
+        mockMvc.perform(get("/api/styles").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+
+        verify(styleService, never()).getAllStyles();
+    }
+
+    @Test
+    void getStyleById_WhenNotModifiedSince_ShouldReturnNotModified() throws Exception {
+        when(styleService.getStyleById(1)).thenReturn(testStyle);
+        long lastModified = ResourceVersion.of("style-1", testStyle.getLastMod()).lastModified();
+        HttpHeaders conditional = new HttpHeaders();
+        conditional.setIfModifiedSince(lastModified);
+
+        mockMvc.perform(get("/api/style/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(header().dateValue(HttpHeaders.LAST_MODIFIED, lastModified));
+
+        mockMvc.perform(get("/api/style/1").headers(conditional))
+                .andExpect(status().isNotModified());
+    }
+}
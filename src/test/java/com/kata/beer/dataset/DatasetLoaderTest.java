@@ -0,0 +1,79 @@
+package com.kata.beer.dataset;
+
+import com.kata.beer.model.Category;
+import com.kata.beer.repository.DatasetLoadRepository;
+import com.kata.beer.repository.CategoryRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import java.util.List;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Carga los volcados reales de {@code initSQL/} sobre H2 al arrancar el contexto
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:beer-dataset;DB_CLOSE_DELAY=-1;MODE=MySQL",
+        "beer.dataset.enabled=true",
+        "beer.dataset.location=file:./initSQL/"
+})
+@ActiveProfiles("test")
+class DatasetLoaderTest {
+
+    @Autowired
+    private DatasetLoader datasetLoader;
+
+    @Autowired
+    private DatasetLoadRepository datasetLoadRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void startup_ShouldLoadEveryDumpAndRecordChecksums() {
+        assertThat(count("beers")).isEqualTo(5901);
+        assertThat(count("breweries")).isEqualTo(1414);
+        assertThat(count("categories")).isEqualTo(11);
+        assertThat(count("styles")).isEqualTo(141);
+        assertThat(datasetLoadRepository.findAll())
+                .extracting("fileName")
+                .containsExactlyInAnyOrder("styles.sql", "categories.sql", "breweries.sql", "beers.sql");
+        assertThat(jdbcTemplate.queryForObject("SELECT descript FROM beers WHERE id = 1", String.class))
+                .contains("clodless days.\r\n\r\nIts malty");
+    }
+
+    @Test
+    void load_ShouldSkipUnchangedDumpsAndReloadChangedOnes() {
+        jdbcTemplate.update("UPDATE dataset_loads SET checksum = 'stale' WHERE file_name = 'categories.sql'");
+
+        List<DatasetLoader.DumpLoad> loads = datasetLoader.load();
+
+        assertThat(loads).filteredOn(DatasetLoader.DumpLoad::loaded)
+                .singleElement()
+                .satisfies(load -> {
+                    assertThat(load.table()).isEqualTo("categories");
+                    assertThat(load.rows()).isEqualTo(11);
+                });
+        assertThat(count("categories")).isEqualTo(11);
+        assertThat(datasetLoadRepository.findById("categories.sql")).get()
+                .extracting("checksum").isNotEqualTo("stale");
+    }
+
+    @Test
+    void load_ShouldKeepIdentityAfterExplicitIds() {
+        Category category = new Category();
+        category.setCatName("Sidra");
+
+        assertThat(categoryRepository.save(category).getId()).isGreaterThan(11);
+        categoryRepository.delete(category);
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+}
@@ -0,0 +1,79 @@
+package com.kata.beer.dataset;
+
+import org.junit.jupiter.api.Test;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SqlDumpReaderTest {
+
+    private static final String DUMP = """
+            -- MySQL dump 10.11
+            /*!40101 SET NAMES utf8 */;
+            DROP TABLE IF EXISTS `categories`;
+            CREATE TABLE `categories` (
+              `id` int(11) NOT NULL auto_increment,
+              `cat_name` varchar(255) NOT NULL default '',
+              `last_mod` datetime NOT NULL default '0000-00-00 00:00:00',
+              PRIMARY KEY  (`id`)
+            ) ENGINE=MyISAM DEFAULT CHARSET=utf8mb4;
+            LOCK TABLES `categories` WRITE;
+            /*!40000 ALTER TABLE `categories` DISABLE KEYS */;
+            INSERT INTO `categories` VALUES (1,'British Ale','2010-10-24 13:50:10'),(2,'It\\'s \\"Irish\\"\\r\\nAle','2010-06-08 00:00:00');
+            INSERT INTO `categories` VALUES (3, 'Values; (tricky), ''quoted''' , NULL);
+            /*!40000 ALTER TABLE `categories` ENABLE KEYS */;
+            UNLOCK TABLES;
+            """;
+
+    @Test
+    void nextRow_ShouldStreamRowsOfEveryInsertWithColumnsFromCreateTable() throws IOException {
+        try (SqlDumpReader reader = new SqlDumpReader(new StringReader(DUMP))) {
+            List<List<String>> rows = readAll(reader);
+
+            assertThat(reader.table()).isEqualTo("categories");
+            assertThat(reader.columns()).containsExactly("id", "cat_name", "last_mod");
+            assertThat(rows).containsExactly(
+                    List.of("1", "British Ale", "2010-10-24 13:50:10"),
+                    List.of("2", "It's \"Irish\"\r\nAle", "2010-06-08 00:00:00"),
+                    Arrays.asList("3", "Values; (tricky), 'quoted'", null));
+        }
+    }
+
+    @Test
+    void nextRow_ShouldUseExplicitColumnList() throws IOException {
+        String dump = "INSERT INTO styles (id, `style_name`) VALUES (7,'Porter');";
+        try (SqlDumpReader reader = new SqlDumpReader(new StringReader(dump))) {
+            assertThat(reader.nextRow()).containsExactly("7", "Porter");
+            assertThat(reader.columns()).containsExactly("id", "style_name");
+            assertThat(reader.nextRow()).isNull();
+        }
+    }
+
+    @Test
+    void nextRow_ShouldFailOnInsertWithoutKnownColumns() {
+        String dump = "INSERT INTO `beers` VALUES (1,'Hocus Pocus');";
+        assertThatThrownBy(() -> new SqlDumpReader(new StringReader(dump)).nextRow())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("beers");
+    }
+
+    @Test
+    void nextRow_ShouldFailOnUnterminatedString() {
+        String dump = "INSERT INTO styles (id, style_name) VALUES (7,'Porter";
+        assertThatThrownBy(() -> new SqlDumpReader(new StringReader(dump)).nextRow())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("cadena sin cerrar");
+    }
+
+    private static List<List<String>> readAll(SqlDumpReader reader) throws IOException {
+        List<List<String>> rows = new ArrayList<>();
+        for (List<String> row = reader.nextRow(); row != null; row = reader.nextRow()) {
+            rows.add(row);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,121 @@
+package com.kata.beer.datasource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Enrutado sobre tres bases H2 en memoria que hacen de principal y réplicas
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @Test
+    void readOnlyTransactions_ShouldGoToReplicaAndTheRestToPrimary() {
+        setUp(ReplicaBalancing.ROUND_ROBIN, Duration.ZERO, "a");
+
+        String written = readWrite.execute(status -> database());
+
+        assertThat(readOnlyDatabase()).isEqualTo("ROUTING-A");
+        assertThat(written).isEqualTo("ROUTING-PRIMARY");
+        assertThat(database()).isEqualTo("ROUTING-PRIMARY");
+    }
+
+    @Test
+    void roundRobin_ShouldAlternateReplicas() {
+        setUp(ReplicaBalancing.ROUND_ROBIN, Duration.ZERO, "a", "b");
+
+        assertThat(List.of(readOnlyDatabase(), readOnlyDatabase(), readOnlyDatabase(), readOnlyDatabase()))
+                .containsExactly("ROUTING-A", "ROUTING-B", "ROUTING-A", "ROUTING-B");
+    }
+
+    @Test
+    void leastConnections_ShouldSkipBusyReplica() throws Exception {
+        setUp(ReplicaBalancing.LEAST_CONNECTIONS, Duration.ZERO, "a", "b");
+
+        try (Connection busy = heldReplicaConnection()) {
+            assertThat(routing.activeReplicaConnections()).containsExactly(1, 0);
+            assertThat(List.of(readOnlyDatabase(), readOnlyDatabase())).containsOnly("ROUTING-B");
+        }
+        assertThat(routing.activeReplicaConnections()).containsExactly(0, 0);
+    }
+
+    @Test
+    void readYourWrites_ShouldKeepReadsOnPrimaryDuringWindow() throws Exception {
+        setUp(ReplicaBalancing.ROUND_ROBIN, Duration.ofMillis(300), "a");
+        assertThat(readOnlyDatabase()).isEqualTo("ROUTING-A");
+
+        readWrite.executeWithoutResult(status -> jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS writes (id INT)"));
+
+        assertThat(readOnlyDatabase()).isEqualTo("ROUTING-PRIMARY");
+        Thread.sleep(400);
+        assertThat(readOnlyDatabase()).isEqualTo("ROUTING-A");
+    }
+
+    @Test
+    void rolledBackTransaction_ShouldNotOpenReadYourWritesWindow() {
+        setUp(ReplicaBalancing.ROUND_ROBIN, Duration.ofMinutes(1), "a");
+
+        readWrite.executeWithoutResult(status -> {
+            database();
+            status.setRollbackOnly();
+        });
+
+        assertThat(readOnlyDatabase()).isEqualTo("ROUTING-A");
+    }
+
+    private void setUp(ReplicaBalancing balancing, Duration window, String... replicas) {
+        routing = new ReplicaRoutingDataSource(h2("primary"),
+                Arrays.stream(replicas).map(ReplicaRoutingDataSourceTest::h2).toList(),
+                balancing, window);
+        routing.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    /**
+     * Conexión a la siguiente réplica en turno que se queda abierta, como la de una lectura larga
+     */
+    private Connection heldReplicaConnection() {
+        return readOnly.execute(status -> {
+            try {
+                return routing.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private String readOnlyDatabase() {
+        return readOnly.execute(status -> database());
+    }
+
+    private String database() {
+        return jdbcTemplate.queryForObject("SELECT DATABASE()", String.class);
+    }
+
+    private static DataSource h2(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        return dataSource;
+    }
+}
@@ -0,0 +1,84 @@
+package com.kata.beer.datasource;
+
+import com.kata.beer.model.Category;
+import com.kata.beer.repository.CategoryRepository;
+import com.kata.beer.service.CategoryService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import javax.sql.DataSource;
+import java.util.List;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Dos bases H2 en memoria hacen de principal y réplica: el esquema lo crea Hibernate en la
+ * principal y se copia a la réplica antes de que arranque la aplicación (la caché de referencia
+ * ya lee de la réplica), pero las filas de cada una son distintas
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:beer-primary;DB_CLOSE_DELAY=-1;MODE=MySQL",
+        "beer.datasource.replicas=" + ReplicaRoutingIntegrationTest.REPLICA_URL,
+        "beer.datasource.balancing=least-connections",
+        "beer.datasource.read-your-writes-window=PT1M"
+})
+@ActiveProfiles("test")
+class ReplicaRoutingIntegrationTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:beer-replica;DB_CLOSE_DELAY=-1;MODE=MySQL";
+
+    @TestConfiguration
+    static class ReplicaSchema {
+
+        @Bean
+        SmartInitializingSingleton replicaSchemaCopy(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+            return () -> jdbcTemplate.queryForList("SCRIPT NODATA", String.class).forEach(replica()::execute);
+        }
+    }
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void readOnlyServiceCalls_ShouldReadReplicaUntilWrite() throws Exception {
+        replica().update("INSERT INTO categories (id, cat_name, last_mod) VALUES (1, 'Solo en la réplica', CURRENT_TIMESTAMP)");
+
+        assertThat(dataSource.unwrap(ReplicaRoutingDataSource.class)).isNotNull();
+        assertThat(categoryNames()).containsExactly("Solo en la réplica");
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Category category = new Category();
+            category.setCatName("En la principal");
+            categoryRepository.save(category);
+        });
+
+        assertThat(categoryNames()).containsExactly("En la principal");
+    }
+
+    private static JdbcTemplate replica() {
+        return new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+    }
+
+    private List<String> categoryNames() {
+        return categoryService.getCategoriesPage(null, 10).getItems().stream().map(Category::getCatName).toList();
+    }
+}
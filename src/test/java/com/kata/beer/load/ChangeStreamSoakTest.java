@@ -0,0 +1,158 @@
+package com.kata.beer.load;
+
+import com.kata.beer.BeerApiApplication;
+import com.kata.beer.model.Beer;
+import com.kata.beer.service.BeerService;
+import com.kata.beer.stream.ChangeStreamBroker;
+import com.kata.beer.support.SyntheticCatalog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicLong;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Prueba de resistencia del stream SSE: miles de suscriptores conectados a la aplicación real
+ * mientras se crean cervezas a ritmo constante. Comprueba que todos reciben todos los eventos,
+ * que no se desconecta a nadie y que el número de hilos de plataforma no crece con el de
+ * conexiones. Los clientes leen con un {@link Flow.Subscriber}, sin hilo por conexión.
+ * <p>
+ * No se ejecuta en el build normal:
+ * {@code mvn test -Dtest=ChangeStreamSoakTest -Dloadtest=true [-Dsoaktest.subscribers=2000]
+ * [-Dsoaktest.seconds=30] [-Dsoaktest.eventsPerSecond=50]}
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class ChangeStreamSoakTest {
+
+    private static final int SUBSCRIBERS = Integer.getInteger("soaktest.subscribers", 2000);
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("soaktest.seconds", 30));
+    private static final int EVENTS_PER_SECOND = Integer.getInteger("soaktest.eventsPerSecond", 50);
+    /**
+     * Hilos de plataforma que se toleran por encima de los que había antes de conectar: el pool
+     * de Tomcat (hasta 200 hilos mientras se aceptan las conexiones) más un margen
+     */
+    private static final int MAX_EXTRA_THREADS = Integer.getInteger("soaktest.maxExtraThreads", 300);
+
+    @Test
+    void thousandsOfSubscribersReceiveEveryChange() throws Exception {
+        try (ConfigurableApplicationContext context = start()) {
+            SyntheticCatalog.seed(context, 0);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            ChangeStreamBroker broker = context.getBean(ChangeStreamBroker.class);
+            BeerService beerService = context.getBean(BeerService.class);
+            int threadsBefore = ManagementFactory.getThreadMXBean().getThreadCount();
+
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build();
+            List<EventCounter> counters = new ArrayList<>(SUBSCRIBERS);
+            for (int i = 0; i < SUBSCRIBERS; i++) {
+                EventCounter counter = new EventCounter();
+                counters.add(counter);
+                client.sendAsync(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/stream/changes")).build(),
+                        HttpResponse.BodyHandlers.fromLineSubscriber(counter));
+            }
+            long deadline = System.nanoTime() + Duration.ofSeconds(60).toNanos();
+            while (broker.subscriberCount() < SUBSCRIBERS && System.nanoTime() < deadline) {
+                Thread.sleep(100);
+            }
+            assertThat(broker.subscriberCount()).isEqualTo(SUBSCRIBERS);
+
+            Random random = new Random(7);
+            long published = 0;
+            long start = System.nanoTime();
+            long end = start + DURATION.toNanos();
+            int maxThreads = 0;
+            while (System.nanoTime() < end) {
+                Beer beer = SyntheticCatalog.beer(random, (int) published);
+                beer.setUpc(0);
+                beer.setFilepath("");
+                beerService.createBeer(beer);
+                published++;
+                long next = start + published * 1_000_000_000L / EVENTS_PER_SECOND;
+                Thread.sleep(Math.max(0, (next - System.nanoTime()) / 1_000_000));
+                maxThreads = Math.max(maxThreads, ManagementFactory.getThreadMXBean().getThreadCount());
+            }
+
+            long total = published;
+            deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+            while (!allReceived(counters, total) && System.nanoTime() < deadline) {
+                Thread.sleep(100);
+            }
+            long complete = counters.stream().filter(counter -> counter.events.get() == total).count();
+            System.out.printf("%n%d suscriptores, %d eventos en %d s: %d completos, %d desconectados, "
+                            + "hilos de plataforma %d -> %d%n",
+                    SUBSCRIBERS, total, DURATION.toSeconds(), complete, broker.droppedCount(),
+                    threadsBefore, maxThreads);
+
+            assertThat(complete).isEqualTo(SUBSCRIBERS);
+            assertThat(broker.droppedCount()).isZero();
+            assertThat(maxThreads - threadsBefore).isLessThan(MAX_EXTRA_THREADS);
+            counters.forEach(EventCounter::cancel);
+            client.close();
+        }
+    }
+
+    private static boolean allReceived(List<EventCounter> counters, long published) {
+        return counters.stream().allMatch(counter -> counter.events.get() >= published);
+    }
+
+    private static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(BeerApiApplication.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--server.tomcat.max-connections=" + (SUBSCRIBERS + 100),
+                        "--spring.datasource.url=jdbc:h2:mem:beer-soak;DB_CLOSE_DELAY=-1;MODE=MySQL",
+                        "--spring.jpa.properties.hibernate.generate_statistics=false",
+                        "--logging.level.root=WARN");
+    }
+
+    /**
+     * Cliente SSE que cuenta los eventos {@code created} recibidos
+     */
+    private static final class EventCounter implements Flow.Subscriber<String> {
+
+        private final AtomicLong events = new AtomicLong();
+        private final CompletableFuture<Flow.Subscription> subscription = new CompletableFuture<>();
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription.complete(subscription);
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (line.equals("event:created")) {
+                events.incrementAndGet();
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+
+        void cancel() {
+            subscription.thenAccept(Flow.Subscription::cancel);
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.kata.beer.load;
+
+import com.kata.beer.BeerApiApplication;
+import com.kata.beer.support.SyntheticCatalog;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Prueba de carga que compara el modo de hilos de plataforma (pool de Tomcat) con el de hilos
+ * virtuales: N clientes concurrentes contra la aplicación real, midiendo throughput, p50/p99,
+ * errores y los eventos JFR {@code jdk.VirtualThreadPinned} (con el marco que los provoca).
+ * <p>
+ * No se ejecuta en el build normal:
+ * {@code mvn test -Dtest=ExecutionModeLoadTest -Dloadtest=true [-Dloadtest.clients=1000]
+ * [-Dloadtest.seconds=20] [-Dloadtest.dbLatencyMs=20] [-Dloadtest.maxErrorRatio=0.01]}
+ * <p>
+ * Por defecto usa H2 en memoria con una latencia artificial por sentencia, que no pasa por el
+ * driver de MySQL y por tanto no puede mostrar su pinning. Para medir contra MySQL/MariaDB
+ * (el esquema se crea y se borra en cada arranque):
+ * {@code -Dloadtest.jdbcUrl=jdbc:mysql://localhost:3306/kata-api-load
+ * -Dloadtest.jdbcUser=root -Dloadtest.jdbcPassword=...}
+ * <p>
+ * Con 1000 clientes hace falta una máquina con varios núcleos: con uno solo el servidor no
+ * atiende a tiempo y los errores son esperas agotadas del pool de conexiones.
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class ExecutionModeLoadTest {
+
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 1000);
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("loadtest.warmupSeconds", 5));
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("loadtest.seconds", 20));
+    private static final String JDBC_URL = System.getProperty("loadtest.jdbcUrl");
+    private static final Duration DB_LATENCY = Duration.ofMillis(Long.getLong("loadtest.dbLatencyMs", JDBC_URL == null ? 20 : 0));
+    private static final double MAX_ERROR_RATIO = Double.parseDouble(System.getProperty("loadtest.maxErrorRatio", "0.01"));
+    private static final int BEERS = 5_000;
+
+    @Test
+    void compareVirtualAndPlatformThreads() throws Exception {
+        LoadResult platform = run(false);
+        LoadResult virtual = run(true);
+
+        System.out.printf("%n%d clientes, %d s, %s, %d ms de latencia añadida por sentencia%n",
+                CLIENTS, DURATION.toSeconds(), JDBC_URL == null ? "H2" : JDBC_URL, DB_LATENCY.toMillis());
+        System.out.printf("%-10s %12s %10s %10s %10s %10s%n", "modo", "peticiones/s", "p50 ms", "p99 ms", "errores", "pinned");
+        for (LoadResult result : List.of(platform, virtual)) {
+            System.out.printf("%-10s %12.1f %10.1f %10.1f %10d %10d%n", result.mode(), result.throughput(),
+                    result.p50Millis(), result.p99Millis(), result.errors(), result.pinnedEvents());
+        }
+        for (LoadResult result : List.of(platform, virtual)) {
+            result.pinnedFrames().entrySet().stream()
+                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                    .limit(10)
+                    .forEach(frame -> System.out.printf("pinned %-8s %6d  %s%n", result.mode(), frame.getValue(), frame.getKey()));
+        }
+
+        assertThat(platform.errorRatio()).isLessThan(MAX_ERROR_RATIO);
+        assertThat(virtual.errorRatio()).isLessThan(MAX_ERROR_RATIO);
+    }
+
+    private LoadResult run(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        try (ConfigurableApplicationContext context = start(mode, virtualThreads);
+             RecordingStream pinned = new RecordingStream()) {
+            SyntheticCatalog.seed(context, BEERS);
+            Map<String, Long> pinnedFrames = new ConcurrentHashMap<>();
+            pinned.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ofMillis(1)).withStackTrace();
+            pinned.onEvent("jdk.VirtualThreadPinned", event -> pinnedFrames.merge(pinningFrame(event), 1L, Long::sum));
+            pinned.startAsync();
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            drive(port, WARMUP);
+            pinnedFrames.clear();
+            List<long[]> latencies = drive(port, DURATION);
+            return LoadResult.of(mode, latencies, DURATION, Map.copyOf(pinnedFrames));
+        }
+    }
+
+    /**
+     * Primer marco fuera del JDK en la pila del evento: el código de la aplicación, del pool o
+     * del driver que tenía el monitor cuando el hilo virtual se bloqueó
+     */
+    private static String pinningFrame(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace == null) {
+            return "(sin pila)";
+        }
+        return stackTrace.getFrames().stream()
+                .map(RecordedFrame::getMethod)
+                .filter(method -> !method.getType().getName().matches("(java|jdk|sun)\\..*"))
+                .findFirst()
+                .map(method -> method.getType().getName() + "." + method.getName())
+                .orElse("(JDK)");
+    }
+
+    private static ConfigurableApplicationContext start(String mode, boolean virtualThreads) {
+        List<String> args = new ArrayList<>(List.of("--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--spring.jpa.properties.hibernate.generate_statistics=false",
+                "--spring.jpa.show-sql=false",
+                "--beer.admission.enabled=false",
+                "--logging.level.root=WARN"));
+        if (JDBC_URL == null) {
+            args.add("--spring.datasource.url=jdbc:h2:mem:beer-load-" + mode + ";DB_CLOSE_DELAY=-1;MODE=MySQL");
+        } else {
+            args.addAll(List.of("--spring.datasource.url=" + JDBC_URL,
+                    "--spring.datasource.username=" + System.getProperty("loadtest.jdbcUser", "root"),
+                    "--spring.datasource.password=" + System.getProperty("loadtest.jdbcPassword", ""),
+                    "--spring.datasource.driver-class-name=com.mysql.cj.jdbc.Driver",
+                    "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MariaDBDialect"));
+        }
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(BeerApiApplication.class).profiles("test");
+        if (!DB_LATENCY.isZero()) {
+            builder.initializers(context -> context.getBeanFactory().addBeanPostProcessor(new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? SlowDataSource.wrap(dataSource, DB_LATENCY) : bean;
+                }
+            }));
+        }
+        return builder.run(args.toArray(String[]::new));
+    }
+
+    /**
+     * Lanza los clientes (cada uno en un hilo virtual, con una petición en vuelo a la vez)
+     * durante el tiempo indicado. Devuelve, por cliente, las latencias en nanosegundos; una
+     * latencia negativa marca un error.
+     */
+    private static List<long[]> drive(int port, Duration duration) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<long[]>> futures = new ArrayList<>(CLIENTS);
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CLIENTS; i++) {
+                futures.add(clients.submit(() -> client(client, port, deadline)));
+            }
+            List<long[]> latencies = new ArrayList<>(CLIENTS);
+            for (Future<long[]> future : futures) {
+                latencies.add(future.get());
+            }
+            return latencies;
+        } finally {
+            client.close();
+        }
+    }
+
+    private static long[] client(HttpClient client, int port, long deadline) {
+        long[] latencies = new long[256];
+        int count = 0;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            String path = switch (random.nextInt(3)) {
+                case 0 -> "/api/beer/" + (1 + random.nextInt(BEERS));
+                case 1 -> "/api/beers?limit=20&after=" + random.nextInt(BEERS);
+                default -> "/api/categories";
+            };
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                    .timeout(Duration.ofSeconds(30))
+                    .build();
+            long start = System.nanoTime();
+            long latency;
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                latency = System.nanoTime() - start;
+                if (response.statusCode() != 200) {
+                    latency = -1;
+                }
+            } catch (Exception e) {
+                latency = -1;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latency;
+        }
+        return Arrays.copyOf(latencies, count);
+    }
+
+    private record LoadResult(String mode, long requests, long errors, double throughput,
+                              double p50Millis, double p99Millis, Map<String, Long> pinnedFrames) {
+
+        static LoadResult of(String mode, List<long[]> perClient, Duration duration, Map<String, Long> pinnedFrames) {
+            long[] all = perClient.stream().flatMapToLong(Arrays::stream).toArray();
+            long[] ok = Arrays.stream(all).filter(latency -> latency >= 0).sorted().toArray();
+            long errors = all.length - ok.length;
+            return new LoadResult(mode, all.length, errors, (double) ok.length / duration.toSeconds(),
+                    percentile(ok, 0.50), percentile(ok, 0.99), pinnedFrames);
+        }
+
+        long pinnedEvents() {
+            return pinnedFrames.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        double errorRatio() {
+            return requests == 0 ? 1.0 : (double) errors / requests;
+        }
+
+        private static double percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return Double.NaN;
+            }
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.kata.beer.load;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Envoltorio de un {@link DataSource} que añade una latencia fija a cada ejecución de sentencia,
+ * para simular una base de datos lenta o remota sobre H2 en memoria
+ */
+final class SlowDataSource {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private SlowDataSource() {
+    }
+
+    static DataSource wrap(DataSource dataSource, Duration latency) {
+        return proxy(DataSource.class, dataSource, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            return result instanceof Connection connection ? slowConnection(connection, latency) : result;
+        });
+    }
+
+    private static Connection slowConnection(Connection connection, Duration latency) {
+        return proxy(Connection.class, connection, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (result instanceof Statement statement) {
+                @SuppressWarnings("unchecked")
+                Class<Statement> type = (Class<Statement>) method.getReturnType();
+                return slowStatement(type, statement, latency);
+            }
+            return result;
+        });
+    }
+
+    private static Statement slowStatement(Class<Statement> type, Statement statement, Duration latency) {
+        return proxy(type, statement, (target, method, args) -> {
+            if (EXECUTE_METHODS.contains(method.getName())) {
+                Thread.sleep(latency);
+            }
+            return invoke(target, method, args);
+        });
+    }
+
+    private interface Handler<T> {
+        Object handle(T target, Method method, Object[] args) throws Throwable;
+    }
+
+    private static <T> T proxy(Class<T> type, T target, Handler<T> handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> handler.handle(target, method, args);
+        return type.cast(Proxy.newProxyInstance(SlowDataSource.class.getClassLoader(), new Class<?>[]{type}, invocationHandler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
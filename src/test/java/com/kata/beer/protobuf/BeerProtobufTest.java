@@ -0,0 +1,104 @@
+package com.kata.beer.protobuf;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.UnknownFieldSet;
+import com.kata.beer.dto.CursorPage;
+import com.kata.beer.dto.FieldProjection;
+import com.kata.beer.model.Beer;
+import com.kata.beer.model.Brewery;
+import com.kata.beer.model.Category;
+import org.junit.jupiter.api.Test;
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BeerProtobufTest {
+
+    private final BeerProtobufHttpMessageConverter converter = new BeerProtobufHttpMessageConverter();
+
+    @Test
+    void writeTo_Page_ShouldRoundTripAndFollowTheProtoWireFormat() throws Exception {
+        Brewery brewery = new Brewery();
+        brewery.setId(7);
+        brewery.setName("Cervecera");
+        Beer beer = new Beer();
+        beer.setId(1);
+        beer.setName("Rubia");
+        beer.setBrewery(brewery);
+        beer.setAbv(5.5f);
+        beer.setDescript("Descripción");
+        beer.setLastMod(LocalDateTime.of(2024, 5, 1, 12, 0, 0, 123_000_000));
+
+        byte[] bytes = encode(new CursorPage<>(List.of(beer), 1, 1));
+
+        List<Beer> decoded = BeerProtobuf.BEER.readList(CodedInputStream.newInstance(bytes));
+        assertThat(decoded).hasSize(1);
+        assertThat(decoded.get(0).getName()).isEqualTo("Rubia");
+        assertThat(decoded.get(0).getAbv()).isEqualTo(5.5f);
+        assertThat(decoded.get(0).loadedDescript()).isEqualTo("Descripción");
+        assertThat(decoded.get(0).getBrewery().getName()).isEqualTo("Cervecera");
+        assertThat(decoded.get(0).getLastMod()).isEqualTo(beer.getLastMod());
+        assertThat(decoded.get(0).getCategory()).isNull();
+
+        UnknownFieldSet list = UnknownFieldSet.parseFrom(bytes);
+        assertThat(list.getField(2).getVarintList()).containsExactly(1L);
+        assertThat(list.getField(3).getVarintList()).containsExactly(1L);
+        UnknownFieldSet item = UnknownFieldSet.parseFrom(list.getField(1).getLengthDelimitedList().get(0));
+        assertThat(item.getField(3).getLengthDelimitedList()).containsExactly(ByteString.copyFromUtf8("Rubia"));
+        assertThat(item.getField(6).getFixed32List()).containsExactly(Float.floatToIntBits(5.5f));
+        assertThat(item.hasField(4)).isFalse();
+        UnknownFieldSet nested = UnknownFieldSet.parseFrom(item.getField(2).getLengthDelimitedList().get(0));
+        assertThat(nested.getField(1).getVarintList()).containsExactly(7L);
+        assertThat(nested.getField(2).getLengthDelimitedList()).containsExactly(ByteString.copyFromUtf8("Cervecera"));
+    }
+
+    @Test
+    void writeTo_Projection_ShouldWriteOnlyRequestedFields() throws Exception {
+        FieldProjection row = new FieldProjection(Beer.class);
+        row.put("id", 3);
+        row.put("abv", 6.0f);
+        row.put("brewery", new LinkedHashMap<>(Map.of("id", 9, "name", "Cervecera")));
+
+        UnknownFieldSet fields = UnknownFieldSet.parseFrom(encode(row));
+
+        assertThat(fields.asMap()).containsOnlyKeys(1, 2, 6);
+        Beer beer = BeerProtobuf.BEER.read(CodedInputStream.newInstance(encode(row)));
+        assertThat(beer.getBrewery().getName()).isEqualTo("Cervecera");
+        assertThat(beer.getName()).isNull();
+    }
+
+    @Test
+    void read_ShouldSkipUnknownFields() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CodedOutputStream out = CodedOutputStream.newInstance(bytes);
+        out.writeInt32(1, 4);
+        out.writeString(99, "campo nuevo");
+        out.writeString(2, "Lager");
+        out.flush();
+
+        Category category = BeerProtobuf.CATEGORY.read(CodedInputStream.newInstance(bytes.toByteArray()));
+
+        assertThat(category.getId()).isEqualTo(4);
+        assertThat(category.getCatName()).isEqualTo("Lager");
+    }
+
+    @Test
+    void canWrite_ShouldOfferProtobufOnlyForCatalogTypes() {
+        assertThat(converter.canWrite(Beer.class, BeerProtobufHttpMessageConverter.PROTOBUF)).isTrue();
+        assertThat(converter.canWrite(FieldProjection.class, BeerProtobufHttpMessageConverter.PROTOBUF)).isTrue();
+        assertThat(converter.canWrite(String.class, BeerProtobufHttpMessageConverter.PROTOBUF)).isFalse();
+        assertThat(converter.canWrite(Beer.class, null)).isTrue();
+        assertThat(converter.canRead(Beer.class, BeerProtobufHttpMessageConverter.PROTOBUF)).isFalse();
+    }
+
+    private byte[] encode(Object value) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        converter.writeTo(value, out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,63 @@
+package com.kata.beer.repository;
+
+import com.kata.beer.model.Beer;
+import com.kata.beer.model.Brewery;
+import com.kata.beer.model.Category;
+import com.kata.beer.model.Style;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import java.util.ArrayList;
+import java.util.List;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(BeerBatchRepository.class)
+class BeerBatchRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BeerBatchRepository beerBatchRepository;
+
+    @Autowired
+    private BeerRepository beerRepository;
+
+    @Test
+    void insertAll_ShouldInsertEveryChunkAndAssignGeneratedIds() {
+        Brewery brewery = new Brewery(null, "Brewery", "", "", "", "", "", "", "", "", "", "", 0, null);
+        Category category = new Category(null, "Category", null);
+        entityManager.persist(brewery);
+        entityManager.persist(category);
+        Style style = new Style(null, category.getId(), "Style", null);
+        entityManager.persist(style);
+
+        int count = BeerBatchRepository.BATCH_SIZE * 2 + 7;
+        List<Beer> beers = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Beer beer = new Beer();
+            beer.setName("Beer " + i);
+            beer.setBrewery(brewery);
+            beer.setCategory(category);
+            beer.setStyle(style);
+            beer.setAbv(5.0f);
+            beers.add(beer);
+        }
+
+        beerBatchRepository.insertAll(beers);
+        entityManager.clear();
+
+        assertThat(beers).allSatisfy(beer -> assertThat(beer.getId()).isNotNull());
+        assertThat(beers.stream().map(Beer::getId).distinct()).hasSize(count);
+        assertThat(beerRepository.count()).isEqualTo(count);
+        Beer last = beerRepository.findById(beers.get(count - 1).getId()).orElseThrow();
+        assertThat(last.getName()).isEqualTo("Beer " + (count - 1));
+        assertThat(last.getStyle().getId()).isEqualTo(style.getId());
+        assertThat(last.getDescript()).isEmpty();
+    }
+}
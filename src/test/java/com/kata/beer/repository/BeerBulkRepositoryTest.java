@@ -0,0 +1,149 @@
+package com.kata.beer.repository;
+
+import com.kata.beer.dto.BeerFilter;
+import com.kata.beer.model.Beer;
+import com.kata.beer.model.BeerDeletion;
+import com.kata.beer.model.Brewery;
+import com.kata.beer.model.Category;
+import com.kata.beer.model.Style;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(BeerBulkRepository.class)
+class BeerBulkRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BeerBulkRepository beerBulkRepository;
+
+    @Autowired
+    private BeerRepository beerRepository;
+
+    @Autowired
+    private BeerDeletionRepository beerDeletionRepository;
+
+    private Brewery spanish;
+    private Category category;
+    private Style style;
+    private Style otherStyle;
+    private Beer strong;
+    private Beer light;
+    private Beer belgian;
+
+    @BeforeEach
+    void setUp() {
+        spanish = new Brewery(null, "Cervecera", "", "", "", "", "", "Spain", "", "", "", "", 0, null);
+        Brewery belgianBrewery = new Brewery(null, "Brasserie", "", "", "", "", "", "Belgium", "", "", "", "", 0, null);
+        category = new Category(null, "Category", null);
+        entityManager.persist(spanish);
+        entityManager.persist(belgianBrewery);
+        entityManager.persist(category);
+        style = new Style(null, category.getId(), "Style", null);
+        otherStyle = new Style(null, category.getId(), "Other style", null);
+        entityManager.persist(style);
+        entityManager.persist(otherStyle);
+
+        strong = persistBeer("Strong", spanish, 9.0f);
+        light = persistBeer("Light", spanish, 4.0f);
+        belgian = persistBeer("Tripel", belgianBrewery, 8.5f);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void lockMatchingIds_ShouldApplyEveryCriterion() {
+        BeerFilter filter = new BeerFilter();
+        filter.setMinAbv(8f);
+        assertThat(beerBulkRepository.lockMatchingIds(filter)).containsExactly(strong.getId(), belgian.getId());
+
+        filter.setCountry(" spain ");
+        assertThat(beerBulkRepository.lockMatchingIds(filter)).containsExactly(strong.getId());
+    }
+
+    @Test
+    void deleteByIds_WithLockedIds_ShouldDeleteOnlyMatchingBeersAndRecordThem() {
+        BeerFilter filter = new BeerFilter();
+        filter.setBreweryId(spanish.getId());
+
+        assertThat(beerBulkRepository.deleteByIds(beerBulkRepository.lockMatchingIds(filter))).isEqualTo(2);
+
+        assertThat(beerRepository.findAll()).extracting(Beer::getId).containsExactly(belgian.getId());
+        assertThat(beerDeletionRepository.findAll()).extracting(BeerDeletion::getBeerId)
+                .containsExactlyInAnyOrder(strong.getId(), light.getId());
+    }
+
+    @Test
+    void lockExistingIds_ShouldSkipMissingIds() {
+        assertThat(beerBulkRepository.lockExistingIds(List.of(belgian.getId(), belgian.getId() + 1000, light.getId())))
+                .containsExactly(light.getId(), belgian.getId());
+        assertThat(beerBulkRepository.lockExistingIds(List.of())).isEmpty();
+    }
+
+    @Test
+    void deleteByIds_ShouldIgnoreMissingIds() {
+        assertThat(beerBulkRepository.deleteByIds(List.of(light.getId(), belgian.getId() + 1000))).isEqualTo(1);
+        assertThat(beerBulkRepository.deleteByIds(List.of())).isZero();
+
+        assertThat(beerRepository.existsById(light.getId())).isFalse();
+        assertThat(beerRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void deleteByIds_ShouldSplitLongIdListsIntoChunks() {
+        List<Integer> ids = new ArrayList<>(List.of(strong.getId(), light.getId()));
+        IntStream.range(1, 2 * BeerBulkRepository.IDS_PER_STATEMENT).forEach(offset -> ids.add(belgian.getId() + offset));
+        ids.add(belgian.getId());
+
+        assertThat(beerBulkRepository.deleteByIds(ids)).isEqualTo(3);
+
+        assertThat(beerRepository.count()).isZero();
+        assertThat(beerDeletionRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    void updateByIds_WithLockedIds_ShouldAssignSuppliedColumnsToMatchingBeers() {
+        BeerFilter filter = new BeerFilter();
+        filter.setCategoryId(category.getId());
+        filter.setMaxAbv(8.5f);
+        Beer changes = new Beer();
+        changes.setStyle(otherStyle);
+        changes.setIbu(30f);
+
+        assertThat(beerBulkRepository.updateByIds(beerBulkRepository.lockMatchingIds(filter), changes)).isEqualTo(2);
+
+        assertThat(beerRepository.findById(light.getId()).orElseThrow().getStyle().getId()).isEqualTo(otherStyle.getId());
+        assertThat(beerRepository.findById(belgian.getId()).orElseThrow().getIbu()).isEqualTo(30f);
+        Beer untouched = beerRepository.findById(strong.getId()).orElseThrow();
+        assertThat(untouched.getStyle().getId()).isEqualTo(style.getId());
+        assertThat(untouched.getIbu()).isEqualTo(20f);
+    }
+
+    private Beer persistBeer(String name, Brewery brewery, float abv) {
+        Beer beer = new Beer();
+        beer.setName(name);
+        beer.setBrewery(brewery);
+        beer.setCategory(category);
+        beer.setStyle(style);
+        beer.setAbv(abv);
+        beer.setIbu(20f);
+        beer.setSrm(10f);
+        beer.setUpc(0);
+        beer.setFilepath("");
+        beer.setDescript("");
+        entityManager.persist(beer);
+        return beer;
+    }
+}
@@ -0,0 +1,139 @@
+package com.kata.beer.repository;
+
+import com.kata.beer.model.Beer;
+import com.kata.beer.model.Brewery;
+import com.kata.beer.model.Category;
+import com.kata.beer.model.Style;
+import com.kata.beer.service.ResourceVersionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import java.time.LocalDateTime;
+import java.util.List;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(BeerPatchRepository.class)
+class BeerPatchRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BeerPatchRepository beerPatchRepository;
+
+    @Autowired
+    private BeerRepository beerRepository;
+
+    private Beer beer;
+    private Style otherStyle;
+
+    @BeforeEach
+    void setUp() {
+        Brewery brewery = new Brewery(null, "Brewery", "", "", "", "", "", "", "", "", "", "", 0, null);
+        Category category = new Category(null, "Category", null);
+        entityManager.persist(brewery);
+        entityManager.persist(category);
+        Style style = new Style(null, category.getId(), "Style", null);
+        otherStyle = new Style(null, category.getId(), "Other style", null);
+        entityManager.persist(style);
+        entityManager.persist(otherStyle);
+
+        beer = new Beer();
+        beer.setName("Beer");
+        beer.setBrewery(brewery);
+        beer.setCategory(category);
+        beer.setStyle(style);
+        beer.setAbv(5.0f);
+        beer.setIbu(20f);
+        beer.setSrm(10f);
+        beer.setUpc(0);
+        beer.setFilepath("");
+        beer.setDescript("Descripción original");
+        entityManager.persist(beer);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void patch_ShouldWriteOnlySuppliedColumns() {
+        LocalDateTime before = beerRepository.findById(beer.getId()).orElseThrow().getLastMod();
+        entityManager.clear();
+        Beer changes = new Beer();
+        changes.setAbv(6.5f);
+        changes.setUpc(42);
+        changes.setStyle(otherStyle);
+
+        assertThat(beerPatchRepository.patch(beer.getId(), changes, null)).isEqualTo(1);
+
+        Beer patched = beerRepository.findById(beer.getId()).orElseThrow();
+        assertThat(patched.getAbv()).isEqualTo(6.5f);
+        assertThat(patched.getUpc()).isEqualTo(42);
+        assertThat(patched.getStyle().getId()).isEqualTo(otherStyle.getId());
+        assertThat(patched.getName()).isEqualTo("Beer");
+        assertThat(patched.getIbu()).isEqualTo(20f);
+        assertThat(patched.getDescript()).isEqualTo("Descripción original");
+        assertThat(patched.getLastMod()).isAfterOrEqualTo(before);
+    }
+
+    @Test
+    void patch_WithExpectedVersion_ShouldOnlyUpdateUnchangedRow() {
+        long version = beerRepository.findVersionById(beer.getId()).orElseThrow().getVersion();
+        Beer changes = new Beer();
+        changes.setName("Renamed");
+
+        assertThat(beerPatchRepository.patch(beer.getId(), changes, version + 1)).isZero();
+        assertThat(beerPatchRepository.patch(beer.getId(), changes, version)).isEqualTo(1);
+        assertThat(beerRepository.findById(beer.getId()).orElseThrow().getName()).isEqualTo("Renamed");
+        // Un segundo PATCH con la misma versión, aunque caiga en el mismo segundo, ya no pasa
+        changes.setName("Renamed again");
+        assertThat(beerPatchRepository.patch(beer.getId(), changes, version)).isZero();
+    }
+
+    @Test
+    void patch_ShouldChangeETagOnEveryWriteWithinTheSameSecond() {
+        LocalDateTime lastMod = beerRepository.findById(beer.getId()).orElseThrow().getLastMod();
+        entityManager.clear();
+        BeerVersion initial = beerRepository.findVersionById(beer.getId()).orElseThrow();
+        Beer changes = new Beer();
+        changes.setAbv(6f);
+        beerPatchRepository.patch(beer.getId(), changes, null);
+        BeerVersion first = sameSecond(lastMod);
+        changes.setAbv(7f);
+        beerPatchRepository.patch(beer.getId(), changes, null);
+        BeerVersion second = sameSecond(lastMod);
+
+        assertThat(second.getLastModified()).isEqualTo(initial.getLastModified());
+        assertThat(List.of(initial, first, second))
+                .extracting(version -> ResourceVersionService.beer(beer.getId(), version).eTag())
+                .doesNotHaveDuplicates();
+    }
+
+    /**
+     * Devuelve {@code last_mod} a {@code lastMod}, como si la escritura hubiera caído en el mismo
+     * segundo, y lee la versión resultante
+     */
+    private BeerVersion sameSecond(LocalDateTime lastMod) {
+        entityManager.getEntityManager()
+                .createNativeQuery("UPDATE beers SET last_mod = :lastMod WHERE id = :id")
+                .setParameter("lastMod", lastMod)
+                .setParameter("id", beer.getId())
+                .executeUpdate();
+        return beerRepository.findVersionById(beer.getId()).orElseThrow();
+    }
+
+    @Test
+    void patch_WhenBeerDoesNotExist_ShouldAffectNoRows() {
+        Beer changes = new Beer();
+        changes.setAbv(1f);
+
+        assertThat(beerPatchRepository.patch(beer.getId() + 1000, changes, null)).isZero();
+        assertThat(beerPatchRepository.patch(beer.getId() + 1000, new Beer(), null)).isZero();
+        assertThat(beerPatchRepository.patch(beer.getId(), new Beer(), null)).isEqualTo(1);
+    }
+}
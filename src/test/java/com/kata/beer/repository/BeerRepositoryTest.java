@@ -0,0 +1,252 @@
+package com.kata.beer.repository;
+
+import com.kata.beer.dto.BeerFilter;
+import com.kata.beer.model.Beer;
+import com.kata.beer.model.Brewery;
+import com.kata.beer.model.Category;
+import com.kata.beer.model.Style;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class BeerRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private BeerRepository beerRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    void findAll_ShouldUseSingleStatementRegardlessOfBeerCount() {
+        persistBeers(5);
+        assertThat(countStatements(() -> assertThat(beerRepository.findAll()).hasSize(5))).isEqualTo(1);
+
+        persistBeers(40);
+        assertThat(countStatements(() -> assertThat(beerRepository.findAll()).hasSize(45))).isEqualTo(1);
+    }
+
+    @Test
+    void findByIdGreaterThan_ShouldLoadRelationsInSameStatement() {
+        List<Beer> beers = persistBeers(30);
+
+        long statements = countStatements(() -> {
+            List<Beer> page = beerRepository.findByIdGreaterThanOrderByIdAsc(
+                    beers.get(4).getId(), Limit.of(10));
+            assertThat(page).hasSize(10);
+            assertThat(page).allSatisfy(beer -> assertThat(beer.getBrewery().getName()).isNotNull());
+        });
+
+        assertThat(statements).isEqualTo(1);
+    }
+
+    @Test
+    void findByBreweryId_ShouldUseSingleStatement() {
+        List<Beer> beers = persistBeers(20);
+        Integer breweryId = beers.get(0).getBrewery().getId();
+
+        assertThat(countStatements(() -> assertThat(beerRepository.findByBreweryId(breweryId)).isNotEmpty()))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void streamAll_ShouldUseSingleStatementAndReturnBeersInIdOrder() {
+        persistBeers(25);
+
+        long statements = countStatements(() -> {
+            try (Stream<Beer> stream = beerRepository.streamAll()) {
+                List<Beer> all = stream.toList();
+                assertThat(all).extracting(Beer::getId).hasSize(25).isSorted();
+                assertThat(all).allSatisfy(beer -> assertThat(beer.getDescript()).startsWith("Description"));
+            }
+        });
+
+        assertThat(statements).isEqualTo(1);
+    }
+
+    @Test
+    void findAll_ShouldNotLoadDescriptions() throws Exception {
+        persistBeers(3);
+
+        entityManager.clear();
+        List<Beer> beers = beerRepository.findAll();
+
+        assertThat(beers).allSatisfy(beer -> {
+            assertThat(Hibernate.isPropertyInitialized(beer, Beer.DESCRIPT)).isFalse();
+            assertThat(Hibernate.isPropertyInitialized(beer.getBrewery(), Brewery.DESCRIPT)).isFalse();
+        });
+        String json = new ObjectMapper().findAndRegisterModules().writeValueAsString(beers);
+        assertThat(json).contains("\"name\":\"Beer 0\"").doesNotContain("descript");
+    }
+
+    @Test
+    void findWithDescriptionById_ShouldLoadDescriptionInSameStatement() {
+        Integer id = persistBeers(2).get(1).getId();
+
+        long statements = countStatements(() -> {
+            Beer beer = beerRepository.findWithDescriptionById(id).orElseThrow();
+            assertThat(Hibernate.isPropertyInitialized(beer, Beer.DESCRIPT)).isTrue();
+            assertThat(beer.getDescript()).isEqualTo("Description 1");
+            assertThat(beer.getBrewery().getName()).isEqualTo("Brewery 1");
+        });
+
+        assertThat(statements).isEqualTo(1);
+        assertThat(beerRepository.findDescriptById(id)).contains("Description 1");
+    }
+
+    @Test
+    void setDescript_OnBeerLoadedWithoutDescription_ShouldBeWritten() {
+        Integer id = persistBeers(1).get(0).getId();
+
+        entityManager.clear();
+        Beer beer = beerRepository.findById(id).orElseThrow();
+        beer.setDescript("Updated");
+        beer.setAbv(6.0f);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(beerRepository.findDescriptById(id)).contains("Updated");
+        assertThat(beerRepository.findById(id).orElseThrow().getAbv()).isEqualTo(6.0f);
+    }
+
+    @Test
+    void findBySpecification_ShouldFilterAndLoadRelationsInSingleStatement() {
+        List<Beer> beers = persistBeers(12);
+        BeerFilter filter = new BeerFilter();
+        filter.setMinAbv(4.5f);
+        filter.setMaxIbu(25f);
+        filter.setCountry(" COUNTRY ");
+
+        long statements = countStatements(() -> {
+            List<Beer> page = beerRepository.findBy(
+                    BeerSpecifications.matching(filter).and(BeerSpecifications.idGreaterThan(beers.get(2).getId())),
+                    query -> query.sortBy(Sort.by("id")).limit(5).project("brewery", "category", "style").all());
+            assertThat(page).extracting(Beer::getId)
+                    .containsExactly(beers.subList(3, 8).stream().map(Beer::getId).toArray(Integer[]::new));
+            assertThat(page).allSatisfy(beer -> assertThat(beer.getStyle().getStyleName()).isNotNull());
+        });
+        assertThat(statements).isEqualTo(1);
+
+        filter.setMaxAbv(4.9f);
+        assertThat(beerRepository.findAll(BeerSpecifications.matching(filter))).isEmpty();
+    }
+
+    @Test
+    void versionQueries_ShouldTrackBeerAndRelationTimestamps() {
+        List<Beer> beers = persistBeers(3);
+        Beer beer = beers.get(1);
+
+        LocalDateTime before = beerRepository.findVersionById(beer.getId()).orElseThrow().getLastModified();
+        Brewery brewery = entityManager.find(Brewery.class, beer.getBrewery().getId());
+        brewery.setName("Renamed");
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(beerRepository.findVersionById(beer.getId()).orElseThrow().getLastModified())
+                .isAfterOrEqualTo(before)
+                .isEqualTo(entityManager.find(Brewery.class, brewery.getId()).getLastMod());
+        assertThat(beerRepository.findVersionById(-1)).isEmpty();
+    }
+
+    /**
+     * Crea cervezas repartidas entre varias cervecerías, categorías y estilos distintos,
+     * que es lo que provocaba una SELECT adicional por cada relación distinta
+     */
+    @Test
+    void countRelations_ShouldCheckAllRelationsInSingleStatement() {
+        Beer beer = persistBeers(1).get(0);
+        Integer breweryId = beer.getBrewery().getId();
+        Integer categoryId = beer.getCategory().getId();
+        Integer styleId = beer.getStyle().getId();
+
+        long statements = countStatements(() -> {
+            RelationCounts counts = beerRepository.countRelations(breweryId, categoryId + 1000, null);
+            assertThat(counts.getBreweries()).isEqualTo(1);
+            assertThat(counts.getCategories()).isZero();
+            assertThat(counts.getStyles()).isZero();
+        });
+        assertThat(statements).isEqualTo(1);
+        assertThat(beerRepository.countRelations(breweryId, categoryId, styleId))
+                .extracting(RelationCounts::getBreweries, RelationCounts::getCategories, RelationCounts::getStyles)
+                .containsExactly(1L, 1L, 1L);
+    }
+
+    private List<Beer> persistBeers(int count) {
+        List<Beer> beers = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Brewery brewery = new Brewery();
+            brewery.setName("Brewery " + i);
+            brewery.setAddress1("");
+            brewery.setAddress2("");
+            brewery.setCity("City");
+            brewery.setState("");
+            brewery.setCode("");
+            brewery.setCountry("Country");
+            brewery.setPhone("");
+            brewery.setWebsite("");
+            brewery.setFilepath("");
+            brewery.setDescript("Brewery description " + i);
+            entityManager.persist(brewery);
+
+            Category category = new Category();
+            category.setCatName("Category " + i);
+            entityManager.persist(category);
+
+            Style style = new Style();
+            style.setCatId(category.getId());
+            style.setStyleName("Style " + i);
+            entityManager.persist(style);
+
+            Beer beer = new Beer();
+            beer.setName("Beer " + i);
+            beer.setBrewery(brewery);
+            beer.setCategory(category);
+            beer.setStyle(style);
+            beer.setAbv(5.0f);
+            beer.setIbu(20.0f);
+            beer.setSrm(10.0f);
+            beer.setUpc(0);
+            beer.setFilepath("");
+            beer.setDescript("Description " + i);
+            beers.add(entityManager.persist(beer));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return beers;
+    }
+
+    private long countStatements(Runnable action) {
+        entityManager.clear();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
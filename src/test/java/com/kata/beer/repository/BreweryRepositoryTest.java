@@ -0,0 +1,38 @@
+package com.kata.beer.repository;
+
+import com.kata.beer.model.Brewery;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class BreweryRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BreweryRepository breweryRepository;
+
+    @Test
+    void findWithDescriptionById_ShouldLoadLazyDescription() {
+        Brewery brewery = new Brewery(null, "Brewery", "", "", "", "", "", "", "", "", "", "Descripción", 0, null);
+        entityManager.persist(brewery);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(Hibernate.isPropertyInitialized(breweryRepository.findById(brewery.getId()).orElseThrow(),
+                Brewery.DESCRIPT)).isFalse();
+        entityManager.clear();
+
+        Brewery loaded = breweryRepository.findWithDescriptionById(brewery.getId()).orElseThrow();
+        assertThat(Hibernate.isPropertyInitialized(loaded, Brewery.DESCRIPT)).isTrue();
+        assertThat(loaded.loadedDescript()).isEqualTo("Descripción");
+        assertThat(breweryRepository.findWithDescriptionById(brewery.getId() + 1000)).isEmpty();
+    }
+}
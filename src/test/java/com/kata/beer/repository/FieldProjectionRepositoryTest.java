@@ -0,0 +1,117 @@
+package com.kata.beer.repository;
+
+import com.kata.beer.dto.FieldSet;
+import com.kata.beer.model.Beer;
+import com.kata.beer.model.Brewery;
+import com.kata.beer.model.Category;
+import com.kata.beer.model.Style;
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+import java.util.List;
+import java.util.Map;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(FieldProjectionRepository.class)
+class FieldProjectionRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private FieldProjectionRepository fieldProjectionRepository;
+
+    private Brewery brewery;
+    private Beer first;
+    private Beer second;
+
+    @BeforeEach
+    void setUp() {
+        brewery = new Brewery(null, "Cervecera", "", "", "Madrid", "", "", "Spain", "", "", "", "", 0, null);
+        Category category = new Category(null, "Category", null);
+        entityManager.persist(brewery);
+        entityManager.persist(category);
+        Style style = new Style(null, category.getId(), "Style", null);
+        entityManager.persist(style);
+        first = persistBeer("First", category, style, 5.0f);
+        second = persistBeer("Second", category, style, 7.5f);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void find_ShouldReturnOnlyRequestedFieldsAndId() {
+        List<Map<String, Object>> rows = fieldProjectionRepository.find(Beer.class, FieldSet.parse("name,abv"),
+                null, Limit.unlimited());
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0)).containsOnlyKeys("id", "name", "abv")
+                .containsEntry("id", first.getId())
+                .containsEntry("name", "First")
+                .containsEntry("abv", 5.0f);
+    }
+
+    @Test
+    void find_WithRelationFields_ShouldNestThemUnderTheRelation() {
+        List<Map<String, Object>> rows = fieldProjectionRepository.find(Beer.class, FieldSet.parse("brewery.name"),
+                FieldProjectionRepository.idIn(List.of(second.getId())), Limit.unlimited());
+
+        assertThat(rows).containsExactly(Map.of("id", second.getId(),
+                "brewery", Map.of("id", brewery.getId(), "name", "Cervecera")));
+    }
+
+    @Test
+    void find_WithWholeRelation_ShouldIncludeAllItsBasicFields() {
+        Map<String, Object> row = fieldProjectionRepository.find(Beer.class, FieldSet.parse("brewery"),
+                FieldProjectionRepository.idGreaterThan(first.getId()), Limit.of(1)).get(0);
+
+        assertThat(row.get("brewery")).asInstanceOf(InstanceOfAssertFactories.MAP)
+                .containsEntry("city", "Madrid")
+                .containsEntry("country", "Spain")
+                .containsKey("lastMod");
+    }
+
+    @Test
+    void project_ShouldMatchTheSqlProjection() {
+        Brewery loaded = entityManager.find(Brewery.class, brewery.getId());
+
+        assertThat(fieldProjectionRepository.project(Brewery.class, FieldSet.parse("city,name"), loaded))
+                .isEqualTo(fieldProjectionRepository.find(Brewery.class, FieldSet.parse("city,name"), null,
+                        Limit.unlimited()).get(0));
+    }
+
+    @Test
+    void find_WithUnknownField_ShouldThrowIllegalArgument() {
+        for (String fields : new String[] {"colour", "brewery.colour", "name.length", "brewery.name.x"}) {
+            assertThatThrownBy(() -> fieldProjectionRepository.find(Beer.class, FieldSet.parse(fields), null,
+                    Limit.unlimited()))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Campo desconocido en fields: " + fields);
+        }
+    }
+
+    private Beer persistBeer(String name, Category category, Style style, float abv) {
+        Beer beer = new Beer();
+        beer.setName(name);
+        beer.setBrewery(brewery);
+        beer.setCategory(category);
+        beer.setStyle(style);
+        beer.setAbv(abv);
+        beer.setIbu(20f);
+        beer.setSrm(10f);
+        beer.setUpc(0);
+        beer.setFilepath("");
+        beer.setDescript("");
+        entityManager.persist(beer);
+        return beer;
+    }
+}
@@ -0,0 +1,160 @@
+package com.kata.beer.search;
+
+import com.kata.beer.dto.BeerFilter;
+import com.kata.beer.model.Beer;
+import com.kata.beer.model.Brewery;
+import com.kata.beer.model.Category;
+import com.kata.beer.model.Style;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BeerColumnsTest {
+
+    private BeerColumns columns;
+
+    @BeforeEach
+    void setUp() {
+        columns = new BeerColumns();
+        columns.put(beer(1, 4.5f, 20f, 1, 1, 1));
+        columns.put(beer(2, 8.0f, 60f, 2, 1, 2));
+        columns.put(beer(3, 5.0f, 35f, 1, 2, 3));
+        columns.put(beer(4, 0f, 0f, 3, 3, 3));
+    }
+
+    @Test
+    void match_ShouldIntersectInclusiveRanges() {
+        BeerFilter filter = new BeerFilter();
+        filter.setMinAbv(4.5f);
+        filter.setMaxAbv(8.0f);
+        filter.setMaxIbu(35f);
+
+        assertThat(columns.match(filter, null)).containsExactly(1, 3);
+    }
+
+    @Test
+    void match_ShouldCombineRangesWithEqualityCriteria() {
+        BeerFilter filter = new BeerFilter();
+        filter.setMinAbv(4f);
+        filter.setBreweryId(1);
+        filter.setCategoryId(2);
+
+        assertThat(columns.match(filter, null)).containsExactly(3);
+    }
+
+    @Test
+    void match_ShouldRestrictToAllowedBreweries() {
+        BitSet breweries = new BitSet();
+        breweries.set(2);
+        breweries.set(3);
+
+        assertThat(columns.match(new BeerFilter(), breweries)).containsExactly(2, 4);
+    }
+
+    @Test
+    void remove_ShouldKeepRemainingRowsMatchable() {
+        columns.remove(1);
+        columns.put(beer(3, 9.0f, 35f, 1, 2, 3));
+
+        BeerFilter filter = new BeerFilter();
+        filter.setMinAbv(7f);
+
+        assertThat(columns.size()).isEqualTo(3);
+        assertThat(columns.match(filter, null)).containsExactly(2, 3);
+    }
+
+    @Test
+    void match_AfterLoadWithoutSort_ShouldFail() {
+        columns.load(beer(5, 6f, 10f, 1, 1, 1));
+
+        assertThatThrownBy(() -> columns.match(new BeerFilter(), null))
+                .isInstanceOf(IllegalStateException.class);
+        columns.sort();
+        assertThat(columns.match(new BeerFilter(), null)).containsExactly(1, 2, 3, 4, 5);
+    }
+
+    @Test
+    void writes_ShouldKeepOrdersAsIfSortedFromScratch() {
+        BeerColumns incremental = new BeerColumns();
+        Map<Integer, float[]> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 2_000; i++) {
+            int id = 1 + random.nextInt(200);
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    incremental.remove(id);
+                    expected.remove(id);
+                }
+                case 1 -> {
+                    Beer changes = new Beer();
+                    changes.setIbu((float) random.nextInt(100));
+                    incremental.patch(id, changes);
+                    expected.computeIfPresent(id, (key, values) -> new float[] {values[0], changes.getIbu()});
+                }
+                default -> {
+                    float[] values = {random.nextInt(120) / 10f, random.nextInt(100)};
+                    incremental.put(beer(id, values[0], values[1], 1, 1, 1));
+                    expected.put(id, values);
+                }
+            }
+        }
+        BeerColumns sorted = new BeerColumns();
+        expected.forEach((id, values) -> sorted.load(beer(id, values[0], values[1], 1, 1, 1)));
+        sorted.sort();
+
+        assertThat(incremental.size()).isEqualTo(expected.size());
+        for (int i = 0; i < 50; i++) {
+            BeerFilter filter = new BeerFilter();
+            filter.setMinAbv(random.nextInt(60) / 10f);
+            filter.setMaxAbv(6f + random.nextInt(60) / 10f);
+            filter.setMinIbu((float) random.nextInt(50));
+            assertThat(incremental.match(filter, null)).containsExactly(sorted.match(filter, null));
+        }
+    }
+
+    @Test
+    void patch_ShouldChangeOnlySuppliedColumns() {
+        Beer changes = new Beer();
+        changes.setAbv(9.0f);
+        Style style = new Style();
+        style.setId(7);
+        changes.setStyle(style);
+        columns.patch(1, changes);
+        columns.patch(99, changes);
+
+        BeerFilter strong = new BeerFilter();
+        strong.setMinAbv(8.5f);
+        BeerFilter bitter = new BeerFilter();
+        bitter.setMinIbu(20f);
+        bitter.setMaxIbu(20f);
+        bitter.setStyleId(7);
+
+        assertThat(columns.match(strong, null)).containsExactly(1);
+        assertThat(columns.match(bitter, null)).containsExactly(1);
+        assertThat(columns.size()).isEqualTo(4);
+    }
+
+    private static Beer beer(int id, float abv, float ibu, int breweryId, int categoryId, int styleId) {
+        Brewery brewery = new Brewery();
+        brewery.setId(breweryId);
+        Category category = new Category();
+        category.setId(categoryId);
+        Style style = new Style();
+        style.setId(styleId);
+
+        Beer beer = new Beer();
+        beer.setId(id);
+        beer.setAbv(abv);
+        beer.setIbu(ibu);
+        beer.setSrm(0f);
+        beer.setBrewery(brewery);
+        beer.setCategory(category);
+        beer.setStyle(style);
+        return beer;
+    }
+}
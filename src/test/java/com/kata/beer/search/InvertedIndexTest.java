@@ -0,0 +1,85 @@
+package com.kata.beer.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.util.HashMap;
+import java.util.Map;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvertedIndexTest {
+
+    private InvertedIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InvertedIndex();
+        put(1, "Hocus Pocus", "Magic Hat Brewing", "A light, crisp summer ale.");
+        put(2, "Oatmeal Stout", "Sierra Nevada", "Rich and roasty stout.");
+        put(3, "Summer Ale", "Brewery Ommegang", "");
+        put(4, "Cerveza Añeja", "Cervecería del Sur", "Una cerveza tostada.");
+    }
+
+    @Test
+    void tokenize_ShouldLowercaseAndStripAccents() {
+        assertThat(InvertedIndex.tokenize("Cerveza AÑEJA, 7% ABV")).containsExactly("cerveza", "aneja", "7", "abv");
+    }
+
+    @Test
+    void search_ShouldRankDocumentsMatchingMoreTermsFirst() {
+        SearchHits hits = index.search("summer ale", 0, 10);
+
+        assertThat(hits.total()).isEqualTo(2);
+        assertThat(hits.ids()).containsExactly(3, 1);
+    }
+
+    @Test
+    void search_ShouldRankNameMatchesAboveDescriptionMatches() {
+        SearchHits hits = index.search("stout", 0, 10);
+
+        assertThat(hits.ids()).containsExactly(2);
+        assertThat(index.search("cerveza", 0, 10).ids()).containsExactly(4);
+        assertThat(index.search("ANEJA", 0, 10).ids()).containsExactly(4);
+    }
+
+    @Test
+    void search_ShouldPaginateResults() {
+        put(5, "Summer Wheat", "", "");
+        put(6, "Summer Lager", "", "");
+
+        SearchHits first = index.search("summer", 0, 2);
+        SearchHits second = index.search("summer", 2, 2);
+
+        assertThat(first.total()).isEqualTo(4);
+        assertThat(first.ids()).hasSize(2);
+        assertThat(second.ids()).hasSize(2).doesNotContain(first.ids());
+    }
+
+    @Test
+    void search_ShouldReturnEmptyPageWhenOffsetIsPastTheHits() {
+        SearchHits hits = index.search("summer", Integer.MAX_VALUE - 100, 100);
+
+        assertThat(hits.total()).isEqualTo(2);
+        assertThat(hits.ids()).isEmpty();
+    }
+
+    @Test
+    void put_ShouldReplacePreviousTermsAndRemoveShouldDropDocument() {
+        put(2, "Imperial Porter", "Sierra Nevada", "");
+
+        assertThat(index.search("stout", 0, 10).total()).isZero();
+        assertThat(index.search("porter", 0, 10).ids()).containsExactly(2);
+
+        index.remove(2);
+
+        assertThat(index.search("porter", 0, 10).total()).isZero();
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    private void put(int id, String name, String brewery, String description) {
+        Map<String, Float> weights = new HashMap<>();
+        InvertedIndex.addField(weights, name, BeerSearchIndex.NAME_WEIGHT);
+        InvertedIndex.addField(weights, brewery, BeerSearchIndex.BREWERY_WEIGHT);
+        InvertedIndex.addField(weights, description, BeerSearchIndex.DESCRIPTION_WEIGHT);
+        index.put(id, weights);
+    }
+}
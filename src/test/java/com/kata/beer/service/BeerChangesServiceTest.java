@@ -0,0 +1,133 @@
+package com.kata.beer.service;
+
+import com.kata.beer.dto.BeerChanges;
+import com.kata.beer.dto.BeerFilter;
+import com.kata.beer.exception.ChangeTokenExpiredException;
+import com.kata.beer.model.Beer;
+import com.kata.beer.model.Brewery;
+import com.kata.beer.model.Category;
+import com.kata.beer.model.Style;
+import com.kata.beer.repository.BeerBulkRepository;
+import com.kata.beer.repository.BeerDeletionRepository;
+import com.kata.beer.repository.BeerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import java.time.Duration;
+import java.util.List;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = "beer.changes.settle-window=PT0S")
+@ActiveProfiles("test")
+@Import({BeerChangesService.class, BeerBulkRepository.class})
+class BeerChangesServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BeerChangesService beerChangesService;
+
+    @Autowired
+    private BeerBulkRepository beerBulkRepository;
+
+    @Autowired
+    private BeerRepository beerRepository;
+
+    @Autowired
+    private BeerDeletionRepository beerDeletionRepository;
+
+    private Category category;
+    private Beer first;
+    private Beer second;
+
+    @BeforeEach
+    void setUp() {
+        Brewery brewery = new Brewery(null, "Brewery", "", "", "", "", "", "", "", "", "", "", 0, null);
+        category = new Category(null, "Category", null);
+        entityManager.persist(brewery);
+        entityManager.persist(category);
+        Style style = new Style(null, category.getId(), "Style", null);
+        entityManager.persist(style);
+        first = persistBeer("First", brewery, style);
+        second = persistBeer("Second", brewery, style);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void getChanges_WithoutToken_ShouldPageThroughWholeCatalog() {
+        BeerChanges page = beerChangesService.getChanges(null, 1);
+        assertThat(page.getChanged()).extracting(Beer::getId).containsExactly(first.getId());
+        assertThat(page.getDeleted()).isEmpty();
+        assertThat(page.isHasMore()).isTrue();
+
+        page = beerChangesService.getChanges(page.getToken(), 1);
+        assertThat(page.getChanged()).extracting(Beer::getId).containsExactly(second.getId());
+        assertThat(page.isHasMore()).isFalse();
+
+        page = beerChangesService.getChanges(page.getToken(), 1);
+        assertThat(page.getChanged()).isEmpty();
+        assertThat(page.isHasMore()).isFalse();
+    }
+
+    @Test
+    void getChanges_WithToken_ShouldReturnOnlyLaterUpdatesAndDeletions() throws InterruptedException {
+        String token = beerChangesService.getChanges(null, 10).getToken();
+        Thread.sleep(5);
+
+        BeerFilter filter = new BeerFilter();
+        filter.setCategoryId(category.getId());
+        Beer changes = new Beer();
+        changes.setAbv(7.5f);
+        beerBulkRepository.updateByIds(beerBulkRepository.lockMatchingIds(filter), changes);
+        beerBulkRepository.deleteByIds(List.of(first.getId()));
+        entityManager.clear();
+
+        BeerChanges delta = beerChangesService.getChanges(token, 10);
+
+        assertThat(delta.getChanged()).extracting(Beer::getId).containsExactly(second.getId());
+        assertThat(delta.getChanged().get(0).getAbv()).isEqualTo(7.5f);
+        assertThat(delta.getDeleted()).containsExactly(first.getId());
+        assertThat(beerChangesService.getChanges(delta.getToken(), 10).getDeleted()).isEmpty();
+    }
+
+    @Test
+    void getChanges_WithInvalidToken_ShouldThrowIllegalArgument() {
+        assertThatThrownBy(() -> beerChangesService.getChanges("not-a-token", 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Token de cambios inválido");
+    }
+
+    @Test
+    void getChanges_WhenTokenIsOlderThanRetention_ShouldThrowExpired() throws InterruptedException {
+        BeerChangesService shortRetention = new BeerChangesService(beerRepository, beerDeletionRepository,
+                Duration.ZERO, Duration.ofMillis(1));
+        String token = shortRetention.getChanges(null, 10).getToken();
+        Thread.sleep(5);
+
+        assertThatThrownBy(() -> shortRetention.getChanges(token, 10))
+                .isInstanceOf(ChangeTokenExpiredException.class);
+    }
+
+    private Beer persistBeer(String name, Brewery brewery, Style style) {
+        Beer beer = new Beer();
+        beer.setName(name);
+        beer.setBrewery(brewery);
+        beer.setCategory(category);
+        beer.setStyle(style);
+        beer.setAbv(5.0f);
+        beer.setIbu(20f);
+        beer.setSrm(10f);
+        beer.setUpc(0);
+        beer.setFilepath("");
+        beer.setDescript("");
+        entityManager.persist(beer);
+        return beer;
+    }
+}
@@ -0,0 +1,70 @@
+package com.kata.beer.service;
+
+import com.kata.beer.model.Beer;
+import com.kata.beer.model.Brewery;
+import com.kata.beer.model.Category;
+import com.kata.beer.model.Style;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.AutoConfigureJson;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureJson
+@ActiveProfiles("test")
+@Import(BeerExportService.class)
+class BeerExportServiceTest {
+
+    private static final int BEERS = BeerExportService.CLEAR_EVERY + 200;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BeerExportService beerExportService;
+
+    @BeforeEach
+    void setUp() {
+        Category category = entityManager.persist(new Category(null, "Category", null));
+        Style style = entityManager.persist(new Style(null, category.getId(), "Style", null));
+        for (int i = 0; i < BEERS; i++) {
+            Brewery brewery = entityManager.persist(
+                    new Brewery(null, "Brewery " + i, "", "", "", "", "", "Spain", "", "", "", "", 0, null));
+            Beer beer = new Beer();
+            beer.setName("Beer " + i);
+            beer.setBrewery(brewery);
+            beer.setCategory(category);
+            beer.setStyle(style);
+            beer.setAbv(5f);
+            beer.setIbu(20f);
+            beer.setSrm(10f);
+            beer.setUpc(0);
+            beer.setFilepath("");
+            beer.setDescript("");
+            entityManager.persist(beer);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void forEachBeer_ShouldNotAccumulateBeersNorRelationsInThePersistenceContext() {
+        Session session = entityManager.getEntityManager().unwrap(Session.class);
+        AtomicInteger maxManaged = new AtomicInteger();
+
+        long count = beerExportService.forEachBeer(beer ->
+                maxManaged.accumulateAndGet(session.getStatistics().getEntityCount(), Math::max));
+
+        assertThat(count).isEqualTo(BEERS);
+        // Una cerveza y su cervecera por fila, más la categoría y el estilo compartidos
+        assertThat(maxManaged.get()).isLessThanOrEqualTo(2 * BeerExportService.CLEAR_EVERY + 2);
+        assertThat(session.getStatistics().getEntityCount()).isLessThan(BEERS);
+    }
+}
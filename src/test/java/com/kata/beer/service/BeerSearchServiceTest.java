@@ -0,0 +1,33 @@
+package com.kata.beer.service;
+
+import com.kata.beer.dto.SearchPage;
+import com.kata.beer.model.Beer;
+import com.kata.beer.repository.BeerRepository;
+import com.kata.beer.search.BeerSearchIndex;
+import com.kata.beer.search.SearchHits;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class BeerSearchServiceTest {
+
+    private final BeerSearchIndex beerSearchIndex = mock(BeerSearchIndex.class);
+    private final BeerRepository beerRepository = mock(BeerRepository.class);
+    private final BeerSearchService beerSearchService = new BeerSearchService(beerSearchIndex, beerRepository);
+
+    @Test
+    void searchBeers_ShouldNotOverflowOffsetOnHugePages() {
+        when(beerSearchIndex.isReady()).thenReturn(true);
+        when(beerSearchIndex.search("x", Integer.MAX_VALUE - 100, 100)).thenReturn(new SearchHits(new int[0], 3));
+
+        SearchPage<Beer> page = beerSearchService.searchBeers("x", 30_000_000, 100);
+
+        assertThat(page.getTotal()).isEqualTo(3);
+        assertThat(page.getItems()).isEmpty();
+        verify(beerSearchIndex).search("x", Integer.MAX_VALUE - 100, 100);
+        verifyNoInteractions(beerRepository);
+    }
+}
@@ -0,0 +1,185 @@
+package com.kata.beer.service;
+
+import com.kata.beer.cache.ReferenceDataCache;
+import com.kata.beer.cache.ReferenceTable;
+import com.kata.beer.dto.BatchCreateResult;
+import com.kata.beer.dto.BatchItemResult;
+import com.kata.beer.dto.BeerFilter;
+import com.kata.beer.dto.FieldSet;
+import com.kata.beer.event.BeerChangedEvent;
+import com.kata.beer.exception.PreconditionFailedException;
+import com.kata.beer.model.Beer;
+import com.kata.beer.model.Brewery;
+import com.kata.beer.model.Category;
+import com.kata.beer.model.Style;
+import com.kata.beer.repository.BeerBatchRepository;
+import com.kata.beer.repository.BeerBulkRepository;
+import com.kata.beer.repository.BeerPatchRepository;
+import com.kata.beer.repository.BeerRepository;
+import com.kata.beer.repository.BeerVersion;
+import com.kata.beer.repository.BreweryRepository;
+import com.kata.beer.repository.CategoryRepository;
+import com.kata.beer.repository.FieldProjectionRepository;
+import com.kata.beer.repository.StyleRepository;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BeerServiceTest {
+
+    private final BeerRepository beerRepository = mock(BeerRepository.class);
+    private final BreweryRepository breweryRepository = mock(BreweryRepository.class);
+    private final BeerBatchRepository beerBatchRepository = mock(BeerBatchRepository.class);
+    private final BeerPatchRepository beerPatchRepository = mock(BeerPatchRepository.class);
+    private final BeerBulkRepository beerBulkRepository = mock(BeerBulkRepository.class);
+    private final ReferenceDataCache referenceDataCache = mock(ReferenceDataCache.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final BeerService beerService = new BeerService(beerRepository, breweryRepository,
+            mock(CategoryRepository.class), mock(StyleRepository.class), beerBatchRepository,
+            beerPatchRepository, beerBulkRepository, mock(FieldProjectionRepository.class),
+            referenceDataCache, mock(Validator.class), eventPublisher);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void createBeers_WithMixedBatch_ShouldCreateValidItemsAndReportEachInOrder() {
+        ReferenceTable<Brewery> breweries = mock(ReferenceTable.class);
+        ReferenceTable<Category> categories = mock(ReferenceTable.class);
+        ReferenceTable<Style> styles = mock(ReferenceTable.class);
+        when(referenceDataCache.breweries()).thenReturn(breweries);
+        when(referenceDataCache.categories()).thenReturn(categories);
+        when(referenceDataCache.styles()).thenReturn(styles);
+        when(breweries.containsId(1)).thenReturn(true);
+        when(categories.containsId(1)).thenReturn(true);
+        when(styles.containsId(1)).thenReturn(true);
+        when(breweryRepository.findExistingIds(List.of(99))).thenReturn(Set.of());
+        Beer first = newBeer(1);
+        Beer unknownBrewery = newBeer(99);
+        Beer last = newBeer(1);
+        doAnswer(invocation -> {
+            List<Beer> inserted = invocation.getArgument(0);
+            for (int i = 0; i < inserted.size(); i++) {
+                inserted.get(i).setId(100 + i);
+            }
+            return null;
+        }).when(beerBatchRepository).insertAll(List.of(first, last));
+
+        BatchCreateResult result = beerService.createBeers(Arrays.asList(first, unknownBrewery, null, last));
+
+        assertThat(result.getCreated()).isEqualTo(2);
+        assertThat(result.getRejected()).isEqualTo(2);
+        assertThat(result.getResults())
+                .extracting(BatchItemResult::getIndex, BatchItemResult::getStatus, BatchItemResult::getId, BatchItemResult::getError)
+                .containsExactly(
+                        tuple(0, BatchItemResult.Status.CREATED, 100, null),
+                        tuple(1, BatchItemResult.Status.REJECTED, null, "Cervecería no encontrada con id: 99"),
+                        tuple(2, BatchItemResult.Status.REJECTED, null, "La cerveza no puede ser nula"),
+                        tuple(3, BatchItemResult.Status.CREATED, 101, null));
+        verify(beerBatchRepository).insertAll(List.of(first, last));
+        verify(eventPublisher).publishEvent(BeerChangedEvent.created(first));
+        verify(eventPublisher).publishEvent(BeerChangedEvent.created(last));
+        verify(eventPublisher, times(2)).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void deleteBeers_ShouldPublishEventsOnlyForExistingIds() {
+        when(beerBulkRepository.lockExistingIds(Set.of(1, 2, 3))).thenReturn(List.of(1, 3));
+        when(beerBulkRepository.deleteByIds(List.of(1, 3))).thenReturn(2);
+
+        assertThat(beerService.deleteBeers(List.of(3, 2, 1))).isEqualTo(2);
+
+        verify(eventPublisher).publishEvent(BeerChangedEvent.deleted(1));
+        verify(eventPublisher).publishEvent(BeerChangedEvent.deleted(3));
+        verify(eventPublisher, times(2)).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void deleteBeers_WhenNoIdExists_ShouldNotDeleteNorPublish() {
+        when(beerBulkRepository.lockExistingIds(Set.of(7))).thenReturn(List.of());
+
+        assertThat(beerService.deleteBeers(List.of(7))).isZero();
+
+        verify(beerBulkRepository, never()).deleteByIds(any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void deleteMatchingBeers_ShouldDeleteAndPublishExactlyTheLockedIds() {
+        BeerFilter filter = new BeerFilter();
+        filter.setBreweryId(5);
+        when(beerBulkRepository.lockMatchingIds(filter)).thenReturn(List.of(4, 9));
+        when(beerBulkRepository.deleteByIds(List.of(4, 9))).thenReturn(2);
+
+        assertThat(beerService.deleteMatchingBeers(filter)).isEqualTo(2);
+
+        verify(eventPublisher).publishEvent(BeerChangedEvent.deleted(4));
+        verify(eventPublisher).publishEvent(BeerChangedEvent.deleted(9));
+        verify(eventPublisher, times(2)).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void patchBeer_ShouldAcceptETagOfAnyRepresentationOfTheCurrentVersion() {
+        BeerVersion version = beerVersion(3);
+        when(beerRepository.findVersionById(1)).thenReturn(Optional.of(version));
+        Beer changes = new Beer();
+        changes.setAbv(6f);
+        when(beerPatchRepository.patch(1, changes, 3L)).thenReturn(1);
+        String cborFields = ResourceVersionService.beer(1, version)
+                .withVariant(FieldSet.parse("name,abv"))
+                .withVariant("cbor")
+                .eTag();
+
+        beerService.patchBeer(1, changes, cborFields);
+
+        verify(beerPatchRepository).patch(1, changes, 3L);
+    }
+
+    @Test
+    void patchBeer_WhenIfMatchHasAnOlderVersion_ShouldFailWithoutWriting() {
+        String stale = ResourceVersionService.beer(1, beerVersion(3)).withVariant("cbor").eTag();
+        BeerVersion current = beerVersion(4);
+        when(beerRepository.findVersionById(1)).thenReturn(Optional.of(current));
+        Beer changes = new Beer();
+        changes.setAbv(6f);
+
+        assertThatThrownBy(() -> beerService.patchBeer(1, changes, stale))
+                .isInstanceOf(PreconditionFailedException.class);
+        verify(beerPatchRepository, never()).patch(any(), any(), any());
+    }
+
+    private static BeerVersion beerVersion(long version) {
+        BeerVersion beerVersion = mock(BeerVersion.class);
+        when(beerVersion.getVersion()).thenReturn(version);
+        when(beerVersion.getLastModified()).thenReturn(LocalDateTime.of(2024, 1, 1, 0, 0));
+        return beerVersion;
+    }
+
+    private static Beer newBeer(int breweryId) {
+        Brewery brewery = new Brewery();
+        brewery.setId(breweryId);
+        Category category = new Category();
+        category.setId(1);
+        Style style = new Style();
+        style.setId(1);
+        Beer beer = new Beer();
+        beer.setName("Batch Ale");
+        beer.setBrewery(brewery);
+        beer.setCategory(category);
+        beer.setStyle(style);
+        return beer;
+    }
+}
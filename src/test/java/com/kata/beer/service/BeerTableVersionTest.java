@@ -0,0 +1,30 @@
+package com.kata.beer.service;
+
+import com.kata.beer.event.BeerChangedEvent;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BeerTableVersionTest {
+
+    private final BeerTableVersion beerTableVersion = new BeerTableVersion();
+
+    @Test
+    void onBeerChanged_ShouldChangeVersionOnDeleteAndCreateInTheSameSecond() {
+        String initial = beerTableVersion.version();
+        beerTableVersion.onBeerChanged(BeerChangedEvent.deleted(1));
+        String afterDelete = beerTableVersion.version();
+        beerTableVersion.onBeerChanged(BeerChangedEvent.deleted(2));
+
+        assertThat(List.of(initial, afterDelete, beerTableVersion.version())).doesNotHaveDuplicates();
+        assertThat(beerTableVersion.lastModified()).isNotNull();
+    }
+
+    @Test
+    void version_ShouldNotRepeatAcrossRestarts() throws InterruptedException {
+        String before = beerTableVersion.version();
+        Thread.sleep(2);
+
+        assertThat(new BeerTableVersion().version()).isNotEqualTo(before);
+    }
+}
@@ -0,0 +1,137 @@
+package com.kata.beer.singleflight;
+
+import com.kata.beer.exception.ResourceNotFoundException;
+import com.kata.beer.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightAspectTest {
+
+    private static final int FOLLOWERS = 8;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final Catalog target = new Catalog();
+    private Catalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        catalog = proxy(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void concurrentIdenticalCalls_ShouldShareOneExecutionAndReportTheRatio() throws Exception {
+        List<CompletableFuture<String>> followers = startWhileLeaderRuns(() -> catalog.find(1));
+        target.release.countDown();
+
+        for (CompletableFuture<String> follower : followers) {
+            assertThat(follower.get()).isEqualTo("cerveza-1");
+        }
+        assertThat(catalog.find(2)).isEqualTo("cerveza-2");
+        assertThat(target.executions).hasValue(2);
+        assertThat(registry.get("beer.singleflight.calls").tags("method", "find", "outcome", "shared")
+                .functionCounter().count()).isEqualTo(FOLLOWERS);
+        assertThat(registry.get("beer.singleflight.ratio").tag("method", "find").gauge().value())
+                .isEqualTo((double) FOLLOWERS / (FOLLOWERS + 2));
+    }
+
+    @Test
+    void concurrentIdenticalCalls_ShouldAllReceiveTheLeadersException() throws Exception {
+        List<CompletableFuture<String>> followers = startWhileLeaderRuns(() -> catalog.find(-1));
+        target.release.countDown();
+
+        for (CompletableFuture<String> follower : followers) {
+            assertThatThrownBy(follower::get)
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(ResourceNotFoundException.class);
+        }
+        assertThat(target.executions).hasValue(1);
+    }
+
+    @Test
+    void follower_WhenLeaderTakesLongerThanTimeout_ShouldGiveUpWith503() throws Exception {
+        catalog = proxy(Duration.ofMillis(50));
+        List<CompletableFuture<String>> followers = startWhileLeaderRuns(() -> catalog.find(3));
+
+        assertThatThrownBy(() -> followers.get(0).get())
+                .hasCauseInstanceOf(ServiceOverloadedException.class);
+        target.release.countDown();
+        assertThat(target.executions).hasValue(1);
+    }
+
+    /**
+     * Lanza una llamada que se queda dentro del método y, mientras sigue en curso, varias
+     * idénticas; vuelve cuando todas esperan su resultado
+     */
+    private List<CompletableFuture<String>> startWhileLeaderRuns(Supplier<String> call) throws InterruptedException {
+        CompletableFuture.runAsync(() -> {
+            try {
+                call.get();
+            } catch (RuntimeException ignored) {
+                // el resultado se comprueba en los demás
+            }
+        });
+        target.entered.await();
+        List<Thread> threads = new ArrayList<>();
+        List<CompletableFuture<String>> followers = new ArrayList<>();
+        for (int i = 0; i < FOLLOWERS; i++) {
+            CompletableFuture<String> follower = new CompletableFuture<>();
+            followers.add(follower);
+            Thread thread = new Thread(() -> {
+                try {
+                    follower.complete(call.get());
+                } catch (RuntimeException e) {
+                    follower.completeExceptionally(e);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            while (thread.isAlive() && thread.getState() != Thread.State.TIMED_WAITING) {
+                Thread.sleep(5);
+            }
+        }
+        return followers;
+    }
+
+    private Catalog proxy(Duration timeout) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new SingleFlightAspect(registry, true, timeout));
+        return factory.getProxy();
+    }
+
+    static class Catalog {
+
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger executions = new AtomicInteger();
+
+        @SingleFlight
+        public String find(int id) {
+            executions.incrementAndGet();
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (id < 0) {
+                throw new ResourceNotFoundException("Cerveza no encontrada con id: " + id);
+            }
+            return "cerveza-" + id;
+        }
+    }
+}
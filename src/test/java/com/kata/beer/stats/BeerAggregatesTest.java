@@ -0,0 +1,126 @@
+package com.kata.beer.stats;
+
+import com.kata.beer.model.Beer;
+import com.kata.beer.model.Brewery;
+import com.kata.beer.model.Category;
+import com.kata.beer.model.Style;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.util.Map;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class BeerAggregatesTest {
+
+    private BeerAggregates aggregates;
+
+    @BeforeEach
+    void setUp() {
+        aggregates = new BeerAggregates();
+        aggregates.put(beer(1, 1, 1, 1, 4.0f, 20f));
+        aggregates.put(beer(2, 1, 1, 1, 6.0f, 40f));
+        aggregates.put(beer(3, 2, 2, 2, 8.0f, 60f));
+    }
+
+    @Test
+    void snapshot_ShouldCountAndAggregatePerGroup() {
+        BeerStatsSnapshot snapshot = aggregates.snapshot();
+
+        assertThat(snapshot.beersByBrewery()).containsEntry(1, 2L).containsEntry(2, 1L).hasSize(2);
+        assertThat(snapshot.beersByCategory()).containsEntry(1, 2L).containsEntry(2, 1L).hasSize(2);
+        StyleAggregate style = snapshot.styles().get(1);
+        assertThat(style.beers()).isEqualTo(2);
+        assertThat(style.avgAbv()).isCloseTo(5.0, within(1e-9));
+        assertThat(style.minAbv()).isEqualTo(4.0f);
+        assertThat(style.maxAbv()).isEqualTo(6.0f);
+        assertThat(style.avgIbu()).isCloseTo(30.0, within(1e-9));
+        assertThat(style.minIbu()).isEqualTo(20f);
+        assertThat(style.maxIbu()).isEqualTo(40f);
+    }
+
+    @Test
+    void remove_ShouldRestoreMinAndMaxAndDropEmptyGroups() {
+        aggregates.remove(2);
+        aggregates.remove(3);
+
+        BeerStatsSnapshot snapshot = aggregates.snapshot();
+        assertThat(snapshot.beersByBrewery()).containsOnlyKeys(1);
+        assertThat(snapshot.styles()).containsOnlyKeys(1);
+        StyleAggregate style = snapshot.styles().get(1);
+        assertThat(style.beers()).isEqualTo(1);
+        assertThat(style.maxAbv()).isEqualTo(4.0f);
+        assertThat(style.maxIbu()).isEqualTo(20f);
+        assertThat(aggregates.size()).isEqualTo(1);
+    }
+
+    @Test
+    void put_ShouldMoveUpdatedBeerBetweenGroups() {
+        aggregates.put(beer(3, 1, 1, 1, 10.0f, 10f));
+
+        BeerStatsSnapshot snapshot = aggregates.snapshot();
+        assertThat(snapshot.beersByBrewery()).containsOnly(Map.entry(1, 3L));
+        assertThat(snapshot.styles().get(1).maxAbv()).isEqualTo(10.0f);
+        assertThat(snapshot.styles().get(1).minIbu()).isEqualTo(10f);
+        assertThat(aggregates.size()).isEqualTo(3);
+    }
+
+    @Test
+    void patch_ShouldMergeSuppliedFieldsIntoCurrentFacts() {
+        Beer changes = new Beer();
+        changes.setIbu(80f);
+        Style style = new Style();
+        style.setId(2);
+        changes.setStyle(style);
+        aggregates.patch(2, changes);
+        aggregates.patch(99, changes);
+
+        BeerStatsSnapshot snapshot = aggregates.snapshot();
+        assertThat(snapshot.beersByBrewery()).containsEntry(1, 2L);
+        assertThat(snapshot.styles().get(1).beers()).isEqualTo(1);
+        StyleAggregate moved = snapshot.styles().get(2);
+        assertThat(moved.beers()).isEqualTo(2);
+        assertThat(moved.minAbv()).isEqualTo(6.0f);
+        assertThat(moved.maxIbu()).isEqualTo(80f);
+        assertThat(aggregates.size()).isEqualTo(3);
+    }
+
+    @Test
+    void put_ShouldGroupMissingRelationsAsUnknown() {
+        Beer orphan = beer(4, 1, 1, 1, 5.0f, 30f);
+        orphan.setCategory(null);
+        orphan.setStyle(null);
+        aggregates.put(orphan);
+
+        BeerStatsSnapshot snapshot = aggregates.snapshot();
+        assertThat(snapshot.beersByCategory()).containsEntry(BeerStatsSnapshot.UNKNOWN, 1L);
+        assertThat(snapshot.styles().get(BeerStatsSnapshot.UNKNOWN).beers()).isEqualTo(1);
+    }
+
+    @Test
+    void differences_ShouldReportMismatchedGroups() {
+        BeerStatsSnapshot before = aggregates.snapshot();
+        aggregates.remove(3);
+
+        assertThat(before.differences(before)).isEmpty();
+        assertThat(aggregates.snapshot().differences(before))
+                .containsExactly("cervecería 2: 0 != 1", "categoría 2: 0 != 1",
+                        "estilo 2: null != " + before.styles().get(2));
+    }
+
+    private static Beer beer(int id, int breweryId, int categoryId, int styleId, float abv, float ibu) {
+        Brewery brewery = new Brewery();
+        brewery.setId(breweryId);
+        Category category = new Category();
+        category.setId(categoryId);
+        Style style = new Style();
+        style.setId(styleId);
+        Beer beer = new Beer();
+        beer.setId(id);
+        beer.setBrewery(brewery);
+        beer.setCategory(category);
+        beer.setStyle(style);
+        beer.setAbv(abv);
+        beer.setIbu(ibu);
+        return beer;
+    }
+}
@@ -0,0 +1,48 @@
+package com.kata.beer.stats;
+
+import com.kata.beer.service.BeerStatsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara las estadísticas en memoria con las calculadas por H2 sobre el dataset real de
+ * {@code initSQL/}
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:beer-stats;DB_CLOSE_DELAY=-1;MODE=MySQL",
+        "beer.dataset.enabled=true",
+        "beer.dataset.location=file:./initSQL/"
+})
+@ActiveProfiles("test")
+class BeerStatsConsistencyTest {
+
+    @Autowired
+    private BeerStatsService beerStatsService;
+
+    @Autowired
+    private BeerStatsIndex beerStatsIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void checkConsistency_ShouldMatchDatabaseAndRebuildAfterDrift() {
+        beerStatsIndex.rebuild();
+        assertThat(beerStatsIndex.size()).isEqualTo(5901);
+        assertThat(beerStatsService.checkConsistency().status()).isEqualTo(StatsConsistencyReport.Status.CONSISTENT);
+        assertThat(beerStatsService.snapshot().beersByCategory()).containsKey(BeerStatsSnapshot.UNKNOWN);
+
+        // Escritura que no pasa por el servicio y, por tanto, no llega al índice
+        jdbcTemplate.update("UPDATE beers SET abv = 99 WHERE id = 1");
+
+        StatsConsistencyReport report = beerStatsService.checkConsistency();
+        assertThat(report.status()).isEqualTo(StatsConsistencyReport.Status.REBUILT);
+        assertThat(report.differences()).singleElement().asString().startsWith("estilo ");
+        assertThat(beerStatsService.checkConsistency().status()).isEqualTo(StatsConsistencyReport.Status.CONSISTENT);
+        assertThat(beerStatsService.lastConsistencyReport().status()).isEqualTo(StatsConsistencyReport.Status.CONSISTENT);
+    }
+}
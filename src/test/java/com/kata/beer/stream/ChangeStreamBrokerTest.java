@@ -0,0 +1,161 @@
+package com.kata.beer.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kata.beer.event.BeerChangedEvent;
+import com.kata.beer.model.Beer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChangeStreamBrokerTest {
+
+    private ChangeStreamBroker broker;
+
+    @BeforeEach
+    void setUp() {
+        broker = new ChangeStreamBroker(new ObjectMapper(), 3, 2, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void onBeerChanged_ShouldDeliverEventsInOrderToEverySubscriber() throws Exception {
+        RecordingEmitter first = new RecordingEmitter();
+        RecordingEmitter second = new RecordingEmitter();
+        broker.subscribe(null, first);
+        broker.subscribe(null, second);
+
+        broker.onBeerChanged(BeerChangedEvent.created(beer(1)));
+        broker.onBeerChanged(BeerChangedEvent.deleted(1));
+
+        for (RecordingEmitter emitter : new RecordingEmitter[] {first, second}) {
+            String created = emitter.next();
+            assertThat(created).contains("event:created").contains("id:").contains("\"beerId\":1")
+                    .contains("\"name\":\"Beer 1\"");
+            assertThat(emitter.next()).contains("event:deleted").contains("\"beer\":null");
+        }
+        assertThat(broker.subscriberCount()).isEqualTo(2);
+    }
+
+    @Test
+    void subscribe_WithLastEventId_ShouldReplayOnlyLaterEvents() throws Exception {
+        RecordingEmitter live = new RecordingEmitter();
+        broker.subscribe(null, live);
+        broker.onBeerChanged(BeerChangedEvent.created(beer(1)));
+        broker.onBeerChanged(BeerChangedEvent.created(beer(2)));
+        broker.onBeerChanged(BeerChangedEvent.created(beer(3)));
+        String firstId = eventId(live.next());
+
+        RecordingEmitter resumed = new RecordingEmitter();
+        broker.subscribe(firstId, resumed);
+
+        assertThat(resumed.next()).contains("\"beerId\":2");
+        assertThat(resumed.next()).contains("\"beerId\":3");
+        assertThat(resumed.poll()).isNull();
+    }
+
+    @Test
+    void subscribe_WithUnknownOrExpiredLastEventId_ShouldSendReset() throws Exception {
+        RecordingEmitter live = new RecordingEmitter();
+        broker.subscribe(null, live);
+        for (int id = 1; id <= 5; id++) {
+            broker.onBeerChanged(BeerChangedEvent.created(beer(id)));
+        }
+        String expired = eventId(live.next());
+
+        RecordingEmitter fromOtherStart = new RecordingEmitter();
+        broker.subscribe("abc-1", fromOtherStart);
+        RecordingEmitter fromExpired = new RecordingEmitter();
+        broker.subscribe(expired, fromExpired);
+
+        assertThat(fromOtherStart.next()).contains("event:" + ChangeStreamBroker.RESET);
+        assertThat(fromExpired.next()).contains("event:" + ChangeStreamBroker.RESET);
+    }
+
+    @Test
+    void onBeerChanged_WhenSubscriberDoesNotKeepUp_ShouldDisconnectIt() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(release);
+        RecordingEmitter fast = new RecordingEmitter();
+        broker.subscribe(null, slow);
+        broker.subscribe(null, fast);
+
+        // El primero queda bloqueado escribiéndose; los dos siguientes llenan la cola
+        for (int id = 1; id <= 4; id++) {
+            broker.onBeerChanged(BeerChangedEvent.created(beer(id)));
+            Thread.sleep(20);
+        }
+
+        assertThat(slow.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(broker.subscriberCount()).isEqualTo(1);
+        assertThat(broker.droppedCount()).isEqualTo(1);
+        for (int id = 1; id <= 4; id++) {
+            assertThat(fast.next()).contains("\"beerId\":" + id);
+        }
+        release.countDown();
+    }
+
+    private static String eventId(String event) {
+        return event.lines().filter(line -> line.startsWith("id:")).findFirst().orElseThrow().substring(3);
+    }
+
+    private static Beer beer(int id) {
+        Beer beer = new Beer();
+        beer.setId(id);
+        beer.setName("Beer " + id);
+        return beer;
+    }
+
+    /**
+     * Emisor que guarda el texto de cada evento enviado; opcionalmente bloquea el primer envío
+     * hasta que se libera, como un cliente que no lee
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final BlockingQueue<String> events = new LinkedBlockingQueue<>();
+        private final CountDownLatch release;
+        private final CountDownLatch completed = new CountDownLatch(1);
+
+        RecordingEmitter() {
+            this(null);
+        }
+
+        RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            if (release != null) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            events.add(builder.build().stream()
+                    .map(part -> part.getData().toString())
+                    .collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+
+        String next() throws InterruptedException {
+            String event = events.poll(5, TimeUnit.SECONDS);
+            assertThat(event).as("evento recibido").isNotNull();
+            return event;
+        }
+
+        String poll() throws InterruptedException {
+            return events.poll(200, TimeUnit.MILLISECONDS);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.kata.beer.support;
+
+import com.kata.beer.cache.ReferenceDataCache;
+import com.kata.beer.model.Beer;
+import com.kata.beer.model.Brewery;
+import com.kata.beer.model.Category;
+import com.kata.beer.model.Style;
+import com.kata.beer.repository.BeerBatchRepository;
+import com.kata.beer.search.BeerColumnIndex;
+import com.kata.beer.search.BeerSearchIndex;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Catálogo sintético y reproducible (semilla fija) para benchmarks y pruebas de carga sobre H2
+ */
+public final class SyntheticCatalog {
+
+    public static final int BREWERIES = 1_500;
+    public static final int CATEGORIES = 12;
+    public static final int STYLES = 140;
+    public static final String[] COUNTRIES = {
+        "United States", "Belgium", "Germany", "United Kingdom", "Canada", "Mexico", "Spain", "Japan"
+    };
+
+    private SyntheticCatalog() {
+    }
+
+    /**
+     * Inserta el catálogo y recarga la caché de referencia y los índices en memoria, que se
+     * construyeron al arrancar sobre las tablas vacías
+     */
+    public static void seed(ApplicationContext context, int beers) {
+        seed(context, beers, 0);
+    }
+
+    /**
+     * Como {@link #seed(ApplicationContext, int)}, con descripciones de {@code descriptionLength}
+     * caracteres en cervezas y cervecerías
+     */
+    public static void seed(ApplicationContext context, int beers, int descriptionLength) {
+        String description = description(descriptionLength);
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        LocalDateTime now = LocalDateTime.now();
+        Random random = new Random(42);
+
+        List<Object[]> categories = new ArrayList<>();
+        for (int id = 1; id <= CATEGORIES; id++) {
+            categories.add(new Object[]{id, "Category " + id, now});
+        }
+        jdbc.batchUpdate("INSERT INTO categories (id, cat_name, last_mod) VALUES (?, ?, ?)", categories);
+
+        List<Object[]> styles = new ArrayList<>();
+        for (int id = 1; id <= STYLES; id++) {
+            styles.add(new Object[]{id, 1 + id % CATEGORIES, "Style " + id, now});
+        }
+        jdbc.batchUpdate("INSERT INTO styles (id, cat_id, style_name, last_mod) VALUES (?, ?, ?, ?)", styles);
+
+        List<Object[]> breweries = new ArrayList<>();
+        for (int id = 1; id <= BREWERIES; id++) {
+            breweries.add(new Object[]{id, "Brewery " + id, "", "", "", "", "",
+                    COUNTRIES[random.nextInt(COUNTRIES.length)], "", "", "", description, 0, now});
+        }
+        jdbc.batchUpdate("INSERT INTO breweries (id, name, address1, address2, city, state, code, country, "
+                + "phone, website, filepath, descript, add_user, last_mod) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                breweries);
+
+        List<Beer> rows = new ArrayList<>(beers);
+        for (int i = 0; i < beers; i++) {
+            Beer beer = beer(random, i);
+            beer.setDescript(description);
+            rows.add(beer);
+        }
+        context.getBean(BeerBatchRepository.class).insertAll(rows);
+
+        ReferenceDataCache cache = context.getBean(ReferenceDataCache.class);
+        cache.breweries().refresh();
+        cache.categories().refresh();
+        cache.styles().refresh();
+        context.getBean(BeerColumnIndex.class).rebuild();
+        context.getBean(BeerSearchIndex.class).rebuild();
+    }
+
+    private static String description(int length) {
+        String text = "A well balanced beer with notes of malt, citrus and a dry finish. ";
+        return text.repeat(length / text.length() + 1).substring(0, length);
+    }
+
+    /**
+     * Cerveza aleatoria con relaciones existentes en el catálogo sintético
+     */
+    public static Beer beer(Random random, int i) {
+        Brewery brewery = new Brewery();
+        brewery.setId(1 + random.nextInt(BREWERIES));
+        Category category = new Category();
+        category.setId(1 + random.nextInt(CATEGORIES));
+        Style style = new Style();
+        style.setId(1 + random.nextInt(STYLES));
+
+        Beer beer = new Beer();
+        beer.setName("Beer " + i);
+        beer.setBrewery(brewery);
+        beer.setCategory(category);
+        beer.setStyle(style);
+        beer.setAbv(Math.round((3 + random.nextFloat() * 9) * 10) / 10f);
+        beer.setIbu((float) (5 + random.nextInt(100)));
+        beer.setSrm((float) (2 + random.nextInt(40)));
+        beer.setDescript("");
+        return beer;
+    }
+}